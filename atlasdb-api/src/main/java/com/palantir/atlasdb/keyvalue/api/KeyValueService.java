@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
@@ -662,4 +663,17 @@ public interface KeyValueService extends AutoCloseable, AsyncKeyValueService {
     default boolean shouldTriggerCompactions() {
         return false;
     }
+
+    /**
+     * Returns row names at which the provided range may be split, so that the resulting sub-ranges can be scanned
+     * independently and each hold a similar share of the range's data, for example the boundaries of the token ranges
+     * of a distributed key value service. At most {@code maxSplitPoints} row names are returned. Implementations
+     * without any knowledge of how the data of a table is distributed return an empty list, in which case callers may
+     * fall back to splitting on the row name partitioners of the table's metadata.
+     */
+    @Idempotent
+    @DoDelegate
+    default List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        return ImmutableList.of();
+    }
 }
@@ -15,9 +15,16 @@
  */
 package com.palantir.atlasdb.keyvalue.api;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.logsafe.Preconditions;
@@ -226,4 +233,41 @@ public final class RangeRequests {
                 .endRowExclusive(RangeRequests.nextLexicographicName(row))
                 .build();
     }
+
+    /**
+     * Splits a range into at most {@code maxRanges} contiguous, disjoint sub-ranges, in row order, that together
+     * cover exactly the rows of the original range. Split points that do not lie strictly inside the range are
+     * ignored; if more split points remain than are needed, an evenly spaced subset of them is used. Reverse ranges
+     * are never split.
+     */
+    public static List<RangeRequest> split(
+            RangeRequest rangeRequest, Collection<byte[]> splitPoints, int maxRanges) {
+        if (rangeRequest.isReverse() || maxRanges <= 1) {
+            return ImmutableList.of(rangeRequest);
+        }
+
+        List<byte[]> candidates = splitPoints.stream()
+                .filter(point -> point.length > 0 && Cell.isNameValid(point))
+                .filter(point -> !Arrays.equals(point, rangeRequest.getStartInclusive()) && rangeRequest.inRange(point))
+                .sorted(UnsignedBytes.lexicographicalComparator())
+                .collect(Collectors.toList());
+        List<byte[]> distinctCandidates = new ArrayList<>(candidates.size());
+        for (byte[] candidate : candidates) {
+            if (distinctCandidates.isEmpty()
+                    || !Arrays.equals(distinctCandidates.get(distinctCandidates.size() - 1), candidate)) {
+                distinctCandidates.add(candidate);
+            }
+        }
+
+        int numSplitPoints = Math.min(distinctCandidates.size(), maxRanges - 1);
+        List<RangeRequest> ranges = new ArrayList<>(numSplitPoints + 1);
+        byte[] start = rangeRequest.getStartInclusive();
+        for (int i = 1; i <= numSplitPoints; i++) {
+            byte[] end = distinctCandidates.get((int) ((long) i * distinctCandidates.size() / (numSplitPoints + 1)));
+            ranges.add(rangeRequest.getBuilder().startRowInclusive(start).endRowExclusive(end).build());
+            start = end;
+        }
+        ranges.add(rangeRequest.getBuilder().startRowInclusive(start).build());
+        return ranges;
+    }
 }
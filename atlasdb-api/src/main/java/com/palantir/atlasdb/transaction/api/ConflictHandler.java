@@ -20,13 +20,13 @@ public enum ConflictHandler {
      * If two transactions concurrently write to the same cell the one that has started later will win.  We
      * are ignoring write conflicts in this case.
      */
-    IGNORE_ALL(false, false, false, false),
+    IGNORE_ALL(false, false, false, false, false),
 
     /**
      * If two transactions concurrently write to the same cell the one that commits later will
      * throw a {@link TransactionConflictException} and should have details about how this happened.
      */
-    RETRY_ON_WRITE_WRITE(false, true, true, false),
+    RETRY_ON_WRITE_WRITE(false, true, true, false, false),
 
     /**
      * If a transaction writes a new value to a Cell (different than the value read by that
@@ -47,7 +47,7 @@ public enum ConflictHandler {
      * Note: This ConflictHandler has the ABA problem (https://en.wikipedia.org/wiki/ABA_problem).  The easiest
      * way to fix this is to have the value always increase.
      */
-    RETRY_ON_VALUE_CHANGED(false, true, true, false),
+    RETRY_ON_VALUE_CHANGED(false, true, true, false, false),
 
     /**
      * This conflict type does everything that {@link #RETRY_ON_WRITE_WRITE} does but additionally detects
@@ -60,21 +60,21 @@ public enum ConflictHandler {
      * This should not be used on tables that are expected to have tons of reads because we must keep the whole read
      * set in memory so we can compare it at commit time to ensure that everything we read has not changed.
      */
-    SERIALIZABLE(false, true, true, true),
+    SERIALIZABLE(false, true, true, true, false),
 
     /**
      * Same as {@link RETRY_ON_WRITE_WRITE}, but checks for conflicts by locking cells during commit instead
      * of locking rows. Cell locks are more fine-grained, so this will produce less contention at the expense
      * of requiring more locks to be acquired.
      */
-    RETRY_ON_WRITE_WRITE_CELL(true, false, true, false),
+    RETRY_ON_WRITE_WRITE_CELL(true, false, true, false, false),
 
     /**
      * Same as {@link SERIALIZABLE}, but checks for conflicts by locking cells during commit instead
      * of locking rows. Cell locks are more fine-grained, so this will produce less contention at the expense
      * of requiring more locks to be acquired.
      */
-    SERIALIZABLE_CELL(true, false, true, true),
+    SERIALIZABLE_CELL(true, false, true, true, false),
 
     /**
      * This conflict handler is designed to be used by index tables. As any write/write conflict on an index table
@@ -85,7 +85,7 @@ public enum ConflictHandler {
      * This conflict does not lock, because it's assumed that a semantically equivalent lock is taken out on
      * the base table.
      */
-    SERIALIZABLE_INDEX(false, false, false, true),
+    SERIALIZABLE_INDEX(false, false, false, true, false),
 
     /**
      * This conflict handler is designed to be used for migrating a table from SERIALIZABLE to SERIALIZABLE_CELL or
@@ -102,20 +102,39 @@ public enum ConflictHandler {
      * cell then correctness issues may occur as there is no way for t1 to be aware of t2. Locking on both cell and row
      * level prevents this issue.
      */
-    SERIALIZABLE_LOCK_LEVEL_MIGRATION(true, true, true, true);
+    SERIALIZABLE_LOCK_LEVEL_MIGRATION(true, true, true, true, false),
+
+    /**
+     * Same as {@link RETRY_ON_WRITE_WRITE_CELL}, but instead of locking every written cell during commit, written
+     * cells are hashed into a fixed number of stripes per table and only the stripes are locked. The number of locks
+     * a commit takes on a table is therefore bounded regardless of how many cells it writes, at the expense of
+     * contention between transactions writing unrelated cells that happen to share a stripe.
+     * <p>
+     * Stripe locks do not exclude row or cell locks, so migrating a table to or from this conflict handler has the
+     * same hazards as described on {@link #SERIALIZABLE_LOCK_LEVEL_MIGRATION}.
+     */
+    RETRY_ON_WRITE_WRITE_STRIPED(false, false, true, false, true),
+
+    /**
+     * Same as {@link SERIALIZABLE}, but checks for conflicts by locking stripes during commit as described in
+     * {@link #RETRY_ON_WRITE_WRITE_STRIPED}.
+     */
+    SERIALIZABLE_STRIPED(false, false, true, true, true);
 
     private final boolean lockCellsForConflicts;
     private final boolean lockRowsForConflicts;
+    private final boolean lockStripesForConflicts;
 
     private final boolean checkWriteWriteConflicts;
     private final boolean checkReadWriteConflicts;
 
 
     ConflictHandler(boolean lockCellsForConflicts, boolean lockRowsForConflicts,
-            boolean checkWriteWriteConflicts, boolean checkReadWriteConflicts) {
+            boolean checkWriteWriteConflicts, boolean checkReadWriteConflicts, boolean lockStripesForConflicts) {
 
         this.lockCellsForConflicts = lockCellsForConflicts;
         this.lockRowsForConflicts = lockRowsForConflicts;
+        this.lockStripesForConflicts = lockStripesForConflicts;
 
         this.checkWriteWriteConflicts = checkWriteWriteConflicts;
         this.checkReadWriteConflicts = checkReadWriteConflicts;
@@ -129,6 +148,10 @@ public enum ConflictHandler {
         return lockRowsForConflicts;
     }
 
+    public boolean lockStripesForConflicts() {
+        return lockStripesForConflicts;
+    }
+
     public boolean checkWriteWriteConflicts() {
         return checkWriteWriteConflicts;
     }
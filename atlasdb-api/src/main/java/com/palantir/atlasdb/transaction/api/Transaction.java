@@ -22,6 +22,7 @@ import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.palantir.atlasdb.keyvalue.api.BatchColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -228,6 +229,31 @@ public interface Transaction {
     Stream<BatchingVisitable<RowResult<byte[]>>> getRangesLazy(
             final TableReference tableRef, Iterable<RangeRequest> rangeRequests);
 
+    /**
+     * Scans a single range with the given concurrency, by splitting it into disjoint sub-ranges and passing each of
+     * them to {@link #getRanges(TableReference, Iterable, int, BiFunction)}. Split points are obtained from the
+     * key value service where it knows how the table's data is distributed (for example, Cassandra token ranges), and
+     * otherwise from the row name partitioners in the table's metadata. At most {@code concurrencyLevel} sub-ranges
+     * are read at any one time.
+     *
+     * The range requests seen by the visitable processor cover exactly the rows of the provided range. Each row is
+     * seen in exactly one of them, and rows within a sub-range are visited in order. Reverse ranges are not split.
+     *
+     * This method does not merge the sub-ranges back into a single ordered stream: as for
+     * {@link #getRanges(TableReference, Iterable, int, BiFunction)}, no guarantee is made on the order in which
+     * sub-ranges are encountered. It also places no bound on memory beyond what the visitable processor retains, so
+     * processors should consume their visitable incrementally rather than copy it. Callers that need rows in global
+     * order should use {@link #getRange(TableReference, RangeRequest)}.
+     */
+    @Idempotent
+    default <T> Stream<T> getRangeParallel(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            int concurrencyLevel,
+            BiFunction<RangeRequest, BatchingVisitable<RowResult<byte[]>>, T> visitableProcessor) {
+        return getRanges(tableRef, ImmutableList.of(rangeRequest), concurrencyLevel, visitableProcessor);
+    }
+
     /**
      * Puts values into the key-value store. If you put a null or the empty byte array, then
      * this is treated like a delete to the store.
@@ -0,0 +1,79 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.keyvalue.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.encoding.PtBytes;
+
+public class RangeRequestsTest {
+    private static final byte[] ROW_1 = PtBytes.toBytes("a");
+    private static final byte[] ROW_2 = PtBytes.toBytes("c");
+    private static final byte[] ROW_3 = PtBytes.toBytes("e");
+    private static final byte[] ROW_4 = PtBytes.toBytes("g");
+
+    @Test
+    public void splitCoversWholeRangeInOrder() {
+        List<RangeRequest> ranges = RangeRequests.split(
+                RangeRequest.all(), ImmutableList.of(ROW_3, ROW_1, ROW_2), 10);
+
+        assertThat(ranges).hasSize(4);
+        assertThat(ranges.get(0).getStartInclusive()).isEmpty();
+        assertThat(ranges.get(0).getEndExclusive()).isEqualTo(ROW_1);
+        assertThat(ranges.get(1).getStartInclusive()).isEqualTo(ROW_1);
+        assertThat(ranges.get(1).getEndExclusive()).isEqualTo(ROW_2);
+        assertThat(ranges.get(2).getStartInclusive()).isEqualTo(ROW_2);
+        assertThat(ranges.get(2).getEndExclusive()).isEqualTo(ROW_3);
+        assertThat(ranges.get(3).getStartInclusive()).isEqualTo(ROW_3);
+        assertThat(ranges.get(3).getEndExclusive()).isEmpty();
+    }
+
+    @Test
+    public void splitIgnoresPointsOutsideRangeAndDuplicates() {
+        RangeRequest range = RangeRequest.builder().startRowInclusive(ROW_1).endRowExclusive(ROW_3).build();
+
+        List<RangeRequest> ranges = RangeRequests.split(
+                range, ImmutableList.of(ROW_1, ROW_2, PtBytes.toBytes("c"), ROW_3, ROW_4), 10);
+
+        assertThat(ranges).hasSize(2);
+        assertThat(ranges.get(0).getStartInclusive()).isEqualTo(ROW_1);
+        assertThat(ranges.get(0).getEndExclusive()).isEqualTo(ROW_2);
+        assertThat(ranges.get(1).getStartInclusive()).isEqualTo(ROW_2);
+        assertThat(ranges.get(1).getEndExclusive()).isEqualTo(ROW_3);
+    }
+
+    @Test
+    public void splitRespectsMaximumNumberOfRanges() {
+        List<RangeRequest> ranges = RangeRequests.split(
+                RangeRequest.all(), ImmutableList.of(ROW_1, ROW_2, ROW_3, ROW_4), 3);
+
+        assertThat(ranges).hasSize(3);
+        assertThat(ranges.get(0).getStartInclusive()).isEmpty();
+        assertThat(ranges.get(2).getEndExclusive()).isEmpty();
+    }
+
+    @Test
+    public void reverseRangesAreNotSplit() {
+        RangeRequest reverse = RangeRequest.reverseBuilder().build();
+
+        assertThat(RangeRequests.split(reverse, ImmutableList.of(ROW_1, ROW_2), 10)).containsExactly(reverse);
+    }
+}
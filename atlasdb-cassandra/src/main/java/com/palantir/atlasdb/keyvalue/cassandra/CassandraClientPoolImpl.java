@@ -271,8 +271,8 @@ public class CassandraClientPoolImpl implements CassandraClientPool {
         return cassandra.getPools();
     }
 
-    @VisibleForTesting
-    RangeMap<LightweightOppToken, List<InetSocketAddress>> getTokenMap() {
+    @Override
+    public RangeMap<LightweightOppToken, List<InetSocketAddress>> getTokenMap() {
         return cassandra.getTokenMap();
     }
 
@@ -1933,6 +1933,17 @@ public class CassandraKeyValueServiceImpl extends AbstractKeyValueService implem
                 LoggingArgs.tableRef(tableRef));
     }
 
+    /**
+     * Returns the boundaries of the token ranges owned by the Cassandra cluster that fall inside the given range.
+     * As AtlasDB uses the byte ordered partitioner, these are row names, and splitting on them lets each sub-range
+     * be served by a single replica set.
+     */
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        return CassandraKeyValueServices.getTokenRangeSplitPoints(
+                clientPool.getTokenMap(), rangeRequest, maxSplitPoints);
+    }
+
     @Override
     public ClusterAvailabilityStatus getClusterAvailabilityStatus() {
         ClusterAvailabilityStatus clusterStatus = getStatusByRunningOperationsOnEachHost();
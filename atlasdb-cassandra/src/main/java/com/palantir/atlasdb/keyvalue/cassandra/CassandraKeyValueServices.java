@@ -19,6 +19,7 @@ import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -37,9 +38,12 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.RangeMap;
+import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.cassandra.CassandraKeyValueServiceConfig;
 import com.palantir.atlasdb.encoding.PtBytes;
@@ -206,6 +210,33 @@ public final class CassandraKeyValueServices {
         }
     }
 
+    /**
+     * Returns at most maxSplitPoints of the lower bounds of the given token ranges that fall inside the given range,
+     * evenly spaced among all such bounds and in ascending order. Reverse ranges are never split.
+     */
+    static List<byte[]> getTokenRangeSplitPoints(
+            RangeMap<LightweightOppToken, ?> tokenMap,
+            RangeRequest rangeRequest,
+            int maxSplitPoints) {
+        if (rangeRequest.isReverse() || maxSplitPoints <= 0) {
+            return ImmutableList.of();
+        }
+        List<byte[]> tokenBoundaries = tokenMap.asMapOfRanges().keySet().stream()
+                .filter(tokenRange -> tokenRange.hasLowerBound())
+                .map(tokenRange -> tokenRange.lowerEndpoint().bytes)
+                .filter(bytes -> bytes.length > 0 && rangeRequest.inRange(bytes))
+                .sorted(UnsignedBytes.lexicographicalComparator())
+                .collect(Collectors.toList());
+        if (tokenBoundaries.size() <= maxSplitPoints) {
+            return tokenBoundaries;
+        }
+        List<byte[]> splitPoints = new ArrayList<>(maxSplitPoints);
+        for (int i = 1; i <= maxSplitPoints; i++) {
+            splitPoints.add(tokenBoundaries.get(i * tokenBoundaries.size() / (maxSplitPoints + 1)));
+        }
+        return splitPoints;
+    }
+
     static String encodeAsHex(byte[] array) {
         return "0x" + PtBytes.encodeHexString(array);
     }
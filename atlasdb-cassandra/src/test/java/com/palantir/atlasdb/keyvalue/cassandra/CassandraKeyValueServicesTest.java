@@ -18,10 +18,17 @@ package com.palantir.atlasdb.keyvalue.cassandra;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableRangeMap;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.Value;
 
 public class CassandraKeyValueServicesTest {
@@ -29,6 +36,14 @@ public class CassandraKeyValueServicesTest {
 
     private static final Cell CELL = Cell.create(DATA, DATA);
 
+    private static final RangeMap<LightweightOppToken, String> TOKEN_MAP =
+            ImmutableRangeMap.<LightweightOppToken, String>builder()
+                    .put(Range.atMost(token("b")), "host1")
+                    .put(Range.openClosed(token("b"), token("d")), "host2")
+                    .put(Range.openClosed(token("d"), token("f")), "host3")
+                    .put(Range.greaterThan(token("f")), "host1")
+                    .build();
+
     @Test
     public void createColumnWithGivenValueCreatesItWithAssociatedCassandraTimestamp() {
         assertThat(CassandraKeyValueServices.createColumn(CELL, Value.create(DATA, 1000)).getTimestamp())
@@ -52,4 +67,38 @@ public class CassandraKeyValueServicesTest {
         assertThatThrownBy(() -> CassandraKeyValueServices.createColumnForDelete(CELL, Value.create(DATA, 1000), 2000))
                 .isInstanceOf(IllegalStateException.class);
     }
+
+    @Test
+    public void tokenRangeSplitPointsAreLowerBoundsOfTokenRangesInOrder() {
+        assertThat(splitPoints(RangeRequest.all(), 10)).containsExactly("b", "d", "f");
+    }
+
+    @Test
+    public void tokenRangeSplitPointsAreRestrictedToRequestedRange() {
+        RangeRequest range = RangeRequest.builder()
+                .startRowInclusive(PtBytes.toBytes("c"))
+                .endRowExclusive(PtBytes.toBytes("f"))
+                .build();
+        assertThat(splitPoints(range, 10)).containsExactly("d");
+    }
+
+    @Test
+    public void tokenRangeSplitPointsAreEvenlySampledWhenTooMany() {
+        assertThat(splitPoints(RangeRequest.all(), 1)).containsExactly("d");
+    }
+
+    @Test
+    public void reverseRangesHaveNoTokenRangeSplitPoints() {
+        assertThat(splitPoints(RangeRequest.reverseBuilder().build(), 10)).isEmpty();
+    }
+
+    private static List<String> splitPoints(RangeRequest range, int maxSplitPoints) {
+        return CassandraKeyValueServices.getTokenRangeSplitPoints(TOKEN_MAP, range, maxSplitPoints).stream()
+                .map(PtBytes::toString)
+                .collect(Collectors.toList());
+    }
+
+    private static LightweightOppToken token(String row) {
+        return new LightweightOppToken(PtBytes.toBytes(row));
+    }
 }
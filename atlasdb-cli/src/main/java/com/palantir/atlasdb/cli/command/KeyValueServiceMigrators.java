@@ -59,6 +59,8 @@ public final class KeyValueServiceMigrators {
                 Suppliers.ofInstance(migrationStartTimestamp),
                 migratorSpec.threads(),
                 migratorSpec.batchSize(),
+                migratorSpec.writeThreads(),
+                migratorSpec.maxBytesPerSecondPerTable(),
                 ImmutableMap.of(),
                 (String message, KeyValueServiceMigrator.KvsMigrationMessageLevel level) ->
                         printer.info(level.toString() + ": " + message),
@@ -96,10 +98,24 @@ public final class KeyValueServiceMigrators {
             return 100;
         }
 
+        @Value.Default
+        public int writeThreads() {
+            return 0;
+        }
+
+        @Value.Default
+        public long maxBytesPerSecondPerTable() {
+            return 0L;
+        }
+
         @Value.Check
         void check() {
             Preconditions.checkArgument(threads() > 0, "Threads used for migration should be positive.");
             Preconditions.checkArgument(batchSize() > 0, "Batch size used for migration should be positive.");
+            Preconditions.checkArgument(writeThreads() >= 0,
+                    "Write threads used for migration should not be negative.");
+            Preconditions.checkArgument(maxBytesPerSecondPerTable() >= 0,
+                    "Throughput limit used for migration should not be negative.");
         }
     }
 }
@@ -75,6 +75,21 @@ public class KvsMigrationCommand implements Callable<Integer> {
             arity = 1)
     private int batchSize = 100;
 
+    @Option(name = {"-wt", "--writeThreads"},
+            title = "WRITE THREADS",
+            description = "number of threads writing to the KVS you're migrating to while the next batch is read."
+                    + " If 0, each migration thread writes its batches synchronously",
+            required = false,
+            arity = 1)
+    private int writeThreads = 0;
+
+    @Option(name = {"--maxBytesPerSecondPerTable"},
+            title = "MAX BYTES PER SECOND PER TABLE",
+            description = "limit on the rate at which data is written for each table. If 0, writes are not limited",
+            required = false,
+            arity = 1)
+    private long maxBytesPerSecondPerTable = 0;
+
     @Option(name = {"-s", "--setup"},
             description = "Setup migration by dropping and creating tables.")
     private boolean setup = false;
@@ -87,6 +102,11 @@ public class KvsMigrationCommand implements Callable<Integer> {
             description = "Validate migration.")
     private boolean validate = false;
 
+    @Option(name = {"--validateRowHashes"},
+            description = "When validating, compare rows by a hash of their contents and report the first"
+                    + " mismatching row.")
+    private boolean validateRowHashes = false;
+
     @Option(name = {"--offline"},
             title = "OFFLINE",
             type = OptionType.GLOBAL,
@@ -137,7 +157,8 @@ public class KvsMigrationCommand implements Callable<Integer> {
                     ImmutableMap.of(),
                     (String message, KeyValueServiceMigrator.KvsMigrationMessageLevel level) ->
                             printer.info(level.toString() + ": " + message),
-                    ImmutableSet.of());
+                    ImmutableSet.of(),
+                    validateRowHashes);
             validator.validate(true);
         }
         return 0;
@@ -181,6 +202,8 @@ public class KvsMigrationCommand implements Callable<Integer> {
                 .toServices(toServices)
                 .threads(threads)
                 .batchSize(batchSize)
+                .writeThreads(writeThreads)
+                .maxBytesPerSecondPerTable(maxBytesPerSecondPerTable)
                 .build());
     }
 }
@@ -29,6 +29,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -39,6 +41,7 @@ import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.cleaner.NoOpCleaner;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -131,6 +134,12 @@ public class KeyValueServiceMigratorsTest {
                 .isInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    public void throwsIfSpecifyingNegativeWriteThreads() {
+        assertThatThrownBy(() -> ImmutableMigratorSpec.builder().from(migratorSpec).writeThreads(-2).build())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void setupClearsOutExistingTablesExceptAtomic() {
         toKvs.createTables(TEST_AND_CHECKPOINT_TABLES);
@@ -230,6 +239,34 @@ public class KeyValueServiceMigratorsTest {
         assertThat(toKvs.getAllTimestamps(TEST_TABLE, ImmutableSet.of(TEST_CELL), Long.MAX_VALUE).size()).isEqualTo(1);
     }
 
+    @Test
+    public void migrateWithAsyncThrottledWritesMigratesAllRows() {
+        fromKvs.createTables(TEST_AND_CHECKPOINT_TABLES);
+        Map<Cell, byte[]> values = IntStream.range(0, 100)
+                .boxed()
+                .collect(Collectors.toMap(
+                        row -> Cell.create(PtBytes.toBytes("row" + row), TEST_CELL.getColumnName()),
+                        row -> PtBytes.toBytes("value" + row)));
+        fromTxManager.runTaskWithRetry(tx -> {
+            tx.put(TEST_TABLE, values);
+            return tx.getTimestamp();
+        });
+        ImmutableMigratorSpec spec = ImmutableMigratorSpec.builder()
+                .from(migratorSpec)
+                .writeThreads(2)
+                .maxBytesPerSecondPerTable(1_000_000L)
+                .build();
+
+        KeyValueServiceMigrator migrator = KeyValueServiceMigrators.setupMigrator(spec);
+        migrator.setup();
+        migrator.migrate();
+
+        toTxManager.runTaskThrowOnConflict(tx -> {
+            assertThat(tx.get(TEST_TABLE, values.keySet())).containsOnlyKeys(values.keySet());
+            return null;
+        });
+    }
+
     @Test
     public void deletedEntriesAreNotMigrated() {
         fromKvs.createTables(TEST_AND_CHECKPOINT_TABLES);
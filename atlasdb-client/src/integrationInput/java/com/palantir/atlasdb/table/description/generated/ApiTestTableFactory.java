@@ -48,6 +48,11 @@ public final class ApiTestTableFactory {
         return AllValueTypesTestTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
     }
 
+    public AsyncApiTestTable getAsyncApiTestTable(Transaction t,
+            AsyncApiTestTable.AsyncApiTestTrigger... triggers) {
+        return AsyncApiTestTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
     public HashComponentsTestTable getHashComponentsTestTable(Transaction t,
             HashComponentsTestTable.HashComponentsTestTrigger... triggers) {
         return HashComponentsTestTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
@@ -62,7 +67,7 @@ public final class ApiTestTableFactory {
         return SchemaApiTestV2Table.of(t, namespace);
     }
 
-    public interface SharedTriggers extends AllValueTypesTestTable.AllValueTypesTestTrigger, HashComponentsTestTable.HashComponentsTestTrigger, SchemaApiTestTable.SchemaApiTestTrigger {
+    public interface SharedTriggers extends AllValueTypesTestTable.AllValueTypesTestTrigger, AsyncApiTestTable.AsyncApiTestTrigger, HashComponentsTestTable.HashComponentsTestTrigger, SchemaApiTestTable.SchemaApiTestTrigger {
     }
 
     public abstract static class NullSharedTriggers implements SharedTriggers {
@@ -72,6 +77,12 @@ public final class ApiTestTableFactory {
             // do nothing
         }
 
+        @Override
+        public void putAsyncApiTest(
+                Multimap<AsyncApiTestTable.AsyncApiTestRow, ? extends AsyncApiTestTable.AsyncApiTestNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
         @Override
         public void putHashComponentsTest(
                 Multimap<HashComponentsTestTable.HashComponentsTestRow, ? extends HashComponentsTestTable.HashComponentsTestNamedColumnValue<?>> newRows) {
@@ -0,0 +1,238 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.BaseEncoding;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
+
+/**
+ * Versioned preset dictionaries for {@link com.palantir.atlasdb.table.description.ColumnValueDescription
+ * .Compression#DEFLATE_DICTIONARY} compression.
+ *
+ * Dictionaries are append-only: the dictionary at index {@code i} has version {@code i + 1}, values are always
+ * compressed with the latest dictionary, and each compressed value is prefixed with the version of the dictionary
+ * used, so values written with older dictionaries remain readable after a new dictionary is added.
+ */
+public final class CompressionDictionaries {
+    /**
+     * Deflate can only refer back to the last 32KB of its input, so larger dictionaries would be wasted.
+     */
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    private static final CompressionDictionaries EMPTY = new CompressionDictionaries(ImmutableList.of());
+    private static final int TRAINING_SEGMENT_LENGTH = 16;
+    private static final int BUFFER_SIZE = 4096;
+    /**
+     * Deflate encodes a match of at most 258 bytes in no fewer than two bits, so no valid value inflates to more than
+     * 1032 times its compressed size.
+     */
+    private static final int MAX_DEFLATE_COMPRESSION_RATIO = 1032;
+
+    private final List<byte[]> dictionaries;
+
+    private CompressionDictionaries(List<byte[]> dictionaries) {
+        this.dictionaries = dictionaries;
+    }
+
+    public static CompressionDictionaries empty() {
+        return EMPTY;
+    }
+
+    public static CompressionDictionaries of(List<byte[]> dictionaries) {
+        for (byte[] dictionary : dictionaries) {
+            Preconditions.checkArgument(dictionary.length > 0 && dictionary.length <= MAX_DICTIONARY_SIZE,
+                    "Compression dictionaries must be non-empty and at most the maximum size",
+                    SafeArg.of("size", dictionary.length),
+                    SafeArg.of("maxSize", MAX_DICTIONARY_SIZE));
+        }
+        return new CompressionDictionaries(ImmutableList.copyOf(dictionaries.stream()
+                .map(byte[]::clone)
+                .collect(Collectors.toList())));
+    }
+
+    public static CompressionDictionaries fromBase64(String... encodedDictionaries) {
+        return of(Arrays.stream(encodedDictionaries)
+                .map(BaseEncoding.base64()::decode)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Builds a dictionary from sample values, made of the fixed-length segments that occur in the most samples.
+     * The most common segments are placed at the end of the dictionary, where they are cheapest to refer to.
+     */
+    public static byte[] train(Iterable<byte[]> samples, int maxSize) {
+        Preconditions.checkArgument(maxSize > 0 && maxSize <= MAX_DICTIONARY_SIZE, "Invalid dictionary size",
+                SafeArg.of("maxSize", maxSize));
+        Map<ByteBuffer, Integer> samplesContainingSegment = new HashMap<>();
+        for (byte[] sample : samples) {
+            Set<ByteBuffer> segments = new HashSet<>();
+            for (int offset = 0;
+                    offset + TRAINING_SEGMENT_LENGTH <= sample.length;
+                    offset += TRAINING_SEGMENT_LENGTH) {
+                segments.add(ByteBuffer.wrap(sample, offset, TRAINING_SEGMENT_LENGTH).slice());
+            }
+            segments.forEach(segment -> samplesContainingSegment.merge(segment, 1, Integer::sum));
+        }
+
+        List<ByteBuffer> mostCommonFirst = samplesContainingSegment.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Map.Entry.<ByteBuffer, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(maxSize / TRAINING_SEGMENT_LENGTH)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        byte[] dictionary = new byte[mostCommonFirst.size() * TRAINING_SEGMENT_LENGTH];
+        int position = dictionary.length;
+        for (ByteBuffer segment : mostCommonFirst) {
+            position -= TRAINING_SEGMENT_LENGTH;
+            segment.duplicate().get(dictionary, position, TRAINING_SEGMENT_LENGTH);
+        }
+        return dictionary;
+    }
+
+    public boolean isEmpty() {
+        return dictionaries.isEmpty();
+    }
+
+    public List<byte[]> getDictionaries() {
+        return dictionaries.stream().map(byte[]::clone).collect(Collectors.toList());
+    }
+
+    public List<String> toBase64() {
+        return dictionaries.stream().map(BaseEncoding.base64()::encode).collect(Collectors.toList());
+    }
+
+    public byte[] compress(byte[] bytes) {
+        Preconditions.checkState(!isEmpty(), "Cannot compress without a compression dictionary");
+        int version = dictionaries.size();
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setDictionary(dictionaries.get(version - 1));
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 16);
+            byte[] versionBytes = EncodingUtils.encodeVarLong(version);
+            out.write(versionBytes, 0, versionBytes.length);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public byte[] decompress(byte[] bytes) {
+        return decompress(bytes, MAX_DEFLATE_COMPRESSION_RATIO);
+    }
+
+    @VisibleForTesting
+    byte[] decompress(byte[] bytes, int maxCompressionRatio) {
+        if (bytes.length == 0) {
+            throw new SafeIllegalArgumentException("Compressed value is truncated");
+        }
+        int version = (int) EncodingUtils.decodeVarLong(bytes);
+        if (version < 1 || version > dictionaries.size()) {
+            throw new SafeIllegalArgumentException("Value was compressed with an unknown compression dictionary",
+                    SafeArg.of("version", version),
+                    SafeArg.of("latestVersion", dictionaries.size()));
+        }
+        int offset = EncodingUtils.sizeOfVarLong(version);
+        long maxLength = (long) (bytes.length - offset) * maxCompressionRatio;
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 3);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(dictionaries.get(version - 1));
+                    } else if (inflater.needsInput()) {
+                        throw new SafeIllegalArgumentException("Compressed value is truncated");
+                    }
+                }
+                if (out.size() + length > maxLength) {
+                    throw new SafeIllegalArgumentException("Compressed value inflates beyond the maximum ratio",
+                            SafeArg.of("compressedLength", bytes.length - offset),
+                            SafeArg.of("maxLength", maxLength));
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using the compression dictionary",
+                    e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || getClass() != other.getClass()) {
+            return false;
+        }
+        List<byte[]> otherDictionaries = ((CompressionDictionaries) other).dictionaries;
+        if (dictionaries.size() != otherDictionaries.size()) {
+            return false;
+        }
+        for (int i = 0; i < dictionaries.size(); i++) {
+            if (!Arrays.equals(dictionaries.get(i), otherDictionaries.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = 1;
+        for (byte[] dictionary : dictionaries) {
+            result = 31 * result + Arrays.hashCode(dictionary);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionDictionaries{versions=" + dictionaries.size() + "}";
+    }
+}
@@ -16,21 +16,40 @@
 package com.palantir.atlasdb.compress;
 
 import java.io.IOException;
+import java.util.Arrays;
 
 import org.xerial.snappy.Snappy;
 
+import com.google.common.primitives.Ints;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.common.base.Throwables;
+import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+
 public final class CompressionUtils {
+    private static final LZ4Factory LZ4_FACTORY = LZ4Factory.fastestInstance();
+    // An LZ4 block can encode at most 255 bytes of output per byte of input.
+    private static final int MAX_LZ4_COMPRESSION_RATIO = 255;
+
     private CompressionUtils() {
         // empty
     }
 
     public static byte[] compress(byte[] bytes, Compression compressionType) {
+        return compress(bytes, compressionType, CompressionDictionaries.empty());
+    }
+
+    public static byte[] compress(byte[] bytes, Compression compressionType, CompressionDictionaries dictionaries) {
         if (compressionType == Compression.SNAPPY) {
             return compressWithSnappy(bytes);
+        } else if (compressionType == Compression.LZ4) {
+            return compressWithLz4(bytes);
+        } else if (compressionType == Compression.DEFLATE_DICTIONARY) {
+            return dictionaries.compress(bytes);
         } else if (compressionType == Compression.NONE) {
             return bytes;
         } else {
@@ -39,8 +58,16 @@ public final class CompressionUtils {
     }
 
     public static byte[] decompress(byte[] bytes, Compression compressionType) {
+        return decompress(bytes, compressionType, CompressionDictionaries.empty());
+    }
+
+    public static byte[] decompress(byte[] bytes, Compression compressionType, CompressionDictionaries dictionaries) {
         if (compressionType == Compression.SNAPPY) {
             return decompressWithSnappy(bytes);
+        } else if (compressionType == Compression.LZ4) {
+            return decompressWithLz4(bytes);
+        } else if (compressionType == Compression.DEFLATE_DICTIONARY) {
+            return dictionaries.decompress(bytes);
         } else if (compressionType == Compression.NONE) {
             return bytes;
         } else {
@@ -66,4 +93,46 @@ public final class CompressionUtils {
             throw Throwables.throwUncheckedException(e);
         }
     }
+
+    /**
+     * LZ4 blocks do not record their uncompressed length, so it is prepended to the compressed block.
+     */
+    public static byte[] compressWithLz4(byte[] bytes) {
+        LZ4Compressor compressor = LZ4_FACTORY.fastCompressor();
+        byte[] compressed = new byte[Integer.BYTES + compressor.maxCompressedLength(bytes.length)];
+        int compressedLength = compressor.compress(bytes, 0, bytes.length, compressed, Integer.BYTES);
+        System.arraycopy(Ints.toByteArray(bytes.length), 0, compressed, 0, Integer.BYTES);
+        return Arrays.copyOf(compressed, Integer.BYTES + compressedLength);
+    }
+
+    /**
+     * The stored length is not trusted: it is checked against the size of the compressed block before allocating, and
+     * the block is decoded with the bounds-checked decompressor, which must produce exactly that many bytes.
+     */
+    public static byte[] decompressWithLz4(byte[] bytes) {
+        if (bytes.length < Integer.BYTES) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using LZ4");
+        }
+        int length = Ints.fromBytes(bytes[0], bytes[1], bytes[2], bytes[3]);
+        int compressedLength = bytes.length - Integer.BYTES;
+        if (length < 0 || length > (long) compressedLength * MAX_LZ4_COMPRESSION_RATIO) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using LZ4",
+                    SafeArg.of("length", length),
+                    SafeArg.of("compressedLength", compressedLength));
+        }
+        byte[] decompressed = new byte[length];
+        int decompressedLength;
+        try {
+            decompressedLength = LZ4_FACTORY.safeDecompressor()
+                    .decompress(bytes, Integer.BYTES, compressedLength, decompressed, 0, length);
+        } catch (LZ4Exception e) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using LZ4", e);
+        }
+        if (decompressedLength != length) {
+            throw new SafeIllegalArgumentException("Cannot decompress these bytes using LZ4",
+                    SafeArg.of("length", length),
+                    SafeArg.of("decompressedLength", decompressedLength));
+        }
+        return decompressed;
+    }
 }
@@ -201,6 +201,11 @@ public class DualWriteKeyValueService implements KeyValueService {
         return delegate1.getMetadataForTable(tableRef);
     }
 
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        return delegate1.getRangeSplitPoints(tableRef, rangeRequest, maxSplitPoints);
+    }
+
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         return delegate1.getMetadataForTables();
@@ -18,11 +18,13 @@ package com.palantir.atlasdb.keyvalue.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
@@ -30,12 +32,14 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.apache.commons.lang3.ArrayUtils;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableList;
@@ -44,10 +48,7 @@ import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
-import com.google.common.io.BaseEncoding;
-import com.google.common.primitives.Longs;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -65,7 +66,6 @@ import com.palantir.atlasdb.keyvalue.api.ColumnRangeSelection;
 import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
 import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
-import com.palantir.atlasdb.keyvalue.api.RangeRequests;
 import com.palantir.atlasdb.keyvalue.api.RowColumnRangeIterator;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -80,6 +80,10 @@ import com.palantir.util.paging.TokenBackedBasicResultsPage;
 /**
  * In-memory (non-durable) key-value store implementation.
  * <p>
+ * Each table is a sorted map from row name to {@link Row}, and each row is a sorted map from column name to the
+ * versions of that cell, keyed by timestamp. Point reads therefore compare the row and column names once each
+ * rather than once per stored version, and range scans walk whole rows without re-checking row boundaries.
+ * <p>
  * Intended for testing use only.
  */
 @ThreadSafe
@@ -99,60 +103,61 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
     }
 
     @Override
-    @SuppressWarnings({"CheckReturnValue"}) // Consume all remaining values of iterator.
     public Map<Cell, Value> getRows(TableReference tableRef, Iterable<byte[]> rows,
                                     ColumnSelection columnSelection, long timestamp) {
         Map<Cell, Value> result = Maps.newHashMap();
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
 
-        for (byte[] row : rows) {
-            Cell rowBegin = Cells.createSmallestCellForRow(row);
-            Cell rowEnd = Cells.createLargestCellForRow(row);
-            PeekingIterator<Entry<Key, byte[]>> entries = Iterators.peekingIterator(table.subMap(
-                    new Key(rowBegin, Long.MIN_VALUE), new Key(rowEnd, timestamp)).entrySet().iterator());
-            while (entries.hasNext()) {
-                Entry<Key, byte[]> entry = entries.peek();
-                Key key = entry.getKey();
-                Iterator<Entry<Key, byte[]>> cellIter = takeCell(entries, key);
-                if (columnSelection.contains(key.col)) {
-                    getLatestVersionOfCell(row, key, cellIter, timestamp, result);
+        for (byte[] rowName : rows) {
+            Row row = table.rows.get(rowName);
+            if (row == null) {
+                continue;
+            }
+            if (columnSelection.allColumnsSelected()) {
+                for (Entry<byte[], ConcurrentNavigableMap<Long, byte[]>> column : row.columns.entrySet()) {
+                    getLatestVersionOfCell(rowName, column.getKey(), column.getValue(), timestamp, result);
+                }
+            } else {
+                for (byte[] columnName : columnSelection.getSelectedColumns()) {
+                    NavigableMap<Long, byte[]> versions = row.columns.get(columnName);
+                    if (versions != null) {
+                        getLatestVersionOfCell(rowName, columnName, versions, timestamp, result);
+                    }
                 }
-                Iterators.size(cellIter);
             }
         }
 
         return result;
     }
 
-    private void getLatestVersionOfCell(byte[] row, Key key, Iterator<Entry<Key, byte[]>> cellIter, long timestamp,
-                                        @Output Map<Cell, Value> result) {
-        Entry<Key, byte[]> lastEntry = null;
-        while (cellIter.hasNext()) {
-            Entry<Key, byte[]> curEntry = cellIter.next();
-            if (curEntry.getKey().ts >= timestamp) {
-                break;
-            }
-            lastEntry = curEntry;
+    private static void getLatestVersionOfCell(byte[] row, byte[] col, NavigableMap<Long, byte[]> versions,
+                                               long timestamp, @Output Map<Cell, Value> result) {
+        Value value = getLatestVersionBefore(versions, timestamp);
+        if (value != null) {
+            result.put(Cell.create(row, col), value);
         }
-        if (lastEntry != null) {
-            long ts = lastEntry.getKey().ts;
-            byte[] value = lastEntry.getValue();
-            result.put(Cell.create(row, key.col), Value.createWithCopyOfData(value, ts));
+    }
+
+    @Nullable
+    private static Value getLatestVersionBefore(NavigableMap<Long, byte[]> versions, long timestamp) {
+        Entry<Long, byte[]> lastEntry = versions.lowerEntry(timestamp);
+        if (lastEntry == null) {
+            return null;
         }
+        return Value.createWithCopyOfData(lastEntry.getValue(), lastEntry.getKey());
     }
 
     @Override
     public Map<Cell, Value> get(TableReference tableRef, Map<Cell, Long> timestampByCell) {
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
         Map<Cell, Value> result = Maps.newHashMap();
         for (Map.Entry<Cell, Long> e : timestampByCell.entrySet()) {
             Cell cell = e.getKey();
-            Entry<Key, byte[]> lastEntry = table.lowerEntry(new Key(cell, e.getValue()));
-            if (lastEntry != null) {
-                Key key = lastEntry.getKey();
-                if (key.matchesCell(cell)) {
-                    long ts = lastEntry.getKey().ts;
-                    result.put(cell, Value.createWithCopyOfData(lastEntry.getValue(), ts));
+            NavigableMap<Long, byte[]> versions = table.getVersions(cell);
+            if (versions != null) {
+                Value value = getLatestVersionBefore(versions, e.getValue());
+                if (value != null) {
+                    result.put(cell, value);
                 }
             }
         }
@@ -172,26 +177,7 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
             TableReference tableRef,
             final RangeRequest range,
             final long timestamp) {
-        boolean reversed = range.isReverse();
-        return getRangeInternal(tableRef, range, entries -> {
-            Entry<Key, byte[]> lastEntry = null;
-            while (entries.hasNext()) {
-                Entry<Key, byte[]> entry = entries.next();
-                if (reversed && entry.getKey().ts < timestamp) {
-                    lastEntry = entry;
-                    break;
-                } else if (!reversed && entry.getKey().ts >= timestamp) {
-                    break;
-                }
-                lastEntry = entry;
-            }
-            if (lastEntry != null) {
-                long ts = lastEntry.getKey().ts;
-                return Value.createWithCopyOfData(lastEntry.getValue(), ts);
-            } else {
-                return null;
-            }
-        });
+        return getRangeInternal(tableRef, range, versions -> getLatestVersionBefore(versions, timestamp));
     }
 
     @Override
@@ -199,16 +185,8 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
             TableReference tableRef,
             final RangeRequest range,
             final long timestamp) {
-        return getRangeInternal(tableRef, range, entries -> {
-            Set<Long> timestamps = Sets.newTreeSet();
-            while (entries.hasNext()) {
-                Entry<Key, byte[]> entry = entries.next();
-                Key key = entry.getKey();
-                if (key.ts >= timestamp) {
-                    break;
-                }
-                timestamps.add(key.ts);
-            }
+        return getRangeInternal(tableRef, range, versions -> {
+            Set<Long> timestamps = Sets.newTreeSet(versions.headMap(timestamp).keySet());
             if (!timestamps.isEmpty()) {
                 return timestamps;
             } else {
@@ -226,76 +204,30 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
     private <T> ClosableIterator<RowResult<T>> getRangeInternal(TableReference tableRef,
                                                                 final RangeRequest range,
                                                                 final ResultProducer<T> resultProducer) {
-        ConcurrentNavigableMap<Key, byte[]> tableMap = getTableMap(tableRef).entries;
+        ConcurrentNavigableMap<byte[], Row> rows = getTableMap(tableRef).rows;
         if (range.isReverse()) {
-            tableMap = tableMap.descendingMap();
+            rows = rows.descendingMap();
         }
         if (range.getStartInclusive().length != 0) {
-            if (range.isReverse()) {
-                Cell startCell = Cells.createLargestCellForRow(range.getStartInclusive());
-                tableMap = tableMap.tailMap(new Key(startCell, Long.MIN_VALUE));
-            } else {
-                Cell startCell = Cells.createSmallestCellForRow(range.getStartInclusive());
-                tableMap = tableMap.tailMap(new Key(startCell, Long.MIN_VALUE));
-            }
+            rows = rows.tailMap(range.getStartInclusive(), true);
         }
         if (range.getEndExclusive().length != 0) {
-            if (range.isReverse()) {
-                Cell endCell = Cells.createLargestCellForRow(range.getEndExclusive());
-                tableMap = tableMap.headMap(new Key(endCell, Long.MAX_VALUE));
-            } else {
-                Cell endCell = Cells.createSmallestCellForRow(range.getEndExclusive());
-                tableMap = tableMap.headMap(new Key(endCell, Long.MAX_VALUE));
-            }
+            rows = rows.headMap(range.getEndExclusive(), false);
         }
-        final PeekingIterator<Entry<Key, byte[]>> it = Iterators.peekingIterator(tableMap.entrySet().iterator());
+        final Iterator<Entry<byte[], Row>> it = rows.entrySet().iterator();
         return ClosableIterators.wrap(new AbstractIterator<RowResult<T>>() {
             @Override
             protected RowResult<T> computeNext() {
-                while (true) {
-                    if (!it.hasNext()) {
-                        return endOfData();
-                    }
-                    ImmutableSortedMap.Builder<byte[], T> result = ImmutableSortedMap.orderedBy(
-                            UnsignedBytes.lexicographicalComparator());
-                    Key key = it.peek().getKey();
-                    byte[] row = key.row;
-                    Iterator<Entry<Key, byte[]>> cellIter = takeCell(it, key);
-                    collectValueForTimestamp(key.col, cellIter, result, range, resultProducer);
-
-                    while (it.hasNext()) {
-                        if (!it.peek().getKey().matchesRow(row)) {
-                            break;
-                        }
-                        key = it.peek().getKey();
-                        cellIter = takeCell(it, key);
-                        collectValueForTimestamp(key.col, cellIter, result, range, resultProducer);
-                    }
-                    SortedMap<byte[], T> columns = result.build();
+                while (it.hasNext()) {
+                    Entry<byte[], Row> row = it.next();
+                    SortedMap<byte[], T> columns = collectValuesForTimestamp(row.getValue(), range, resultProducer);
                     if (!columns.isEmpty()) {
-                        return RowResult.create(row, columns);
+                        return RowResult.create(row.getKey(), columns);
                     }
                 }
-            }
-
-        });
-    }
-
-    private static Iterator<Entry<Key, byte[]>> takeCell(final PeekingIterator<Entry<Key, byte[]>> it, final Key key) {
-        return new AbstractIterator<Entry<Key, byte[]>>() {
-            @Override
-            protected Entry<Key, byte[]> computeNext() {
-                if (!it.hasNext()) {
-                    return endOfData();
-                }
-                Entry<Key, byte[]> next = it.peek();
-                Key nextKey = next.getKey();
-                if (nextKey.matchesCell(key)) {
-                    return it.next();
-                }
                 return endOfData();
             }
-        };
+        });
     }
 
     @Override
@@ -304,7 +236,7 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
                                                                   BatchColumnRangeSelection batchColumnRangeSelection,
                                                                   long timestamp) {
         Map<byte[], RowColumnRangeIterator> result = Maps.newHashMap();
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
 
         ColumnRangeSelection columnRangeSelection = new ColumnRangeSelection(
                 batchColumnRangeSelection.getStartCol(),
@@ -322,62 +254,53 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
                                                      ColumnRangeSelection columnRangeSelection,
                                                      int cellBatchHint,
                                                      long timestamp) {
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
         Iterator<RowColumnRangeIterator> rowColumnRanges =
                 Iterators.transform(rows.iterator(),
                         row -> getColumnRangeForSingleRow(table, row, columnRangeSelection, timestamp));
         return new LocalRowColumnRangeIterator(Iterators.concat(rowColumnRanges));
     }
 
-    private RowColumnRangeIterator getColumnRangeForSingleRow(ConcurrentSkipListMap<Key, byte[]> table,
-                                                              byte[] row,
+    private RowColumnRangeIterator getColumnRangeForSingleRow(Table table,
+                                                              byte[] rowName,
                                                               ColumnRangeSelection columnRangeSelection,
                                                               long timestamp) {
-        Cell rowBegin;
+        Row row = table.rows.get(rowName);
+        if (row == null) {
+            return new LocalRowColumnRangeIterator(Collections.emptyIterator());
+        }
+        NavigableMap<byte[], ConcurrentNavigableMap<Long, byte[]>> columns = row.columns;
         if (columnRangeSelection.getStartCol().length > 0) {
-            rowBegin = Cell.create(row, columnRangeSelection.getStartCol());
-        } else {
-            rowBegin = Cells.createSmallestCellForRow(row);
+            columns = columns.tailMap(columnRangeSelection.getStartCol(), true);
         }
-        // Inclusive last cell.
-        Cell rowEnd;
         if (columnRangeSelection.getEndCol().length > 0) {
-            rowEnd = Cell.create(row, RangeRequests.previousLexicographicName(columnRangeSelection.getEndCol()));
-        } else {
-            rowEnd = Cells.createLargestCellForRow(row);
+            columns = columns.headMap(columnRangeSelection.getEndCol(), false);
         }
-        PeekingIterator<Entry<Key, byte[]>> entries = Iterators.peekingIterator(table.subMap(
-                new Key(rowBegin, Long.MIN_VALUE), new Key(rowEnd, timestamp)).entrySet().iterator());
         Map<Cell, Value> rowResults = new LinkedHashMap<>();
-        while (entries.hasNext()) {
-            Entry<Key, byte[]> entry = entries.peek();
-            Key key = entry.getKey();
-            Iterator<Entry<Key, byte[]>> cellIter = takeCell(entries, key);
-            getLatestVersionOfCell(row, key, cellIter, timestamp, rowResults);
+        for (Entry<byte[], ConcurrentNavigableMap<Long, byte[]>> column : columns.entrySet()) {
+            getLatestVersionOfCell(rowName, column.getKey(), column.getValue(), timestamp, rowResults);
         }
         return new LocalRowColumnRangeIterator(rowResults.entrySet().iterator());
     }
 
     private interface ResultProducer<T> {
-        @Nullable T apply(Iterator<Entry<Key, byte[]>> timestampValues);
-    }
-
-    @SuppressWarnings({"CheckReturnValue"}) // Consume all remaining values of iterator.
-    private static <T> void collectValueForTimestamp(byte[] col,
-                                                     Iterator<Entry<Key, byte[]>> timestampValues,
-                                                     @Output ImmutableSortedMap.Builder<byte[], T> results,
-                                                     RangeRequest range,
-                                                     ResultProducer<T> resultProducer) {
-        T result = null;
-        if (range.containsColumn(col)) {
-            result = resultProducer.apply(timestampValues);
-        }
-
-        // exhaust remaining entries
-        Iterators.size(timestampValues);
-        if (result != null) {
-            results.put(col, result);
+        @Nullable T apply(NavigableMap<Long, byte[]> versions);
+    }
+
+    private static <T> SortedMap<byte[], T> collectValuesForTimestamp(Row row,
+                                                                      RangeRequest range,
+                                                                      ResultProducer<T> resultProducer) {
+        ImmutableSortedMap.Builder<byte[], T> results = ImmutableSortedMap.orderedBy(
+                UnsignedBytes.lexicographicalComparator());
+        for (Entry<byte[], ConcurrentNavigableMap<Long, byte[]>> column : row.columns.entrySet()) {
+            if (range.containsColumn(column.getKey())) {
+                T result = resultProducer.apply(column.getValue());
+                if (result != null) {
+                    results.put(column.getKey(), result);
+                }
+            }
         }
+        return results.build();
     }
 
     @Override
@@ -413,8 +336,8 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
             byte[] contents = entry.getValue().getContents();
             long timestamp = entry.getValue().getTimestamp();
 
-            Key key = getKey(table, entry.getKey(), timestamp);
-            byte[] oldContents = putIfAbsent(table, key, contents);
+            byte[] oldContents = table.updateVersions(entry.getKey(),
+                    versions -> versions.putIfAbsent(timestamp, copyOf(contents)));
             if (oldContents != null && (doNotOverwriteWithSameValue || !Arrays.equals(oldContents, contents))) {
                 throw new KeyAlreadyExistsException("We already have a value for this timestamp",
                         ImmutableList.of(entry.getKey()), knownSuccessfullyCommittedKeys);
@@ -431,45 +354,40 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
     @Override
     public void checkAndSet(CheckAndSetRequest request) throws CheckAndSetException {
         TableReference tableRef = request.table();
-        Table table = getTableMap(tableRef);
         Cell cell = request.cell();
         Optional<byte[]> oldValue = request.oldValue();
         byte[] contents = request.newValue();
 
-        Key key = getKey(table, cell, AtlasDbConstants.TRANSACTION_TS);
+        getTableMap(tableRef).updateVersions(cell, versions -> {
+            checkAndSetVersions(tableRef, cell, oldValue, contents, versions);
+            return null;
+        });
+    }
+
+    private void checkAndSetVersions(
+            TableReference tableRef,
+            Cell cell,
+            Optional<byte[]> oldValue,
+            byte[] contents,
+            ConcurrentNavigableMap<Long, byte[]> versions) {
+        long timestamp = AtlasDbConstants.TRANSACTION_TS;
         if (oldValue.isPresent()) {
-            byte[] storedValue = table.entries.get(key);
+            byte[] storedValue = versions.get(timestamp);
             boolean succeeded = Arrays.equals(storedValue, oldValue.get())
-                    && table.entries.replace(key, storedValue, copyOf(contents));
+                    && versions.replace(timestamp, storedValue, copyOf(contents));
             if (!succeeded) {
-                byte[] actual = table.entries.get(key); // Re-fetch, something may have happened between get and replace
+                // Re-fetch, something may have happened between get and replace
+                byte[] actual = versions.get(timestamp);
                 throwCheckAndSetException(cell, tableRef, oldValue.get(), actual);
             }
         } else {
-            byte[] oldContents = putIfAbsent(table, key, contents);
+            byte[] oldContents = versions.putIfAbsent(timestamp, copyOf(contents));
             if (oldContents != null) {
                 throwCheckAndSetException(cell, tableRef, null, oldContents);
             }
         }
     }
 
-    // Returns the existing contents, if any, and null otherwise
-    private byte[] putIfAbsent(Table table, Key key, final byte[] contents) {
-        return table.entries.putIfAbsent(key, copyOf(contents));
-    }
-
-    private Key getKey(Table table, Cell cell, long timestamp) {
-        byte[] row = cell.getRowName();
-        byte[] col = cell.getColumnName();
-
-        Key nextKey = table.entries.ceilingKey(new Key(row, ArrayUtils.EMPTY_BYTE_ARRAY, Long.MIN_VALUE));
-        if (nextKey != null && nextKey.matchesRow(row)) {
-            // Save memory by sharing rows.
-            row = nextKey.row;
-        }
-        return new Key(row, col, timestamp);
-    }
-
     private void throwCheckAndSetException(Cell cell, TableReference tableRef, byte[] expected, byte[] actual) {
         ImmutableList<byte[]> actuals = actual == null ? ImmutableList.of() : ImmutableList.of(actual);
         throw new CheckAndSetException(cell, tableRef, expected, actuals);
@@ -477,27 +395,36 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
 
     @Override
     public void delete(TableReference tableRef, Multimap<Cell, Long> keys) {
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
         for (Map.Entry<Cell, Long> e : keys.entries()) {
-            table.remove(new Key(e.getKey(), e.getValue()));
+            NavigableMap<Long, byte[]> versions = table.getVersions(e.getKey());
+            if (versions != null) {
+                versions.remove(e.getValue());
+                table.removeIfEmpty(e.getKey());
+            }
         }
     }
 
     @Override
     public void deleteAllTimestamps(TableReference tableRef, Map<Cell, TimestampRangeDelete> deletes) {
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
-        deletes.forEach((cell, delete) -> table.subMap(
-                new Key(cell, delete.minTimestampToDelete()), true,
-                new Key(cell, delete.maxTimestampToDelete()), true).clear());
+        Table table = getTableMap(tableRef);
+        deletes.forEach((cell, delete) -> {
+            NavigableMap<Long, byte[]> versions = table.getVersions(cell);
+            if (versions != null) {
+                versions.subMap(delete.minTimestampToDelete(), true, delete.maxTimestampToDelete(), true).clear();
+                table.removeIfEmpty(cell);
+            }
+        });
     }
 
     @Override
     public Multimap<Cell, Long> getAllTimestamps(TableReference tableRef, Set<Cell> cells, long ts) {
         Multimap<Cell, Long> multimap = HashMultimap.create();
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
-        for (Cell key : cells) {
-            for (Key entry : table.subMap(new Key(key, Long.MIN_VALUE), new Key(key, ts)).keySet()) {
-                multimap.put(key, entry.ts);
+        Table table = getTableMap(tableRef);
+        for (Cell cell : cells) {
+            NavigableMap<Long, byte[]> versions = table.getVersions(cell);
+            if (versions != null) {
+                multimap.putAll(cell, versions.headMap(ts).keySet());
             }
         }
         return multimap;
@@ -518,7 +445,7 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
     public void truncateTable(TableReference tableRef) {
         Table table = tables.get(tableRef);
         if (table != null) {
-            table.entries.clear();
+            table.rows.clear();
         } else {
             throw tableMappingException(tableRef);
         }
@@ -556,14 +483,70 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
         return Arrays.copyOf(contents, contents.length);
     }
 
+    /**
+     * Rows of a table, in row name order. Reads are lock-free. Writes and the removal of emptied cells and rows
+     * synchronize on the row, so that a writer can never write into versions that have been detached from the table.
+     */
     static class Table {
-        final ConcurrentSkipListMap<Key, byte[]> entries;
+        final ConcurrentSkipListMap<byte[], Row> rows;
 
         Table() {
-            this.entries = new ConcurrentSkipListMap<>();
+            this.rows = new ConcurrentSkipListMap<>(UnsignedBytes.lexicographicalComparator());
+        }
+
+        @Nullable
+        ConcurrentNavigableMap<Long, byte[]> getVersions(Cell cell) {
+            Row row = rows.get(cell.getRowName());
+            return row == null ? null : row.columns.get(cell.getColumnName());
+        }
+
+        <T> T updateVersions(Cell cell, Function<ConcurrentNavigableMap<Long, byte[]>, T> update) {
+            while (true) {
+                Row row = rows.computeIfAbsent(cell.getRowName(), unused -> new Row());
+                synchronized (row) {
+                    // the row may have been removed after it was emptied, in which case a new one must be created
+                    if (rows.get(cell.getRowName()) == row) {
+                        return update.apply(row.columns.computeIfAbsent(
+                                cell.getColumnName(), unused -> new ConcurrentSkipListMap<>()));
+                    }
+                }
+            }
+        }
+
+        void removeIfEmpty(Cell cell) {
+            Row row = rows.get(cell.getRowName());
+            if (row == null) {
+                return;
+            }
+            synchronized (row) {
+                NavigableMap<Long, byte[]> versions = row.columns.get(cell.getColumnName());
+                if (versions != null && versions.isEmpty()) {
+                    row.columns.remove(cell.getColumnName(), versions);
+                }
+                if (row.columns.isEmpty()) {
+                    rows.remove(cell.getRowName(), row);
+                }
+            }
+        }
+
+    }
+
+    /**
+     * Columns of a row, in column name order, each mapping to the versions of that cell in timestamp order.
+     */
+    static class Row {
+        final ConcurrentSkipListMap<byte[], ConcurrentNavigableMap<Long, byte[]>> columns;
+
+        Row() {
+            this.columns = new ConcurrentSkipListMap<>(UnsignedBytes.lexicographicalComparator());
         }
     }
 
+    @VisibleForTesting
+    int getNumberOfRows(TableReference tableRef) {
+        return getTableMap(tableRef).rows.size();
+    }
+
     private Table getTableMap(TableReference tableRef) {
         if (createTablesAutomatically && !tables.containsKey(tableRef)) {
             createTable(tableRef, AtlasDbConstants.EMPTY_TABLE_METADATA);
@@ -577,9 +560,10 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
 
     @Override
     public void addGarbageCollectionSentinelValues(TableReference tableRef, Iterable<Cell> cells) {
-        ConcurrentSkipListMap<Key, byte[]> table = getTableMap(tableRef).entries;
+        Table table = getTableMap(tableRef);
         for (Cell cell : cells) {
-            table.put(new Key(cell, Value.INVALID_VALUE_TIMESTAMP), ArrayUtils.EMPTY_BYTE_ARRAY);
+            table.updateVersions(cell,
+                    versions -> versions.put(Value.INVALID_VALUE_TIMESTAMP, ArrayUtils.EMPTY_BYTE_ARRAY));
         }
     }
 
@@ -603,89 +587,4 @@ public class InMemoryKeyValueService extends AbstractKeyValueService {
     public ListenableFuture<Map<Cell, Value>> getAsync(TableReference tableRef, Map<Cell, Long> timestampByCell) {
         return Futures.immediateFuture(get(tableRef, timestampByCell));
     }
-
-    private static class Key implements Comparable<Key> {
-        private final byte[] row;
-        private final byte[] col;
-        private final long ts;
-
-        Key(Cell cell, long ts) {
-            this(cell.getRowName(), cell.getColumnName(), ts);
-        }
-
-        Key(byte[] row, byte[] col, long ts) {
-            this.row = row;
-            this.col = col;
-            this.ts = ts;
-        }
-
-        boolean matchesRow(byte[] otherRow) {
-            return UnsignedBytes.lexicographicalComparator().compare(row, otherRow) == 0;
-        }
-
-        boolean matchesCell(Cell cell) {
-            return UnsignedBytes.lexicographicalComparator().compare(row, cell.getRowName()) == 0
-                    && UnsignedBytes.lexicographicalComparator().compare(col, cell.getColumnName()) == 0;
-        }
-
-        boolean matchesCell(Key key) {
-            return UnsignedBytes.lexicographicalComparator().compare(row, key.row) == 0
-                    && UnsignedBytes.lexicographicalComparator().compare(col, key.col) == 0;
-        }
-
-        @Override
-        public int compareTo(Key other) {
-            int comparison = UnsignedBytes.lexicographicalComparator().compare(row, other.row);
-            if (comparison != 0) {
-                return comparison;
-            }
-            comparison = UnsignedBytes.lexicographicalComparator().compare(col, other.col);
-            if (comparison != 0) {
-                return comparison;
-            }
-            return Longs.compare(ts, other.ts);
-        }
-
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + Arrays.hashCode(col);
-            result = prime * result + Arrays.hashCode(row);
-            result = prime * result + (int) (ts ^ (ts >>> 32));
-            return result;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) {
-                return true;
-            }
-            if (obj == null) {
-                return false;
-            }
-            if (getClass() != obj.getClass()) {
-                return false;
-            }
-            Key other = (Key) obj;
-            if (!Arrays.equals(col, other.col)) {
-                return false;
-            }
-            if (!Arrays.equals(row, other.row)) {
-                return false;
-            }
-            if (ts != other.ts) {
-                return false;
-            }
-            return true;
-        }
-
-        @Override
-        public String toString() {
-            return "Key [row=" + BaseEncoding.base16().lowerCase().encode(row)
-                    + ", col=" + BaseEncoding.base16().lowerCase().encode(col)
-                    + ", ts=" + ts + "]";
-        }
-    }
 }
@@ -268,6 +268,12 @@ public final class ProfilingKeyValueService implements KeyValueService {
                 logTimeAndTable("getMetadataForTable", tableRef));
     }
 
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        return maybeLog(() -> delegate.getRangeSplitPoints(tableRef, rangeRequest, maxSplitPoints),
+                logTimeAndTableRange("getRangeSplitPoints", tableRef, rangeRequest));
+    }
+
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         return maybeLog(delegate::getMetadataForTables,
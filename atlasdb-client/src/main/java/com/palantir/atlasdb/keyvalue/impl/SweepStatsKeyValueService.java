@@ -20,10 +20,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
@@ -34,7 +34,6 @@ import org.slf4j.LoggerFactory;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Functions;
 import com.google.common.collect.Collections2;
-import com.google.common.collect.ConcurrentHashMultiset;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultiset;
 import com.google.common.collect.ImmutableSet;
@@ -42,6 +41,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
+import com.google.common.primitives.Ints;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.ClusterAvailabilityStatus;
@@ -82,12 +82,14 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
     private final Supplier<Long> writeSizeThreshold; // size of values which allows write stats to be flushed
     private final Supplier<Boolean> isEnabled; // for toggling legacy sweep enabled/disabled online
 
-    private final Multiset<TableReference> writesByTable = ConcurrentHashMultiset.create();
+    // Striped counters, so that concurrent writers to the same table do not contend on a single counter.
+    // Counters are never removed, so after the first write to a table recording a write is a lookup and an add.
+    private final ConcurrentMap<TableReference, LongAdder> writesByTable = new ConcurrentHashMap<>();
 
     private final Set<TableReference> clearedTables = ConcurrentHashMap.newKeySet();
 
-    private final AtomicInteger totalModifications = new AtomicInteger();
-    private final AtomicLong totalModificationsSize = new AtomicLong();
+    private final LongAdder totalModifications = new LongAdder();
+    private final LongAdder totalModificationsSize = new LongAdder();
     private final Lock flushLock = new ReentrantLock();
     private final ScheduledExecutorService flushExecutor = PTExecutors.newSingleThreadScheduledExecutor();
 
@@ -124,7 +126,7 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
     public void put(TableReference tableRef, Map<Cell, byte[]> values, long timestamp) {
         delegate().put(tableRef, values, timestamp);
         if (isEnabled.get()) {
-            writesByTable.add(tableRef, values.size());
+            recordWrites(tableRef, values.size());
             recordModifications(values.size());
             recordModificationsSize(values.entrySet().stream().mapToLong(cellEntry -> cellEntry.getValue().length)
                     .sum());
@@ -138,7 +140,7 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
             int newWrites = 0;
             long writesSize = 0;
             for (Entry<TableReference, ? extends Map<Cell, byte[]>> entry : valuesByTable.entrySet()) {
-                writesByTable.add(entry.getKey(), entry.getValue().size());
+                recordWrites(entry.getKey(), entry.getValue().size());
                 newWrites += entry.getValue().size();
                 writesSize += entry.getValue().entrySet().stream().mapToLong(cellEntry -> cellEntry.getValue().length)
                         .sum();
@@ -152,7 +154,7 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
     public void putWithTimestamps(TableReference tableRef, Multimap<Cell, Value> cellValues) {
         delegate().putWithTimestamps(tableRef, cellValues);
         if (isEnabled.get()) {
-            writesByTable.add(tableRef, cellValues.size());
+            recordWrites(tableRef, cellValues.size());
             recordModifications(cellValues.size());
             recordModificationsSize(cellValues.entries().stream()
                     .mapToLong(cellEntry -> cellEntry.getValue().getContents().length).sum());
@@ -211,17 +213,31 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
         return clearedTables.contains(tableRef);
     }
 
+    @VisibleForTesting
+    long getUnflushedWrites(TableReference tableRef) {
+        LongAdder writes = writesByTable.get(tableRef);
+        return writes == null ? 0 : writes.sum();
+    }
+
     // This way of recording the number of writes to tables is obviously not
     // completely correct. It does no synchronization between processes (so
     // updates could be clobbered), and it makes little effort to ensure that
     // all updates are flushed. It is intended only to be "good enough" for
     // determining what tables have been written to a lot.
+    private void recordWrites(TableReference tableRef, int newWrites) {
+        LongAdder writes = writesByTable.get(tableRef);
+        if (writes == null) {
+            writes = writesByTable.computeIfAbsent(tableRef, unused -> new LongAdder());
+        }
+        writes.add(newWrites);
+    }
+
     private void recordModifications(int newWrites) {
-        totalModifications.addAndGet(newWrites);
+        totalModifications.add(newWrites);
     }
 
     private void recordModificationsSize(long modificationSize) {
-        totalModificationsSize.addAndGet(modificationSize);
+        totalModificationsSize.add(modificationSize);
     }
 
     private void recordClear(TableReference tableRef) {
@@ -234,9 +250,9 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
             if (!shouldFlush()) {
                 log.debug("Not flushing since the total number modifications is less than threshold — {} < {} "
                                 + "— and total size of modifications is less than threshold — {} < {}",
-                        SafeArg.of("total modification count", totalModifications),
+                        SafeArg.of("total modification count", totalModifications.sum()),
                         SafeArg.of("count threshold", writeThreshold),
-                        SafeArg.of("total modifications size", totalModificationsSize),
+                        SafeArg.of("total modifications size", totalModificationsSize.sum()),
                         SafeArg.of("size threshold", writeSizeThreshold));
                 return;
             }
@@ -246,10 +262,9 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
                     try {
                         if (shouldFlush()) {
                             // snapshot current values while holding the lock and flush
-                            totalModifications.set(0);
-                            totalModificationsSize.set(0);
-                            Multiset<TableReference> localWritesByTable = ImmutableMultiset.copyOf(writesByTable);
-                            writesByTable.clear();
+                            totalModifications.reset();
+                            totalModificationsSize.reset();
+                            Multiset<TableReference> localWritesByTable = snapshotAndResetWrites();
                             Set<TableReference> localClearedTables = ImmutableSet.copyOf(clearedTables);
                             clearedTables.clear();
 
@@ -269,8 +284,21 @@ public class SweepStatsKeyValueService extends ForwardingKeyValueService {
     }
 
     private boolean shouldFlush() {
-        return totalModifications.get() >= writeThreshold.get()
-                || totalModificationsSize.get() >= writeSizeThreshold.get();
+        return totalModifications.sum() >= writeThreshold.get()
+                || totalModificationsSize.sum() >= writeSizeThreshold.get();
+    }
+
+    private Multiset<TableReference> snapshotAndResetWrites() {
+        ImmutableMultiset.Builder<TableReference> snapshot = ImmutableMultiset.builder();
+        for (Entry<TableReference, LongAdder> entry : writesByTable.entrySet()) {
+            // subtract rather than reset, so that writes recorded concurrently are kept for the next flush
+            long writes = entry.getValue().sum();
+            if (writes > 0) {
+                entry.getValue().add(-writes);
+                snapshot.addCopies(entry.getKey(), Ints.saturatedCast(writes));
+            }
+        }
+        return snapshot.build();
     }
 
     private void flushWrites(Multiset<TableReference> writes, Set<TableReference> clears) {
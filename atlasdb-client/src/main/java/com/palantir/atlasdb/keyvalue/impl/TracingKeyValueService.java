@@ -272,6 +272,15 @@ public final class TracingKeyValueService extends ForwardingObject implements Ke
         }
     }
 
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        //noinspection unused - try-with-resources closes trace
+        try (CloseableTrace trace = startLocalTrace("getRangeSplitPoints({}, {})",
+                LoggingArgs.safeTableOrPlaceholder(tableRef), maxSplitPoints)) {
+            return delegate().getRangeSplitPoints(tableRef, rangeRequest, maxSplitPoints);
+        }
+    }
+
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         //noinspection unused - try-with-resources closes trace
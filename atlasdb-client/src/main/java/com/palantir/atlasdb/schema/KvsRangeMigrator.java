@@ -16,6 +16,11 @@
 package com.palantir.atlasdb.schema;
 
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import javax.annotation.Nullable;
 
 import org.apache.commons.lang3.mutable.MutableLong;
 import org.slf4j.Logger;
@@ -26,6 +31,8 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.io.BaseEncoding;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.RateLimiter;
 import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyAlreadyExistsException;
@@ -42,6 +49,7 @@ import com.palantir.common.annotation.Output;
 import com.palantir.common.base.AbortingVisitor;
 import com.palantir.common.base.AbortingVisitors;
 import com.palantir.common.base.BatchingVisitable;
+import com.palantir.common.base.Throwables;
 import com.palantir.common.collect.Maps2;
 import com.palantir.util.Mutable;
 import com.palantir.util.Mutables;
@@ -58,6 +66,9 @@ public class KvsRangeMigrator implements RangeMigrator {
     private final long migrationTimestamp;
     private final AbstractTaskCheckpointer checkpointer;
     private final Function<RowResult<byte[]>, Map<Cell, byte[]>> rowTransform;
+    private final ExecutorService writeExecutor;
+    @Nullable
+    private final RateLimiter rateLimiter;
 
     KvsRangeMigrator(TableReference srcTable,
                      TableReference destTable,
@@ -67,7 +78,9 @@ public class KvsRangeMigrator implements RangeMigrator {
                      KeyValueService writeKvs,
                      long migrationTimestamp,
                      AbstractTaskCheckpointer checkpointer,
-                     Function<RowResult<byte[]>, Map<Cell, byte[]>> rowTransform) {
+                     Function<RowResult<byte[]>, Map<Cell, byte[]>> rowTransform,
+                     ExecutorService writeExecutor,
+                     long maxBytesPerSecond) {
         this.srcTable = srcTable;
         this.destTable = destTable;
         this.readBatchSize = readBatchSize;
@@ -77,6 +90,8 @@ public class KvsRangeMigrator implements RangeMigrator {
         this.migrationTimestamp = migrationTimestamp;
         this.checkpointer = checkpointer;
         this.rowTransform = rowTransform;
+        this.writeExecutor = writeExecutor;
+        this.rateLimiter = maxBytesPerSecond > 0 ? RateLimiter.create(maxBytesPerSecond) : null;
     }
 
     @Override
@@ -104,67 +119,79 @@ public class KvsRangeMigrator implements RangeMigrator {
         log.info("Migration from table {} to {} has already been completed", srcTable, destTable);
     }
 
+    /**
+     * Copies the range one chunk at a time, where each chunk is read in its own transaction. The write of a chunk
+     * to the destination is submitted to the write executor, and the next chunk is read while it is in flight. The
+     * checkpoint only moves past a chunk once its write has completed, so a restarted migration never skips data.
+     */
     @Override
     public void migrateRange(RangeRequest range, long rangeId) {
-        byte[] lastRow;
-        do {
-            lastRow = copyOneTransaction(range, rangeId);
-        } while (!isRangeDone(lastRow));
+        byte[] start = txManager.runTaskWithRetry(tx -> getCheckpoint(rangeId, tx));
+        PendingWrite pendingWrite = null;
+        while (start != null) {
+            RangeRequest.Builder builder = range.getBuilder().startRowInclusive(start);
+            if (builder.isInvalidRange()) {
+                break;
+            }
+            Chunk chunk = readChunk(builder.build(), rangeId);
+            if (pendingWrite != null) {
+                completeWrite(pendingWrite, rangeId);
+            }
+            pendingWrite = submitWrite(chunk);
+            start = isRangeDone(chunk.lastRow) ? null : getNextRowName(chunk.lastRow);
+        }
+        if (pendingWrite != null) {
+            completeWrite(pendingWrite, rangeId);
+        }
     }
 
     private boolean isRangeDone(byte[] row) {
         return row == null || RangeRequests.isLastRowName(row);
     }
 
-    private byte[] copyOneTransaction(final RangeRequest range, final long rangeId) {
-        return txManager.runTaskWithRetry(writeT -> copyOneTransactionFromReadTxManager(range, rangeId, writeT));
-    }
-
-    private byte[] copyOneTransactionFromReadTxManager(final RangeRequest range,
-                                                       final long rangeId,
-                                                       final Transaction writeT) {
-        if (readTxManager == txManager) {
-            // don't wrap
-            return copyOneTransactionInternal(range, rangeId, writeT, writeT);
-        } else {
-            // read only, but need to use a write tx in case the source table has SweepStrategy.THOROUGH
-            return readTxManager.runTaskWithRetry(readT -> copyOneTransactionInternal(range, rangeId, readT, writeT));
-        }
-    }
-
-    private byte[] copyOneTransactionInternal(RangeRequest range,
-                                              long rangeId,
-                                              Transaction readT,
-                                              Transaction writeT) {
-        final long maxBytes = TransactionConstants.WARN_LEVEL_FOR_QUEUED_BYTES / 2;
-        byte[] start = getCheckpoint(rangeId, writeT);
-        if (start == null) {
-            return null;
-        }
-        RangeRequest.Builder builder = range.getBuilder().startRowInclusive(start);
-        if (builder.isInvalidRange()) {
-            return null;
-        }
-        RangeRequest rangeToUse = builder.build();
+    private Chunk readChunk(RangeRequest rangeToUse, long rangeId) {
         if (log.isTraceEnabled()) {
             log.trace("Copying table {} range {} from {}  to {}", srcTable, rangeId,
                     BaseEncoding.base16().lowerCase().encode(rangeToUse.getStartInclusive()),
                     BaseEncoding.base16().lowerCase().encode(rangeToUse.getEndExclusive()));
         }
+        // read only, but need to use a write tx in case the source table has SweepStrategy.THOROUGH
+        return readTxManager.runTaskWithRetry(readT -> {
+            BatchingVisitable<RowResult<byte[]>> bv = readT.getRange(srcTable, rangeToUse);
+            Map<Cell, byte[]> writeMap = Maps.newHashMap();
+            MutableLong bytesPut = new MutableLong(0L);
+            byte[] lastRow = internalCopyRange(bv, TransactionConstants.WARN_LEVEL_FOR_QUEUED_BYTES / 2,
+                    writeMap, bytesPut);
+            if (log.isTraceEnabled() && (lastRow != null)) {
+                log.trace("Copying {} bytes for range {} on table {}", bytesPut.longValue(), rangeId, srcTable);
+            }
+            return new Chunk(writeMap, lastRow, bytesPut.longValue());
+        });
+    }
 
-        BatchingVisitable<RowResult<byte[]>> bv = readT.getRange(srcTable, rangeToUse);
+    private PendingWrite submitWrite(Chunk chunk) {
+        Future<?> future = writeExecutor.submit(() -> {
+            if (rateLimiter != null && chunk.bytes > 0) {
+                rateLimiter.acquire(Ints.saturatedCast(chunk.bytes));
+            }
+            writeToKvs(chunk.writeMap);
+        });
+        return new PendingWrite(future, chunk.lastRow);
+    }
 
-        Map<Cell, byte[]> writeMap = Maps.newHashMap();
-        byte[] lastRow = internalCopyRange(bv, maxBytes, writeMap);
-        if (log.isTraceEnabled() && (lastRow != null)) {
-            log.trace("Copying {} bytes for range {} on table {}", lastRow.length, rangeId, srcTable);
+    private void completeWrite(PendingWrite pendingWrite, long rangeId) {
+        try {
+            pendingWrite.future.get();
+        } catch (InterruptedException e) {
+            throw Throwables.throwUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
         }
-        writeToKvs(writeMap);
-
-        byte[] nextRow = getNextRowName(lastRow);
-        checkpointer.checkpoint(srcTable.getQualifiedName(), rangeId, nextRow, writeT);
-
-        return lastRow;
+        byte[] nextRow = isRangeDone(pendingWrite.lastRow) ? new byte[0] : getNextRowName(pendingWrite.lastRow);
+        txManager.runTaskWithRetry(writeT -> {
+            checkpointer.checkpoint(srcTable.getQualifiedName(), rangeId, nextRow, writeT);
+            return null;
+        });
     }
 
     private byte[] getCheckpoint(long rangeId, Transaction writeT) {
@@ -188,17 +215,14 @@ public class KvsRangeMigrator implements RangeMigrator {
     }
 
     private byte[] getNextRowName(byte[] lastRow) {
-        if (isRangeDone(lastRow)) {
-            return new byte[0];
-        }
         return RangeRequests.nextLexicographicName(lastRow);
     }
 
     private byte[] internalCopyRange(BatchingVisitable<RowResult<byte[]>> bv,
                                      final long maxBytes,
-                                     @Output final Map<Cell, byte[]> writeMap) {
+                                     @Output final Map<Cell, byte[]> writeMap,
+                                     @Output final MutableLong bytesPut) {
         final Mutable<byte[]> lastRowName = Mutables.newMutable(null);
-        final MutableLong bytesPut = new MutableLong(0L);
         bv.batchAccept(readBatchSize, AbortingVisitors.batching(
                 // Replacing this with a lambda results in an unreported exception compile error
                 // even though no exception can be thrown :-(
@@ -229,4 +253,26 @@ public class KvsRangeMigrator implements RangeMigrator {
         }
         return true;
     }
+
+    private static final class Chunk {
+        private final Map<Cell, byte[]> writeMap;
+        private final byte[] lastRow;
+        private final long bytes;
+
+        Chunk(Map<Cell, byte[]> writeMap, byte[] lastRow, long bytes) {
+            this.writeMap = writeMap;
+            this.lastRow = lastRow;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class PendingWrite {
+        private final Future<?> future;
+        private final byte[] lastRow;
+
+        PendingWrite(Future<?> future, byte[] lastRow) {
+            this.future = future;
+            this.lastRow = lastRow;
+        }
+    }
 }
@@ -16,8 +16,10 @@
 package com.palantir.atlasdb.schema;
 
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import com.google.common.base.Function;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RowResult;
@@ -36,6 +38,9 @@ import com.palantir.logsafe.Preconditions;
  *
  * If readTxManager is not given, the read transaction will be the same as the write transaction.
  * This will not work for kvs migrations.
+ *
+ * If writeExecutor is given, writes to writeKvs happen on it while the next batch is read, rather than on the
+ * migrating thread. If maxBytesPerSecond is positive, writes of this range migrator are throttled to that rate.
  */
 public class KvsRangeMigratorBuilder {
     private TableReference srcTable;
@@ -47,6 +52,8 @@ public class KvsRangeMigratorBuilder {
     private long migrationTimestamp;
     private AbstractTaskCheckpointer checkpointer;
     private Function<RowResult<byte[]>, Map<Cell, byte[]>> rowTransform;
+    private ExecutorService writeExecutor;
+    private long maxBytesPerSecond;
 
     public KvsRangeMigratorBuilder() {
         srcTable = null;
@@ -58,6 +65,8 @@ public class KvsRangeMigratorBuilder {
         migrationTimestamp = -1;
         checkpointer = null;
         rowTransform = getIdentityTransform();
+        writeExecutor = MoreExecutors.newDirectExecutorService();
+        maxBytesPerSecond = 0;
     }
 
     private static Function<RowResult<byte[]>, Map<Cell, byte[]>> getIdentityTransform() {
@@ -118,6 +127,18 @@ public class KvsRangeMigratorBuilder {
         return this;
     }
 
+    public KvsRangeMigratorBuilder writeExecutor(ExecutorService exec) {
+        Preconditions.checkNotNull(exec);
+        this.writeExecutor = exec;
+        return this;
+    }
+
+    public KvsRangeMigratorBuilder maxBytesPerSecond(long bytesPerSecond) {
+        Preconditions.checkArgument(bytesPerSecond >= 0);
+        this.maxBytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
     public KvsRangeMigrator build() {
         if (destTable == null) {
             destTable = srcTable;
@@ -140,6 +161,8 @@ public class KvsRangeMigratorBuilder {
                 writeKvs,
                 migrationTimestamp,
                 checkpointer,
-                rowTransform);
+                rowTransform,
+                writeExecutor,
+                maxBytesPerSecond);
     }
 }
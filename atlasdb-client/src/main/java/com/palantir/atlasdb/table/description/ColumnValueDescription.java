@@ -18,6 +18,8 @@ package com.palantir.atlasdb.table.description;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
@@ -30,6 +32,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.protobuf.AbstractMessage;
+import com.google.protobuf.ByteString;
 import com.google.protobuf.DescriptorProtos.FileDescriptorProto;
 import com.google.protobuf.Descriptors.Descriptor;
 import com.google.protobuf.Descriptors.DescriptorValidationException;
@@ -38,6 +41,7 @@ import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
 import com.googlecode.protobuf.format.JsonFormat;
 import com.googlecode.protobuf.format.JsonFormat.ParseException;
+import com.palantir.atlasdb.compress.CompressionDictionaries;
 import com.palantir.atlasdb.compress.CompressionUtils;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
@@ -72,7 +76,12 @@ public final class ColumnValueDescription {
 
     public enum Compression {
         SNAPPY,
-        NONE;
+        NONE,
+        LZ4,
+        /**
+         * Deflate with a preset dictionary trained on the values of the table. See {@link CompressionDictionaries}.
+         */
+        DEFLATE_DICTIONARY;
 
         public TableMetadataPersistence.Compression persistToProto() {
             return TableMetadataPersistence.Compression.valueOf(name());
@@ -91,14 +100,22 @@ public final class ColumnValueDescription {
     @Nullable final String canonicalClassName; // null if format is VALUE_TYPE
     // null if not a proto or descriptor is missing
     @Nullable final Descriptor protoDescriptor;
+    final CompressionDictionaries compressionDictionaries;
 
     private ColumnValueDescription(ValueType type, Compression compression) {
+        this(type, compression, CompressionDictionaries.empty());
+    }
+
+    private ColumnValueDescription(ValueType type,
+                                   Compression compression,
+                                   CompressionDictionaries compressionDictionaries) {
         this.format = Format.VALUE_TYPE;
         this.compression = Preconditions.checkNotNull(compression);
         this.type = Preconditions.checkNotNull(type);
         this.canonicalClassName = null;
         this.className = null;
         this.protoDescriptor = null;
+        this.compressionDictionaries = Preconditions.checkNotNull(compressionDictionaries);
     }
 
     public static ColumnValueDescription forType(ValueType type) {
@@ -158,6 +175,16 @@ public final class ColumnValueDescription {
                                    String canonicalClassName,
                                    Compression compression,
                                    Descriptor protoDescriptor) {
+        this(format, className, canonicalClassName, compression, protoDescriptor, CompressionDictionaries.empty());
+    }
+
+    private ColumnValueDescription(Format format,
+                                   String className,
+                                   String canonicalClassName,
+                                   Compression compression,
+                                   Descriptor protoDescriptor,
+                                   CompressionDictionaries compressionDictionaries) {
+        this.compressionDictionaries = Preconditions.checkNotNull(compressionDictionaries);
         this.compression = Preconditions.checkNotNull(compression);
         this.type = ValueType.BLOB;
         this.format = Preconditions.checkNotNull(format);
@@ -185,6 +212,65 @@ public final class ColumnValueDescription {
         return format;
     }
 
+    public CompressionDictionaries getCompressionDictionaries() {
+        return compressionDictionaries;
+    }
+
+    /**
+     * Returns a copy of this description using the given dictionaries, which must only be set for
+     * {@link Compression#DEFLATE_DICTIONARY} compressed values.
+     */
+    public ColumnValueDescription withCompressionDictionaries(CompressionDictionaries dictionaries) {
+        Preconditions.checkArgument(compression == Compression.DEFLATE_DICTIONARY || dictionaries.isEmpty(),
+                "Compression dictionaries are only used by DEFLATE_DICTIONARY compression");
+        if (format == Format.VALUE_TYPE) {
+            return new ColumnValueDescription(type, compression, dictionaries);
+        }
+        return new ColumnValueDescription(
+                format, className, canonicalClassName, compression, protoDescriptor, dictionaries);
+    }
+
+    /**
+     * Code for generated classes that compresses the bytes in the given variable.
+     * Dictionary compressed values refer to the field rendered by {@link #getInstantiateCompressionDictionariesCode}.
+     */
+    public String getCompressCode(String varName) {
+        return "com.palantir.atlasdb.compress.CompressionUtils.compress(" + varName + ", "
+                + getCompressionArgsCode() + ")";
+    }
+
+    /**
+     * Code for generated classes that decompresses the bytes in the given variable.
+     * Dictionary compressed values refer to the field rendered by {@link #getInstantiateCompressionDictionariesCode}.
+     */
+    public String getDecompressCode(String varName) {
+        return "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName + ", "
+                + getCompressionArgsCode() + ")";
+    }
+
+    private String getCompressionArgsCode() {
+        String compressionCode = "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression."
+                + compression;
+        if (compression == Compression.DEFLATE_DICTIONARY) {
+            return compressionCode + ", COMPRESSION_DICTIONARIES";
+        }
+        return compressionCode;
+    }
+
+    public boolean hasCompressionDictionaries() {
+        return compression == Compression.DEFLATE_DICTIONARY;
+    }
+
+    public String getInstantiateCompressionDictionariesCode() {
+        StringBuilder code = new StringBuilder("private static final com.palantir.atlasdb.compress.CompressionDictionaries"
+                + " COMPRESSION_DICTIONARIES = com.palantir.atlasdb.compress.CompressionDictionaries.fromBase64(");
+        List<String> encodedDictionaries = compressionDictionaries.toBase64();
+        for (int i = 0; i < encodedDictionaries.size(); i++) {
+            code.append(i == 0 ? "" : ", ").append('"').append(encodedDictionaries.get(i)).append('"');
+        }
+        return code.append(");").toString();
+    }
+
     public Descriptor getProtoDescriptor() {
         return protoDescriptor;
     }
@@ -243,12 +329,15 @@ public final class ColumnValueDescription {
         } else if (format == Format.PROTO) {
             result = varName + ".toByteArray()";
         } else if (format == Format.PERSISTER) {
-            result = "new " + canonicalClassName + "().persistToBytes(" + varName + ")";
+            if (isReusablePersister()) {
+                result = "REUSABLE_PERSISTER.persistToBytes(" + varName + ")";
+            } else {
+                result = "new " + canonicalClassName + "().persistToBytes(" + varName + ")";
+            }
         } else {
             result = type.getPersistCode(varName);
         }
-        return "com.palantir.atlasdb.compress.CompressionUtils.compress(" + result + ", " +
-                "com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+        return getCompressCode(result);
     }
 
     public byte[] persistJsonToBytes(String str) throws ParseException {
@@ -280,7 +369,7 @@ public final class ColumnValueDescription {
         } else {
             bytes = type.convertFromString(str);
         }
-        return CompressionUtils.compress(bytes, compression);
+        return CompressionUtils.compress(bytes, compression, compressionDictionaries);
     }
 
     private Message.Builder createBuilder(ClassLoader classLoader) {
@@ -343,31 +432,34 @@ public final class ColumnValueDescription {
     }
 
     public String composeVarName(String varName) {
-        return "com.palantir.atlasdb.compress.CompressionUtils.decompress(" + varName +
-                ", com.palantir.atlasdb.table.description.ColumnValueDescription.Compression." + compression + ")";
+        return getDecompressCode(varName);
     }
 
+    /**
+     * Reusable persisters are stateless, so generated classes share a single instance for both persisting and
+     * hydrating values instead of allocating a persister per value.
+     */
     public String getInstantiateReusablePersisterCode() {
-        return "private final " + canonicalClassName + " REUSABLE_PERSISTER = " +
+        return "private static final " + canonicalClassName + " REUSABLE_PERSISTER = " +
                         "new " + canonicalClassName + "();";
     }
 
     @SuppressWarnings("unchecked")
     public Persistable hydratePersistable(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PERSISTABLE, "Column value is not a Persistable.");
-        return ColumnValues.parsePersistable((Class<? extends Persistable>)getImportClass(classLoader), CompressionUtils.decompress(value, compression));
+        return ColumnValues.parsePersistable((Class<? extends Persistable>)getImportClass(classLoader), CompressionUtils.decompress(value, compression, compressionDictionaries));
     }
 
     public Object hydratePersister(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PERSISTER, "Column value is not a Persister.");
         Persister<?> persister = getPersister();
-        return persister.hydrateFromBytes(CompressionUtils.decompress(value, compression));
+        return persister.hydrateFromBytes(CompressionUtils.decompress(value, compression, compressionDictionaries));
     }
 
     @SuppressWarnings("unchecked")
     public Message hydrateProto(ClassLoader classLoader, byte[] value) {
         Preconditions.checkState(format == Format.PROTO, "Column value is not a protocol buffer.");
-        return ColumnValues.parseProtoBuf((Class<? extends AbstractMessage>) getImportClass(classLoader), CompressionUtils.decompress(value, compression));
+        return ColumnValues.parseProtoBuf((Class<? extends AbstractMessage>) getImportClass(classLoader), CompressionUtils.decompress(value, compression, compressionDictionaries));
     }
 
     public TableMetadataPersistence.ColumnValueDescription.Builder persistToProto() {
@@ -381,6 +473,9 @@ public final class ColumnValueDescription {
             builder.setCanonicalClassName(canonicalClassName);
         }
         builder.setFormat(format.persistToProto());
+        for (byte[] dictionary : compressionDictionaries.getDictionaries()) {
+            builder.addCompressionDictionaries(ByteString.copyFrom(dictionary));
+        }
         if (protoDescriptor != null) {
             builder.setProtoMessageName(protoDescriptor.getName());
             builder.setProtoFileDescriptorTree(persistFileDescriptorTree(protoDescriptor.getFile()));
@@ -401,6 +496,18 @@ public final class ColumnValueDescription {
     }
 
     public static ColumnValueDescription hydrateFromProto(TableMetadataPersistence.ColumnValueDescription message) {
+        ColumnValueDescription description = hydrateFromProtoWithoutDictionaries(message);
+        if (message.getCompressionDictionariesCount() == 0) {
+            return description;
+        }
+        return description.withCompressionDictionaries(CompressionDictionaries.of(
+                message.getCompressionDictionariesList().stream()
+                        .map(ByteString::toByteArray)
+                        .collect(Collectors.toList())));
+    }
+
+    private static ColumnValueDescription hydrateFromProtoWithoutDictionaries(
+            TableMetadataPersistence.ColumnValueDescription message) {
         ValueType type = ValueType.hydrateFromProto(message.getType());
         Compression compression = Compression.hydrateFromProto(message.getCompression());
         if (!message.hasClassName()) {
@@ -470,6 +577,7 @@ public final class ColumnValueDescription {
     @Override
     public String toString() {
         return "ColumnValueDescription [format=" + format + ", compression=" + compression
+                + ", compressionDictionaries=" + compressionDictionaries
                 + ", type=" + type + ", className=" + className + ", canonicalClassName="
                 + canonicalClassName + "]";
     }
@@ -481,6 +589,7 @@ public final class ColumnValueDescription {
         int result = 1;
         result = prime * result + (format == null ? 0 : format.hashCode());
         result = prime * result + (compression == null ? 0 : compression.hashCode());
+        result = prime * result + compressionDictionaries.hashCode();
         result = prime * result + (type == null ? 0 : type.hashCode());
         result = prime * result + (className == null ? 0 : className.hashCode());
         result = prime * result + (canonicalClassName == null ? 0 : canonicalClassName.hashCode());
@@ -513,6 +622,9 @@ public final class ColumnValueDescription {
         } else if (!compression.equals(other.getCompression())) {
             return false;
         }
+        if (!compressionDictionaries.equals(other.compressionDictionaries)) {
+            return false;
+        }
         if (type == null) {
             if (other.type != null) {
                 return false;
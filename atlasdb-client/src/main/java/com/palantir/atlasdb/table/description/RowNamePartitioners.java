@@ -0,0 +1,50 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description;
+
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import com.google.common.primitives.UnsignedBytes;
+
+public final class RowNamePartitioners {
+    private RowNamePartitioners() {
+        // utility
+    }
+
+    /**
+     * Returns the sorted, distinct and non-empty row names that split the row space of a table into roughly
+     * {@code numPartitions} ranges, according to the given partitioners of its row components. As in
+     * {@link com.palantir.atlasdb.schema.TableMigrator}, tables without partitioners are split as if their rows
+     * were uniformly distributed fixed longs.
+     */
+    public static List<byte[]> getSplitPoints(List<RowNamePartitioner> partitioners, int numPartitions) {
+        SortedSet<byte[]> splitPoints = new TreeSet<>(UnsignedBytes.lexicographicalComparator());
+        if (partitioners.isEmpty()) {
+            splitPoints.addAll(new UniformRowNamePartitioner(ValueType.FIXED_LONG).getPartitions(numPartitions));
+        } else {
+            int partitionsPerPartitioner = Math.max(1, numPartitions / partitioners.size());
+            for (RowNamePartitioner partitioner : partitioners) {
+                splitPoints.addAll(partitioner.getPartitions(partitionsPerPartitioner));
+            }
+        }
+        return splitPoints.stream()
+                .filter(splitPoint -> splitPoint.length > 0)
+                .collect(Collectors.toList());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.table.description;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -25,6 +26,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.protobuf.AbstractMessage;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.compress.CompressionDictionaries;
 import com.palantir.atlasdb.persist.api.Persister;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.LogSafety;
 import com.palantir.atlasdb.protos.generated.TableMetadataPersistence.ValueByteOrder;
@@ -323,6 +325,15 @@ public class TableDefinition extends AbstractDefinition {
                 "Can only define a constraint inside the constraints scope.");
     }
 
+    /**
+     * Sets the preset dictionaries used by columns with {@link Compression#DEFLATE_DICTIONARY} compression. Dictionaries
+     * may only be appended to: values written with an older dictionary are still decompressed with that dictionary, and
+     * new values use the last one. See {@link com.palantir.atlasdb.compress.CompressionDictionaries#train}.
+     */
+    public void compressionDictionaries(byte[]... dictionaries) {
+        compressionDictionaries = CompressionDictionaries.of(Arrays.asList(dictionaries));
+    }
+
     public void maxValueSize(int size) {
         maxValueSize = size;
     }
@@ -361,6 +372,36 @@ public class TableDefinition extends AbstractDefinition {
         this.v2TableEnabled = true;
     }
 
+    public boolean hasAsyncApiEnabled() {
+        return this.asyncApiEnabled;
+    }
+
+    /**
+     * Enables generation of asynchronous reads returning {@link com.google.common.util.concurrent.ListenableFuture}s
+     * and, for tables that allow range scans, lazily paged {@link java.util.stream.Stream}s over ranges.
+     *
+     * This is a beta feature. API stability is not guaranteed, and the risk of defects is higher.
+     */
+    @Beta
+    public void enableAsyncApi() {
+        this.asyncApiEnabled = true;
+    }
+
+    public boolean hasFlyweightReadsEnabled() {
+        return this.flyweightReadsEnabled;
+    }
+
+    /**
+     * Enables generation of a reusable row view, which decodes the row name and values of a raw row result only when
+     * they are read, and of static helpers decoding many raw row results through a single view.
+     *
+     * This is a beta feature. API stability is not guaranteed, and the risk of defects is higher.
+     */
+    @Beta
+    public void enableFlyweightReads() {
+        this.flyweightReadsEnabled = true;
+    }
+
     public void validate() {
         toTableMetadata();
         getConstraintMetadata();
@@ -389,6 +430,7 @@ public class TableDefinition extends AbstractDefinition {
     private List<NamedColumnDescription> fixedColumns = Lists.newArrayList();
     private List<NameComponentDescription> dynamicColumnNameComponents = Lists.newArrayList();
     private ColumnValueDescription dynamicColumnValue = null;
+    private CompressionDictionaries compressionDictionaries = CompressionDictionaries.empty();
     private ConstraintMetadata.Builder constraintBuilder = ConstraintMetadata.builder();
     private Set<String> fixedColumnShortNames = Sets.newHashSet();
     private Set<String> fixedColumnLongNames = Sets.newHashSet();
@@ -396,6 +438,8 @@ public class TableDefinition extends AbstractDefinition {
     private LogSafety tableNameSafety = LogSafety.UNSAFE;
     private LogSafety defaultNamedComponentLogSafety = LogSafety.UNSAFE;
     private boolean v2TableEnabled = false;
+    private boolean asyncApiEnabled = false;
+    private boolean flyweightReadsEnabled = false;
 
     public TableMetadata toTableMetadata() {
         com.palantir.logsafe.Preconditions.checkState(!rowNameComponents.isEmpty(), "No row name components defined.");
@@ -427,15 +471,32 @@ public class TableDefinition extends AbstractDefinition {
             com.palantir.logsafe.Preconditions.checkState(
                     dynamicColumnNameComponents.isEmpty(),
                     "Cannot define both dynamic and fixed columns.");
-            return new ColumnMetadataDescription(fixedColumns);
+            List<NamedColumnDescription> columns = Lists.newArrayListWithCapacity(fixedColumns.size());
+            for (NamedColumnDescription column : fixedColumns) {
+                columns.add(new NamedColumnDescription(
+                        column.getShortName(),
+                        column.getLongName(),
+                        withCompressionDictionaries(column.getValue()),
+                        column.getLogSafety()));
+            }
+            return new ColumnMetadataDescription(columns);
         } else {
             com.palantir.logsafe.Preconditions.checkState(
                     !dynamicColumnNameComponents.isEmpty() && dynamicColumnValue != null,
                     "Columns not properly defined.");
             return new ColumnMetadataDescription(
                     new DynamicColumnDescription(NameMetadataDescription.create(dynamicColumnNameComponents),
-                            dynamicColumnValue));
+                            withCompressionDictionaries(dynamicColumnValue)));
+        }
+    }
+
+    private ColumnValueDescription withCompressionDictionaries(ColumnValueDescription value) {
+        if (value.getCompression() != Compression.DEFLATE_DICTIONARY) {
+            return value;
         }
+        com.palantir.logsafe.Preconditions.checkState(!compressionDictionaries.isEmpty(),
+                "DEFLATE_DICTIONARY compression requires compressionDictionaries() to be declared.");
+        return value.withCompressionDictionaries(compressionDictionaries);
     }
 
     public ConstraintMetadata getConstraintMetadata() {
@@ -94,6 +94,16 @@ public class DynamicColumnValueRenderer extends Renderer {
     private void fields() {
         line("private final ", Column, " columnName;");
         line("private final ", Value, " value;");
+        if (val.isReusablePersister()) {
+            line(val.getInstantiateReusablePersisterCode());
+        }
+        if (val.hasCompressionDictionaries()) {
+            line(val.getInstantiateCompressionDictionariesCode());
+        }
+    }
+
+    private String compressionDictionaries() {
+        return val.hasCompressionDictionaries() ? ", COMPRESSION_DICTIONARIES" : "";
     }
 
     private void staticFactories() {
@@ -148,13 +158,13 @@ public class DynamicColumnValueRenderer extends Renderer {
             default:
                 throw new UnsupportedOperationException("Unsupported value type: " + val.getFormat());
             }
-            line("return CompressionUtils.compress(bytes, Compression.", val.getCompression().name(), ");");
+            line("return CompressionUtils.compress(bytes, Compression.", val.getCompression().name(), compressionDictionaries(), ");");
         } line("}");
     }
 
     private void hydrateValue() {
         line("public static ", Value, " hydrateValue(byte[] bytes) {"); {
-            line("bytes = CompressionUtils.decompress(bytes, Compression.", val.getCompression().name(), ");");
+            line("bytes = CompressionUtils.decompress(bytes, Compression.", val.getCompression().name(), compressionDictionaries(), ");");
             switch (val.getFormat()) {
             case PERSISTABLE:
                 line("return ", Value, ".BYTES_HYDRATOR.hydrateFromBytes(bytes);");
@@ -78,6 +78,16 @@ public class NamedColumnValueRenderer extends Renderer {
 
     private void fields() {
         line("private final ", TypeName(col), " value;");
+        if (col.getValue().isReusablePersister()) {
+            line(col.getValue().getInstantiateReusablePersisterCode());
+        }
+        if (col.getValue().hasCompressionDictionaries()) {
+            line(col.getValue().getInstantiateCompressionDictionariesCode());
+        }
+    }
+
+    private String compressionDictionaries() {
+        return col.getValue().hasCompressionDictionaries() ? ", COMPRESSION_DICTIONARIES" : "";
     }
 
     private void staticFactories() {
@@ -132,7 +142,7 @@ public class NamedColumnValueRenderer extends Renderer {
             default:
                 throw new UnsupportedOperationException("Unsupported value type: " + col.getValue().getFormat());
             }
-            line("return CompressionUtils.compress(bytes, Compression.", col.getValue().getCompression().name(), ");");
+            line("return CompressionUtils.compress(bytes, Compression.", col.getValue().getCompression().name(), compressionDictionaries(), ");");
         } line("}");
     }
 
@@ -149,7 +159,7 @@ public class NamedColumnValueRenderer extends Renderer {
         line("public static final Hydrator<", Name, "> BYTES_HYDRATOR = new Hydrator<", Name, ">() {"); {
             line("@Override");
             line("public ", Name, " hydrateFromBytes(byte[] bytes) {"); {
-                line("bytes = CompressionUtils.decompress(bytes, Compression.", col.getValue().getCompression().name(), ");");
+                line("bytes = CompressionUtils.decompress(bytes, Compression.", col.getValue().getCompression().name(), compressionDictionaries(), ");");
                 switch (col.getValue().getFormat()) {
                 case PERSISTABLE:
                     line("return of(", TypeName(col), ".BYTES_HYDRATOR.hydrateFromBytes(bytes));");
@@ -171,11 +181,6 @@ public class NamedColumnValueRenderer extends Renderer {
                     throw new UnsupportedOperationException("Unsupported value type: " + col.getValue().getFormat());
                 }
             } line("}");
-
-            if (col.getValue().isReusablePersister()) {
-                line(col.getValue().getInstantiateReusablePersisterCode());
-            }
-
         } line("};");
     }
 
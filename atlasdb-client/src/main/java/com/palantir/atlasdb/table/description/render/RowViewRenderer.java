@@ -0,0 +1,136 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description.render;
+
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.TypeName;
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.VarName;
+import static com.palantir.atlasdb.table.description.render.ColumnRenderers.short_name;
+
+import com.palantir.atlasdb.table.description.NamedColumnDescription;
+import com.palantir.atlasdb.table.description.TableMetadata;
+
+/**
+ * Renders a flyweight view over raw row results. A single view can be reset to each row of a scan in turn, and only
+ * decodes the row name and the values that are actually read.
+ */
+@SuppressWarnings("checkstyle:AvoidNestedBlocks")
+class RowViewRenderer extends Renderer {
+    private final TableMetadata table;
+    private final String tableName;
+    private final String row;
+    private final String rowView;
+
+    RowViewRenderer(Renderer parent, String tableName, TableMetadata table) {
+        super(parent);
+        this.table = table;
+        this.tableName = tableName;
+        this.row = tableName + "Row";
+        this.rowView = tableName + "RowView";
+    }
+
+    @Override
+    protected void run() {
+        line("public static final class ", rowView, " {"); {
+            fields();
+            line();
+            reset();
+            line();
+            getRawRowName();
+            line();
+            getRowName();
+            if (table.getColumns().hasDynamicColumns()) {
+                line();
+                getDynamicColumnValue();
+                line();
+                forEachDynamicColumnValue();
+            } else {
+                for (NamedColumnDescription col : ColumnRenderers.namedColumns(table)) {
+                    line();
+                    hasCol(col);
+                    line();
+                    getCol(col);
+                }
+            }
+        } line("}");
+    }
+
+    private void fields() {
+        line("private RowResult<byte[]> row;");
+        line("private ", row, " rowName;");
+    }
+
+    private void reset() {
+        line("public ", rowView, " reset(RowResult<byte[]> row) {"); {
+            line("this.row = row;");
+            line("this.rowName = null;");
+            line("return this;");
+        } line("}");
+    }
+
+    private void getRawRowName() {
+        line("public byte[] getRawRowName() {"); {
+            line("return row.getRowName();");
+        } line("}");
+    }
+
+    private void getRowName() {
+        line("public ", row, " getRowName() {"); {
+            line("if (rowName == null) {"); {
+                line("rowName = ", row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName());");
+            } line("}");
+            line("return rowName;");
+        } line("}");
+    }
+
+    private void hasCol(NamedColumnDescription col) {
+        line("public boolean has", VarName(col), "() {"); {
+            line("return row.getColumns().containsKey(PtBytes.toCachedBytes(", short_name(col), "));");
+        } line("}");
+    }
+
+    private void getCol(NamedColumnDescription col) {
+        line("public ", TypeName(col), " get", VarName(col), "() {"); {
+            line("byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes(", short_name(col), "));");
+            line("if (bytes == null) {"); {
+                line("return null;");
+            } line("}");
+            line("return ", VarName(col), ".BYTES_HYDRATOR.hydrateFromBytes(bytes).getValue();");
+        } line("}");
+    }
+
+    private void getDynamicColumnValue() {
+        String column = tableName + "Column";
+        String value = table.getColumns().getDynamicColumn().getValue().getJavaObjectTypeName();
+        line("public ", value, " getColumnValue(", column, " column) {"); {
+            line("byte[] bytes = row.getColumns().get(column.persistToBytes());");
+            line("if (bytes == null) {"); {
+                line("return null;");
+            } line("}");
+            line("return ", tableName, "ColumnValue.hydrateValue(bytes);");
+        } line("}");
+    }
+
+    private void forEachDynamicColumnValue() {
+        String column = tableName + "Column";
+        String value = table.getColumns().getDynamicColumn().getValue().getJavaObjectTypeName();
+        line("public void forEachColumnValue(java.util.function.BiConsumer<", column, ", ", value, "> consumer) {"); {
+            line("for (Entry<byte[], byte[]> e : row.getColumns().entrySet()) {"); {
+                line("consumer.accept(", column, ".BYTES_HYDRATOR.hydrateFromBytes(e.getKey()), ",
+                        tableName, "ColumnValue.hydrateValue(e.getValue()));");
+            } line("}");
+        } line("}");
+    }
+}
@@ -154,6 +154,8 @@ public class TableRenderer {
         private final String ColumnValue;
         private final String RowResult;
         private final String Trigger;
+        private final boolean asyncApiEnabled;
+        private final boolean flyweightReadsEnabled;
 
         public ClassRenderer(String rawTableName,
                              TableDefinition table,
@@ -175,6 +177,8 @@ public class TableRenderer {
             this.ColumnValue = tableName + (isDynamic(this.table) ? "ColumnValue" : "NamedColumnValue<?>");
             this.RowResult = tableName + "RowResult";
             this.Trigger = tableName + "Trigger";
+            this.asyncApiEnabled = table.hasAsyncApiEnabled();
+            this.flyweightReadsEnabled = table.hasFlyweightReadsEnabled();
         }
 
         public ClassRenderer(Renderer parent, String outerTable, IndexMetadata index) {
@@ -193,6 +197,8 @@ public class TableRenderer {
             this.ColumnValue = tableName + (isDynamic(this.table) ? "ColumnValue" : "NamedColumnValue<?>");
             this.RowResult = tableName + "RowResult";
             this.Trigger = tableName + "Trigger";
+            this.asyncApiEnabled = false;
+            this.flyweightReadsEnabled = false;
         }
 
         @Override
@@ -266,6 +272,28 @@ public class TableRenderer {
                     renderGetAllRowsUnordered();
                 }
                 line();
+                if (asyncApiEnabled) {
+                    if (isDynamic(table)) {
+                        renderDynamicGetAsync();
+                    } else {
+                        renderNamedGetRowsAsync();
+                    }
+                    line();
+                    if (table.isRangeScanAllowed()) {
+                        renderGetRangeStream();
+                        line();
+                    }
+                }
+                if (flyweightReadsEnabled) {
+                    renderVisitRowViews();
+                    line();
+                    if (!isDynamic(table)) {
+                        for (NamedColumnDescription col : ColumnRenderers.namedColumns(table)) {
+                            renderNamedDecodeColumn(col);
+                            line();
+                        }
+                    }
+                }
                 if (isNamedSet(table)) {
                     renderAdd();
                     line();
@@ -295,6 +323,10 @@ public class TableRenderer {
             line();
             new NamedRowResultRenderer(this, tableName, ColumnRenderers.namedColumns(table)).run();
             line();
+            if (flyweightReadsEnabled) {
+                new RowViewRenderer(this, tableName, table).run();
+                line();
+            }
             new NamedColumnRenderer(this, tableName, ColumnRenderers.namedColumns(table)).run();
             line();
             renderColumnSelection(false);
@@ -348,6 +380,10 @@ public class TableRenderer {
             line();
             new DynamicRowResultRenderer(this, tableName, table.getColumns().getDynamicColumn().getValue()).run();
             line();
+            if (flyweightReadsEnabled) {
+                new RowViewRenderer(this, tableName, table).run();
+                line();
+            }
             renderDynamicDelete();
             line();
             renderDynamicPut();
@@ -1073,6 +1109,70 @@ public class TableRenderer {
             } line("}");
         }
 
+        private void renderNamedGetRowsAsync() {
+            line("public com.google.common.util.concurrent.ListenableFuture<List<", RowResult, ">> getRowsAsync(Iterable<", Row, "> rows) {"); {
+                line("return getRowsAsync(rows, allColumns);");
+            } line("}");
+            line();
+            line("public com.google.common.util.concurrent.ListenableFuture<List<", RowResult, ">> getRowsAsync(Iterable<", Row, "> rows, ColumnSelection columns) {"); {
+                line("ColumnSelection selection = columns.allColumnsSelected() ? allColumns : columns;");
+                line("return com.google.common.util.concurrent.Futures.transform(");
+                line("        com.palantir.atlasdb.table.generation.TableReads.getRowsAsync(t, tableRef, Persistables.persistAll(rows), selection),");
+                line("        results -> Lists.transform(results, ", RowResult, "::of),");
+                line("        com.google.common.util.concurrent.MoreExecutors.directExecutor());");
+            } line("}");
+        }
+
+        private void renderDynamicGetAsync() {
+            line("public com.google.common.util.concurrent.ListenableFuture<Multimap<", Row, ", ", ColumnValue, ">> getAsync(Multimap<", Row, ", ", Column, "> cells) {"); {
+                line("return com.google.common.util.concurrent.Futures.transform(");
+                line("        com.palantir.atlasdb.table.generation.TableReads.getAsync(t, tableRef, ColumnValues.toCells(cells)),");
+                line("        ", Table, "::getRowMapFromCellValues,");
+                line("        com.google.common.util.concurrent.MoreExecutors.directExecutor());");
+            } line("}");
+            line();
+            line("private static Multimap<", Row, ", ", ColumnValue, "> getRowMapFromCellValues(Map<Cell, byte[]> rawResults) {"); {
+                line("Multimap<", Row, ", ", ColumnValue, "> rowMap = HashMultimap.create();");
+                line("for (Entry<Cell, byte[]> e : rawResults.entrySet()) {"); {
+                    line(Row, " row = ", Row, ".BYTES_HYDRATOR.hydrateFromBytes(e.getKey().getRowName());");
+                    line(Column, " col = ", Column, ".BYTES_HYDRATOR.hydrateFromBytes(e.getKey().getColumnName());");
+                    line(table.getColumns().getDynamicColumn().getValue().getJavaObjectTypeName(), " val = ",
+                            ColumnValue, ".hydrateValue(e.getValue());");
+                    line("rowMap.put(row, ", ColumnValue, ".of(col, val));");
+                } line("}");
+                line("return rowMap;");
+            } line("}");
+        }
+
+        private void renderGetRangeStream() {
+            line("public Stream<", RowResult, "> getRangeStream(RangeRequest range, int pageSize) {"); {
+                line("return com.palantir.atlasdb.table.generation.TableReads.getRangeStream(t, tableRef, optimizeRangeRequest(range), pageSize)");
+                line("        .map(", RowResult, "::of);");
+            } line("}");
+        }
+
+        private void renderVisitRowViews() {
+            line("public static void visitRowViews(Iterable<RowResult<byte[]>> rows, java.util.function.Consumer<", tableName, "RowView> visitor) {"); {
+                line(tableName, "RowView view = new ", tableName, "RowView();");
+                line("for (RowResult<byte[]> row : rows) {"); {
+                    line("visitor.accept(view.reset(row));");
+                } line("}");
+            } line("}");
+        }
+
+        private void renderNamedDecodeColumn(NamedColumnDescription col) {
+            line("public static Map<", Row, ", ", ColumnRenderers.TypeName(col), "> decode", ColumnRenderers.VarName(col), "s(Iterable<RowResult<byte[]>> rows) {"); {
+                line("Map<", Row, ", ", ColumnRenderers.TypeName(col), "> ret = Maps.newLinkedHashMap();");
+                line("for (RowResult<byte[]> row : rows) {"); {
+                    line("byte[] bytes = row.getColumns().get(PtBytes.toCachedBytes(", ColumnRenderers.short_name(col), "));");
+                    line("if (bytes != null) {"); {
+                        line("ret.put(", Row, ".BYTES_HYDRATOR.hydrateFromBytes(row.getRowName()), ", ColumnRenderers.VarName(col), ".BYTES_HYDRATOR.hydrateFromBytes(bytes).getValue());");
+                    } line("}");
+                } line("}");
+                line("return ret;");
+            } line("}");
+        }
+
         private void renderGetRowsMultimap(boolean isDynamic) {
             line("@Override");
             line("public Multimap<", Row, ", ", ColumnValue, "> getRowsMultimap(Iterable<", Row, "> rows) {"); {
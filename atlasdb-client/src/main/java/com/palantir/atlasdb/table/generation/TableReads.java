@@ -0,0 +1,140 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.generation;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.collect.Streams;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RangeRequests;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.Cells;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitables;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Reads used by the asynchronous and streaming methods of generated tables. Results are returned as raw
+ * {@link RowResult}s, which generated tables wrap in their typed row results, so values are only decoded when
+ * they are accessed.
+ */
+public final class TableReads {
+
+    private TableReads() {
+        //should not be instantiated
+    }
+
+    /**
+     * Reads the given columns of the given rows with a single {@link Transaction#getAsync} call. Rows without any
+     * of the columns are omitted, and the remaining rows are returned in ascending order. Generated tables replace
+     * {@link ColumnSelection#all()} with their full list of named columns before calling this.
+     */
+    public static ListenableFuture<List<RowResult<byte[]>>> getRowsAsync(
+            Transaction t,
+            TableReference tableRef,
+            Iterable<byte[]> rows,
+            ColumnSelection columns) {
+        Preconditions.checkArgument(!columns.allColumnsSelected(),
+                "Asynchronous row reads need an explicit column selection",
+                SafeArg.of("tableRef", tableRef));
+        Collection<byte[]> selectedColumns = columns.getSelectedColumns();
+        Set<Cell> cells = Sets.newHashSet();
+        for (byte[] row : rows) {
+            for (byte[] column : selectedColumns) {
+                cells.add(Cell.create(row, column));
+            }
+        }
+        return Futures.transform(getAsync(t, tableRef, cells), TableReads::toRowResults,
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Reads the given cells with {@link Transaction#getAsync}, omitting cells that have been deleted.
+     */
+    public static ListenableFuture<Map<Cell, byte[]>> getAsync(Transaction t, TableReference tableRef, Set<Cell> cells) {
+        if (cells.isEmpty()) {
+            return Futures.immediateFuture(Collections.emptyMap());
+        }
+        return Futures.transform(t.getAsync(tableRef, cells),
+                results -> Maps.filterValues(results, value -> value.length > 0),
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Returns a lazy stream over the rows of the given range. Rows are fetched one page of {@code pageSize} rows at
+     * a time as the stream is consumed, so a stream that is only partially consumed only reads the pages it needs.
+     */
+    public static Stream<RowResult<byte[]>> getRangeStream(
+            Transaction t,
+            TableReference tableRef,
+            RangeRequest range,
+            int pageSize) {
+        Preconditions.checkArgument(pageSize > 0, "Page size must be positive", SafeArg.of("pageSize", pageSize));
+        Iterator<List<RowResult<byte[]>>> pages = new AbstractIterator<List<RowResult<byte[]>>>() {
+            private RangeRequest nextRange = range.withBatchHint(pageSize);
+
+            @Override
+            protected List<RowResult<byte[]>> computeNext() {
+                if (nextRange == null) {
+                    return endOfData();
+                }
+                List<RowResult<byte[]>> page = BatchingVisitables.take(t.getRange(tableRef, nextRange), pageSize);
+                nextRange = getNextRange(nextRange, page, pageSize);
+                return page.isEmpty() ? endOfData() : page;
+            }
+        };
+        return Streams.stream(pages).flatMap(List::stream);
+    }
+
+    private static RangeRequest getNextRange(RangeRequest range, List<RowResult<byte[]>> page, int pageSize) {
+        if (page.size() < pageSize) {
+            return null;
+        }
+        byte[] lastRow = page.get(page.size() - 1).getRowName();
+        byte[] nextStartRow = RangeRequests.getNextStartRowUnlessTerminal(range.isReverse(), lastRow);
+        if (nextStartRow == null) {
+            return null;
+        }
+        return range.getBuilder().startRowInclusive(nextStartRow).build();
+    }
+
+    private static List<RowResult<byte[]>> toRowResults(Map<Cell, byte[]> values) {
+        NavigableMap<byte[], NavigableMap<byte[], byte[]>> byRow = Cells.breakCellsUpByRow(values);
+        List<RowResult<byte[]>> rowResults = Lists.newArrayListWithCapacity(byRow.size());
+        for (Map.Entry<byte[], NavigableMap<byte[], byte[]>> row : byRow.entrySet()) {
+            rowResults.add(RowResult.create(row.getKey(), row.getValue()));
+        }
+        return rowResults;
+    }
+}
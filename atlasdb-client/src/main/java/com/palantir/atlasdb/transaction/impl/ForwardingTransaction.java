@@ -123,6 +123,15 @@ public abstract class ForwardingTransaction extends ForwardingObject implements
         return delegate().getRangesLazy(tableRef, rangeRequests);
     }
 
+    @Override
+    public <T> Stream<T> getRangeParallel(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            int concurrencyLevel,
+            BiFunction<RangeRequest, BatchingVisitable<RowResult<byte[]>>, T> visitableProcessor) {
+        return delegate().getRangeParallel(tableRef, rangeRequest, concurrencyLevel, visitableProcessor);
+    }
+
     @Override
     public void put(TableReference tableRef, Map<Cell, byte[]> values) {
         delegate().put(tableRef, values);
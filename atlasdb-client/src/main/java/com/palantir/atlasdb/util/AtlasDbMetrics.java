@@ -25,6 +25,8 @@ import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.MetricRegistry;
 import com.github.benmanes.caffeine.cache.Cache;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.tritium.api.event.InstrumentationFilter;
 import com.palantir.tritium.event.InstrumentationFilters;
 import com.palantir.tritium.event.InvocationContext;
@@ -53,6 +55,32 @@ public final class AtlasDbMetrics {
         return instrument(metricRegistry, serviceInterface, service, name, instrumentTimedOnly());
     }
 
+    /**
+     * Instruments a key value service, registering timers for only the methods annotated with
+     * {@link com.palantir.atlasdb.metrics.Timed}. The metrics are the same as those registered by
+     * {@link #instrumentTimed(MetricRegistry, Class, Object, String)}, but calls are made through a generated
+     * decorator rather than a dynamic proxy, which avoids reflective dispatch on every call.
+     */
+    public static KeyValueService instrumentTimedKeyValueService(
+            MetricRegistry metricRegistry, KeyValueService keyValueService, String name) {
+        if (!InstrumentationUtils.getEnabledSupplier(name).getAsBoolean()) {
+            return keyValueService;
+        }
+        return new AutoTimed_TimedKeyValueService(metricRegistry, name, keyValueService);
+    }
+
+    /**
+     * Instruments a transaction service in the same way as
+     * {@link #instrumentTimedKeyValueService(MetricRegistry, KeyValueService, String)}.
+     */
+    public static TransactionService instrumentTimedTransactionService(
+            MetricRegistry metricRegistry, TransactionService transactionService, String name) {
+        if (!InstrumentationUtils.getEnabledSupplier(name).getAsBoolean()) {
+            return transactionService;
+        }
+        return new AutoTimed_TimedTransactionService(metricRegistry, name, transactionService);
+    }
+
     /**
      * @deprecated use {@link #instrumentTimed(MetricRegistry, Class, Object)}
      */
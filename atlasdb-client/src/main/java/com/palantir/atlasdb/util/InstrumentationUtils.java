@@ -28,7 +28,7 @@ import com.palantir.tritium.event.InstrumentationProperties;
 import com.palantir.tritium.event.InvocationContext;
 import com.palantir.tritium.metrics.registry.MetricName;
 
-final class InstrumentationUtils {
+public final class InstrumentationUtils {
     private static final String FAILURES_NAME = "failures";
 
     static final MetricName TAGGED_FAILURES_METRIC_NAME = MetricName.builder()
@@ -44,7 +44,7 @@ final class InstrumentationUtils {
         return InstrumentationProperties.getSystemPropertySupplier(serviceName);
     }
 
-    static Timer createNewTimer() {
+    public static Timer createNewTimer() {
         return new Timer(new SlidingTimeWindowArrayReservoir(35, TimeUnit.SECONDS));
     }
 
@@ -15,18 +15,25 @@
  */
 package com.palantir.atlasdb.keyvalue.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableMap;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -75,6 +82,34 @@ public class SweepStatsKeyValueServiceTest {
         assertFalse(kvs.hasBeenCleared(TABLE));
     }
 
+    @Test
+    public void countsWritesFromConcurrentWriters() throws InterruptedException {
+        int numThreads = 8;
+        int putsPerThread = 1000;
+        Map<Cell, byte[]> values = ImmutableMap.of(
+                Cell.create(ROW, "a".getBytes(StandardCharsets.UTF_8)), ROW,
+                Cell.create(ROW, "b".getBytes(StandardCharsets.UTF_8)), ROW);
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < putsPerThread; j++) {
+                    kvs.put(TABLE, values, 1L);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertEquals((long) numThreads * putsPerThread * values.size(), kvs.getUnflushedWrites(TABLE));
+    }
+
+    @Test
+    public void doesNotCountWritesWhenDisabled() {
+        isSweepEnabled.set(false);
+        kvs.put(TABLE, ImmutableMap.of(Cell.create(ROW, ROW), ROW), 1L);
+        assertEquals(0L, kvs.getUnflushedWrites(TABLE));
+    }
+
     @Test
     public void otherDeleteRangeDoesNotCountAsClearingTheTable() throws Exception {
         RangeRequest request = RangeRequest.builder().startRowInclusive(ROW).build();
@@ -53,6 +53,22 @@ public class ApiTestSchema implements AtlasSchema {
             }
         });
 
+        schema.addTableDefinition("AsyncApiTest", new TableDefinition() {
+            {
+                javaTableName("AsyncApiTest");
+
+                rowName();
+                rowComponent("component1", ValueType.STRING);
+
+                columns();
+                column("column1", "c", ValueType.VAR_LONG);
+                column("column2", "d", StringValuePersister.class);
+
+                rangeScanAllowed();
+                enableAsyncApi();
+            }
+        });
+
         schema.addTableDefinition("HashComponentsTest", new TableDefinition() {
             {
                 javaTableName("HashComponentsTest");
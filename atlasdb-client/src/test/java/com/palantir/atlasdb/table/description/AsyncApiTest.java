@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.table.description.generated.ApiTestTableFactory;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable.AsyncApiTestNamedColumn;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable.AsyncApiTestRow;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable.AsyncApiTestRowResult;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable.Column1;
+import com.palantir.atlasdb.table.description.generated.AsyncApiTestTable.Column2;
+import com.palantir.atlasdb.table.description.test.StringValue;
+import com.palantir.atlasdb.transaction.api.Transaction;
+
+public class AsyncApiTest {
+    private static final TableReference TABLE_REF =
+            TableReference.create(Namespace.DEFAULT_NAMESPACE, AsyncApiTestTable.getRawTableName());
+    private static final AsyncApiTestRow ROW = AsyncApiTestRow.of("row");
+    private static final byte[] COLUMN_1 = PtBytes.toCachedBytes("c");
+    private static final byte[] COLUMN_2 = PtBytes.toCachedBytes("d");
+    private static final long VALUE_1 = 5L;
+    private static final StringValue VALUE_2 = StringValue.of("value");
+
+    private final Transaction transaction = mock(Transaction.class);
+    private final AsyncApiTestTable table = ApiTestTableFactory.of().getAsyncApiTestTable(transaction);
+
+    @Test
+    public void getRowsAsyncReadsEveryColumnByDefault() throws ExecutionException, InterruptedException {
+        mockValues();
+
+        List<AsyncApiTestRowResult> results = table.getRowsAsync(ImmutableList.of(ROW)).get();
+
+        assertRequestedCells(Cell.create(ROW.persistToBytes(), COLUMN_1), Cell.create(ROW.persistToBytes(), COLUMN_2));
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getRowName()).isEqualTo(ROW);
+        assertThat(results.get(0).getColumn1()).isEqualTo(VALUE_1);
+        assertThat(results.get(0).getColumn2()).isEqualTo(VALUE_2);
+    }
+
+    @Test
+    public void getRowsAsyncTreatsAllColumnsSelectionAsEveryNamedColumn()
+            throws ExecutionException, InterruptedException {
+        mockValues();
+
+        List<AsyncApiTestRowResult> results = table.getRowsAsync(ImmutableList.of(ROW), ColumnSelection.all()).get();
+
+        assertRequestedCells(Cell.create(ROW.persistToBytes(), COLUMN_1), Cell.create(ROW.persistToBytes(), COLUMN_2));
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getColumn2()).isEqualTo(VALUE_2);
+    }
+
+    @Test
+    public void getRowsAsyncReadsOnlySelectedColumns() throws ExecutionException, InterruptedException {
+        mockValues();
+
+        List<AsyncApiTestRowResult> results = table.getRowsAsync(
+                ImmutableList.of(ROW), AsyncApiTestTable.getColumnSelection(AsyncApiTestNamedColumn.COLUMN1)).get();
+
+        assertRequestedCells(Cell.create(ROW.persistToBytes(), COLUMN_1));
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getColumn1()).isEqualTo(VALUE_1);
+    }
+
+    private void mockValues() {
+        when(transaction.getAsync(eq(TABLE_REF), anySet())).thenReturn(Futures.immediateFuture(ImmutableMap.of(
+                Cell.create(ROW.persistToBytes(), COLUMN_1), Column1.of(VALUE_1).persistValue(),
+                Cell.create(ROW.persistToBytes(), COLUMN_2), Column2.of(VALUE_2).persistValue())));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertRequestedCells(Cell... cells) {
+        ArgumentCaptor<Set<Cell>> captor = ArgumentCaptor.forClass(Set.class);
+        verify(transaction).getAsync(eq(TABLE_REF), captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(cells);
+    }
+}
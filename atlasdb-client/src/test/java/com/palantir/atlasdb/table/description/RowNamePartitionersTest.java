@@ -0,0 +1,61 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.description;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.encoding.PtBytes;
+
+public class RowNamePartitionersTest {
+    @Test
+    public void tablesWithoutPartitionersAreSplitAsUniformFixedLongs() {
+        List<byte[]> splitPoints = RowNamePartitioners.getSplitPoints(ImmutableList.of(), 4);
+        List<byte[]> uniformPartitions = new UniformRowNamePartitioner(ValueType.FIXED_LONG).getPartitions(4);
+
+        assertThat(splitPoints)
+                .hasSize(4)
+                .containsExactlyInAnyOrderElementsOf(uniformPartitions)
+                .isSortedAccordingTo(UnsignedBytes.lexicographicalComparator());
+    }
+
+    @Test
+    public void splitPointsOfAllPartitionersAreMergedSortedAndDeduplicated() {
+        List<RowNamePartitioner> partitioners = ImmutableList.of(
+                new ExplicitRowNamePartitioner(ValueType.STRING, ImmutableList.of("m", "c")),
+                new ExplicitRowNamePartitioner(ValueType.STRING, ImmutableList.of("x", "c")));
+
+        assertThat(asStrings(RowNamePartitioners.getSplitPoints(partitioners, 4))).containsExactly("c", "m", "x");
+    }
+
+    @Test
+    public void emptySplitPointsAreDropped() {
+        List<RowNamePartitioner> partitioners = ImmutableList.of(
+                new ExplicitRowNamePartitioner(ValueType.STRING, ImmutableList.of("", "b")));
+
+        assertThat(asStrings(RowNamePartitioners.getSplitPoints(partitioners, 2))).containsExactly("b");
+    }
+
+    private static List<String> asStrings(List<byte[]> rowNames) {
+        return rowNames.stream().map(PtBytes::toString).collect(Collectors.toList());
+    }
+}
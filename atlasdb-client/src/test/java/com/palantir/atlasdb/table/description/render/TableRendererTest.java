@@ -22,9 +22,12 @@ import java.util.TreeSet;
 
 import org.junit.Test;
 
+import com.google.common.io.BaseEncoding;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.persister.JsonNodePersister;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 import com.palantir.atlasdb.table.description.IndexMetadata;
 import com.palantir.atlasdb.table.description.OptionalType;
 import com.palantir.atlasdb.table.description.TableDefinition;
@@ -34,6 +37,8 @@ public class TableRendererTest {
 
     private static TableReference TABLE_REF = TableReference.createWithEmptyNamespace("TestTable");
     private static SortedSet<IndexMetadata> NO_INDICES = new TreeSet<>();
+    private static final String DICTIONARY_ARGS = "Compression.DEFLATE_DICTIONARY, COMPRESSION_DICTIONARIES);";
+    private static final byte[] DICTIONARY = PtBytes.toBytes("{\"type\":\"com.palantir.example.SomeEvent\"}");
 
     @Test
     public void testCanRenderGuavaOptionals() {
@@ -59,6 +64,84 @@ public class TableRendererTest {
                 .contains("Optional.empty");
     }
 
+    @Test
+    public void testAsyncApiIsNotRenderedByDefault() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", getSimpleTableDefinition(TABLE_REF), NO_INDICES))
+                .doesNotContain("getRowsAsync")
+                .doesNotContain("getRangeStream");
+    }
+
+    @Test
+    public void testCanRenderAsyncApiForNamedColumns() {
+        TableDefinition definition = getSimpleTableDefinition(TABLE_REF);
+        definition.rangeScanAllowed();
+        definition.enableAsyncApi();
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("public com.google.common.util.concurrent.ListenableFuture<List<TestTableRowResult>> "
+                        + "getRowsAsync(Iterable<TestTableRow> rows)")
+                .contains("ColumnSelection selection = columns.allColumnsSelected() ? allColumns : columns;")
+                .contains("public Stream<TestTableRowResult> getRangeStream(RangeRequest range, int pageSize)");
+    }
+
+    @Test
+    public void testCanRenderAsyncApiForDynamicColumns() {
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            dynamicColumns();
+            columnComponent("col", ValueType.STRING);
+            value(ValueType.VAR_LONG);
+            enableAsyncApi();
+        }};
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("public com.google.common.util.concurrent.ListenableFuture<Multimap<TestTableRow, "
+                        + "TestTableColumnValue>> getAsync(Multimap<TestTableRow, TestTableColumn> cells)")
+                .contains("TestTableTable::getRowMapFromCellValues")
+                .doesNotContain("getRangeStream");
+    }
+
+    @Test
+    public void testFlyweightReadsAreNotRenderedByDefault() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", getTableWithUserSpecifiedPersister(TABLE_REF), NO_INDICES))
+                .doesNotContain("RowView")
+                .doesNotContain("decodeCol1s");
+    }
+
+    @Test
+    public void testCanRenderFlyweightReadsForNamedColumns() {
+        TableDefinition definition = getTableWithUserSpecifiedPersister(TABLE_REF);
+        definition.enableFlyweightReads();
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("public static final class TestTableRowView {")
+                .contains("public TestTableRowView reset(RowResult<byte[]> row) {")
+                .contains("public byte[] getRawRowName() {")
+                .contains("public com.fasterxml.jackson.databind.JsonNode getCol1() {")
+                .contains("return Col1.BYTES_HYDRATOR.hydrateFromBytes(bytes).getValue();")
+                .contains("public static void visitRowViews(Iterable<RowResult<byte[]>> rows, "
+                        + "java.util.function.Consumer<TestTableRowView> visitor) {")
+                .contains("public static Map<TestTableRow, com.fasterxml.jackson.databind.JsonNode> "
+                        + "decodeCol1s(Iterable<RowResult<byte[]>> rows) {");
+    }
+
+    @Test
+    public void testCanRenderFlyweightReadsForDynamicColumns() {
+        TableDefinition definition = getDynamicTableWithUserSpecifiedPersister(TABLE_REF);
+        definition.enableFlyweightReads();
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("public static final class TestTableRowView {")
+                .contains("public com.fasterxml.jackson.databind.JsonNode getColumnValue(TestTableColumn column) {")
+                .contains("public void forEachColumnValue(java.util.function.BiConsumer<TestTableColumn, "
+                        + "com.fasterxml.jackson.databind.JsonNode> consumer) {")
+                .contains("java.util.function.Consumer<TestTableRowView> visitor");
+    }
+
     private TableDefinition getSimpleTableDefinition(TableReference tableRef) {
         return new TableDefinition() {{
             javaTableName(tableRef.getTablename());
@@ -74,7 +157,72 @@ public class TableRendererTest {
         TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
         String renderedTableDefinition = renderer.render("table", getTableWithUserSpecifiedPersister(TABLE_REF), NO_INDICES);
         assertThat(renderedTableDefinition).contains("REUSABLE_PERSISTER.hydrateFromBytes")
-                .contains("private final com.palantir.atlasdb.persister.JsonNodePersister REUSABLE_PERSISTER =");
+                .contains("REUSABLE_PERSISTER.persistToBytes")
+                .doesNotContain("new com.palantir.atlasdb.persister.JsonNodePersister().persistToBytes")
+                .contains("private static final com.palantir.atlasdb.persister.JsonNodePersister REUSABLE_PERSISTER =");
+    }
+
+    @Test
+    public void testReusablePersistersForDynamicColumns() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        String renderedTableDefinition = renderer.render(
+                "table", getDynamicTableWithUserSpecifiedPersister(TABLE_REF), NO_INDICES);
+        assertThat(renderedTableDefinition).contains("REUSABLE_PERSISTER.hydrateFromBytes")
+                .contains("REUSABLE_PERSISTER.persistToBytes")
+                .contains("private static final com.palantir.atlasdb.persister.JsonNodePersister REUSABLE_PERSISTER =");
+    }
+
+    @Test
+    public void testRendersCompressionDictionariesForNamedColumns() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            columns();
+            column("col1", "1", JsonNodePersister.class, Compression.DEFLATE_DICTIONARY);
+            compressionDictionaries(DICTIONARY);
+        }};
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("private static final com.palantir.atlasdb.compress.CompressionDictionaries "
+                        + "COMPRESSION_DICTIONARIES = com.palantir.atlasdb.compress.CompressionDictionaries"
+                        + ".fromBase64(\"" + BaseEncoding.base64().encode(DICTIONARY) + "\");")
+                .contains("CompressionUtils.compress(bytes, " + DICTIONARY_ARGS)
+                .contains("CompressionUtils.decompress(bytes, " + DICTIONARY_ARGS);
+    }
+
+    @Test
+    public void testRendersCompressionDictionariesForDynamicColumns() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            dynamicColumns();
+            columnComponent("col", ValueType.STRING);
+            value(JsonNodePersister.class, Compression.DEFLATE_DICTIONARY);
+            compressionDictionaries(DICTIONARY);
+        }};
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .contains("COMPRESSION_DICTIONARIES = com.palantir.atlasdb.compress.CompressionDictionaries"
+                        + ".fromBase64(\"" + BaseEncoding.base64().encode(DICTIONARY) + "\");")
+                .contains("CompressionUtils.compress(bytes, " + DICTIONARY_ARGS)
+                .contains("CompressionUtils.decompress(bytes, " + DICTIONARY_ARGS);
+    }
+
+    @Test
+    public void testDoesNotRenderCompressionDictionariesForOtherCompression() {
+        TableRenderer renderer = new TableRenderer("package", Namespace.DEFAULT_NAMESPACE, OptionalType.JAVA8);
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName(TABLE_REF.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            columns();
+            column("col1", "1", JsonNodePersister.class, Compression.LZ4);
+        }};
+        assertThat(renderer.render("table", definition, NO_INDICES))
+                .doesNotContain("COMPRESSION_DICTIONARIES")
+                .contains("CompressionUtils.compress(bytes, Compression.LZ4)");
     }
 
     private TableDefinition getTableWithUserSpecifiedPersister(TableReference tableRef) {
@@ -86,4 +234,15 @@ public class TableRendererTest {
             column("col1", "1", JsonNodePersister.class);
         }};
     }
+
+    private TableDefinition getDynamicTableWithUserSpecifiedPersister(TableReference tableRef) {
+        return new TableDefinition() {{
+            javaTableName(tableRef.getTablename());
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            dynamicColumns();
+            columnComponent("col", ValueType.STRING);
+            value(JsonNodePersister.class);
+        }};
+    }
 }
@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.table.generation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.UnsignedBytes;
+import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.ColumnSelection;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.transaction.api.Transaction;
+import com.palantir.common.base.BatchingVisitableFromIterable;
+
+public class TableReadsTest {
+    private static final TableReference TABLE_REF = TableReference.createFromFullyQualifiedName("test.table");
+    private static final byte[] ROW_1 = PtBytes.toBytes("row1");
+    private static final byte[] ROW_2 = PtBytes.toBytes("row2");
+    private static final byte[] COLUMN = PtBytes.toBytes("c");
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+
+    private final Transaction transaction = mock(Transaction.class);
+
+    @Test
+    public void getRowsAsyncGroupsValuesByRowAndSkipsDeletedValues() throws ExecutionException, InterruptedException {
+        when(transaction.getAsync(eq(TABLE_REF), any())).thenReturn(Futures.immediateFuture(ImmutableMap.of(
+                Cell.create(ROW_2, COLUMN), VALUE,
+                Cell.create(ROW_1, COLUMN), PtBytes.EMPTY_BYTE_ARRAY)));
+
+        List<RowResult<byte[]>> rows = TableReads.getRowsAsync(
+                transaction, TABLE_REF, ImmutableList.of(ROW_1, ROW_2), ColumnSelection.create(ImmutableList.of(COLUMN)))
+                .get();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getRowName()).isEqualTo(ROW_2);
+        assertThat(rows.get(0).getColumns().get(COLUMN)).isEqualTo(VALUE);
+    }
+
+    @Test
+    public void getRowsAsyncRequiresExplicitColumns() {
+        assertThatThrownBy(() -> TableReads.getRowsAsync(
+                transaction, TABLE_REF, ImmutableList.of(ROW_1), ColumnSelection.all()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void rangeStreamIsReadLazilyInPages() {
+        List<RowResult<byte[]>> rows = IntStream.range(0, 10)
+                .mapToObj(TableReadsTest::row)
+                .collect(Collectors.toList());
+        when(transaction.getRange(eq(TABLE_REF), any())).thenAnswer(invocation -> {
+            RangeRequest range = invocation.getArgument(1);
+            return BatchingVisitableFromIterable.create(rows.stream()
+                    .filter(row -> range.inRange(row.getRowName()))
+                    .collect(Collectors.toList()));
+        });
+
+        List<RowResult<byte[]>> firstRows = TableReads.getRangeStream(transaction, TABLE_REF, RangeRequest.all(), 3)
+                .limit(4)
+                .collect(Collectors.toList());
+        assertThat(firstRows).containsExactlyElementsOf(rows.subList(0, 4));
+        verify(transaction, times(2)).getRange(eq(TABLE_REF), any());
+
+        assertThat(TableReads.getRangeStream(transaction, TABLE_REF, RangeRequest.all(), 3)
+                .collect(Collectors.toList()))
+                .containsExactlyElementsOf(rows);
+    }
+
+    private static RowResult<byte[]> row(int index) {
+        SortedMap<byte[], byte[]> columns = ImmutableSortedMap.<byte[], byte[]>orderedBy(
+                UnsignedBytes.lexicographicalComparator())
+                .put(COLUMN, VALUE)
+                .build();
+        return RowResult.create(Ints.toByteArray(index), columns);
+    }
+}
@@ -16,6 +16,11 @@
 package com.palantir.atlasdb.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -38,6 +43,8 @@ import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.metrics.Timed;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 import com.palantir.tritium.metrics.registry.MetricName;
@@ -54,6 +61,8 @@ public final class AtlasDbMetricsTest {
     private static final Duration ASYNC_DURATION_TTL = Duration.ofSeconds(2);
     private static final String ASYNC_PING_METRIC_NAME = MetricRegistry.name(AsyncTestService.class, "asyncPing");
 
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("test.table");
+
     private final MetricRegistry metrics = new MetricRegistry();
     private final TestService testService = new TestService() {
         @Override
@@ -167,6 +176,50 @@ public final class AtlasDbMetricsTest {
         assertAllAsyncPingMetricsAreAccuratelyRecorded(futures, metricName);
     }
 
+    @Test
+    public void instrumentTimedKeyValueServiceOnlyTimesTimedMethods() {
+        KeyValueService delegate = mock(KeyValueService.class);
+        KeyValueService kvs = AtlasDbMetrics.instrumentTimedKeyValueService(metrics, delegate, CUSTOM_METRIC_NAME);
+
+        kvs.get(TABLE, ImmutableMap.of());
+        kvs.getAllTableNames();
+
+        verify(delegate).get(TABLE, ImmutableMap.of());
+        verify(delegate).getAllTableNames();
+        assertThat(metrics.timer(MetricRegistry.name(CUSTOM_METRIC_NAME, "get")).getCount()).isEqualTo(1);
+        assertTimerNotRegistered(MetricRegistry.name(CUSTOM_METRIC_NAME, "getAllTableNames"));
+    }
+
+    @Test
+    public void instrumentTimedKeyValueServiceRegistersTimersOnFirstUse() {
+        KeyValueService kvs = AtlasDbMetrics.instrumentTimedKeyValueService(
+                metrics, mock(KeyValueService.class), CUSTOM_METRIC_NAME);
+        String getMetricName = MetricRegistry.name(CUSTOM_METRIC_NAME, "get");
+        assertTimerNotRegistered(getMetricName);
+
+        kvs.get(TABLE, ImmutableMap.of());
+        kvs.get(TABLE, ImmutableMap.of());
+
+        assertThat(metrics.getTimers().get(getMetricName).getCount()).isEqualTo(2);
+        assertTimerNotRegistered(MetricRegistry.name(CUSTOM_METRIC_NAME, "put"));
+    }
+
+    @Test
+    public void instrumentTimedKeyValueServiceMarksFailures() {
+        KeyValueService delegate = mock(KeyValueService.class);
+        RuntimeException failure = new IllegalStateException("boom");
+        when(delegate.get(any(), any())).thenThrow(failure);
+        KeyValueService kvs = AtlasDbMetrics.instrumentTimedKeyValueService(metrics, delegate, CUSTOM_METRIC_NAME);
+
+        assertThatThrownBy(() -> kvs.get(TABLE, ImmutableMap.of())).isEqualTo(failure);
+
+        String failuresMetricName = MetricRegistry.name(CUSTOM_METRIC_NAME, "get", "failures");
+        assertThat(metrics.timer(MetricRegistry.name(CUSTOM_METRIC_NAME, "get")).getCount()).isZero();
+        assertThat(metrics.meter(failuresMetricName).getCount()).isEqualTo(1);
+        assertThat(metrics.meter(MetricRegistry.name(failuresMetricName, IllegalStateException.class.getName()))
+                .getCount()).isEqualTo(1);
+    }
+
     private void assertAllAsyncPingMetricsAreAccuratelyRecorded(
             List<ListenableFuture<String>> futures,
             MetricName metricName) {
@@ -418,8 +418,7 @@ public abstract class TransactionManagers {
             }
 
             kvs = TracingKeyValueService.create(kvs);
-            kvs = AtlasDbMetrics.instrumentTimed(metricsManager.getRegistry(),
-                    KeyValueService.class,
+            kvs = AtlasDbMetrics.instrumentTimedKeyValueService(metricsManager.getRegistry(),
                     kvs,
                     MetricRegistry.name(KeyValueService.class));
             return ValidatingQueryRewritingKeyValueService.create(kvs);
@@ -680,10 +679,11 @@ public abstract class TransactionManagers {
                 metricsManager, lockAndTimestampServices, keyValueService);
         TransactionSchemaManager transactionSchemaManager = new TransactionSchemaManager(coordinationService);
 
-        TransactionService transactionService = initializeCloseable(() -> AtlasDbMetrics.instrumentTimed(
-                metricsManager.getRegistry(),
-                TransactionService.class,
-                TransactionServices.createTransactionService(keyValueService, transactionSchemaManager)),
+        TransactionService transactionService = initializeCloseable(
+                () -> AtlasDbMetrics.instrumentTimedTransactionService(
+                        metricsManager.getRegistry(),
+                        TransactionServices.createTransactionService(keyValueService, transactionSchemaManager),
+                        MetricRegistry.name(TransactionService.class)),
                 closeables);
         Optional<TransactionSchemaInstaller> schemaInstaller = getTransactionSchemaInstallerIfSupported(
                 closeables, keyValueService, runtimeConfigSupplier, transactionSchemaManager);
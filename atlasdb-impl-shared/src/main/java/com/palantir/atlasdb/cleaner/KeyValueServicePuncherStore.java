@@ -57,10 +57,11 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
         }
     }
 
-    private static final byte[] COLUMN = "t".getBytes(StandardCharsets.UTF_8);
+    static final byte[] COLUMN = "t".getBytes(StandardCharsets.UTF_8);
 
     private final InitializingWrapper wrapper = new InitializingWrapper();
     private final KeyValueService keyValueService;
+    private final PunchTableIndex punchTableIndex;
 
     public static PuncherStore create(KeyValueService keyValueService) {
         return create(keyValueService, AtlasDbConstants.DEFAULT_INITIALIZE_ASYNC);
@@ -74,6 +75,7 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
 
     private KeyValueServicePuncherStore(KeyValueService keyValueService) {
         this.keyValueService = keyValueService;
+        this.punchTableIndex = PunchTableIndex.create(keyValueService);
     }
 
     private void tryInitialize() {
@@ -91,11 +93,10 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
 
     @Override
     public void put(long timestamp, long timeMillis) {
-        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
-        EncodingUtils.flipAllBitsInPlace(row);
-        Cell cell = Cell.create(row, COLUMN);
+        Cell cell = Cell.create(encodeRow(timeMillis), COLUMN);
         byte[] value = EncodingUtils.encodeUnsignedVarLong(timestamp);
         keyValueService.put(AtlasDbConstants.PUNCH_TABLE, ImmutableMap.of(cell, value), timestamp);
+        punchTableIndex.recordPunch(timestamp, timeMillis);
     }
 
     @Override
@@ -104,8 +105,7 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
     }
 
     public static Long get(KeyValueService kvs, Long timeMillis) {
-        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
-        EncodingUtils.flipAllBitsInPlace(row);
+        byte[] row = encodeRow(timeMillis);
         RangeRequest rangeRequest = RangeRequest.builder().startRowInclusive(row).batchHint(1).build();
         try (ClosableIterator<RowResult<Value>> result = kvs.getRange(AtlasDbConstants.PUNCH_TABLE, rangeRequest,
                 Long.MAX_VALUE)) {
@@ -117,9 +117,13 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
         }
     }
 
+    /**
+     * Answered from a {@link PunchTableIndex}, so only calls for timestamps newer than any indexed punch, or older
+     * than every indexed punch, read from the punch table.
+     */
     @Override
     public long getMillisForTimestamp(long timestamp) {
-        return getMillisForTimestamp(keyValueService, timestamp);
+        return punchTableIndex.getMillisForTimestamp(timestamp);
     }
 
     /**
@@ -128,15 +132,15 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
      * Warning: If the given timestamp is low compared to currently given out timestamps, this call may range scan over
      * the entire table. This table tends to grow quickly, so this call can be expensive. If you can bound how far in
      * the past you want to look for, you should instead call
-     * {@link #getMillisForTimestampIfNotPunchedBefore(KeyValueService, long, long)}.
+     * {@link #getMillisForTimestampIfNotPunchedBefore(KeyValueService, long, long)}. If you make repeated lookups,
+     * use a {@link PunchTableIndex} instead.
      *
      * @param kvs the KVS to query.
      * @param timestamp timestamp to query for.
      */
     public static long getMillisForTimestamp(KeyValueService kvs, long timestamp) {
         long timestampExclusive = timestamp + 1;
-        byte[] startRow = EncodingUtils.encodeUnsignedVarLong(Long.MAX_VALUE);
-        EncodingUtils.flipAllBitsInPlace(startRow);
+        byte[] startRow = encodeRow(Long.MAX_VALUE);
         RangeRequest rangeRequest = RangeRequest.builder()
                 .startRowInclusive(startRow)
                 .retainColumns(ImmutableList.of(COLUMN))
@@ -146,9 +150,7 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
         try (ClosableIterator<RowResult<Value>> result = kvs.getRange(AtlasDbConstants.PUNCH_TABLE, rangeRequest,
                 timestampExclusive)) {
             if (result.hasNext()) {
-                byte[] encodedMillis = result.next().getRowName();
-                EncodingUtils.flipAllBitsInPlace(encodedMillis);
-                return EncodingUtils.decodeUnsignedVarLong(encodedMillis);
+                return decodeRow(result.next().getRowName());
             } else {
                 return 0L;
             }
@@ -172,4 +174,16 @@ public final class KeyValueServicePuncherStore implements PuncherStore {
             return lowerBound;
         }
     }
+
+    static byte[] encodeRow(long timeMillis) {
+        byte[] row = EncodingUtils.encodeUnsignedVarLong(timeMillis);
+        EncodingUtils.flipAllBitsInPlace(row);
+        return row;
+    }
+
+    static long decodeRow(byte[] row) {
+        byte[] encodedMillis = row.clone();
+        EncodingUtils.flipAllBitsInPlace(encodedMillis);
+        return EncodingUtils.decodeUnsignedVarLong(encodedMillis);
+    }
 }
@@ -0,0 +1,341 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.ptobject.EncodingUtils;
+import com.palantir.common.base.ClosableIterator;
+
+/**
+ * An in-memory index of the punch table, which answers lookups in either direction by binary search instead of by
+ * scanning the table.
+ * <p>
+ * The index holds every punch from its earliest indexed punch onwards, and is read only as far back as lookups need:
+ * the first lookup reads the table from the newest punch back to the punch that answers it, and a later lookup
+ * further back than the earliest indexed punch reads back from there. The index is kept up to date by tailing the
+ * table: a lookup past the newest indexed punch first reads the punches made since, and punches made through the
+ * owning {@link KeyValueServicePuncherStore} are added as they are written.
+ */
+public final class PunchTableIndex {
+    /**
+     * When tailing, punches up to this far behind the newest indexed punch are read again, so that punches which
+     * other clients write late are still picked up.
+     */
+    private static final long TAIL_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int BATCH_SIZE = 1000;
+    private static final long NO_BOUND = Long.MIN_VALUE;
+
+    private final KeyValueService kvs;
+    @Nullable
+    private volatile Punches punches;
+
+    private PunchTableIndex(KeyValueService kvs) {
+        this.kvs = kvs;
+    }
+
+    public static PunchTableIndex create(KeyValueService kvs) {
+        return new PunchTableIndex(kvs);
+    }
+
+    /**
+     * Same as {@link PuncherStore#get(Long)}: the timestamp punched at the latest time at or before timeMillis, or
+     * {@link Long#MIN_VALUE} if there is none.
+     */
+    public long getTimestampForMillis(long timeMillis) {
+        Punches current = punches;
+        if (current == null || !current.covers(timeMillis, NO_BOUND)) {
+            current = readBackTo(timeMillis, NO_BOUND);
+        } else if (timeMillis > current.latestMillis()) {
+            current = refresh(current);
+        }
+        return current.getTimestampForMillis(timeMillis);
+    }
+
+    /**
+     * Same as {@link PuncherStore#getMillisForTimestamp(long)}: the latest time at which a timestamp less than or
+     * equal to the given timestamp was punched, or 0 if there is none.
+     */
+    public long getMillisForTimestamp(long timestamp) {
+        Punches current = punches;
+        if (current == null || !current.covers(NO_BOUND, timestamp)) {
+            current = readBackTo(NO_BOUND, timestamp);
+        } else if (timestamp > current.latestTimestamp()) {
+            current = refresh(current);
+        }
+        return current.getMillisForTimestamp(timestamp);
+    }
+
+    /**
+     * Same as {@link KeyValueServicePuncherStore#getMillisForTimestampIfNotPunchedBefore(KeyValueService, long, long)}.
+     */
+    public long getMillisForTimestampIfNotPunchedBefore(long timestamp, long lowerBound) {
+        if (getTimestampForMillis(Math.max(0L, lowerBound)) < timestamp) {
+            return getMillisForTimestamp(timestamp);
+        } else {
+            return lowerBound;
+        }
+    }
+
+    /**
+     * Adds a punch that has just been written. Punches written before the index is first used are picked up when it
+     * is loaded instead.
+     */
+    synchronized void recordPunch(long timestamp, long timeMillis) {
+        Punches current = punches;
+        if (current != null) {
+            punches = current.with(ImmutableSortedMap.of(timeMillis, timestamp));
+        }
+    }
+
+    private synchronized Punches refresh(Punches seen) {
+        Punches current = punches;
+        if (current != seen) {
+            // someone else refreshed while we were waiting
+            return current;
+        }
+        punches = current.with(readPunchesAfter(current.latestMillis() - TAIL_OVERLAP_MILLIS));
+        return punches;
+    }
+
+    /**
+     * Reads the table back from just before the earliest indexed punch, or from the newest punch if nothing is
+     * indexed yet, until it reaches a punch made at or before timeMillis or of a timestamp at or below timestamp.
+     */
+    private synchronized Punches readBackTo(long timeMillis, long timestamp) {
+        Punches current = punches;
+        if (current != null && current.covers(timeMillis, timestamp)) {
+            // someone else read back far enough while we were waiting
+            return current;
+        }
+        Punches base = current == null ? Punches.EMPTY : current;
+        long startMillisInclusive = base.isEmpty() ? Long.MAX_VALUE : base.earliestMillis() - 1;
+        if (startMillisInclusive < 0) {
+            punches = base.complete();
+            return punches;
+        }
+
+        NavigableMap<Long, Long> timestampsByMillis = new TreeMap<>();
+        boolean readWholeTable = true;
+        try (ClosableIterator<RowResult<Value>> rows = kvs.getRange(AtlasDbConstants.PUNCH_TABLE,
+                rangeStartingAt(startMillisInclusive).build(), Long.MAX_VALUE)) {
+            while (rows.hasNext()) {
+                RowResult<Value> row = rows.next();
+                Value value = row.getColumns().get(KeyValueServicePuncherStore.COLUMN);
+                if (value == null) {
+                    continue;
+                }
+                long punchMillis = KeyValueServicePuncherStore.decodeRow(row.getRowName());
+                long punchTimestamp = EncodingUtils.decodeUnsignedVarLong(value.getContents());
+                timestampsByMillis.put(punchMillis, punchTimestamp);
+                if (punchMillis <= timeMillis || punchTimestamp <= timestamp) {
+                    readWholeTable = false;
+                    break;
+                }
+            }
+        }
+        Punches extended = base.with(timestampsByMillis);
+        punches = readWholeTable ? extended.complete() : extended;
+        return punches;
+    }
+
+    private NavigableMap<Long, Long> readPunchesAfter(long timeMillisExclusive) {
+        RangeRequest.Builder rangeRequest = rangeStartingAt(Long.MAX_VALUE);
+        if (timeMillisExclusive >= 0) {
+            // rows are in descending order of time, so this ends the range just before timeMillisExclusive
+            rangeRequest.endRowExclusive(KeyValueServicePuncherStore.encodeRow(timeMillisExclusive));
+        }
+        NavigableMap<Long, Long> timestampsByMillis = new TreeMap<>();
+        try (ClosableIterator<RowResult<Value>> rows = kvs.getRange(AtlasDbConstants.PUNCH_TABLE,
+                rangeRequest.build(), Long.MAX_VALUE)) {
+            while (rows.hasNext()) {
+                RowResult<Value> row = rows.next();
+                Value value = row.getColumns().get(KeyValueServicePuncherStore.COLUMN);
+                if (value != null) {
+                    timestampsByMillis.put(KeyValueServicePuncherStore.decodeRow(row.getRowName()),
+                            EncodingUtils.decodeUnsignedVarLong(value.getContents()));
+                }
+            }
+        }
+        return timestampsByMillis;
+    }
+
+    private static RangeRequest.Builder rangeStartingAt(long timeMillisInclusive) {
+        return RangeRequest.builder()
+                .startRowInclusive(KeyValueServicePuncherStore.encodeRow(timeMillisInclusive))
+                .retainColumns(ImmutableList.of(KeyValueServicePuncherStore.COLUMN))
+                .batchHint(BATCH_SIZE);
+    }
+
+    /**
+     * An immutable snapshot of the punch table from its earliest punch onwards, held as sorted arrays. Punches are
+     * sorted by time, and separately by timestamp together with the latest time at which any timestamp up to that one
+     * was punched, so that lookups stay correct when timestamps and times were punched out of order.
+     */
+    private static final class Punches {
+        static final Punches EMPTY = new Punches(new long[0], new long[0], false);
+
+        private final long[] millis;
+        private final long[] timestampsByMillis;
+        private final long[] sortedTimestamps;
+        private final long[] latestMillisUpToTimestamp;
+        // whether there are no punches in the table before the earliest indexed one
+        private final boolean complete;
+
+        private Punches(long[] millis, long[] timestampsByMillis, boolean complete) {
+            this.millis = millis;
+            this.timestampsByMillis = timestampsByMillis;
+            this.complete = complete;
+            if (isSorted(timestampsByMillis)) {
+                // the common case, where timestamps increase with time
+                this.sortedTimestamps = timestampsByMillis;
+                this.latestMillisUpToTimestamp = millis;
+            } else {
+                int[] order = IntStream.range(0, millis.length)
+                        .boxed()
+                        .sorted(Comparator.comparingLong(index -> timestampsByMillis[index]))
+                        .mapToInt(Integer::intValue)
+                        .toArray();
+                this.sortedTimestamps = new long[order.length];
+                this.latestMillisUpToTimestamp = new long[order.length];
+                long latestMillis = Long.MIN_VALUE;
+                for (int i = 0; i < order.length; i++) {
+                    latestMillis = Math.max(latestMillis, millis[order[i]]);
+                    sortedTimestamps[i] = timestampsByMillis[order[i]];
+                    latestMillisUpToTimestamp[i] = latestMillis;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return millis.length == 0;
+        }
+
+        long earliestMillis() {
+            return millis[0];
+        }
+
+        /**
+         * Whether lookups for timeMillis or for timestamp can be answered without reading further back. That is the
+         * case once a punch made at or before timeMillis, or of a timestamp at or below timestamp, is indexed: every
+         * later punch is indexed too, and earlier punches cannot change the answer.
+         */
+        boolean covers(long timeMillis, long timestamp) {
+            return complete || (!isEmpty() && (millis[0] <= timeMillis || sortedTimestamps[0] <= timestamp));
+        }
+
+        Punches complete() {
+            return new Punches(millis, timestampsByMillis, true);
+        }
+
+        long latestMillis() {
+            return millis.length == 0 ? Long.MIN_VALUE : millis[millis.length - 1];
+        }
+
+        long latestTimestamp() {
+            return sortedTimestamps.length == 0 ? Long.MIN_VALUE : sortedTimestamps[sortedTimestamps.length - 1];
+        }
+
+        long getTimestampForMillis(long timeMillis) {
+            int index = floorIndex(millis, timeMillis);
+            return index < 0 ? Long.MIN_VALUE : timestampsByMillis[index];
+        }
+
+        long getMillisForTimestamp(long timestamp) {
+            int index = floorIndex(sortedTimestamps, timestamp);
+            return index < 0 ? 0L : latestMillisUpToTimestamp[index];
+        }
+
+        /**
+         * Returns a copy of these punches with the given punches, keyed by time, added. Punches at times already
+         * present replace the existing ones.
+         */
+        Punches with(NavigableMap<Long, Long> newTimestampsByMillis) {
+            NavigableMap<Long, Long> changed = new TreeMap<>();
+            for (Map.Entry<Long, Long> punch : newTimestampsByMillis.entrySet()) {
+                int index = Arrays.binarySearch(millis, punch.getKey());
+                if (index < 0 || timestampsByMillis[index] != punch.getValue()) {
+                    changed.put(punch.getKey(), punch.getValue());
+                }
+            }
+            if (changed.isEmpty()) {
+                return this;
+            }
+
+            long[] mergedMillis = new long[millis.length + changed.size()];
+            long[] mergedTimestamps = new long[mergedMillis.length];
+            int size = 0;
+            int existing = 0;
+            for (Map.Entry<Long, Long> punch : changed.entrySet()) {
+                while (existing < millis.length && millis[existing] < punch.getKey()) {
+                    mergedMillis[size] = millis[existing];
+                    mergedTimestamps[size++] = timestampsByMillis[existing++];
+                }
+                if (existing < millis.length && millis[existing] == punch.getKey()) {
+                    existing++;
+                }
+                mergedMillis[size] = punch.getKey();
+                mergedTimestamps[size++] = punch.getValue();
+            }
+            int remaining = millis.length - existing;
+            System.arraycopy(millis, existing, mergedMillis, size, remaining);
+            System.arraycopy(timestampsByMillis, existing, mergedTimestamps, size, remaining);
+            size += remaining;
+            return new Punches(Arrays.copyOf(mergedMillis, size), Arrays.copyOf(mergedTimestamps, size), complete);
+        }
+
+        private static boolean isSorted(long[] values) {
+            for (int i = 1; i < values.length; i++) {
+                if (values[i - 1] > values[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the index of the last value less than or equal to the given value, or -1 if there is none.
+         */
+        private static int floorIndex(long[] sortedValues, long value) {
+            int low = 0;
+            int high = sortedValues.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sortedValues[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low - 1;
+        }
+    }
+}
@@ -29,16 +29,19 @@ import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableMultimap.Builder;
 import com.google.common.collect.ImmutableSet;
@@ -49,6 +52,7 @@ import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
+import com.google.common.collect.TreeMultimap;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
 import com.palantir.atlasdb.AtlasDbConstants;
@@ -265,13 +269,18 @@ public class Scrubber {
             readerFutures.add(readerExec.submit(() -> {
                 BatchingVisitable<SortedMap<Long, Multimap<TableReference, Cell>>> scrubQueue = scrubberStore
                         .getBatchingVisitableScrubQueue(maxScrubTimestamp, startRow, endRow);
+                AtomicReference<List<Future<Void>>> inFlightScrubs = new AtomicReference<>(ImmutableList.of());
                 scrubQueue.batchAccept(batchSize, batch -> {
                     for (SortedMap<Long, Multimap<TableReference, Cell>> cells : batch) {
                         // We may actually get more cells than the batch size. The batch size is used
                         // for pulling off the scrub queue, and a single entry in the scrub queue may
                         // match multiple tables. These will get broken down into smaller batches later
                         // on when we actually do deletes.
-                        int numCellsRead = scrubSomeCells(cells, txManager, maxScrubTimestamp);
+                        List<Future<Void>> scrubs = startScrubbingSomeCells(cells, txManager, maxScrubTimestamp);
+                        // Let these deletes run while the next batch is read off the scrub queue, but stay at most
+                        // one batch ahead, so that we read the queue only as fast as the KVS takes the deletes.
+                        waitForScrubs(inFlightScrubs.getAndSet(scrubs));
+                        int numCellsRead = countCells(cells);
                         int totalRead = totalCellsRead.addAndGet(numCellsRead);
                         log.debug("Scrub task processed {} cells in a batch, total {} processed so far.",
                                   numCellsRead, totalRead);
@@ -282,6 +291,7 @@ public class Scrubber {
                     }
                     return isScrubEnabled.get();
                 });
+                waitForScrubs(inFlightScrubs.get());
                 return null;
             }));
         }
@@ -370,9 +380,26 @@ public class Scrubber {
         lazyWriteMetric(AtlasDbMetricNames.ENQUEUED_CELLS, cellToTableRefs.size());
     }
 
+    /**
+     * Resolves the commit timestamps of the given hard delete transactions with a single batched lookup, rolling back
+     * any that have not committed. Values written by transactions that failed to commit are deleted.
+     */
+    private Map<Long, Long> getCommitTimestampsRollBackIfNecessary(
+            SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
+        Map<Long, Long> knownCommitTimestamps = transactionService.get(scrubTimestampToTableNameToCell.keySet());
+        Map<Long, Long> commitTimestamps = Maps.newHashMapWithExpectedSize(scrubTimestampToTableNameToCell.size());
+        for (Map.Entry<Long, Multimap<TableReference, Cell>> entry : scrubTimestampToTableNameToCell.entrySet()) {
+            long startTimestamp = entry.getKey();
+            commitTimestamps.put(startTimestamp, getCommitTimestampRollBackIfNecessary(
+                    startTimestamp, knownCommitTimestamps.get(startTimestamp), entry.getValue()));
+        }
+        return commitTimestamps;
+    }
+
     private long getCommitTimestampRollBackIfNecessary(long startTimestamp,
+                                                       @Nullable Long knownCommitTimestamp,
                                                        Multimap<TableReference, Cell> tableNameToCell) {
-        Long commitTimestamp = transactionService.get(startTimestamp);
+        Long commitTimestamp = knownCommitTimestamp;
         if (commitTimestamp == null) {
             // Roll back this transaction (note that rolling back arbitrary transactions
             // can never cause correctness issues, only liveness issues)
@@ -400,130 +427,155 @@ public class Scrubber {
     }
 
     /**
-     * Scrubs some cells.
+     * Starts scrubbing some cells. Commit timestamps are resolved up front, and the cells to scrub are then grouped
+     * by table and sorted, so that each delete batch covers a contiguous run of rows of a single table.
      *
-     * @return number of cells read from _scrub table
+     * @return futures for the submitted scrubs
      */
-    private int scrubSomeCells(
+    private List<Future<Void>> startScrubbingSomeCells(
             SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell,
             TransactionManager txManager,
             long maxScrubTimestamp) {
         log.trace("Attempting to scrub cells: {}", scrubTimestampToTableNameToCell);
 
         if (log.isDebugEnabled()) {
-            int numCells = 0;
             Set<TableReference> tables = Sets.newHashSet();
             for (Multimap<TableReference, Cell> v : scrubTimestampToTableNameToCell.values()) {
                 tables.addAll(v.keySet());
-                numCells += v.size();
             }
-            log.debug("Attempting to scrub {} cells from tables {}", numCells, tables);
+            log.debug("Attempting to scrub {} cells from tables {}", countCells(scrubTimestampToTableNameToCell),
+                    tables);
         }
 
         if (scrubTimestampToTableNameToCell.size() == 0) {
-            return 0; // No cells left to scrub
+            return ImmutableList.of(); // No cells left to scrub
         }
 
-        int numCellsReadFromScrubTable = 0;
-        List<Future<Void>> scrubFutures = Lists.newArrayList();
-        Map<TableReference, Multimap<Cell, Long>> failedWrites = Maps.newHashMap();
+        // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
+        // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
+        // or else we could cause permanent data loss if the hard delete transaction failed after
+        // queuing cells to scrub but before successfully committing
+        Map<Long, Long> commitTimestamps = getCommitTimestampsRollBackIfNecessary(scrubTimestampToTableNameToCell);
 
+        Map<TableReference, Multimap<Cell, Long>> failedWrites = Maps.newHashMap();
+        Map<TableReference, Multimap<Cell, Long>> cellsToScrub = Maps.newHashMap();
         for (Map.Entry<Long, Multimap<TableReference, Cell>> entry : scrubTimestampToTableNameToCell.entrySet()) {
-            final long scrubTimestamp = entry.getKey();
-            final Multimap<TableReference, Cell> tableNameToCell = entry.getValue();
-
-            numCellsReadFromScrubTable += tableNameToCell.size();
-
-            // This is CRITICAL; don't scrub if the hard delete transaction didn't actually finish
-            // (we still remove it from the _scrub table with the call to markCellsAsScrubbed though),
-            // or else we could cause permanent data loss if the hard delete transaction failed after
-            // queuing cells to scrub but before successfully committing
-            long commitTimestamp = getCommitTimestampRollBackIfNecessary(scrubTimestamp, tableNameToCell);
+            long scrubTimestamp = entry.getKey();
+            long commitTimestamp = commitTimestamps.get(scrubTimestamp);
             if (commitTimestamp == TransactionConstants.FAILED_COMMIT_TS) {
-                for (Entry<TableReference, Collection<Cell>> cells : tableNameToCell.asMap().entrySet()) {
-                    Multimap<Cell, Long> failedCells = failedWrites.get(cells.getKey());
-                    if (failedCells == null) {
-                        failedCells = ArrayListMultimap.create(cells.getValue().size(), 2);
-                        failedWrites.put(cells.getKey(), failedCells);
-                    }
-                    for (Cell cell : cells.getValue()) {
-                        failedCells.put(cell, scrubTimestamp);
-                    }
-                }
+                addCells(failedWrites, entry.getValue(), scrubTimestamp);
             } else if (commitTimestamp < maxScrubTimestamp) {
-                for (final List<Entry<TableReference, Cell>> batch :
-                        Iterables.partition(tableNameToCell.entries(), batchSizeSupplier.get())) {
-                    final Multimap<TableReference, Cell> batchMultimap = HashMultimap.create();
-                    for (Entry<TableReference, Cell> e : batch) {
-                        batchMultimap.put(e.getKey(), e.getValue());
-                    }
-                    scrubFutures.add(exec.submit(() -> {
-                        scrubCells(txManager, batchMultimap,
-                                scrubTimestamp,
-                                aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE);
-                        return null;
-                    }));
-                }
+                addCells(cellsToScrub, entry.getValue(), scrubTimestamp);
             }
             // else {
             //     We cannot scrub this yet because not all transactions can read this value.
             // }
         }
 
-        for (Future<Void> future : scrubFutures) {
-            Futures.getUnchecked(future);
+        TransactionType transactionType =
+                aggressiveScrub ? TransactionType.AGGRESSIVE_HARD_DELETE : TransactionType.HARD_DELETE;
+        List<Future<Void>> scrubFutures = Lists.newArrayList();
+        for (Map.Entry<TableReference, Multimap<Cell, Long>> entry : cellsToScrub.entrySet()) {
+            TableReference tableRef = entry.getKey();
+            Multimap<Cell, Long> cellToScrubTimestamps = entry.getValue();
+            for (List<Cell> cells : Iterables.partition(cellToScrubTimestamps.keySet(), batchSizeSupplier.get())) {
+                Multimap<Cell, Long> batch = TreeMultimap.create();
+                for (Cell cell : cells) {
+                    batch.putAll(cell, cellToScrubTimestamps.get(cell));
+                }
+                scrubFutures.add(exec.submit(() -> {
+                    scrubCells(txManager, tableRef, batch, transactionType);
+                    return null;
+                }));
+            }
         }
 
         if (!failedWrites.isEmpty()) {
             scrubberStore.markCellsAsScrubbed(failedWrites, batchSizeSupplier.get());
         }
 
-        log.trace("Finished scrubbing cells: {}", scrubTimestampToTableNameToCell);
+        log.trace("Started scrubbing cells: {}", scrubTimestampToTableNameToCell);
 
         if (log.isDebugEnabled()) {
-            Set<TableReference> tables = Sets.newHashSet();
-            for (Multimap<TableReference, Cell> v : scrubTimestampToTableNameToCell.values()) {
-                tables.addAll(v.keySet());
+            long minTimestamp = scrubTimestampToTableNameToCell.firstKey();
+            long maxTimestamp = scrubTimestampToTableNameToCell.lastKey();
+            log.debug("Started scrubbing {} cells at {} timestamps ({}...{}) from tables {}",
+                      countCells(scrubTimestampToTableNameToCell), scrubTimestampToTableNameToCell.size(),
+                      minTimestamp, maxTimestamp, cellsToScrub.keySet());
+        }
+
+        return scrubFutures;
+    }
+
+    private static void addCells(Map<TableReference, Multimap<Cell, Long>> cellsByTable,
+                                 Multimap<TableReference, Cell> tableNameToCell,
+                                 long scrubTimestamp) {
+        for (Entry<TableReference, Collection<Cell>> cells : tableNameToCell.asMap().entrySet()) {
+            Multimap<Cell, Long> cellsForTable = cellsByTable.computeIfAbsent(cells.getKey(),
+                    unused -> TreeMultimap.create());
+            for (Cell cell : cells.getValue()) {
+                cellsForTable.put(cell, scrubTimestamp);
             }
-            long minTimestamp = Collections.min(scrubTimestampToTableNameToCell.keySet());
-            long maxTimestamp = Collections.max(scrubTimestampToTableNameToCell.keySet());
-            log.debug("Finished scrubbing {} cells at {} timestamps ({}...{}) from tables {}",
-                      numCellsReadFromScrubTable, scrubTimestampToTableNameToCell.size(),
-                      minTimestamp, maxTimestamp, tables);
         }
+    }
 
-        return numCellsReadFromScrubTable;
+    private static int countCells(SortedMap<Long, Multimap<TableReference, Cell>> scrubTimestampToTableNameToCell) {
+        int numCells = 0;
+        for (Multimap<TableReference, Cell> v : scrubTimestampToTableNameToCell.values()) {
+            numCells += v.size();
+        }
+        return numCells;
+    }
+
+    private static void waitForScrubs(List<Future<Void>> scrubFutures) {
+        for (Future<Void> future : scrubFutures) {
+            Futures.getUnchecked(future);
+        }
     }
 
     private void scrubCells(TransactionManager txManager,
                             Multimap<TableReference, Cell> tableNameToCells,
                             long scrubTimestamp,
                             Transaction.TransactionType transactionType) {
-        Map<TableReference, Multimap<Cell, Long>> allCellsToMarkScrubbed =
-                Maps.newHashMapWithExpectedSize(tableNameToCells.keySet().size());
         for (Entry<TableReference, Collection<Cell>> entry : tableNameToCells.asMap().entrySet()) {
-            TableReference tableRef = entry.getKey();
-            log.debug("Attempting to immediately scrub {} cells from table {}", entry.getValue().size(), tableRef);
-            for (List<Cell> cells : Iterables.partition(entry.getValue(), batchSizeSupplier.get())) {
-                Multimap<Cell, Long> allTimestamps = keyValueService.getAllTimestamps(
-                        tableRef, ImmutableSet.copyOf(cells), scrubTimestamp);
-                Multimap<Cell, Long> timestampsToDelete = Multimaps.filterValues(
-                        allTimestamps, v -> !v.equals(Value.INVALID_VALUE_TIMESTAMP));
-
-                // If transactionType == TransactionType.AGGRESSIVE_HARD_DELETE this might
-                // force other transactions to abort or retry
-                deleteCellsAtTimestamps(txManager, tableRef, timestampsToDelete, transactionType);
-
-                Multimap<Cell, Long> cellsToMarkScrubbed = HashMultimap.create(allTimestamps);
-                for (Cell cell : cells) {
-                    cellsToMarkScrubbed.put(cell, scrubTimestamp);
-                }
-                allCellsToMarkScrubbed.put(tableRef, cellsToMarkScrubbed);
+            Map<Cell, Long> cellToScrubTimestamp = Maps2.createConstantValueMap(entry.getValue(), scrubTimestamp);
+            scrubCells(txManager, entry.getKey(), Multimaps.forMap(cellToScrubTimestamp), transactionType);
+        }
+    }
+
+    /**
+     * Scrubs cells of a single table. Each cell may have been queued for scrubbing by several hard delete
+     * transactions; all versions written before the latest of these are removed.
+     */
+    private void scrubCells(TransactionManager txManager,
+                            TableReference tableRef,
+                            Multimap<Cell, Long> cellToScrubTimestamps,
+                            Transaction.TransactionType transactionType) {
+        log.debug("Attempting to immediately scrub {} cells from table {}", cellToScrubTimestamps.keySet().size(),
+                tableRef);
+        Map<Cell, Long> latestScrubTimestamps = ImmutableMap.copyOf(
+                Maps.transformValues(cellToScrubTimestamps.asMap(), Collections::max));
+        for (List<Cell> cells : Iterables.partition(latestScrubTimestamps.keySet(), batchSizeSupplier.get())) {
+            long maxScrubTimestamp = cells.stream().mapToLong(latestScrubTimestamps::get).max().getAsLong();
+            Multimap<Cell, Long> allTimestamps = Multimaps.filterEntries(
+                    keyValueService.getAllTimestamps(tableRef, ImmutableSet.copyOf(cells), maxScrubTimestamp),
+                    e -> e.getValue() < latestScrubTimestamps.get(e.getKey()));
+            Multimap<Cell, Long> timestampsToDelete = Multimaps.filterValues(
+                    allTimestamps, v -> !v.equals(Value.INVALID_VALUE_TIMESTAMP));
+
+            // If transactionType == TransactionType.AGGRESSIVE_HARD_DELETE this might
+            // force other transactions to abort or retry
+            deleteCellsAtTimestamps(txManager, tableRef, timestampsToDelete, transactionType);
+
+            Multimap<Cell, Long> cellsToMarkScrubbed = HashMultimap.create(allTimestamps);
+            for (Cell cell : cells) {
+                cellsToMarkScrubbed.putAll(cell, cellToScrubTimestamps.get(cell));
             }
-            log.debug("Immediately scrubbed {} cells from table {}", entry.getValue().size(), tableRef);
+            scrubberStore.markCellsAsScrubbed(ImmutableMap.of(tableRef, cellsToMarkScrubbed),
+                    batchSizeSupplier.get());
+            lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, cells.size());
         }
-        scrubberStore.markCellsAsScrubbed(allCellsToMarkScrubbed, batchSizeSupplier.get());
-        lazyWriteMetric(AtlasDbMetricNames.SCRUBBED_CELLS, allCellsToMarkScrubbed.size());
+        log.debug("Immediately scrubbed {} cells from table {}", cellToScrubTimestamps.keySet().size(), tableRef);
     }
 
     private void deleteCellsAtTimestamps(TransactionManager txManager,
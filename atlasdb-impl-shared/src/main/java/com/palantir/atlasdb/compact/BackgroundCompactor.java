@@ -15,14 +15,20 @@
  */
 package com.palantir.atlasdb.compact;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.codahale.metrics.Histogram;
 import com.google.common.annotations.VisibleForTesting;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -32,6 +38,7 @@ import com.palantir.atlasdb.schema.generated.CompactTableFactory;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.LockService;
 import com.palantir.lock.SingleLockService;
 import com.palantir.logsafe.Preconditions;
@@ -48,7 +55,9 @@ public final class BackgroundCompactor implements AutoCloseable {
     private final Supplier<CompactorConfig> compactorConfigSupplier;
     private final CompactPriorityCalculator compactPriorityCalculator;
 
+    private final MetricsManager metricsManager;
     private final CompactionOutcomeMetrics compactionOutcomeMetrics;
+    private final ExecutorService compactionExecutor = PTExecutors.newCachedThreadPool("BackgroundCompactor-worker");
 
     private Thread daemon;
 
@@ -87,6 +96,7 @@ public final class BackgroundCompactor implements AutoCloseable {
             LockService lockService,
             Supplier<CompactorConfig> compactorConfigSupplier,
             CompactPriorityCalculator compactPriorityCalculator) {
+        this.metricsManager = metricsManager;
         this.compactionOutcomeMetrics = new CompactionOutcomeMetrics(metricsManager);
         this.transactionManager = transactionManager;
         this.keyValueService = keyValueService;
@@ -100,6 +110,7 @@ public final class BackgroundCompactor implements AutoCloseable {
         compactionOutcomeMetrics.registerOccurrenceOf(CompactionOutcome.SHUTDOWN);
         log.debug("Closing BackgroundCompactor");
         daemon.interrupt();
+        compactionExecutor.shutdownNow();
         // Ensure we do not accidentally abort shutdown if any code incorrectly swallows InterruptedExceptions
         // on the daemon thread.
         shuttingDown.countDown();
@@ -198,23 +209,45 @@ public final class BackgroundCompactor implements AutoCloseable {
             return CompactionOutcome.UNABLE_TO_ACQUIRE_LOCKS;
         }
 
-        Optional<String> tableToCompactOptional;
+        List<String> tablesToCompact;
         try {
-            tableToCompactOptional = compactPriorityCalculator.selectTableToCompact();
+            tablesToCompact = compactPriorityCalculator.selectTablesToCompact(
+                    config.maxConcurrentCompactions(), config.compactionBudgetCells());
         } catch (Exception e) {
             log.warn("Encountered exception when attempting to determine which table should be compacted.", e);
             return CompactionOutcome.NOTHING_TO_COMPACT;
         }
-        if (!tableToCompactOptional.isPresent()) {
+        if (tablesToCompact.isEmpty()) {
             log.debug("No table to compact.");
             return CompactionOutcome.NOTHING_TO_COMPACT;
         }
 
-        String tableToCompact = tableToCompactOptional.get();
+        List<Future<CompactionOutcome>> outcomes = new ArrayList<>(tablesToCompact.size());
+        for (String tableToCompact : tablesToCompact) {
+            outcomes.add(compactionExecutor.submit(() -> compactAndRegister(tableToCompact, config)));
+        }
+
+        CompactionOutcome outcome = CompactionOutcome.SUCCESS;
+        try {
+            for (Future<CompactionOutcome> tableOutcome : outcomes) {
+                outcome = worseOf(outcome, tableOutcome.get());
+            }
+        } catch (ExecutionException e) {
+            log.warn("Unexpected exception occurred whilst performing background compaction!", e.getCause());
+            return CompactionOutcome.FAILED_TO_COMPACT;
+        } finally {
+            outcomes.forEach(tableOutcome -> tableOutcome.cancel(true));
+        }
+        return outcome;
+    }
 
+    private CompactionOutcome compactAndRegister(String tableToCompact, CompactorConfig config) {
         try {
             log.debug("Compacting table {}", LoggingArgs.safeInternalTableName(tableToCompact));
+            long startTime = System.nanoTime();
             compactTable(tableToCompact, config);
+            getCompactionLatencyHistogram(tableToCompact)
+                    .update(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
             log.debug("Compacted table {}", LoggingArgs.safeInternalTableName(tableToCompact));
         } catch (Exception e) {
             log.warn("Encountered exception when compacting table {}",
@@ -235,6 +268,18 @@ public final class BackgroundCompactor implements AutoCloseable {
         }
     }
 
+    private static CompactionOutcome worseOf(CompactionOutcome first, CompactionOutcome second) {
+        if (first == CompactionOutcome.FAILED_TO_COMPACT || second == CompactionOutcome.FAILED_TO_COMPACT) {
+            return CompactionOutcome.FAILED_TO_COMPACT;
+        }
+        return first == CompactionOutcome.SUCCESS ? second : first;
+    }
+
+    private Histogram getCompactionLatencyHistogram(String tableToCompact) {
+        return metricsManager.registerOrGetTaggedHistogram(BackgroundCompactor.class, "compactionLatencyMillis",
+                metricsManager.getTableNameTagFor(TableReference.createUnsafe(tableToCompact)));
+    }
+
     private SingleLockService createSimpleLocks() {
         return SingleLockService.createSingleLockServiceWithSafeLockId(lockService, "atlas compact");
     }
@@ -15,6 +15,10 @@
  */
 package com.palantir.atlasdb.compact;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,6 +26,8 @@ import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,90 +60,100 @@ class CompactPriorityCalculator {
         this.compactionHistoryProvider = compactionHistoryProvider;
     }
 
-    Optional<String> selectTableToCompact() {
-        return transactionManager.runTaskReadOnly(this::selectTableToCompactInternal);
+    /**
+     * Selects up to {@code maxTables} tables to compact, most beneficial first. Tables are added in order of priority
+     * for as long as their combined estimated size stays within {@code cellBudget}; the first table is always
+     * selected, regardless of its size.
+     */
+    List<String> selectTablesToCompact(int maxTables, long cellBudget) {
+        return transactionManager.runTaskReadOnly(tx -> selectTablesToCompactInternal(tx, maxTables, cellBudget));
     }
 
     @VisibleForTesting
     Optional<String> selectTableToCompactInternal(Transaction tx) {
+        return selectTablesToCompactInternal(tx, 1, Long.MAX_VALUE).stream().findFirst();
+    }
+
+    @VisibleForTesting
+    List<String> selectTablesToCompactInternal(Transaction tx, int maxTables, long cellBudget) {
         Map<String, Long> tableToLastTimeSwept = sweepHistoryProvider.getHistory(tx);
         Map<String, Long> tableToLastTimeCompacted = compactionHistoryProvider.getHistory(tx);
-
-        Optional<String> tableToCompact = maybeChooseUncompactedTable(tableToLastTimeSwept, tableToLastTimeCompacted);
-        if (!tableToCompact.isPresent()) {
-            tableToCompact = maybeChooseTableSweptAfterCompact(tableToLastTimeSwept, tableToLastTimeCompacted);
-        }
-        if (!tableToCompact.isPresent()) {
-            tableToCompact = maybeChooseTableCompactedOver1HourAgo(tableToLastTimeCompacted);
+        Map<String, SweptTableStatistics> tableToStatistics = sweepHistoryProvider.getStatistics(tx);
+
+        List<String> candidates = new ArrayList<>(
+                rankTablesSweptAfterCompact(tableToLastTimeSwept, tableToLastTimeCompacted, tableToStatistics));
+        candidates.addAll(shuffledTablesCompactedOver1HourAgo(tableToLastTimeCompacted).stream()
+                .filter(table -> !candidates.contains(table))
+                .collect(Collectors.toList()));
+
+        List<String> tablesToCompact = new ArrayList<>();
+        long estimatedCells = 0L;
+        for (String table : candidates) {
+            if (tablesToCompact.size() >= maxTables) {
+                break;
+            }
+            long tableCells = estimatedCost(tableToStatistics.get(table));
+            if (!tablesToCompact.isEmpty() && tableCells > cellBudget - estimatedCells) {
+                continue;
+            }
+            tablesToCompact.add(table);
+            estimatedCells += tableCells;
         }
-        if (!tableToCompact.isPresent()) {
+
+        if (tablesToCompact.isEmpty()) {
             log.info("Not compacting, because it does not appear that any table has been swept"
                     + " or they were compacted too recently (the past hour).");
+        } else {
+            log.info("Choosing to compact {} tables with an estimated {} cells; the first is {}",
+                    SafeArg.of("numTables", tablesToCompact.size()),
+                    SafeArg.of("estimatedCells", estimatedCells),
+                    safeTableRef(tablesToCompact.get(0)));
         }
-        return tableToCompact;
-    }
-
-    private static Optional<String> maybeChooseUncompactedTable(
-            Map<String, Long> tableToLastTimeSwept,
-            Map<String, Long> tableToLastTimeCompacted) {
-
-        List<String> uncompactedTables = tableToLastTimeSwept.keySet().stream()
-                .filter(table -> !tableToLastTimeCompacted.keySet().contains(table))
-                .collect(Collectors.toList());
-
-        if (uncompactedTables.size() > 0) {
-            int randomTableIndex = ThreadLocalRandom.current().nextInt(uncompactedTables.size());
-            String randomlyChosenTable = uncompactedTables.get(randomTableIndex);
-            log.info("There are some tables which have been swept, but not compacted. Choosing {} at random.",
-                    safeTableRef(randomlyChosenTable));
-            return Optional.of(randomlyChosenTable);
-        }
-        return Optional.empty();
+        return tablesToCompact;
     }
 
-    private static Optional<String> maybeChooseTableSweptAfterCompact(
+    /**
+     * Ranks the tables that were swept after they were last compacted, or were never compacted, by the number of
+     * stale values their last sweep deleted. Ties are broken in favour of the table with the most time between its
+     * last compaction and its last sweep - without other information, we assume there's more to compact.
+     */
+    private static List<String> rankTablesSweptAfterCompact(
             Map<String, Long> tableToLastTimeSwept,
-            Map<String, Long> tableToLastTimeCompacted) {
-
-        String tableToCompact = null;
-        long maxSweptAfterCompact = 0L;
+            Map<String, Long> tableToLastTimeCompacted,
+            Map<String, SweptTableStatistics> tableToStatistics) {
+        Map<String, Long> tableToSweptAfterCompact = new HashMap<>();
         for (Map.Entry<String, Long> entry : tableToLastTimeSwept.entrySet()) {
             String table = entry.getKey();
             long lastSweptTime = entry.getValue();
-            long lastCompactTime = tableToLastTimeCompacted.get(table);
+            long lastCompactTime = tableToLastTimeCompacted.getOrDefault(table, 0L);
             long sweptAfterCompact = lastSweptTime - lastCompactTime;
-
-            if (sweptAfterCompact > maxSweptAfterCompact) {
-                tableToCompact = table;
-                maxSweptAfterCompact = sweptAfterCompact;
+            if (sweptAfterCompact > 0 || !tableToLastTimeCompacted.containsKey(table)) {
+                tableToSweptAfterCompact.put(table, sweptAfterCompact);
             }
         }
 
-        if (tableToCompact != null) {
-            log.info("Choosing to compact {}, because it was swept {} milliseconds after the last compaction",
-                    safeTableRef(tableToCompact),
-                    SafeArg.of("millisFromCompactionToSweep", maxSweptAfterCompact));
-            return Optional.of(tableToCompact);
-        }
-        return Optional.empty();
+        return tableToSweptAfterCompact.keySet().stream()
+                .sorted(Comparator.<String>comparingLong(table -> estimatedBenefit(tableToStatistics.get(table)))
+                        .thenComparingLong(tableToSweptAfterCompact::get)
+                        .reversed())
+                .collect(Collectors.toList());
     }
 
-    private static Optional<String> maybeChooseTableCompactedOver1HourAgo(
-            Map<String, Long> tableToLastTimeCompacted) {
-
-        List<String> filteredTablesCompactedAfterSweep = tableToLastTimeCompacted.entrySet().stream()
+    private static List<String> shuffledTablesCompactedOver1HourAgo(Map<String, Long> tableToLastTimeCompacted) {
+        List<String> tablesCompactedOver1HourAgo = tableToLastTimeCompacted.entrySet().stream()
                 .filter(entry -> entry.getValue() < System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1L))
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
-        if (filteredTablesCompactedAfterSweep.size() > 0) {
-            int randomTableIndex = ThreadLocalRandom.current().nextInt(filteredTablesCompactedAfterSweep.size());
-            String randomlyChosenTable = filteredTablesCompactedAfterSweep.get(randomTableIndex);
-            log.info("All swept tables have been compacted after the last sweep. Choosing to compact {} at random"
-                            + " between tables which were compacted more than 1 hour ago.",
-                    safeTableRef(randomlyChosenTable));
-            return Optional.of(randomlyChosenTable);
-        }
-        return Optional.empty();
+        Collections.shuffle(tablesCompactedOver1HourAgo, ThreadLocalRandom.current());
+        return tablesCompactedOver1HourAgo;
+    }
+
+    private static long estimatedBenefit(@Nullable SweptTableStatistics statistics) {
+        return statistics == null ? 0L : statistics.cellsDeleted();
+    }
+
+    private static long estimatedCost(@Nullable SweptTableStatistics statistics) {
+        return statistics == null ? 0L : statistics.cellsExamined();
     }
 
     private static Arg<String> safeTableRef(String fullyQualifiedName) {
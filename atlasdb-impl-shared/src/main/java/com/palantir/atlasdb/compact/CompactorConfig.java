@@ -66,12 +66,33 @@ public interface CompactorConfig {
         return DEFAULT_COMPACT_PAUSE_MILLIS;
     }
 
+    /**
+     * Indicates the maximum number of tables that may be compacted in parallel.
+     */
+    @Value.Default
+    default int maxConcurrentCompactions() {
+        return 1;
+    }
+
+    /**
+     * Indicates the maximum combined size, in cells last examined by sweep, of the tables compacted together. The most
+     * beneficial table to compact is always compacted, even if it is larger than this budget.
+     */
+    @Value.Default
+    default long compactionBudgetCells() {
+        return Long.MAX_VALUE;
+    }
+
     @Value.Check
     default void checkIntervalsNonnegative() {
         Preconditions.checkState(compactPauseOnFailureMillis() >= 0,
                 "Compact pause-on-failure interval must be nonnegative, but found %s", compactPauseOnFailureMillis());
         Preconditions.checkState(compactPauseMillis() >= 0,
                 "Compact pause interval must be nonnegative, but found %s", compactPauseMillis());
+        Preconditions.checkState(maxConcurrentCompactions() > 0,
+                "Maximum concurrent compactions must be positive, but found %s", maxConcurrentCompactions());
+        Preconditions.checkState(compactionBudgetCells() >= 0,
+                "Compaction budget must be nonnegative, but found %s", compactionBudgetCells());
     }
 
     static CompactorConfig defaultCompactorConfig() {
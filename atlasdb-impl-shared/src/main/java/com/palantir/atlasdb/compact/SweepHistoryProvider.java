@@ -42,4 +42,23 @@ class SweepHistoryProvider {
                 });
         return tableToLastTimeSwept;
     }
+
+    Map<String, SweptTableStatistics> getStatistics(Transaction tx) {
+        Map<String, SweptTableStatistics> tableToStatistics = new HashMap<>();
+        SweepPriorityTable sweepPriorityTable = SweepTableFactory.of().getSweepPriorityTable(tx);
+        sweepPriorityTable.getRange(RangeRequest.builder()
+                .retainColumns(SweepPriorityTable.getColumnSelection(
+                        SweepPriorityNamedColumn.CELLS_DELETED,
+                        SweepPriorityNamedColumn.CELLS_EXAMINED))
+                .batchHint(READ_BATCH_SIZE)
+                .build())
+                .forEach(row -> {
+                    String tableName = row.getRowName().getFullTableName();
+                    tableToStatistics.put(tableName, ImmutableSweptTableStatistics.builder()
+                            .cellsDeleted(row.hasCellsDeleted() ? row.getCellsDeleted() : 0L)
+                            .cellsExamined(row.hasCellsExamined() ? row.getCellsExamined() : 0L)
+                            .build());
+                });
+        return tableToStatistics;
+    }
 }
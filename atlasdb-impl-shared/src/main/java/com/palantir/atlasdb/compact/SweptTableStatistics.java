@@ -0,0 +1,35 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compact;
+
+import org.immutables.value.Value;
+
+/**
+ * Results of the most recent sweep of a table, used to estimate how much a compaction of the table would reclaim
+ * and how expensive it would be.
+ */
+@Value.Immutable
+interface SweptTableStatistics {
+    /**
+     * Number of stale values deleted by the most recent sweep; the space these took up is reclaimed by compaction.
+     */
+    long cellsDeleted();
+
+    /**
+     * Number of cell-timestamp pairs examined by the most recent sweep, an estimate of the size of the table.
+     */
+    long cellsExamined();
+}
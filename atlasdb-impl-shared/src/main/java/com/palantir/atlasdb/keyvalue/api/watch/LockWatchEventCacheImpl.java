@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import java.util.Set;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -51,6 +52,10 @@ import com.palantir.logsafe.Preconditions;
 /**
  * This class should only be used through {@link ResilientLockWatchEventCache} as a proxy; failure to do so will result
  * in concurrency issues and inconsistency in the cache state.
+ * <p>
+ * The proxy serializes updates by synchronizing on this cache, except for start transaction updates, which only
+ * synchronize on it when they change the event log. Reads do not synchronize on it: the event log and the timestamp
+ * store are each safe to read while they are updated.
  */
 public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     private final LockWatchEventLog eventLog;
@@ -77,9 +82,19 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     public void processStartTransactionsUpdate(
             Set<Long> startTimestamps,
             LockWatchStateUpdate update) {
-        Optional<IdentifiedVersion> updateVersion = processEventLogUpdate(update);
-        updateVersion.ifPresent(version -> timestampStateStore.putStartTimestamps(startTimestamps, version));
-        retentionEventsInLog();
+        // most updates bring no new events, and these only need the timestamps recorded, as long as the log they
+        // refer to is not replaced first; if it is, the timestamps are cleared along with the rest of the store
+        Optional<IdentifiedVersion> processedVersion = eventLog.getVersionIfAlreadyProcessed(update);
+        if (processedVersion.isPresent() && timestampStateStore.putStartTimestampsIf(startTimestamps,
+                processedVersion.get(), () -> eventLog.isLatestLogId(processedVersion.get().id()))) {
+            return;
+        }
+
+        synchronized (this) {
+            Optional<IdentifiedVersion> updateVersion = processEventLogUpdate(update);
+            updateVersion.ifPresent(version -> timestampStateStore.putStartTimestamps(startTimestamps, version));
+            retentionEventsInLog();
+        }
     }
 
     @Override
@@ -138,10 +153,10 @@ public final class LockWatchEventCacheImpl implements LockWatchEventCache {
     }
 
     private void retentionEventsInLog() {
-        Optional<IdentifiedVersion> currentVersion = eventLog.getLatestKnownVersion();
-        timestampStateStore.getEarliestVersion().flatMap(sequence ->
-                currentVersion.map(version -> IdentifiedVersion.of(version.id(), sequence)))
-                .map(IdentifiedVersion::version).ifPresent(eventLog::removeEventsBefore);
+        OptionalLong earliestVersion = timestampStateStore.getEarliestVersion();
+        if (earliestVersion.isPresent() && eventLog.getLatestKnownVersion().isPresent()) {
+            eventLog.removeEventsBefore(earliestVersion.getAsLong());
+        }
     }
 
     @VisibleForTesting
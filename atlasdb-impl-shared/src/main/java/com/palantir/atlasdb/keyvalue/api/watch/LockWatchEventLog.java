@@ -18,6 +18,7 @@ package com.palantir.atlasdb.keyvalue.api.watch;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
@@ -27,10 +28,15 @@ import com.palantir.lock.watch.LockWatchEvent;
 import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.logsafe.Preconditions;
 
+/**
+ * The lock watch events known to the client, from its snapshot onwards. Updates are serialized on the log. Reading the
+ * events since a version the client already knows, and its latest version, do not lock; reads that need the snapshot
+ * lock the log, so that the snapshot is consistent with the events after it.
+ */
 final class LockWatchEventLog {
     private final ClientLockWatchSnapshot snapshot;
     private final VersionedEventStore eventStore = new VersionedEventStore();
-    private Optional<IdentifiedVersion> latestVersion = Optional.empty();
+    private volatile Optional<IdentifiedVersion> latestVersion = Optional.empty();
 
     static LockWatchEventLog create() {
         return create(ClientLockWatchSnapshot.create());
@@ -45,7 +51,7 @@ final class LockWatchEventLog {
         this.snapshot = snapshot;
     }
 
-    CacheUpdate processUpdate(LockWatchStateUpdate update) {
+    synchronized CacheUpdate processUpdate(LockWatchStateUpdate update) {
         if (!latestVersion.isPresent() || !update.logId().equals(latestVersion.get().id())) {
             return update.accept(new NewLeaderVisitor());
         } else {
@@ -64,6 +70,25 @@ final class LockWatchEventLog {
             IdentifiedVersion endVersion) {
         Optional<IdentifiedVersion> startVersion = lastKnownVersion.map(this::createStartVersion);
         IdentifiedVersion currentVersion = getLatestVersionAndVerify(endVersion);
+        if (startVersion.isPresent() && startVersion.get().id().equals(currentVersion.id())) {
+            Optional<List<LockWatchEvent>> events = eventStore.getEventsBetweenVersionsInclusiveIfContained(
+                    startVersion.get().version(), endVersion.version());
+            // events of a new leader are only stored after the latest version has moved to it
+            if (events.isPresent() && isLatestLogId(currentVersion.id())) {
+                return new ClientLogEvents.Builder()
+                        .clearCache(false)
+                        .addAllEvents(events.get())
+                        .build();
+            }
+        }
+        return getEventsBetweenVersionsFromSnapshotIfNeeded(lastKnownVersion, endVersion);
+    }
+
+    private synchronized ClientLogEvents getEventsBetweenVersionsFromSnapshotIfNeeded(
+            Optional<IdentifiedVersion> lastKnownVersion,
+            IdentifiedVersion endVersion) {
+        Optional<IdentifiedVersion> startVersion = lastKnownVersion.map(this::createStartVersion);
+        IdentifiedVersion currentVersion = getLatestVersionAndVerify(endVersion);
 
         if (!startVersion.isPresent() || differentLeaderOrTooFarBehind(currentVersion, startVersion.get())) {
             return new ClientLogEvents.Builder()
@@ -81,7 +106,36 @@ final class LockWatchEventLog {
         }
     }
 
-    void removeEventsBefore(long earliestSequence) {
+    /**
+     * Returns the version the given update identifies, if processing it would not change this log: that is if it is a
+     * successful update from the current leader that brings no events past the latest known version.
+     */
+    Optional<IdentifiedVersion> getVersionIfAlreadyProcessed(LockWatchStateUpdate update) {
+        Optional<IdentifiedVersion> current = latestVersion;
+        if (!current.isPresent() || !update.logId().equals(current.get().id())) {
+            return Optional.empty();
+        }
+        return update.accept(new LockWatchStateUpdate.Visitor<Optional<IdentifiedVersion>>() {
+            @Override
+            public Optional<IdentifiedVersion> visit(LockWatchStateUpdate.Success success) {
+                return success.lastKnownVersion() > current.get().version()
+                        ? Optional.empty()
+                        : Optional.of(IdentifiedVersion.of(success.logId(), success.lastKnownVersion()));
+            }
+
+            @Override
+            public Optional<IdentifiedVersion> visit(LockWatchStateUpdate.Snapshot snapshotUpdate) {
+                return Optional.empty();
+            }
+        });
+    }
+
+    boolean isLatestLogId(UUID logId) {
+        Optional<IdentifiedVersion> current = latestVersion;
+        return current.isPresent() && current.get().id().equals(logId);
+    }
+
+    synchronized void removeEventsBefore(long earliestSequence) {
         getLatestKnownVersion().ifPresent(version -> {
             LockWatchEvents eventsToBeRemoved = eventStore.getAndRemoveElementsUpToExclusive(earliestSequence);
             snapshot.processEvents(eventsToBeRemoved, version.id());
@@ -93,7 +147,7 @@ final class LockWatchEventLog {
     }
 
     @VisibleForTesting
-    LockWatchEventLogState getStateForTesting() {
+    synchronized LockWatchEventLogState getStateForTesting() {
         return ImmutableLockWatchEventLogState.builder()
                 .latestVersion(latestVersion)
                 .eventStoreState(eventStore.getStateForTesting())
@@ -18,20 +18,36 @@ package com.palantir.atlasdb.keyvalue.api.watch;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.Counter;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.reflect.AbstractInvocationHandler;
-import com.google.errorprone.annotations.concurrent.GuardedBy;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
 import com.palantir.atlasdb.util.MetricsManager;
 import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.lock.watch.LockWatchStateUpdate;
+import com.palantir.logsafe.SafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 
+/**
+ * Serializes calls to the default cache, switching to the fallback cache if the default cache fails unexpectedly.
+ * Calls are serialized by synchronizing on the default cache, which may synchronize on itself to serialize its own
+ * work. Calls made whenever transactions are started or committed, which only read state that the default cache
+ * publishes safely or serialize their own writes, are not serialized with other calls.
+ */
 final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
 
     private static final Logger log = LoggerFactory.getLogger(ResilientLockWatchEventCache.class);
+    private static final Set<Method> UNSERIALIZED_METHODS = ImmutableSet.of(
+            getMethod("lastKnownVersion"),
+            getMethod("processStartTransactionsUpdate", Set.class, LockWatchStateUpdate.class),
+            getMethod("getCommitUpdate", long.class),
+            getMethod("getUpdateForTransactions", Set.class, Optional.class));
 
     static LockWatchEventCache newProxyInstance(
             LockWatchEventCache defaultCache,
@@ -43,22 +59,41 @@ final class ResilientLockWatchEventCache extends AbstractInvocationHandler {
                 new ResilientLockWatchEventCache(defaultCache, fallbackCache, metricsManager));
     }
 
+    private final LockWatchEventCache defaultCache;
     private final LockWatchEventCache fallbackCache;
     private final Counter fallbackCacheSelectedCounter;
 
-    @GuardedBy("this")
-    private LockWatchEventCache delegate;
+    private volatile LockWatchEventCache delegate;
 
     private ResilientLockWatchEventCache(LockWatchEventCache defaultCache, LockWatchEventCache fallbackCache,
             MetricsManager metricsManager) {
         this.delegate = defaultCache;
+        this.defaultCache = defaultCache;
         this.fallbackCache = fallbackCache;
         this.fallbackCacheSelectedCounter =
                 metricsManager.registerOrGetCounter(ResilientLockWatchEventCache.class, "fallbackCacheSelectedCounter");
     }
 
     @Override
-    protected synchronized Object handleInvocation(Object proxy, Method method, Object[] args) {
+    protected Object handleInvocation(Object proxy, Method method, Object[] args) {
+        if (UNSERIALIZED_METHODS.contains(method)) {
+            return invokeDelegate(method, args);
+        }
+        synchronized (defaultCache) {
+            return invokeDelegate(method, args);
+        }
+    }
+
+    private static Method getMethod(String name, Class<?>... parameterTypes) {
+        try {
+            return LockWatchEventCache.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new SafeIllegalStateException("Lock watch event cache method not found", e,
+                    SafeArg.of("method", name));
+        }
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) {
         try {
             return method.invoke(delegate, args);
         } catch (TransactionLockWatchFailedException e) {
@@ -16,17 +16,19 @@
 
 package com.palantir.atlasdb.keyvalue.api.watch;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.BooleanSupplier;
 
 import org.immutables.value.Value;
 
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Iterables;
 import com.google.common.collect.SortedSetMultimap;
 import com.google.common.collect.TreeMultimap;
 import com.palantir.atlasdb.transaction.api.TransactionLockWatchFailedException;
@@ -35,19 +37,52 @@ import com.palantir.lock.watch.IdentifiedVersion;
 import com.palantir.lock.watch.TransactionUpdate;
 import com.palantir.logsafe.Preconditions;
 
+import gnu.trove.list.TLongList;
+import gnu.trove.list.array.TLongArrayList;
+import gnu.trove.map.TLongIntMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongIntHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+
+/**
+ * Tracks the version at which each in-flight transaction started and committed. Entries are keyed by primitive start
+ * timestamps, and the earliest version that any in-flight transaction started at is tracked by reference counting
+ * versions, so that neither adding nor removing a transaction boxes timestamps or allocates tree nodes.
+ * <p>
+ * The store is synchronized on itself, and only for single lookups and updates, so that transactions can read their
+ * versions while it is updated without waiting for updates to the rest of the lock watch event cache.
+ */
 final class TimestampStateStore {
-    private final Map<Long, MapEntry> timestampMap = new HashMap<>();
-    private final SortedSetMultimap<Long, Long> aliveVersions = TreeMultimap.create();
+    private final TLongObjectMap<MapEntry> timestampMap = new TLongObjectHashMap<>();
+    private final LiveVersions liveVersions = new LiveVersions();
+
+    /**
+     * Puts the given start timestamps if the given condition holds, checking the condition atomically with the put, so
+     * that a concurrent {@link #clear()} made after whatever invalidates the condition also removes these timestamps.
+     *
+     * @return whether the condition held and the timestamps were put
+     */
+    synchronized boolean putStartTimestampsIf(
+            Collection<Long> startTimestamps,
+            IdentifiedVersion version,
+            BooleanSupplier condition) {
+        if (!condition.getAsBoolean()) {
+            return false;
+        }
+        putStartTimestamps(startTimestamps, version);
+        return true;
+    }
 
-    void putStartTimestamps(Collection<Long> startTimestamps, IdentifiedVersion version) {
+    synchronized void putStartTimestamps(Collection<Long> startTimestamps, IdentifiedVersion version) {
+        MapEntry entry = MapEntry.of(version);
         startTimestamps.forEach(startTimestamp -> {
-            MapEntry previous = timestampMap.putIfAbsent(startTimestamp, MapEntry.of(version));
+            MapEntry previous = timestampMap.putIfAbsent(startTimestamp, entry);
             Preconditions.checkArgument(previous == null, "Start timestamp already present in map");
-            aliveVersions.put(version.version(), startTimestamp);
+            liveVersions.add(version.version());
         });
     }
 
-    void putCommitUpdates(Collection<TransactionUpdate> transactionUpdates, IdentifiedVersion newVersion) {
+    synchronized void putCommitUpdates(Collection<TransactionUpdate> transactionUpdates, IdentifiedVersion newVersion) {
         transactionUpdates.forEach(transactionUpdate -> {
             MapEntry previousEntry = timestampMap.get(transactionUpdate.startTs());
             if (previousEntry == null) {
@@ -57,42 +92,118 @@ final class TimestampStateStore {
             Preconditions.checkArgument(!previousEntry.commitInfo().isPresent(),
                     "Commit info already present for given timestamp");
 
-            timestampMap.replace(
+            timestampMap.put(
                     transactionUpdate.startTs(),
                     previousEntry.withCommitInfo(CommitInfo.of(transactionUpdate.writesToken(), newVersion)));
         });
     }
 
-    void remove(long startTimestamp) {
-        Optional.ofNullable(timestampMap.remove(startTimestamp))
-                .ifPresent(entry -> aliveVersions.remove(entry.version().version(), startTimestamp));
+    synchronized void remove(long startTimestamp) {
+        MapEntry entry = timestampMap.remove(startTimestamp);
+        if (entry != null) {
+            liveVersions.remove(entry.version().version());
+        }
     }
 
-    void clear() {
+    synchronized void clear() {
         timestampMap.clear();
-        aliveVersions.clear();
+        liveVersions.clear();
     }
 
-    Optional<Long> getEarliestVersion() {
-        return Optional.ofNullable(Iterables.getFirst(aliveVersions.keySet(), null));
+    synchronized OptionalLong getEarliestVersion() {
+        return liveVersions.earliest();
     }
 
-    Optional<IdentifiedVersion> getStartVersion(long startTimestamp) {
+    synchronized Optional<IdentifiedVersion> getStartVersion(long startTimestamp) {
         return Optional.ofNullable(timestampMap.get(startTimestamp)).map(MapEntry::version);
     }
 
-    Optional<CommitInfo> getCommitInfo(long startTimestamp) {
+    synchronized Optional<CommitInfo> getCommitInfo(long startTimestamp) {
         return Optional.ofNullable(timestampMap.get(startTimestamp)).flatMap(MapEntry::commitInfo);
     }
 
     @VisibleForTesting
-    TimestampStateStoreState getStateForTesting() {
+    synchronized TimestampStateStoreState getStateForTesting() {
+        long[] startTimestamps = timestampMap.keys();
+        Arrays.sort(startTimestamps);
+        Map<Long, MapEntry> entries = new HashMap<>();
+        SortedSetMultimap<Long, Long> aliveVersions = TreeMultimap.create();
+        for (long startTimestamp : startTimestamps) {
+            MapEntry entry = timestampMap.get(startTimestamp);
+            entries.put(startTimestamp, entry);
+            aliveVersions.put(entry.version().version(), startTimestamp);
+        }
         return ImmutableTimestampStateStoreState.builder()
-                .timestampMap(timestampMap)
+                .timestampMap(entries)
                 .aliveVersions(aliveVersions)
                 .build();
     }
 
+    /**
+     * Reference counts of the versions that in-flight transactions started at, with the distinct versions kept in
+     * ascending order. Versions are almost always added in ascending order and removed from the front, so both are
+     * usually constant time; removed versions at the front are only compacted away once they make up half the list.
+     */
+    private static final class LiveVersions {
+        private static final int MIN_VERSIONS_TO_COMPACT = 16;
+
+        private final TLongIntMap counts = new TLongIntHashMap();
+        private final TLongList ascendingVersions = new TLongArrayList();
+        private int head = 0;
+
+        private void add(long version) {
+            if (counts.adjustOrPutValue(version, 1, 1) == 1) {
+                insert(version);
+            }
+        }
+
+        private void remove(long version) {
+            int count = counts.get(version);
+            if (count > 1) {
+                counts.put(version, count - 1);
+            } else if (count == 1) {
+                counts.remove(version);
+                delete(version);
+            }
+        }
+
+        private OptionalLong earliest() {
+            if (head == ascendingVersions.size()) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(ascendingVersions.get(head));
+        }
+
+        private void clear() {
+            counts.clear();
+            ascendingVersions.resetQuick();
+            head = 0;
+        }
+
+        private void insert(long version) {
+            int size = ascendingVersions.size();
+            if (head == size || ascendingVersions.get(size - 1) < version) {
+                ascendingVersions.add(version);
+            } else {
+                int index = ascendingVersions.binarySearch(version, head, size);
+                ascendingVersions.insert(-index - 1, version);
+            }
+        }
+
+        private void delete(long version) {
+            int index = ascendingVersions.binarySearch(version, head, ascendingVersions.size());
+            if (index != head) {
+                ascendingVersions.removeAt(index);
+                return;
+            }
+            head++;
+            if (head >= MIN_VERSIONS_TO_COMPACT && head * 2 >= ascendingVersions.size()) {
+                ascendingVersions.remove(0, head);
+                head = 0;
+            }
+        }
+    }
+
     @Value.Immutable
     @JsonDeserialize(as = ImmutableMapEntry.class)
     @JsonSerialize(as = ImmutableMapEntry.class)
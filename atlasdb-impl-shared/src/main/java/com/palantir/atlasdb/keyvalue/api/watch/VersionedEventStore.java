@@ -16,72 +16,177 @@
 
 package com.palantir.atlasdb.keyvalue.api.watch;
 
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
+import java.util.Collections;
+import java.util.List;
 import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.Set;
 import java.util.TreeMap;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import com.palantir.lock.watch.LockWatchEvent;
 import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
 
+/**
+ * Stores a contiguous range of lock watch events, indexed by their sequence.
+ * <p>
+ * Events are kept in an append-only array and exposed through immutable {@link Events} views of it, which are
+ * published through a volatile field. Writers must be externally synchronized, but readers never block and see a
+ * consistent range of events, and ranges are returned as views of the array rather than copied. Events removed from
+ * the start of the range are no longer visible, but the array is only compacted once enough of it is unused, so
+ * retention trimming is amortised across many calls.
+ */
 final class VersionedEventStore {
-    private static final boolean INCLUSIVE = true;
+    private static final int MINIMUM_CAPACITY = 16;
 
-    private final NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+    private volatile Events events = Events.EMPTY;
 
     Collection<LockWatchEvent> getEventsBetweenVersionsInclusive(Optional<Long> maybeStartVersion, long endVersion) {
-        return ImmutableSet.copyOf(maybeStartVersion.map(
-                startVersion -> getValuesBetweenInclusive(endVersion, startVersion))
-                .orElseGet(() -> getFirstKey().map(firstKey -> getValuesBetweenInclusive(endVersion, firstKey))
-                        .orElseGet(ImmutableList::of)));
+        Events current = events;
+        return current.range(maybeStartVersion.orElse(current.firstSequence()), endVersion);
+    }
+
+    /**
+     * Returns the events from startVersion to endVersion, both inclusive, if this store has not removed any events
+     * at or after startVersion, that is if {@link #contains(long)} holds for startVersion. Both are checked against
+     * the same view of the events, so events removed concurrently cannot leave a gap at the start of the range.
+     */
+    Optional<List<LockWatchEvent>> getEventsBetweenVersionsInclusiveIfContained(long startVersion, long endVersion) {
+        Events current = events;
+        if (current.isEmpty() || current.firstSequence() > startVersion) {
+            return Optional.empty();
+        }
+        return Optional.of(current.range(startVersion, endVersion));
     }
 
     LockWatchEvents getAndRemoveElementsUpToExclusive(long endVersion) {
-        Set<Map.Entry<Long, LockWatchEvent>> elementsUpToVersion = eventMap.headMap(endVersion).entrySet();
-        LockWatchEvents events = LockWatchEvents.create(elementsUpToVersion);
-        elementsUpToVersion.clear();
-        return events;
+        Events current = events;
+        List<LockWatchEvent> removed = current.range(current.firstSequence(), endVersion - 1);
+        if (!removed.isEmpty()) {
+            events = current.withFirstSequence(current.firstSequence() + removed.size());
+        }
+        return LockWatchEvents.create(removed);
     }
 
     boolean contains(long key) {
-        return eventMap.floorKey(key) != null;
+        Events current = events;
+        return !current.isEmpty() && current.firstSequence() <= key;
     }
 
-    long putAll(Iterable<LockWatchEvent> events) {
-        events.forEach(event -> eventMap.put(event.sequence(), event));
-        return getLastKey();
+    long putAll(Iterable<LockWatchEvent> newEvents) {
+        Events current = events;
+        for (LockWatchEvent event : newEvents) {
+            current = current.withEvent(event);
+        }
+        events = current;
+        Preconditions.checkState(current.hasSequence(), "Cannot get last key from empty map");
+        return current.nextSequence - 1;
     }
 
     void clear() {
-        eventMap.clear();
+        events = Events.EMPTY;
     }
 
     @VisibleForTesting
     VersionedEventStoreState getStateForTesting() {
+        NavigableMap<Long, LockWatchEvent> eventMap = new TreeMap<>();
+        events.range(Long.MIN_VALUE, Long.MAX_VALUE).forEach(event -> eventMap.put(event.sequence(), event));
         return ImmutableVersionedEventStoreState.builder()
                 .eventMap(eventMap)
                 .build();
     }
 
-    private Collection<LockWatchEvent> getValuesBetweenInclusive(long endVersion, Long startVersion) {
-        return eventMap.subMap(startVersion, INCLUSIVE, endVersion, INCLUSIVE).values();
-    }
+    /**
+     * The events with sequences from {@code nextSequence - size} (inclusive) to {@code nextSequence} (exclusive),
+     * stored in {@code buffer} from {@code start}. Slots of the buffer past the end of the range may be written to
+     * after this is created, but slots within the range never are.
+     */
+    private static final class Events {
+        private static final Events EMPTY = new Events(new LockWatchEvent[0], 0, 0, Long.MIN_VALUE);
 
-    private Optional<Long> getFirstKey() {
-        if (eventMap.isEmpty()) {
-            return Optional.empty();
-        } else {
-            return Optional.of(eventMap.firstKey());
+        private final LockWatchEvent[] buffer;
+        private final int start;
+        private final int size;
+        private final long nextSequence;
+
+        private Events(LockWatchEvent[] buffer, int start, int size, long nextSequence) {
+            this.buffer = buffer;
+            this.start = start;
+            this.size = size;
+            this.nextSequence = nextSequence;
+        }
+
+        private boolean isEmpty() {
+            return size == 0;
         }
-    }
 
-    private long getLastKey() {
-        Preconditions.checkState(!eventMap.isEmpty(), "Cannot get last key from empty map");
-        return eventMap.lastKey();
+        private boolean hasSequence() {
+            return nextSequence != Long.MIN_VALUE;
+        }
+
+        private long firstSequence() {
+            return nextSequence - size;
+        }
+
+        private List<LockWatchEvent> range(long startInclusive, long endInclusive) {
+            long from = Math.max(startInclusive, firstSequence());
+            long to = Math.min(endInclusive, nextSequence - 1);
+            if (isEmpty() || from > to) {
+                return ImmutableList.of();
+            }
+            int fromIndex = start + (int) (from - firstSequence());
+            int toIndex = fromIndex + (int) (to - from) + 1;
+            return Collections.unmodifiableList(Arrays.asList(buffer).subList(fromIndex, toIndex));
+        }
+
+        /**
+         * Returns these events without those before the given sequence. The buffer is only copied, releasing the
+         * removed events, once less than half of it is in use.
+         */
+        private Events withFirstSequence(long firstSequence) {
+            int removed = (int) (firstSequence - firstSequence());
+            int remaining = size - removed;
+            if (remaining * 2 < buffer.length && buffer.length > MINIMUM_CAPACITY) {
+                return new Events(copyRange(start + removed, remaining, remaining), 0, remaining, nextSequence);
+            }
+            return new Events(buffer, start + removed, remaining, nextSequence);
+        }
+
+        /**
+         * Returns these events with the given event appended, if it directly follows them. Events that have already
+         * been stored, or have already been removed, are ignored.
+         */
+        private Events withEvent(LockWatchEvent event) {
+            long sequence = event.sequence();
+            if (!hasSequence()) {
+                LockWatchEvent[] newBuffer = new LockWatchEvent[MINIMUM_CAPACITY];
+                newBuffer[0] = event;
+                return new Events(newBuffer, 0, 1, sequence + 1);
+            }
+            if (sequence < nextSequence) {
+                return this;
+            }
+            Preconditions.checkArgument(sequence == nextSequence, "Events form a non-contiguous sequence",
+                    SafeArg.of("expectedSequence", nextSequence),
+                    SafeArg.of("sequence", sequence));
+
+            LockWatchEvent[] newBuffer = buffer;
+            int newStart = start;
+            if (start + size == buffer.length) {
+                newBuffer = copyRange(start, size, Math.max(MINIMUM_CAPACITY, size * 2));
+                newStart = 0;
+            }
+            newBuffer[newStart + size] = event;
+            return new Events(newBuffer, newStart, size + 1, nextSequence + 1);
+        }
+
+        private LockWatchEvent[] copyRange(int from, int length, int capacity) {
+            LockWatchEvent[] newBuffer = new LockWatchEvent[Math.max(MINIMUM_CAPACITY, capacity)];
+            System.arraycopy(buffer, from, newBuffer, 0, length);
+            return newBuffer;
+        }
     }
 }
@@ -230,6 +230,16 @@ public final class TableRemappingKeyValueService extends ForwardingObject implem
         }
     }
 
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        try {
+            return delegate().getRangeSplitPoints(
+                    tableMapper.getMappedTableName(tableRef), rangeRequest, maxSplitPoints);
+        } catch (TableMappingNotFoundException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         Map<TableReference, byte[]> tableMetadata = delegate().getMetadataForTables();
@@ -241,6 +241,11 @@ public final class TableSplittingKeyValueService implements KeyValueService {
         return getDelegate(tableRef).getMetadataForTable(tableRef);
     }
 
+    @Override
+    public List<byte[]> getRangeSplitPoints(TableReference tableRef, RangeRequest rangeRequest, int maxSplitPoints) {
+        return getDelegate(tableRef).getRangeSplitPoints(tableRef, rangeRequest, maxSplitPoints);
+    }
+
     @Override
     public Map<TableReference, byte[]> getMetadataForTables() {
         Map<TableReference, byte[]> crossDelegateTableMetadata = Maps.newHashMap();
@@ -26,6 +26,7 @@ import java.util.function.Supplier;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
@@ -47,6 +48,8 @@ public class KeyValueServiceMigrator {
 
     private final int threads;
     private final int defaultBatchSize;
+    private final int writeThreads;
+    private final long maxBytesPerSecondPerTable;
 
     // Tables that exist on the legacy KVS and should not be migrated.
     // TODO(tgordeeva): hacky, clean this up when we have table specific migration
@@ -79,6 +82,30 @@ public class KeyValueServiceMigrator {
             KvsMigrationMessageProcessor messageProcessor,
             TaskProgress taskProgress,
             Set<TableReference> unmigratableTables) {
+        this(checkpointNamespace, fromTransactionManager, toTransactionManager, fromKvs, toKvs,
+                migrationTimestampSupplier, threads, defaultBatchSize, 0, 0L, readBatchSizeOverrides,
+                messageProcessor, taskProgress, unmigratableTables);
+    }
+
+    /**
+     * @param writeThreads number of threads writing to the destination KVS while the migrating threads read ahead,
+     * or zero to write synchronously from the migrating threads
+     * @param maxBytesPerSecondPerTable limit on the rate at which each table is written, or zero for no limit
+     */
+    public KeyValueServiceMigrator(Namespace checkpointNamespace,
+            TransactionManager fromTransactionManager,
+            TransactionManager toTransactionManager,
+            KeyValueService fromKvs,
+            KeyValueService toKvs,
+            Supplier<Long> migrationTimestampSupplier,
+            int threads,
+            int defaultBatchSize,
+            int writeThreads,
+            long maxBytesPerSecondPerTable,
+            Map<TableReference, Integer> readBatchSizeOverrides,
+            KvsMigrationMessageProcessor messageProcessor,
+            TaskProgress taskProgress,
+            Set<TableReference> unmigratableTables) {
         this.checkpointTable =
                 TableReference.create(checkpointNamespace, KeyValueServiceMigratorUtils.CHECKPOINT_TABLE_NAME);
         this.fromTransactionManager = fromTransactionManager;
@@ -88,6 +115,8 @@ public class KeyValueServiceMigrator {
         this.migrationTimestampSupplier = migrationTimestampSupplier;
         this.threads = threads;
         this.defaultBatchSize = defaultBatchSize;
+        this.writeThreads = writeThreads;
+        this.maxBytesPerSecondPerTable = maxBytesPerSecondPerTable;
         this.readBatchSizeOverrides = readBatchSizeOverrides;
         this.messageProcessor = messageProcessor;
         this.taskProgress = taskProgress;
@@ -159,6 +188,9 @@ public class KeyValueServiceMigrator {
                 new GeneralTaskCheckpointer(checkpointTable, toKvs, toTransactionManager);
 
         ExecutorService executor = PTExecutors.newFixedThreadPool(threads);
+        ExecutorService writeExecutor = writeThreads > 0
+                ? PTExecutors.newFixedThreadPool(writeThreads, "kvs-migration-writer")
+                : MoreExecutors.newDirectExecutorService();
         try {
             migrateTables(
                     tables,
@@ -167,6 +199,7 @@ public class KeyValueServiceMigrator {
                     toKvs,
                     migrationTimestampSupplier.get(),
                     executor,
+                    writeExecutor,
                     checkpointer);
             processMessage("Data migration complete.", KvsMigrationMessageLevel.INFO);
         } catch (Throwable t) {
@@ -175,6 +208,8 @@ public class KeyValueServiceMigrator {
         } finally {
             executor.shutdown();
             executor.awaitTermination(10000L, TimeUnit.MILLISECONDS);
+            writeExecutor.shutdown();
+            writeExecutor.awaitTermination(10000L, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -184,6 +219,7 @@ public class KeyValueServiceMigrator {
                                KeyValueService writeKvs,
                                long migrationTimestamp,
                                ExecutorService executor,
+                               ExecutorService writeExecutor,
                                GeneralTaskCheckpointer checkpointer) {
         processMessage("Migrating tables at migrationTimestamp " + migrationTimestamp,
                 KvsMigrationMessageLevel.INFO);
@@ -191,7 +227,8 @@ public class KeyValueServiceMigrator {
             KvsRangeMigrator rangeMigrator =
                     new KvsRangeMigratorBuilder().srcTable(table).readBatchSize(getBatchSize(table)).readTxManager(
                             readTxManager).txManager(txManager).writeKvs(writeKvs).migrationTimestamp(
-                            migrationTimestamp).checkpointer(checkpointer).build();
+                            migrationTimestamp).checkpointer(checkpointer).writeExecutor(
+                            writeExecutor).maxBytesPerSecond(maxBytesPerSecondPerTable).build();
             TableMigratorBuilder builder =
                     new TableMigratorBuilder().srcTable(table).partitions(PARTITIONS).partitioners(
                             getPartitioners(fromKvs, table)).readBatchSize(
@@ -22,9 +22,16 @@ import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.mutable.MutableInt;
+
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import com.google.common.util.concurrent.Futures;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
@@ -40,6 +47,7 @@ import com.palantir.atlasdb.transaction.api.TransactionTask;
 import com.palantir.common.base.BatchingVisitableView;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.util.Pair;
 
 public class KeyValueServiceValidator {
     private final TransactionManager validationFromTransactionManager;
@@ -57,6 +65,8 @@ public class KeyValueServiceValidator {
 
     private final KvsMigrationMessageProcessor messageProcessor;
 
+    private final boolean compareRowHashes;
+
     public KeyValueServiceValidator(TransactionManager validationFromTransactionManager,
                                     TransactionManager validationToTransactionManager,
                                     KeyValueService validationFromKvs,
@@ -65,6 +75,23 @@ public class KeyValueServiceValidator {
                                     Map<TableReference, Integer> readBatchSizeOverrides,
                                     KvsMigrationMessageProcessor messageProcessor,
                                     Set<TableReference> unmigratableTables) {
+        this(validationFromTransactionManager, validationToTransactionManager, validationFromKvs, threads,
+                defaultBatchSize, readBatchSizeOverrides, messageProcessor, unmigratableTables, false);
+    }
+
+    /**
+     * @param compareRowHashes if true, rows are compared by name and a hash of their contents, and the first
+     * mismatching row is reported; otherwise each batch is compared cell by cell
+     */
+    public KeyValueServiceValidator(TransactionManager validationFromTransactionManager,
+                                    TransactionManager validationToTransactionManager,
+                                    KeyValueService validationFromKvs,
+                                    int threads,
+                                    int defaultBatchSize,
+                                    Map<TableReference, Integer> readBatchSizeOverrides,
+                                    KvsMigrationMessageProcessor messageProcessor,
+                                    Set<TableReference> unmigratableTables,
+                                    boolean compareRowHashes) {
         this.validationFromTransactionManager = validationFromTransactionManager;
         this.validationToTransactionManager = validationToTransactionManager;
         this.validationFromKvs = validationFromKvs;
@@ -73,6 +100,7 @@ public class KeyValueServiceValidator {
         this.readBatchSizeOverrides = readBatchSizeOverrides;
         this.messageProcessor = messageProcessor;
         this.unmigratableTables = unmigratableTables;
+        this.compareRowHashes = compareRowHashes;
     }
 
     private int getBatchSize(TableReference table) {
@@ -150,28 +178,71 @@ public class KeyValueServiceValidator {
                                              Transaction t2,
                                              RangeRequest range) {
         BatchingVisitableView<RowResult<byte[]>> bv1 =
-                BatchingVisitableView.of(t1.getRange(table, range));
-        List<RowResult<byte[]>> rrs1 = bv1.limit(limit).immutableCopy();
-        Map<Cell, byte[]> cells1 = Cells.convertRowResultsToCells(rrs1);
-
+                BatchingVisitableView.of(t1.getRange(table, range)).limit(limit);
         BatchingVisitableView<RowResult<byte[]>> bv2 =
-                BatchingVisitableView.of(t2.getRange(table, range));
-        List<RowResult<byte[]>> rrs2 = bv2.limit(limit).immutableCopy();
-        Map<Cell, byte[]> cells2 = Cells.convertRowResultsToCells(rrs2);
-
-        validateEquality(cells1, cells2);
-
-        if (rrs1.isEmpty()) {
-            return null;
+                BatchingVisitableView.of(t2.getRange(table, range)).limit(limit);
+
+        byte[] lastRow;
+        if (compareRowHashes) {
+            List<Pair<byte[], HashCode>> rowHashes1 = hashRows(bv1);
+            validateRowHashes(rowHashes1, bv2);
+            lastRow = rowHashes1.isEmpty() ? null : rowHashes1.get(rowHashes1.size() - 1).getLhSide();
+        } else {
+            List<RowResult<byte[]>> rrs1 = bv1.immutableCopy();
+            List<RowResult<byte[]>> rrs2 = bv2.immutableCopy();
+            validateEquality(Cells.convertRowResultsToCells(rrs1), Cells.convertRowResultsToCells(rrs2));
+            lastRow = rrs1.isEmpty() ? null : rrs1.get(rrs1.size() - 1).getRowName();
         }
 
-        byte[] lastRow = rrs1.get(rrs1.size() - 1).getRowName();
-        if (RangeRequests.isLastRowName(lastRow)) {
+        if (lastRow == null || RangeRequests.isLastRowName(lastRow)) {
             return null;
         }
         return RangeRequests.nextLexicographicName(lastRow);
     }
 
+    /**
+     * Hashes each row as it is read, so that only the row names and hashes of a batch are held in memory.
+     */
+    @VisibleForTesting
+    static List<Pair<byte[], HashCode>> hashRows(BatchingVisitableView<RowResult<byte[]>> rows) {
+        return rows.transform(row -> Pair.create(row.getRowName(), hashRow(row))).immutableCopy();
+    }
+
+    /**
+     * Checks the rows of the target table against the row names and hashes read from the source table, hashing
+     * each target row as it is read rather than copying the batch.
+     */
+    @VisibleForTesting
+    static void validateRowHashes(List<Pair<byte[], HashCode>> expectedRowHashes,
+                                  BatchingVisitableView<RowResult<byte[]>> actualRows) {
+        MutableInt numActualRows = new MutableInt(0);
+        actualRows.forEach(row -> {
+            int index = numActualRows.getAndIncrement();
+            Preconditions.checkArgument(index < expectedRowHashes.size(),
+                    "Number of rows not equal. Expected: %s. Actual: more than %s",
+                    expectedRowHashes.size(), expectedRowHashes.size());
+            byte[] expectedRow = expectedRowHashes.get(index).getLhSide();
+            byte[] actualRow = row.getRowName();
+            Preconditions.checkArgument(Arrays.equals(expectedRow, actualRow),
+                    "Rows not equal. Expected: %s. Actual: %s",
+                    PtBytes.encodeHexString(expectedRow), PtBytes.encodeHexString(actualRow));
+            Preconditions.checkArgument(expectedRowHashes.get(index).getRhSide().equals(hashRow(row)),
+                    "Values not equal for row %s", PtBytes.encodeHexString(expectedRow));
+        });
+        Preconditions.checkArgument(numActualRows.intValue() == expectedRowHashes.size(),
+                "Number of rows not equal. Expected: %s. Actual: %s", expectedRowHashes.size(), numActualRows);
+    }
+
+    @VisibleForTesting
+    static HashCode hashRow(RowResult<byte[]> row) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (Map.Entry<byte[], byte[]> column : row.getColumns().entrySet()) {
+            hasher.putInt(column.getKey().length).putBytes(column.getKey());
+            hasher.putInt(column.getValue().length).putBytes(column.getValue());
+        }
+        return hasher.hash();
+    }
+
     private void validateEquality(Map<Cell, byte[]> cells1, Map<Cell, byte[]> cells2) {
         Set<Cell> ks1 = cells1.keySet();
         Set<Cell> ks2 = cells2.keySet();
@@ -33,7 +33,7 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.AtlasDbMetricNames;
-import com.palantir.atlasdb.cleaner.KeyValueServicePuncherStore;
+import com.palantir.atlasdb.cleaner.PunchTableIndex;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.sweep.queue.ShardAndStrategy;
 import com.palantir.atlasdb.sweep.queue.SweepQueueUtils;
@@ -88,16 +88,16 @@ public class TargetedSweepMetrics {
             KeyValueService kvs,
             Clock clock,
             MetricsConfiguration metricsConfiguration) {
+        PunchTableIndex punchTableIndex = PunchTableIndex.create(kvs);
         return new TargetedSweepMetrics(
                 metricsManager,
-                ts -> getMillisForTimestampBoundedAtOneWeek(kvs, ts, clock),
+                ts -> getMillisForTimestampBoundedAtOneWeek(punchTableIndex, ts, clock),
                 clock,
                 metricsConfiguration);
     }
 
-    private static long getMillisForTimestampBoundedAtOneWeek(KeyValueService kvs, long ts, Clock clock) {
-        return KeyValueServicePuncherStore
-                .getMillisForTimestampIfNotPunchedBefore(kvs, ts, clock.getTimeMillis() - ONE_WEEK);
+    private static long getMillisForTimestampBoundedAtOneWeek(PunchTableIndex punchTableIndex, long ts, Clock clock) {
+        return punchTableIndex.getMillisForTimestampIfNotPunchedBefore(ts, clock.getTimeMillis() - ONE_WEEK);
     }
 
     public void updateEnqueuedWrites(ShardAndStrategy shardStrategy, long writes) {
@@ -17,6 +17,8 @@ package com.palantir.atlasdb.sweep.queue;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,6 +34,7 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.Value;
 import com.palantir.atlasdb.schema.generated.SweepShardProgressTable;
 import com.palantir.atlasdb.schema.generated.TargetedSweepTableFactory;
+import com.palantir.common.streams.KeyedStream;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.util.PersistableBoolean;
@@ -76,6 +79,20 @@ public class ShardProgress {
         return maybeGet(shardAndStrategy).orElse(SweepQueueUtils.INITIAL_TIMESTAMP);
     }
 
+    /**
+     * Returns the last swept timestamps for the given shards and strategies, reading all of them in a single request.
+     */
+    public Map<ShardAndStrategy, Long> getLastSweptTimestamps(Set<ShardAndStrategy> shardsAndStrategies) {
+        Map<Cell, Long> request = shardsAndStrategies.stream()
+                .collect(Collectors.toMap(ShardProgress::cellForShard, ignore -> SweepQueueUtils.READ_TS));
+        Map<Cell, Value> result = kvs.get(TABLE_REF, request);
+        return KeyedStream.of(shardsAndStrategies)
+                .map(shardAndStrategy -> Optional.ofNullable(result.get(cellForShard(shardAndStrategy)))
+                        .map(ShardProgress::getValue)
+                        .orElse(SweepQueueUtils.INITIAL_TIMESTAMP))
+                .collectToMap();
+    }
+
     /**
      * Updates the persisted last swept timestamp for the given shard and strategy to timestamp if it is greater than
      * the currently persisted last swept timestamp.
@@ -109,8 +126,12 @@ public class ShardProgress {
     }
 
     private static long getValue(Map<Cell, Value> entry) {
+        return getValue(Iterables.getOnlyElement(entry.values()));
+    }
+
+    private static long getValue(Value entry) {
         SweepShardProgressTable.Value value = SweepShardProgressTable.Value.BYTES_HYDRATOR.hydrateFromBytes(
-                Iterables.getOnlyElement(entry.values()).getContents());
+                entry.getContents());
         return value.getValue();
     }
 
@@ -16,14 +16,25 @@
 package com.palantir.atlasdb.sweep.queue;
 
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.palantir.atlasdb.futures.AtlasFutures;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.schema.TargetedSweepSchema;
 import com.palantir.atlasdb.sweep.Sweeper;
@@ -31,6 +42,7 @@ import com.palantir.atlasdb.sweep.metrics.SweepOutcome;
 import com.palantir.atlasdb.sweep.metrics.TargetedSweepMetrics;
 import com.palantir.atlasdb.sweep.queue.clear.DefaultTableClearer;
 import com.palantir.atlasdb.table.description.Schemas;
+import com.palantir.atlasdb.table.description.SweepStrategy.SweeperStrategy;
 import com.palantir.atlasdb.transaction.impl.TimelockTimestampServiceAdapter;
 import com.palantir.atlasdb.transaction.service.TransactionService;
 import com.palantir.atlasdb.transaction.service.TransactionServices;
@@ -40,7 +52,7 @@ import com.palantir.logsafe.SafeArg;
 public final class SweepQueue implements MultiTableSweepQueueWriter {
     private static final Logger log = LoggerFactory.getLogger(SweepQueue.class);
     private final ShardProgress progress;
-    private final SweepQueueWriter writer;
+    private final MultiTableSweepQueueWriter writer;
     private final SweepQueueReader reader;
     private final SweepQueueDeleter deleter;
     private final SweepQueueCleaner cleaner;
@@ -48,11 +60,14 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
     private final IntSupplier partitionBatchLimitSupplier;
     private final TargetedSweepMetrics metrics;
 
-    private SweepQueue(SweepQueueFactory factory, TargetedSweepFollower follower) {
+    private SweepQueue(
+            SweepQueueFactory factory,
+            TargetedSweepFollower follower,
+            LongSupplier maxBytesDeletedPerSecond) {
         this.progress = factory.progress;
         this.writer = factory.createWriter();
         this.reader = factory.createReader();
-        this.deleter = factory.createDeleter(follower);
+        this.deleter = factory.createDeleter(follower, maxBytesDeletedPerSecond);
         this.cleaner = factory.createCleaner();
         this.numShards = factory.numShards;
         this.metrics = factory.metrics;
@@ -67,9 +82,22 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
             TransactionService transaction,
             TargetedSweepFollower follower,
             IntSupplier partitionBatchLimitSupplier) {
+        return create(metrics, kvs, timelock, shardsConfig, transaction, follower, partitionBatchLimitSupplier,
+                () -> 0L);
+    }
+
+    public static SweepQueue create(
+            TargetedSweepMetrics metrics,
+            KeyValueService kvs,
+            TimelockService timelock,
+            Supplier<Integer> shardsConfig,
+            TransactionService transaction,
+            TargetedSweepFollower follower,
+            IntSupplier partitionBatchLimitSupplier,
+            LongSupplier maxBytesDeletedPerSecond) {
         SweepQueueFactory factory = SweepQueueFactory.create(metrics, kvs, timelock, shardsConfig, transaction,
                 partitionBatchLimitSupplier);
-        return new SweepQueue(factory, follower);
+        return new SweepQueue(factory, follower, maxBytesDeletedPerSecond);
     }
 
     /**
@@ -107,6 +135,11 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         writer.enqueue(writes);
     }
 
+    @Override
+    public void close() {
+        writer.close();
+    }
+
     /**
      * Sweep the next batch for the shard and strategy specified by shardStrategy, with the sweep timestamp sweepTs.
      * After successful deletes, the persisted information about the writes is removed, and progress is updated
@@ -117,22 +150,114 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
      * @return true if we should immediately process another batch for this shard and strategy
      */
     public boolean sweepNextBatch(ShardAndStrategy shardStrategy, long sweepTs) {
+        OptionalLong maybeLastSweptTs = getLastSweptTimestampIfBehind(shardStrategy, sweepTs);
+        if (!maybeLastSweptTs.isPresent()) {
+            return false;
+        }
+        long lastSweptTs = maybeLastSweptTs.getAsLong();
+
+        SweepBatchWithPartitionInfo batchWithInfo = readNextBatch(shardStrategy, lastSweptTs, sweepTs);
+        processBatch(shardStrategy, lastSweptTs, batchWithInfo);
+        return shouldProcessNextBatch(lastSweptTs, batchWithInfo.sweepBatch());
+    }
+
+    /**
+     * Sweeps batches for the shard and strategy specified by shardStrategy, with the sweep timestamp sweepTs, for as
+     * long as there is more to sweep and shouldContinue returns true. While the deletes for each batch are executed,
+     * the next batch is read on the given executor.
+     *
+     * @param shardStrategy shard and strategy to use
+     * @param sweepTs sweep timestamp, the upper limit to the start timestamp of writes to sweep
+     * @param shouldContinue checked before reading each batch
+     * @param readAheadExecutor executor used for reading the next batch
+     */
+    public void sweepNextBatchesWithReadAhead(
+            ShardAndStrategy shardStrategy,
+            long sweepTs,
+            BooleanSupplier shouldContinue,
+            Executor readAheadExecutor) {
+        if (!shouldContinue.getAsBoolean()) {
+            return;
+        }
+        OptionalLong maybeLastSweptTs = getLastSweptTimestampIfBehind(shardStrategy, sweepTs);
+        if (!maybeLastSweptTs.isPresent()) {
+            return;
+        }
+        long lastSweptTs = maybeLastSweptTs.getAsLong();
+
+        SweepBatchWithPartitionInfo batchWithInfo = readNextBatch(shardStrategy, lastSweptTs, sweepTs);
+        while (true) {
+            long nextLastSweptTs = batchWithInfo.sweepBatch().lastSweptTimestamp();
+            ListenableFuture<SweepBatchWithPartitionInfo> nextBatch = null;
+            if (shouldProcessNextBatch(lastSweptTs, batchWithInfo.sweepBatch())
+                    && nextLastSweptTs + 1 < sweepTs
+                    && shouldContinue.getAsBoolean()) {
+                ListenableFutureTask<SweepBatchWithPartitionInfo> readTask = ListenableFutureTask.create(
+                        () -> readNextBatch(shardStrategy, nextLastSweptTs, sweepTs));
+                readAheadExecutor.execute(readTask);
+                nextBatch = readTask;
+            }
+
+            try {
+                processBatch(shardStrategy, lastSweptTs, batchWithInfo);
+            } catch (RuntimeException | Error e) {
+                if (nextBatch != null) {
+                    nextBatch.cancel(true);
+                }
+                throw e;
+            }
+
+            if (nextBatch == null) {
+                return;
+            }
+            batchWithInfo = AtlasFutures.getUnchecked(nextBatch);
+            lastSweptTs = nextLastSweptTs;
+        }
+    }
+
+    /**
+     * Returns the shards for the given strategy, ordered by decreasing backlog. As all shards of a strategy share the
+     * same sweep timestamp, this is the order of increasing persisted last swept timestamp.
+     */
+    public List<Integer> getShardsByDecreasingBacklog(SweeperStrategy strategy) {
+        Set<ShardAndStrategy> shardsAndStrategies = IntStream.range(0, getNumShards())
+                .mapToObj(shard -> ShardAndStrategy.of(shard, strategy))
+                .collect(Collectors.toSet());
+        return progress.getLastSweptTimestamps(shardsAndStrategies).entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .map(entry -> entry.getKey().shard())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Records the sweep timestamp and returns the persisted last swept timestamp for the shard and strategy, unless
+     * there is nothing left to sweep below the sweep timestamp.
+     */
+    private OptionalLong getLastSweptTimestampIfBehind(ShardAndStrategy shardStrategy, long sweepTs) {
         metrics.updateSweepTimestamp(shardStrategy, sweepTs);
         long lastSweptTs = progress.getLastSweptTimestamp(shardStrategy);
-
         if (lastSweptTs + 1 >= sweepTs) {
-            return false;
+            return OptionalLong.empty();
         }
+        return OptionalLong.of(lastSweptTs);
+    }
 
+    private SweepBatchWithPartitionInfo readNextBatch(ShardAndStrategy shardStrategy, long lastSweptTs, long sweepTs) {
         log.debug("Beginning iteration of targeted sweep for {}, and sweep timestamp {}. Last previously swept "
                         + "timestamp for this shard and strategy was {}.",
                 SafeArg.of("shardStrategy", shardStrategy.toText()),
                 SafeArg.of("sweepTs", sweepTs), SafeArg.of("lastSweptTs", lastSweptTs));
 
         SweepBatchWithPartitionInfo batchWithInfo = reader.getNextBatchToSweep(shardStrategy, lastSweptTs, sweepTs);
-        SweepBatch sweepBatch = batchWithInfo.sweepBatch();
-        metrics.registerEntriesReadInBatch(shardStrategy, sweepBatch.entriesRead());
+        metrics.registerEntriesReadInBatch(shardStrategy, batchWithInfo.sweepBatch().entriesRead());
+        return batchWithInfo;
+    }
 
+    private void processBatch(
+            ShardAndStrategy shardStrategy,
+            long lastSweptTs,
+            SweepBatchWithPartitionInfo batchWithInfo) {
+        SweepBatch sweepBatch = batchWithInfo.sweepBatch();
         deleter.sweep(sweepBatch.writes(), Sweeper.of(shardStrategy));
 
         if (!sweepBatch.isEmpty()) {
@@ -155,7 +280,9 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
         } else {
             metrics.registerOccurrenceOf(shardStrategy, SweepOutcome.SUCCESS);
         }
+    }
 
+    private static boolean shouldProcessNextBatch(long lastSweptTs, SweepBatch sweepBatch) {
         return lastSweptTs != sweepBatch.lastSweptTimestamp() && sweepBatch.hasNext();
     }
 
@@ -228,16 +355,19 @@ public final class SweepQueue implements MultiTableSweepQueueWriter {
                     shardProgress, shards, cells, timestamps, metrics, kvs, timelock, partitionBatchLimitSupplier);
         }
 
-        private SweepQueueWriter createWriter() {
-            return new SweepQueueWriter(timestamps, cells);
+        private MultiTableSweepQueueWriter createWriter() {
+            return WriteBatchingSweepQueueWriter.create(new SweepQueueWriter(timestamps, cells));
         }
 
         private SweepQueueReader createReader() {
             return new SweepQueueReader(timestamps, cells, partitionBatchLimitSupplier);
         }
 
-        private SweepQueueDeleter createDeleter(TargetedSweepFollower follower) {
-            return new SweepQueueDeleter(kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp));
+        private SweepQueueDeleter createDeleter(
+                TargetedSweepFollower follower,
+                LongSupplier maxBytesDeletedPerSecond) {
+            return new SweepQueueDeleter(kvs, follower, new DefaultTableClearer(kvs, timelock::getImmutableTimestamp),
+                    maxBytesDeletedPerSecond);
         }
 
         private SweepQueueCleaner createCleaner() {
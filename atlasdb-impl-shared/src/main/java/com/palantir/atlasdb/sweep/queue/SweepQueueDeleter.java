@@ -17,14 +17,21 @@ package com.palantir.atlasdb.sweep.queue;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.RateLimiter;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
@@ -32,6 +39,8 @@ import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.sweep.Sweeper;
+import com.palantir.logsafe.UnsafeArg;
+import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 
 public class SweepQueueDeleter {
     private static final Logger log = LoggerFactory.getLogger(SweepQueueDeleter.class);
@@ -39,12 +48,20 @@ public class SweepQueueDeleter {
     private final KeyValueService kvs;
     private final TargetedSweepFollower follower;
     private final TargetedSweepFilter filter;
+    private final LongSupplier maxBytesDeletedPerSecond;
+    private final RateLimiter deletedBytesRateLimiter = RateLimiter.create(Double.MAX_VALUE);
 
     SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower,
             TargetedSweepFilter filter) {
+        this(kvs, follower, filter, () -> 0L);
+    }
+
+    SweepQueueDeleter(KeyValueService kvs, TargetedSweepFollower follower,
+            TargetedSweepFilter filter, LongSupplier maxBytesDeletedPerSecond) {
         this.kvs = kvs;
         this.follower = follower;
         this.filter = filter;
+        this.maxBytesDeletedPerSecond = maxBytesDeletedPerSecond;
     }
 
     /**
@@ -58,20 +75,14 @@ public class SweepQueueDeleter {
      */
     public void sweep(Collection<WriteInfo> unfilteredWrites, Sweeper sweeper) {
         Collection<WriteInfo> writes = filter.filter(unfilteredWrites);
-        Map<TableReference, Map<Cell, TimestampRangeDelete>> maxTimestampByCell = writesPerTable(writes, sweeper);
-        for (Map.Entry<TableReference, Map<Cell, TimestampRangeDelete>> entry : maxTimestampByCell.entrySet()) {
+        Map<TableReference, SortedMap<Cell, TimestampRangeDelete>> maxTimestampByCell =
+                writesPerTable(writes, sweeper);
+        for (Map.Entry<TableReference, SortedMap<Cell, TimestampRangeDelete>> entry : maxTimestampByCell.entrySet()) {
             try {
-                Iterables.partition(entry.getValue().keySet(), SweepQueueUtils.BATCH_SIZE_KVS)
-                        .forEach(cells -> {
-                            Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition = cells.stream()
-                                    .collect(Collectors.toMap(Function.identity(), entry.getValue()::get));
-                            follower.run(entry.getKey(), maxTimestampByCellPartition.keySet());
-                            if (sweeper.shouldAddSentinels()) {
-                                kvs.addGarbageCollectionSentinelValues(entry.getKey(),
-                                        maxTimestampByCellPartition.keySet());
-                            }
-                            kvs.deleteAllTimestamps(entry.getKey(), maxTimestampByCellPartition);
-                        });
+                // cells are sorted, so all cells of a row end up in as few batches as possible and the KVS can
+                // issue a single mutation per row rather than one per cell
+                Iterables.partition(entry.getValue().entrySet(), SweepQueueUtils.BATCH_SIZE_KVS)
+                        .forEach(batch -> deleteBatch(entry.getKey(), batch, sweeper));
             } catch (Exception e) {
                 if (tableWasDropped(entry.getKey())) {
                     log.debug("Dropping sweeper work for table {}, which has been dropped.",
@@ -83,14 +94,58 @@ public class SweepQueueDeleter {
         }
     }
 
+    private void deleteBatch(
+            TableReference tableRef,
+            List<Map.Entry<Cell, TimestampRangeDelete>> batch,
+            Sweeper sweeper) {
+        Map<Cell, TimestampRangeDelete> maxTimestampByCellPartition = batch.stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (fst, snd) -> fst, TreeMap::new));
+        acquireDeletePermits(maxTimestampByCellPartition.keySet());
+        follower.run(tableRef, maxTimestampByCellPartition.keySet());
+        if (sweeper.shouldAddSentinels()) {
+            kvs.addGarbageCollectionSentinelValues(tableRef, maxTimestampByCellPartition.keySet());
+        }
+        kvs.deleteAllTimestamps(tableRef, maxTimestampByCellPartition);
+    }
+
+    private void acquireDeletePermits(Collection<Cell> cells) {
+        long bytesPerSecond = maxBytesDeletedPerSecond.getAsLong();
+        if (bytesPerSecond <= 0) {
+            return;
+        }
+        if (deletedBytesRateLimiter.getRate() != bytesPerSecond) {
+            deletedBytesRateLimiter.setRate(bytesPerSecond);
+        }
+        deletedBytesRateLimiter.acquire(Ints.saturatedCast(approximateSizeOfDeletes(cells)));
+    }
+
+    /**
+     * Approximates the number of bytes a range tombstone for each of the given cells amounts to: the row and column
+     * names, and the timestamp bounding the range.
+     */
+    @VisibleForTesting
+    static long approximateSizeOfDeletes(Collection<Cell> cells) {
+        return Math.max(1L, cells.stream()
+                .mapToLong(cell -> cell.getRowName().length + cell.getColumnName().length + Long.BYTES)
+                .sum());
+    }
+
     private boolean tableWasDropped(TableReference tableRef) {
         return Arrays.equals(kvs.getMetadataForTable(tableRef), AtlasDbConstants.EMPTY_TABLE_METADATA);
     }
 
-    private Map<TableReference, Map<Cell, TimestampRangeDelete>> writesPerTable(
+    private static Map<TableReference, SortedMap<Cell, TimestampRangeDelete>> writesPerTable(
             Collection<WriteInfo> writes, Sweeper sweeper) {
-        return writes.stream().collect(Collectors.groupingBy(
-                WriteInfo::tableRef,
-                Collectors.toMap(WriteInfo::cell, write -> write.toDelete(sweeper))));
+        Map<TableReference, SortedMap<Cell, TimestampRangeDelete>> deletesPerTable = new HashMap<>();
+        for (WriteInfo write : writes) {
+            TimestampRangeDelete previous = deletesPerTable.computeIfAbsent(write.tableRef(), unused -> new TreeMap<>())
+                    .putIfAbsent(write.cell(), write.toDelete(sweeper));
+            if (previous != null) {
+                throw new SafeIllegalStateException("Duplicate write for cell",
+                        LoggingArgs.tableRef(write.tableRef()),
+                        UnsafeArg.of("cell", write.cell()));
+            }
+        }
+        return deletesPerTable;
     }
 }
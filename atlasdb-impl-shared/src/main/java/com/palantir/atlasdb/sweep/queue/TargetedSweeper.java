@@ -18,11 +18,14 @@ package com.palantir.atlasdb.sweep.queue;
 import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +66,7 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private final List<Follower> followers;
     private final MetricsManager metricsManager;
     private final TargetedSweepMetrics.MetricsConfiguration metricsConfiguration;
+    private final int readAheadThreads;
 
     private TargetedSweepMetrics metrics;
     private SweepQueue queue;
@@ -70,6 +74,8 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     private TimelockService timeLock;
     private BackgroundSweepScheduler conservativeScheduler;
     private BackgroundSweepScheduler thoroughScheduler;
+    private ExecutorService readAheadExecutor;
+    private boolean isClosed = false;
 
     private volatile boolean isInitialized = false;
 
@@ -85,6 +91,8 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 SweeperStrategy.THOROUGH);
         this.followers = followers;
         this.metricsConfiguration = install.metricsConfiguration();
+        // each sweep thread has at most one read-ahead in flight; tests process shards on their own thread
+        this.readAheadThreads = Math.max(install.conservativeThreads() + install.thoroughThreads(), 1);
     }
 
     /**
@@ -164,7 +172,8 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
                 Suppliers.compose(TargetedSweepRuntimeConfig::shards, runtime::get),
                 transaction,
                 follower,
-                () -> runtime.get().maximumPartitionsToBatchInSingleRead());
+                () -> runtime.get().maximumPartitionsToBatchInSingleRead(),
+                () -> runtime.get().maximumBytesDeletedPerSecond());
         timestampsSupplier = timestamps;
         timeLock = timelockService;
         isInitialized = true;
@@ -202,9 +211,16 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         long maxTsExclusive = Sweeper.of(shardAndStrategy).getSweepTimestamp(timestampsSupplier);
         if (runtime.get().batchShardIterations()) {
             Stopwatch watch = Stopwatch.createStarted();
+            BooleanSupplier shouldContinue = () -> runtime.get().enabled()
+                    && (watch.elapsed().compareTo(MAX_SHARD_DURATION) < 0);
+            if (runtime.get().readAheadNextBatch()) {
+                assertInitialized();
+                queue.sweepNextBatchesWithReadAhead(
+                        shardAndStrategy, maxTsExclusive, shouldContinue, getReadAheadExecutor());
+                return;
+            }
             boolean processNextBatch = true;
-            while (processNextBatch && runtime.get().enabled()
-                    && (watch.elapsed().compareTo(MAX_SHARD_DURATION) < 0)) {
+            while (processNextBatch && shouldContinue.getAsBoolean()) {
                 processNextBatch = sweepNextBatch(shardAndStrategy, maxTsExclusive);
             }
         } else {
@@ -216,6 +232,10 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
     public void close() {
         conservativeScheduler.close();
         thoroughScheduler.close();
+        shutdownReadAheadExecutor();
+        if (queue != null) {
+            queue.close();
+        }
     }
 
     @Override
@@ -223,6 +243,25 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         close();
     }
 
+    /**
+     * The read-ahead executor is only created once read-ahead is first enabled, as the flag is live reloadable.
+     */
+    private synchronized ExecutorService getReadAheadExecutor() {
+        Preconditions.checkState(!isClosed, "Targeted sweeper has been closed");
+        if (readAheadExecutor == null) {
+            readAheadExecutor = PTExecutors.newFixedThreadPool(
+                    readAheadThreads, new NamedThreadFactory("Targeted Sweep Read-ahead", true));
+        }
+        return readAheadExecutor;
+    }
+
+    private synchronized void shutdownReadAheadExecutor() {
+        isClosed = true;
+        if (readAheadExecutor != null) {
+            readAheadExecutor.shutdown();
+        }
+    }
+
     private void assertInitialized() {
         if (!isInitialized) {
             throw new NotInitializedException("Targeted Sweeper");
@@ -277,14 +316,28 @@ public class TargetedSweeper implements MultiTableSweepQueueWriter, BackgroundSw
         }
 
         private Optional<TargetedSweeperLock> tryToAcquireLockForNextShardAndStrategy() {
-            return IntStream.range(0, queue.getNumShards())
-                    .map(ignore -> getShardAndIncrement())
-                    .mapToObj(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
+            return getShardsInOrderOfPreference()
+                    .map(shard -> TargetedSweeperLock.tryAcquire(shard, sweepStrategy, timeLock))
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .findFirst();
         }
 
+        /**
+         * Shards are either tried from the largest to the smallest backlog, or in round robin order starting from a
+         * counter shared by all threads of this scheduler. In both cases, a thread moves on to the next shard if the
+         * preferred one is already being swept, by this or another node. The returned stream is lazy, so that the
+         * shared counter only advances past shards that were actually tried.
+         */
+        private Stream<Integer> getShardsInOrderOfPreference() {
+            if (runtime.get().prioritizeShardsByBacklog()) {
+                return queue.getShardsByDecreasingBacklog(sweepStrategy).stream();
+            }
+            return IntStream.range(0, queue.getNumShards())
+                    .map(ignore -> getShardAndIncrement())
+                    .boxed();
+        }
+
         private int getShardAndIncrement() {
             return (int) (counter.getAndIncrement() % queue.getNumShards());
         }
@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.palantir.atlasdb.autobatch.Autobatchers;
+import com.palantir.atlasdb.autobatch.BatchElement;
+import com.palantir.atlasdb.autobatch.DisruptorAutobatcher;
+import com.palantir.atlasdb.futures.AtlasFutures;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * Coalesces concurrent calls to {@link #enqueue(List)} into a single call to the delegate, so that the sweep queue
+ * information for many commits is persisted with one KVS multiPut per sweep queue table. Each call to
+ * {@link #enqueue(List)} blocks until the batch containing its writes has been persisted, so callers retain the
+ * guarantee that the sweep queue is written before they proceed.
+ *
+ * The size of each batch, in number of enqueue requests, is recorded by the autobatcher histogram tagged with the
+ * purpose of this autobatcher.
+ */
+public final class WriteBatchingSweepQueueWriter implements MultiTableSweepQueueWriter {
+    private static final Logger log = LoggerFactory.getLogger(WriteBatchingSweepQueueWriter.class);
+
+    private final DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher;
+
+    private WriteBatchingSweepQueueWriter(DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher) {
+        this.autobatcher = autobatcher;
+    }
+
+    public static MultiTableSweepQueueWriter create(MultiTableSweepQueueWriter delegate) {
+        DisruptorAutobatcher<List<WriteInfo>, Void> autobatcher = Autobatchers
+                .<List<WriteInfo>, Void>independent(elements -> processBatch(delegate, elements))
+                .safeLoggablePurpose("write-batching-sweep-queue-writer")
+                .build();
+        return new WriteBatchingSweepQueueWriter(autobatcher);
+    }
+
+    @Override
+    public void enqueue(List<WriteInfo> writes) {
+        if (writes.isEmpty()) {
+            return;
+        }
+        AtlasFutures.getUnchecked(autobatcher.apply(writes));
+    }
+
+    @Override
+    public void close() {
+        autobatcher.close();
+    }
+
+    /**
+     * Writes from all elements of the batch are enqueued together. Writes of different transactions never share a
+     * partition, so this is equivalent to enqueueing them separately. If the combined enqueue fails, each element is
+     * retried on its own, so that a failure caused by one transaction's writes (for example, writing too many cells
+     * to one shard) is only surfaced to that transaction.
+     */
+    @VisibleForTesting
+    static void processBatch(MultiTableSweepQueueWriter delegate, List<BatchElement<List<WriteInfo>, Void>> elements) {
+        if (elements.size() == 1) {
+            processSingleElement(delegate, elements.get(0));
+            return;
+        }
+
+        List<WriteInfo> allWrites = elements.stream()
+                .flatMap(element -> element.argument().stream())
+                .collect(Collectors.toList());
+        try {
+            delegate.enqueue(allWrites);
+            elements.forEach(element -> element.result().set(null));
+        } catch (RuntimeException e) {
+            log.info("Failed to enqueue a batch of {} requests into the sweep queue together. Retrying them "
+                            + "individually.",
+                    SafeArg.of("batchSize", elements.size()),
+                    e);
+            elements.forEach(element -> processSingleElement(delegate, element));
+        }
+    }
+
+    private static void processSingleElement(
+            MultiTableSweepQueueWriter delegate,
+            BatchElement<List<WriteInfo>, Void> element) {
+        try {
+            delegate.enqueue(element.argument());
+            element.result().set(null);
+        } catch (RuntimeException e) {
+            element.result().setException(e);
+        }
+    }
+}
@@ -54,6 +54,28 @@ public abstract class TargetedSweepRuntimeConfig {
         return false;
     }
 
+    /**
+     * If true, background threads try to acquire shards in order of decreasing backlog, as measured by the persisted
+     * sweep progress of each shard, instead of cycling through the shards in order. This lets shards that have fallen
+     * far behind (for example, after a bulk load) catch up sooner, with every background thread working on the most
+     * lagging shards that are not already being swept. Computing the order requires reading the progress of all
+     * shards at the start of each iteration.
+     */
+    @Value.Default
+    public boolean prioritizeShardsByBacklog() {
+        return false;
+    }
+
+    /**
+     * If true, and {@link #batchShardIterations()} is also true, the sweep queue information for the next batch of a
+     * shard is read while the deletes for the current batch are executed. This has no effect if
+     * {@link #batchShardIterations()} is false.
+     */
+    @Value.Default
+    public boolean readAheadNextBatch() {
+        return false;
+    }
+
     /**
      * Specifies the maximum number of (fine) partitions over which targeted sweep attempts to read sweep queue
      * information before executing deletes. Only partitions which actually contain information about writes will count
@@ -75,6 +97,17 @@ public abstract class TargetedSweepRuntimeConfig {
                 maximumPartitionsToBatchInSingleRead());
     }
 
+    /**
+     * Specifies an upper bound on the rate, in bytes per second, at which targeted sweep inserts range tombstones,
+     * where the size of a delete is approximated by the size of the row and column names of the swept cell.
+     * This bounds the deletion load placed on the underlying key value service independently of the number of
+     * cells swept. Non-positive values indicate that deletes are not rate limited.
+     */
+    @Value.Default
+    public long maximumBytesDeletedPerSecond() {
+        return 0L;
+    }
+
     @Value.Check
     void checkShardSize() {
         Preconditions.checkArgument(shards() >= 1 && shards() <= 256,
@@ -52,6 +52,16 @@ public abstract class TransactionConfig {
         return false;
     }
 
+    /**
+     * If positive, range scans size each page read from the key value service to contain roughly this many bytes,
+     * adapting to the observed size of rows, and prefetch the next page while the current one is post-filtered.
+     * If zero, pages grow only based on the proportion of rows that are filtered out.
+     */
+    @Value.Default
+    public long rangeScanTargetPageBytes() {
+        return 0L;
+    }
+
     /**
      * TODO(fdesouza): Remove this once PDS-95791 is resolved.
      * @deprecated Remove this once PDS-95791 is resolved.
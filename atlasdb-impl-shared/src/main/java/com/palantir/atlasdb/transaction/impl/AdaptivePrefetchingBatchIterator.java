@@ -0,0 +1,242 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+import com.palantir.atlasdb.AtlasDbPerformanceConstants;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.Throwables;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * Pages through a range, fetching the next page from the key value service in the background while the caller
+ * is post-filtering the current one.
+ *
+ * Page sizes adapt to what has been read so far: each page aims to contain roughly {@code targetPageBytes} of
+ * data, based on a moving average of the size of the rows seen, and pages whose fetch took longer than
+ * {@link #TARGET_PAGE_LATENCY_NANOS} shrink the next page proportionally. Page sizes never grow by more than a
+ * factor of {@link #MAX_GROWTH_FACTOR} between consecutive pages.
+ *
+ * Time spent by the caller blocked on the key value service and time spent by the caller processing a page are
+ * reported separately, to make it clear which side of a slow scan is the bottleneck.
+ */
+public class AdaptivePrefetchingBatchIterator<T> implements BatchingResultsIterator<T> {
+    /**
+     * Each scan has at most one page in flight, so this bounds the number of scans prefetching at once. Further
+     * scans fetch their pages on the calling thread, as if prefetching were disabled. As for all PTExecutors pools,
+     * tasks are wrapped to run in the trace of the thread that submitted them.
+     */
+    @VisibleForTesting
+    static final int MAX_PREFETCH_THREADS = 64;
+    private static final ExecutorService DEFAULT_PREFETCH_EXECUTOR =
+            PTExecutors.newCachedThreadPoolWithMaxThreads(MAX_PREFETCH_THREADS, "atlas-range-prefetch");
+
+    @VisibleForTesting
+    static final long TARGET_PAGE_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    @VisibleForTesting
+    static final int MAX_GROWTH_FACTOR = 4;
+    private static final double ROW_SIZE_SMOOTHING = 0.5;
+
+    private final BatchProvider<T> batchProvider;
+    private final ToLongFunction<T> sizeEstimator;
+    private final int originalBatchSize;
+    private final long targetPageBytes;
+    private final ExecutorService executor;
+    private final Timer kvsWaitTimer;
+    private final Timer clientProcessingTimer;
+
+    private ListenableFuture<Page<T>> nextPage = null;
+    private boolean started = false;
+    private double averageRowBytes = 0;
+    private Stopwatch clientProcessingStopwatch = null;
+
+    public AdaptivePrefetchingBatchIterator(
+            BatchProvider<T> batchProvider,
+            ToLongFunction<T> sizeEstimator,
+            int originalBatchSize,
+            long targetPageBytes,
+            Timer kvsWaitTimer,
+            Timer clientProcessingTimer) {
+        this(batchProvider, sizeEstimator, originalBatchSize, targetPageBytes, DEFAULT_PREFETCH_EXECUTOR,
+                kvsWaitTimer, clientProcessingTimer);
+    }
+
+    @VisibleForTesting
+    AdaptivePrefetchingBatchIterator(
+            BatchProvider<T> batchProvider,
+            ToLongFunction<T> sizeEstimator,
+            int originalBatchSize,
+            long targetPageBytes,
+            ExecutorService executor,
+            Timer kvsWaitTimer,
+            Timer clientProcessingTimer) {
+        Preconditions.checkArgument(originalBatchSize > 0, "Batch size must be positive");
+        Preconditions.checkArgument(targetPageBytes > 0, "Target page size must be positive");
+        this.batchProvider = batchProvider;
+        this.sizeEstimator = sizeEstimator;
+        this.originalBatchSize = originalBatchSize;
+        this.targetPageBytes = targetPageBytes;
+        this.executor = executor;
+        this.kvsWaitTimer = kvsWaitTimer;
+        this.clientProcessingTimer = clientProcessingTimer;
+    }
+
+    public static long approximateSizeOfRow(RowResult<Value> row) {
+        long size = row.getRowName().length;
+        for (Map.Entry<byte[], Value> column : row.getColumns().entrySet()) {
+            size += column.getKey().length + column.getValue().getContents().length + Long.BYTES;
+        }
+        return size;
+    }
+
+    @Override
+    public List<T> getBatch() {
+        if (!started) {
+            started = true;
+            nextPage = fetchPage(originalBatchSize, null);
+        }
+        if (clientProcessingStopwatch != null) {
+            clientProcessingTimer.update(clientProcessingStopwatch.elapsed(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            clientProcessingStopwatch = null;
+        }
+        if (nextPage == null) {
+            return ImmutableList.of();
+        }
+
+        Page<T> page = awaitNextPage();
+        recordPageSize(page);
+
+        nextPage = null;
+        if (page.results.size() >= page.requestedBatchSize) {
+            byte[] lastToken = batchProvider.getLastToken(page.results);
+            if (batchProvider.hasNext(lastToken)) {
+                nextPage = fetchPage(getNextBatchSize(page), lastToken);
+            }
+        }
+        clientProcessingStopwatch = Stopwatch.createStarted();
+        return page.results;
+    }
+
+    @Override
+    public void markNumResultsNotDeleted(int resultsInBatch) {
+        // Pages are sized by the bytes read from the key value service, which does not depend on how many of the
+        // rows are later filtered out.
+    }
+
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            // Do not interrupt: the fetch may be holding a pooled connection to the key value service.
+            nextPage.cancel(false);
+            nextPage = null;
+        }
+        clientProcessingStopwatch = null;
+    }
+
+    @VisibleForTesting
+    int getNextBatchSize(Page<T> lastPage) {
+        long maxBatchSize = Math.min(
+                (long) lastPage.requestedBatchSize * MAX_GROWTH_FACTOR,
+                AtlasDbPerformanceConstants.MAX_BATCH_SIZE);
+
+        double rowsForTargetBytes = averageRowBytes > 0 ? targetPageBytes / averageRowBytes : maxBatchSize;
+        double batchSize = Math.min(rowsForTargetBytes, maxBatchSize);
+
+        if (lastPage.fetchNanos > TARGET_PAGE_LATENCY_NANOS) {
+            double latencyBoundSize = lastPage.requestedBatchSize * (TARGET_PAGE_LATENCY_NANOS
+                    / (double) lastPage.fetchNanos);
+            batchSize = Math.min(batchSize, latencyBoundSize);
+        }
+        return (int) Math.max(1, batchSize);
+    }
+
+    private void recordPageSize(Page<T> page) {
+        if (page.results.isEmpty()) {
+            return;
+        }
+        double pageRowBytes = page.bytes / (double) page.results.size();
+        averageRowBytes = averageRowBytes == 0
+                ? pageRowBytes
+                : ROW_SIZE_SMOOTHING * pageRowBytes + (1 - ROW_SIZE_SMOOTHING) * averageRowBytes;
+    }
+
+    private Page<T> awaitNextPage() {
+        try (Timer.Context timer = kvsWaitTimer.time()) {
+            return nextPage.get();
+        } catch (InterruptedException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e);
+        } catch (ExecutionException e) {
+            throw Throwables.rewrapAndThrowUncheckedException(e.getCause());
+        }
+    }
+
+    private ListenableFuture<Page<T>> fetchPage(int batchSize, @Nullable byte[] lastToken) {
+        ListenableFutureTask<Page<T>> fetch = ListenableFutureTask.create(() -> readPage(batchSize, lastToken));
+        try {
+            executor.execute(fetch);
+        } catch (RejectedExecutionException e) {
+            fetch.run();
+        }
+        return fetch;
+    }
+
+    private Page<T> readPage(int batchSize, @Nullable byte[] lastToken) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<T> results;
+        try (ClosableIterator<T> batch = batchProvider.getBatch(batchSize, lastToken)) {
+            results = ImmutableList.copyOf(Iterators.limit(batch, batchSize));
+        }
+        long bytes = 0;
+        for (T result : results) {
+            bytes += sizeEstimator.applyAsLong(result);
+        }
+        return new Page<>(results, batchSize, bytes, stopwatch.elapsed(TimeUnit.NANOSECONDS));
+    }
+
+    @VisibleForTesting
+    static final class Page<T> {
+        final List<T> results;
+        final int requestedBatchSize;
+        final long bytes;
+        final long fetchNanos;
+
+        Page(List<T> results, int requestedBatchSize, long bytes, long fetchNanos) {
+            this.results = results;
+            this.requestedBatchSize = requestedBatchSize;
+            this.bytes = bytes;
+            this.fetchNanos = fetchNanos;
+        }
+    }
+}
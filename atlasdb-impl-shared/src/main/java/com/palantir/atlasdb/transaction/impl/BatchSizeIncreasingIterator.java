@@ -30,7 +30,7 @@ import com.palantir.common.base.ClosableIterators;
 import com.palantir.logsafe.Preconditions;
 import com.palantir.util.AssertUtils;
 
-public class BatchSizeIncreasingIterator<T> {
+public class BatchSizeIncreasingIterator<T> implements BatchingResultsIterator<T> {
     private static final Logger log = LoggerFactory.getLogger(BatchSizeIncreasingIterator.class);
 
     final int originalBatchSize;
@@ -55,6 +55,7 @@ public class BatchSizeIncreasingIterator<T> {
         }
     }
 
+    @Override
     public void markNumResultsNotDeleted(int resultsInBatch) {
         numNotDeleted += resultsInBatch;
         AssertUtils.assertAndLog(log, numNotDeleted <= numReturned,
@@ -105,6 +106,7 @@ public class BatchSizeIncreasingIterator<T> {
         }
     }
 
+    @Override
     public List<T> getBatch() {
         updateResultsIfNeeded();
         Preconditions.checkState(lastBatchSize > 0);
@@ -116,6 +118,7 @@ public class BatchSizeIncreasingIterator<T> {
         return list;
     }
 
+    @Override
     public void close() {
         if (currentResults != null) {
             currentResults.close();
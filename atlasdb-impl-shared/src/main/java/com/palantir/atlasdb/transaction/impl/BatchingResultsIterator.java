@@ -0,0 +1,36 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import java.util.List;
+
+/**
+ * Pages through results read from the key value service, one batch at a time, so that the caller can post-filter
+ * each batch before asking for the next one.
+ */
+interface BatchingResultsIterator<T> {
+    /**
+     * Returns the next batch of results, or an empty list once there are no more results.
+     */
+    List<T> getBatch();
+
+    /**
+     * Records how many results of the last batch survived post-filtering, which may be used to size later batches.
+     */
+    void markNumResultsNotDeleted(int resultsInBatch);
+
+    void close();
+}
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.transaction.impl;
 
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -33,7 +34,10 @@ import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -96,6 +100,7 @@ import com.palantir.common.base.BatchingVisitableView;
 import com.palantir.common.base.Throwables;
 import com.palantir.common.collect.IterableUtils;
 import com.palantir.common.collect.Maps2;
+import com.palantir.common.streams.MoreStreams;
 import com.palantir.lock.v2.LockToken;
 import com.palantir.lock.v2.TimelockService;
 import com.palantir.logsafe.Preconditions;
@@ -606,6 +611,7 @@ public class SerializableTransaction extends SnapshotTransaction {
 
     private void verifyRanges(Transaction readOnlyTransaction) {
         // verify each set of reads to ensure they are the same.
+        List<Pair<TableReference, RangeRequest>> rangesToVerify = Lists.newArrayList();
         for (Entry<TableReference, ConcurrentMap<RangeRequest, byte[]>> tableAndRange : rangeEndByTable.entrySet()) {
             TableReference table = tableAndRange.getKey();
             Map<RangeRequest, byte[]> rangeEnds = tableAndRange.getValue();
@@ -619,18 +625,56 @@ public class SerializableTransaction extends SnapshotTransaction {
                             .endRowExclusive(RangeRequests.getNextStartRow(range.isReverse(), rangeEnd))
                             .build();
                 }
-
-                ConcurrentNavigableMap<Cell, byte[]> writes = writesByTable.get(table);
-                BatchingVisitableView<RowResult<byte[]>> bv = BatchingVisitableView.of(
-                        readOnlyTransaction.getRange(table, range));
-                NavigableMap<Cell, ByteBuffer> readsInRange = Maps.transformValues(
-                        getReadsInRange(table, range),
-                        ByteBuffer::wrap);
-                if (!bv.transformBatch(input -> filterWritesFromRows(input, writes)).isEqual(readsInRange.entrySet())) {
-                    handleTransactionConflict(table);
-                }
+                rangesToVerify.add(Pair.create(table, range));
             }
         }
+
+        findFirstConflict(rangesToVerify, (table, range) -> isRangeUnchanged(readOnlyTransaction, table, range))
+                .ifPresent(this::handleTransactionConflict);
+    }
+
+    /**
+     * Compares the range as seen at commit time with our recorded reads. Both sides are consumed lazily and in
+     * lockstep, so we stop reading from the KVS as soon as the first differing cell is found.
+     */
+    private boolean isRangeUnchanged(Transaction readOnlyTransaction, TableReference table, RangeRequest range) {
+        ConcurrentNavigableMap<Cell, byte[]> writes = writesByTable.get(table);
+        BatchingVisitableView<RowResult<byte[]>> bv = BatchingVisitableView.of(
+                readOnlyTransaction.getRange(table, range));
+        NavigableMap<Cell, ByteBuffer> readsInRange = Maps.transformValues(
+                getReadsInRange(table, range),
+                ByteBuffer::wrap);
+        return bv.transformBatch(input -> filterWritesFromRows(input, writes)).isEqual(readsInRange.entrySet());
+    }
+
+    /**
+     * Runs the given verification over each task, in parallel on the get ranges executor if there is more than one,
+     * and returns the table of the first conflict found. No further tasks are scheduled once a conflict is found.
+     * Conflicts are reported to the calling thread rather than thrown from the executor.
+     */
+    private <T> Optional<TableReference> findFirstConflict(
+            List<Pair<TableReference, T>> tasks,
+            BiPredicate<TableReference, T> isUnchanged) {
+        Function<Pair<TableReference, T>, Optional<TableReference>> verifier = task ->
+                isUnchanged.test(task.getLhSide(), task.getRhSide())
+                        ? Optional.empty()
+                        : Optional.of(task.getLhSide());
+        if (defaultGetRangesConcurrency <= 1 || tasks.size() <= 1) {
+            return tasks.stream()
+                    .map(verifier)
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+        }
+        try (Stream<Optional<TableReference>> results = MoreStreams.blockingStreamWithParallelism(
+                tasks.stream(),
+                verifier,
+                getRangesExecutor,
+                Math.min(defaultGetRangesConcurrency, tasks.size()))) {
+            return results.filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .findFirst();
+        }
     }
 
     private NavigableMap<Cell, byte[]> getReadsInColumnRangeSkippingWrites(
@@ -659,6 +703,8 @@ public class SerializableTransaction extends SnapshotTransaction {
 
     private void verifyColumnRanges(Transaction readOnlyTransaction) {
         // verify each set of reads to ensure they are the same.
+        List<Pair<TableReference, Pair<BatchColumnRangeSelection, Collection<byte[]>>>> columnRangesToVerify =
+                Lists.newArrayList();
         for (Entry<TableReference,
                 ConcurrentMap<ByteBuffer, ConcurrentMap<BatchColumnRangeSelection, byte[]>>> tableAndColumnRangeEnds :
                 columnRangeEndsByTable.entrySet()) {
@@ -679,25 +725,39 @@ public class SerializableTransaction extends SnapshotTransaction {
             }
 
             TableReference table = tableAndColumnRangeEnds.getKey();
-            rangesToRows.asMap().forEach((columnRange, rows) -> {
-                Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> result =
-                        readOnlyTransaction.getRowsColumnRange(table, rows, columnRange);
-
-                for (Entry<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> cellValuesForRow : result.entrySet()) {
-                    byte[] row = cellValuesForRow.getKey();
-                    BatchingVisitableView<Entry<Cell, byte[]>> visitable =
-                            BatchingVisitableView.of(cellValuesForRow.getValue());
-                    NavigableMap<Cell, ByteBuffer> readsInRange = Maps.transformValues(
-                            getReadsInColumnRangeSkippingWrites(table, row, columnRange),
-                            ByteBuffer::wrap);
-                    boolean isEqual = visitable.transformBatch(cellValues -> filterWritesFromCells(cellValues, table))
-                            .isEqual(readsInRange.entrySet());
-                    if (!isEqual) {
-                        handleTransactionConflict(table);
-                    }
-                }
-            });
+            rangesToRows.asMap().forEach((columnRange, rows) ->
+                    columnRangesToVerify.add(Pair.create(table, Pair.create(columnRange, rows))));
         }
+
+        findFirstConflict(
+                columnRangesToVerify,
+                (table, rangeAndRows) -> areColumnRangesUnchanged(
+                        readOnlyTransaction, table, rangeAndRows.getLhSide(), rangeAndRows.getRhSide()))
+                .ifPresent(this::handleTransactionConflict);
+    }
+
+    private boolean areColumnRangesUnchanged(
+            Transaction readOnlyTransaction,
+            TableReference table,
+            BatchColumnRangeSelection columnRange,
+            Collection<byte[]> rows) {
+        Map<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> result =
+                readOnlyTransaction.getRowsColumnRange(table, rows, columnRange);
+
+        for (Entry<byte[], BatchingVisitable<Map.Entry<Cell, byte[]>>> cellValuesForRow : result.entrySet()) {
+            byte[] row = cellValuesForRow.getKey();
+            BatchingVisitableView<Entry<Cell, byte[]>> visitable =
+                    BatchingVisitableView.of(cellValuesForRow.getValue());
+            NavigableMap<Cell, ByteBuffer> readsInRange = Maps.transformValues(
+                    getReadsInColumnRangeSkippingWrites(table, row, columnRange),
+                    ByteBuffer::wrap);
+            boolean isEqual = visitable.transformBatch(cellValues -> filterWritesFromCells(cellValues, table))
+                    .isEqual(readsInRange.entrySet());
+            if (!isEqual) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static BatchColumnRangeSelection nextLexicographicalRangeEnd(
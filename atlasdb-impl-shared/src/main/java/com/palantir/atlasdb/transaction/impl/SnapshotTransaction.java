@@ -18,6 +18,7 @@ package com.palantir.atlasdb.transaction.impl;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -53,6 +54,7 @@ import org.slf4j.LoggerFactory;
 import com.codahale.metrics.Counter;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.base.Functions;
 import com.google.common.base.MoreObjects;
@@ -75,6 +77,7 @@ import com.google.common.collect.Multimaps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.PeekingIterator;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.google.common.primitives.UnsignedBytes;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -107,6 +110,9 @@ import com.palantir.atlasdb.keyvalue.impl.LocalRowColumnRangeIterator;
 import com.palantir.atlasdb.keyvalue.impl.RowResults;
 import com.palantir.atlasdb.logging.LoggingArgs;
 import com.palantir.atlasdb.sweep.queue.MultiTableSweepQueueWriter;
+import com.palantir.atlasdb.table.description.RowNamePartitioner;
+import com.palantir.atlasdb.table.description.RowNamePartitioners;
+import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.atlasdb.table.description.exceptions.AtlasDbConstraintException;
 import com.palantir.atlasdb.transaction.TransactionConfig;
 import com.palantir.atlasdb.transaction.api.AtlasDbConstraintCheckingMode;
@@ -144,6 +150,7 @@ import com.palantir.common.collect.MapEntries;
 import com.palantir.common.streams.MoreStreams;
 import com.palantir.lock.AtlasCellLockDescriptor;
 import com.palantir.lock.AtlasRowLockDescriptor;
+import com.palantir.lock.AtlasStripeLockDescriptor;
 import com.palantir.lock.LockDescriptor;
 import com.palantir.lock.v2.ImmutableLockRequest;
 import com.palantir.lock.v2.LockRequest;
@@ -183,6 +190,18 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
     private static final Logger constraintLogger = LoggerFactory.getLogger("dualschema.constraints");
 
     private static final int BATCH_SIZE_GET_FIRST_PAGE = 1000;
+    /**
+     * Ranges scanned in parallel are split into more sub-ranges than threads, so that a single large sub-range does
+     * not leave the other threads idle.
+     */
+    private static final int RANGE_SPLITS_PER_THREAD = 4;
+
+    /**
+     * Number of lock stripes per table for conflict handlers that lock stripes. This must be the same on all
+     * clients of a table, as must {@link #getLockStripe(Cell)}.
+     */
+    @VisibleForTesting
+    static final int LOCK_STRIPES_PER_TABLE = 1024;
 
     private enum State {
         UNCOMMITTED,
@@ -908,6 +927,36 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 concurrencyLevel);
     }
 
+    @Override
+    public <T> Stream<T> getRangeParallel(
+            TableReference tableRef,
+            RangeRequest rangeRequest,
+            int concurrencyLevel,
+            BiFunction<RangeRequest, BatchingVisitable<RowResult<byte[]>>, T> visitableProcessor) {
+        Preconditions.checkArgument(concurrencyLevel > 0, "Concurrency level must be positive");
+        List<RangeRequest> splits = splitRange(tableRef, rangeRequest, concurrencyLevel * RANGE_SPLITS_PER_THREAD);
+        return getRanges(tableRef, splits, concurrencyLevel, visitableProcessor);
+    }
+
+    private List<RangeRequest> splitRange(TableReference tableRef, RangeRequest rangeRequest, int maxRanges) {
+        if (rangeRequest.isReverse() || maxRanges <= 1) {
+            return ImmutableList.of(rangeRequest);
+        }
+        List<byte[]> splitPoints = keyValueService.getRangeSplitPoints(tableRef, rangeRequest, maxRanges - 1);
+        if (splitPoints.isEmpty()) {
+            splitPoints = RowNamePartitioners.getSplitPoints(getRowPartitioners(tableRef), maxRanges);
+        }
+        return RangeRequests.split(rangeRequest, splitPoints, maxRanges);
+    }
+
+    private List<RowNamePartitioner> getRowPartitioners(TableReference tableRef) {
+        byte[] metadata = keyValueService.getMetadataForTable(tableRef);
+        if (metadata == null || metadata.length == 0) {
+            return ImmutableList.of();
+        }
+        return TableMetadata.BYTES_HYDRATOR.hydrateFromBytes(metadata).getRowMetadata().getPartitionersForRow();
+    }
+
     private static boolean isSingleton(Iterable<?> elements) {
         Iterator<?> it = elements.iterator();
         if (it.hasNext()) {
@@ -1112,8 +1161,8 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
             Function<Value, T> transformer) {
         RowRangeBatchProvider batchProvider =
                 new RowRangeBatchProvider(keyValueService, tableRef, range, getStartTimestamp());
-        BatchSizeIncreasingIterator<RowResult<Value>> results =
-                new BatchSizeIncreasingIterator<>(batchProvider, preFilterBatchSize, null);
+        BatchingResultsIterator<RowResult<Value>> results =
+                createRangeBatchIterator(batchProvider, preFilterBatchSize);
         Iterator<Iterator<RowResult<T>>> batchedPostFiltered = new AbstractIterator<Iterator<RowResult<T>>>() {
             @Override
             protected Iterator<RowResult<T>> computeNext() {
@@ -1142,6 +1191,22 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         };
     }
 
+    private BatchingResultsIterator<RowResult<Value>> createRangeBatchIterator(
+            RowRangeBatchProvider batchProvider,
+            int preFilterBatchSize) {
+        long targetPageBytes = transactionConfig.get().rangeScanTargetPageBytes();
+        if (targetPageBytes <= 0) {
+            return new BatchSizeIncreasingIterator<>(batchProvider, preFilterBatchSize, null);
+        }
+        return new AdaptivePrefetchingBatchIterator<>(
+                batchProvider,
+                AdaptivePrefetchingBatchIterator::approximateSizeOfRow,
+                preFilterBatchSize,
+                targetPageBytes,
+                getTimer("rangePageKvsWait"),
+                getTimer("rangePageClientProcessing"));
+    }
+
     private ConcurrentNavigableMap<Cell, byte[]> getLocalWrites(TableReference tableRef) {
         return writesByTable.computeIfAbsent(tableRef, unused -> new ConcurrentSkipListMap<>());
     }
@@ -2110,6 +2175,16 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
                 }
             }
 
+            if (conflictHandler.lockStripesForConflicts()) {
+                BitSet stripes = new BitSet(LOCK_STRIPES_PER_TABLE);
+                for (Cell cell : getLocalWrites(tableRef).keySet()) {
+                    stripes.set(getLockStripe(cell));
+                }
+                for (int stripe = stripes.nextSetBit(0); stripe >= 0; stripe = stripes.nextSetBit(stripe + 1)) {
+                    result.add(AtlasStripeLockDescriptor.of(tableRef.getQualifiedName(), stripe));
+                }
+            }
+
             if (conflictHandler.lockRowsForConflicts()) {
                 Cell lastCell = null;
                 for (Cell cell : getLocalWrites(tableRef).keySet()) {
@@ -2128,6 +2203,17 @@ public class SnapshotTransaction extends AbstractTransaction implements Constrai
         return result;
     }
 
+    private static int getLockStripe(Cell cell) {
+        // Must be stable across JVMs, as every client writing to the table has to agree on the stripe of a cell.
+        int hash = Hashing.murmur3_32().newHasher()
+                .putInt(cell.getRowName().length)
+                .putBytes(cell.getRowName())
+                .putBytes(cell.getColumnName())
+                .hash()
+                .asInt();
+        return Math.floorMod(hash, LOCK_STRIPES_PER_TABLE);
+    }
+
     /**
      * We will block here until the passed transactions have released their lock.  This means that
      * the committing transaction is either complete or it has failed and we are allowed to roll
@@ -59,6 +59,8 @@ public final class TransactionConflictDetectionManager {
                 return ConflictHandler.RETRY_ON_WRITE_WRITE;
             case SERIALIZABLE_CELL:
                 return ConflictHandler.RETRY_ON_WRITE_WRITE_CELL;
+            case SERIALIZABLE_STRIPED:
+                return ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED;
             case SERIALIZABLE_INDEX:
             case SERIALIZABLE_LOCK_LEVEL_MIGRATION:
                 throw new UnsupportedOperationException();
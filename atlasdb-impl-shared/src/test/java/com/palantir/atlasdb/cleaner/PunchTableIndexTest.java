@@ -0,0 +1,139 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.cleaner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.RangeRequest;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+
+public class PunchTableIndexTest {
+    private final KeyValueService kvs = spy(new InMemoryKeyValueService(false));
+    private final PuncherStore puncherStore = KeyValueServicePuncherStore.create(kvs, false);
+    private final PunchTableIndex index = PunchTableIndex.create(kvs);
+
+    @Test
+    public void answersBothDirections() {
+        puncherStore.put(10L, 100L);
+        puncherStore.put(20L, 200L);
+        puncherStore.put(30L, 300L);
+
+        assertThat(index.getTimestampForMillis(99L)).isEqualTo(Long.MIN_VALUE);
+        assertThat(index.getTimestampForMillis(100L)).isEqualTo(10L);
+        assertThat(index.getTimestampForMillis(250L)).isEqualTo(20L);
+        assertThat(index.getMillisForTimestamp(9L)).isEqualTo(0L);
+        assertThat(index.getMillisForTimestamp(10L)).isEqualTo(100L);
+        assertThat(index.getMillisForTimestamp(25L)).isEqualTo(200L);
+    }
+
+    @Test
+    public void agreesWithPunchTableWhenPunchesAreOutOfOrder() {
+        puncherStore.put(10L, 200L);
+        puncherStore.put(20L, 100L);
+        puncherStore.put(30L, 300L);
+
+        for (long timestamp = 0L; timestamp <= 40L; timestamp += 5L) {
+            assertThat(index.getMillisForTimestamp(timestamp))
+                    .isEqualTo(KeyValueServicePuncherStore.getMillisForTimestamp(kvs, timestamp));
+        }
+        for (long millis = 0L; millis <= 400L; millis += 50L) {
+            assertThat(index.getTimestampForMillis(millis))
+                    .isEqualTo(KeyValueServicePuncherStore.get(kvs, millis));
+        }
+    }
+
+    @Test
+    public void lookupsOfIndexedPunchesDoNotReadTheTable() {
+        puncherStore.put(10L, 100L);
+        puncherStore.put(20L, 200L);
+        index.getMillisForTimestamp(10L);
+
+        index.getMillisForTimestamp(15L);
+        index.getTimestampForMillis(150L);
+
+        verifyPunchTableReads(1);
+    }
+
+    @Test
+    public void readsBackOnlyAsFarAsLookupsNeed() {
+        puncherStore.put(10L, 100L);
+        puncherStore.put(20L, 200L);
+        puncherStore.put(30L, 300L);
+
+        assertThat(index.getTimestampForMillis(250L)).isEqualTo(20L);
+        assertThat(index.getMillisForTimestamp(25L)).isEqualTo(200L);
+        verifyPunchTableReads(1);
+
+        assertThat(index.getTimestampForMillis(150L)).isEqualTo(10L);
+        verifyPunchTableReads(2);
+
+        assertThat(index.getMillisForTimestamp(5L)).isEqualTo(0L);
+        assertThat(index.getMillisForTimestamp(1L)).isEqualTo(0L);
+        assertThat(index.getTimestampForMillis(50L)).isEqualTo(Long.MIN_VALUE);
+        verifyPunchTableReads(3);
+    }
+
+    @Test
+    public void boundedLookupReadsBackOnlyToTheLowerBound() {
+        puncherStore.put(10L, 100L);
+        puncherStore.put(20L, 200L);
+        puncherStore.put(30L, 300L);
+
+        assertThat(index.getMillisForTimestampIfNotPunchedBefore(25L, 250L)).isEqualTo(200L);
+        assertThat(index.getMillisForTimestampIfNotPunchedBefore(15L, 250L)).isEqualTo(250L);
+        verifyPunchTableReads(1);
+
+        assertThat(index.getTimestampForMillis(150L)).isEqualTo(10L);
+        verifyPunchTableReads(2);
+    }
+
+    @Test
+    public void tailsNewPunches() {
+        puncherStore.put(10L, 100L);
+        assertThat(index.getMillisForTimestamp(30L)).isEqualTo(100L);
+
+        puncherStore.put(20L, 200L);
+        puncherStore.put(30L, 300L);
+
+        assertThat(index.getMillisForTimestamp(30L)).isEqualTo(300L);
+        assertThat(index.getTimestampForMillis(250L)).isEqualTo(20L);
+    }
+
+    @Test
+    public void puncherStoreIndexSeesItsOwnOutOfOrderPunches() {
+        puncherStore.put(10L, 100L);
+        puncherStore.put(30L, 300L);
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(100L);
+
+        puncherStore.put(20L, 200L);
+
+        assertThat(puncherStore.getMillisForTimestamp(20L)).isEqualTo(200L);
+    }
+
+    private void verifyPunchTableReads(int reads) {
+        verify(kvs, times(reads)).getRange(eq(AtlasDbConstants.PUNCH_TABLE), any(RangeRequest.class), anyLong());
+    }
+}
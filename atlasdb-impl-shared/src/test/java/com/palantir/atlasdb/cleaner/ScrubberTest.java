@@ -34,6 +34,8 @@ import org.junit.runners.Parameterized;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.atlasdb.keyvalue.api.Cell;
@@ -145,6 +147,39 @@ public class ScrubberTest {
         Assert.assertEquals(ImmutableList.of(), scrubQueue);
     }
 
+    @Test
+    public void testOnlyLatestQueuedVersionIsKept() {
+        Cell cell1 = Cell.create(new byte[] {1}, new byte[] {2});
+        Cell cell2 = Cell.create(new byte[] {2}, new byte[] {3});
+        Cell cell3 = Cell.create(new byte[] {3}, new byte[] {4});
+        TableReference tableRef = TableReference.createFromFullyQualifiedName("foo.bar");
+        kvs.createTable(tableRef, new byte[] {});
+        kvs.putWithTimestamps(tableRef, ImmutableMultimap.<Cell, Value>builder()
+                .put(cell1, Value.create(new byte[] {3}, 10))
+                .put(cell1, Value.create(new byte[] {4}, 20))
+                .put(cell2, Value.create(new byte[] {4}, 30))
+                .put(cell2, Value.create(new byte[] {5}, 40))
+                .put(cell2, Value.create(new byte[] {6}, 50))
+                .put(cell3, Value.create(new byte[] {7}, 60))
+                .build());
+        transactions.putUnlessExists(10, 15);
+        transactions.putUnlessExists(20, 25);
+        transactions.putUnlessExists(30, 35);
+        transactions.putUnlessExists(50, 55);
+        transactions.putUnlessExists(60, 65);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell1, tableRef), 10, 100);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell1, tableRef), 20, 100);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell2, tableRef), 40, 100);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell2, tableRef), 50, 100);
+        scrubStore.queueCellsForScrubbing(ImmutableMultimap.of(cell3, tableRef), 60, 100);
+        scrubber.runBackgroundScrubTask(null);
+
+        Assert.assertEquals(
+                ImmutableSetMultimap.of(cell1, 20L, cell2, 50L, cell3, 60L),
+                ImmutableSetMultimap.copyOf(kvs.getAllTimestamps(
+                        tableRef, ImmutableSet.of(cell1, cell2, cell3), Long.MAX_VALUE)));
+    }
+
     private Scrubber getScrubber(KeyValueService keyValueService, ScrubberStore scrubberStore,
             TransactionService transactionService) {
         return Scrubber.create(keyValueService, scrubberStore,
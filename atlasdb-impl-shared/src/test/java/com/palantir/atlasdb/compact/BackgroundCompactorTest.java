@@ -17,19 +17,25 @@ package com.palantir.atlasdb.compact;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
-import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
@@ -40,6 +46,8 @@ import com.palantir.lock.SingleLockService;
 
 public class BackgroundCompactorTest {
     private static final String TABLE_STRING = "ns.table";
+    private static final String TABLE_STRING_2 = "ns.table2";
+    private static final String TABLE_STRING_3 = "ns.table3";
     private static final TableReference TABLE = TableReference.createFromFullyQualifiedName(TABLE_STRING);
 
     private static final long COMPACT_PAUSE_MILLIS = 123;
@@ -70,7 +78,7 @@ public class BackgroundCompactorTest {
     @Before
     public void setUp() {
         when(lockService.haveLocks()).thenReturn(true);
-        when(priorityCalculator.selectTableToCompact()).thenReturn(Optional.of(TABLE_STRING));
+        when(priorityCalculator.selectTablesToCompact(anyInt(), anyLong())).thenReturn(ImmutableList.of(TABLE_STRING));
     }
 
     @Test
@@ -84,7 +92,7 @@ public class BackgroundCompactorTest {
 
     @Test
     public void canReturnNothingToCompact() throws InterruptedException {
-        when(priorityCalculator.selectTableToCompact()).thenReturn(Optional.empty());
+        when(priorityCalculator.selectTablesToCompact(anyInt(), anyLong())).thenReturn(ImmutableList.of());
 
         BackgroundCompactor.CompactionOutcome outcome = compactor.grabLockAndRunOnce(lockService);
         assertThat(outcome).isEqualTo(BackgroundCompactor.CompactionOutcome.NOTHING_TO_COMPACT);
@@ -105,6 +113,46 @@ public class BackgroundCompactorTest {
         assertThat(outcome).isEqualTo(BackgroundCompactor.CompactionOutcome.FAILED_TO_COMPACT);
     }
 
+    @Test
+    public void compactsSeveralTablesInParallel() throws InterruptedException {
+        int numTables = 3;
+        CountDownLatch allCompacting = new CountDownLatch(numTables);
+        doAnswer(invocation -> {
+            allCompacting.countDown();
+            assertThat(allCompacting.await(10, TimeUnit.SECONDS)).isTrue();
+            return null;
+        }).when(kvs).compactInternally(any(), anyBoolean());
+        when(priorityCalculator.selectTablesToCompact(numTables, Long.MAX_VALUE))
+                .thenReturn(ImmutableList.of(TABLE_STRING, TABLE_STRING_2, TABLE_STRING_3));
+        BackgroundCompactor backgroundCompactor = new BackgroundCompactor(metricsManager,
+                txManager,
+                kvs,
+                mock(LockService.class),
+                () -> ImmutableCompactorConfig.builder()
+                        .enableCompaction(true)
+                        .maxConcurrentCompactions(numTables)
+                        .build(),
+                priorityCalculator);
+
+        BackgroundCompactor.CompactionOutcome outcome = backgroundCompactor.grabLockAndRunOnce(lockService);
+        assertThat(outcome).isEqualTo(BackgroundCompactor.CompactionOutcome.SUCCESS);
+        verify(kvs).compactInternally(TABLE, false);
+        verify(kvs).compactInternally(TableReference.createFromFullyQualifiedName(TABLE_STRING_2), false);
+        verify(kvs).compactInternally(TableReference.createFromFullyQualifiedName(TABLE_STRING_3), false);
+    }
+
+    @Test
+    public void returnsCompactionFailureIfAnyTableFails() throws InterruptedException {
+        when(priorityCalculator.selectTablesToCompact(anyInt(), anyLong()))
+                .thenReturn(ImmutableList.of(TABLE_STRING, TABLE_STRING_2));
+        doThrow(new RuntimeException())
+                .when(kvs).compactInternally(TableReference.createFromFullyQualifiedName(TABLE_STRING_2), true);
+
+        BackgroundCompactor.CompactionOutcome outcome = compactor.grabLockAndRunOnce(lockService);
+        assertThat(outcome).isEqualTo(BackgroundCompactor.CompactionOutcome.FAILED_TO_COMPACT);
+        verify(kvs).compactInternally(TABLE, true);
+    }
+
     @Test
     public void canReturnRegistrationFailure() throws InterruptedException {
         doThrow(new RuntimeException()).when(txManager).runTaskWithRetry(any());
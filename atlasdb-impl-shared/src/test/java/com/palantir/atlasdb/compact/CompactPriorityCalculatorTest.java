@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Test;
@@ -30,6 +31,7 @@ import com.palantir.atlasdb.transaction.api.TransactionManager;
 public class CompactPriorityCalculatorTest {
     private static final String TABLE_1 = "table1";
     private static final String TABLE_2 = "table2";
+    private static final String TABLE_3 = "table3";
 
     private final Transaction mockTx = mock(Transaction.class);
     private final TransactionManager transactionManager = mock(TransactionManager.class);
@@ -91,4 +93,48 @@ public class CompactPriorityCalculatorTest {
         Optional<String> table = calculator.selectTableToCompactInternal(mockTx);
         assertThat(table).isEmpty();
     }
+
+    @Test
+    public void prefersTablesWithMoreStaleValuesDeleted() {
+        when(sweepHistoryProvider.getHistory(mockTx)).thenReturn(ImmutableMap.of(TABLE_1, 5L, TABLE_2, 6L));
+        when(compactionHistoryProvider.getHistory(mockTx)).thenReturn(ImmutableMap.of(TABLE_1, 1L, TABLE_2, 4L));
+        when(sweepHistoryProvider.getStatistics(mockTx)).thenReturn(ImmutableMap.of(
+                TABLE_1, statistics(10L, 1_000L),
+                TABLE_2, statistics(500L, 1_000L)));
+
+        List<String> tables = calculator.selectTablesToCompactInternal(mockTx, 2, Long.MAX_VALUE);
+        assertThat(tables).containsExactly(TABLE_2, TABLE_1);
+    }
+
+    @Test
+    public void selectsTablesWithinCellBudget() {
+        when(sweepHistoryProvider.getHistory(mockTx))
+                .thenReturn(ImmutableMap.of(TABLE_1, 5L, TABLE_2, 6L, TABLE_3, 7L));
+        when(compactionHistoryProvider.getHistory(mockTx)).thenReturn(ImmutableMap.of());
+        when(sweepHistoryProvider.getStatistics(mockTx)).thenReturn(ImmutableMap.of(
+                TABLE_1, statistics(300L, 2_000L),
+                TABLE_2, statistics(200L, 5_000L),
+                TABLE_3, statistics(100L, 500L)));
+
+        List<String> tables = calculator.selectTablesToCompactInternal(mockTx, 3, 3_000L);
+        assertThat(tables).containsExactly(TABLE_1, TABLE_3);
+    }
+
+    @Test
+    public void alwaysSelectsFirstTableEvenIfOverBudget() {
+        when(sweepHistoryProvider.getHistory(mockTx)).thenReturn(ImmutableMap.of(TABLE_1, 5L));
+        when(compactionHistoryProvider.getHistory(mockTx)).thenReturn(ImmutableMap.of());
+        when(sweepHistoryProvider.getStatistics(mockTx))
+                .thenReturn(ImmutableMap.of(TABLE_1, statistics(300L, 2_000L)));
+
+        List<String> tables = calculator.selectTablesToCompactInternal(mockTx, 3, 1L);
+        assertThat(tables).containsExactly(TABLE_1);
+    }
+
+    private static SweptTableStatistics statistics(long cellsDeleted, long cellsExamined) {
+        return ImmutableSweptTableStatistics.builder()
+                .cellsDeleted(cellsDeleted)
+                .cellsExamined(cellsExamined)
+                .build();
+    }
 }
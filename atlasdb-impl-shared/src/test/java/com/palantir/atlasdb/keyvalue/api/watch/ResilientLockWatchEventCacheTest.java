@@ -16,12 +16,21 @@
 
 package com.palantir.atlasdb.keyvalue.api.watch;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,8 +38,12 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.util.MetricsManager;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.lock.watch.LockWatchEventCache;
+import com.palantir.lock.watch.LockWatchStateUpdate;
 import com.palantir.tritium.metrics.registry.DefaultTaggedMetricRegistry;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -41,6 +54,9 @@ public final class ResilientLockWatchEventCacheTest {
             new DefaultTaggedMetricRegistry(),
             unused -> false);
 
+    private static final LockWatchStateUpdate UPDATE =
+            LockWatchStateUpdate.success(UUID.randomUUID(), 1L, ImmutableList.of());
+
     @Mock
     private LockWatchEventCache defaultCache;
     @Mock
@@ -63,4 +79,34 @@ public final class ResilientLockWatchEventCacheTest {
         verify(fallbackCache).lastKnownVersion();
         verify(defaultCache, never()).lastKnownVersion();
     }
+
+    @Test
+    public void readsAndStartUpdatesAreNotSerializedWithOtherUpdates() throws Exception {
+        CountDownLatch updateStarted = new CountDownLatch(1);
+        CountDownLatch finishUpdate = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            updateStarted.countDown();
+            finishUpdate.await();
+            return null;
+        }).when(defaultCache).removeTransactionStateFromCache(anyLong());
+        ExecutorService executor = PTExecutors.newSingleThreadExecutor();
+
+        try {
+            Future<?> update = executor.submit(() -> proxyCache.removeTransactionStateFromCache(1L));
+            assertThat(updateStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            proxyCache.lastKnownVersion();
+            proxyCache.processStartTransactionsUpdate(ImmutableSet.of(2L), UPDATE);
+            proxyCache.getCommitUpdate(2L);
+            proxyCache.getUpdateForTransactions(ImmutableSet.of(2L), Optional.empty());
+
+            finishUpdate.countDown();
+            update.get(10, TimeUnit.SECONDS);
+        } finally {
+            finishUpdate.countDown();
+            executor.shutdownNow();
+        }
+        verify(defaultCache).processStartTransactionsUpdate(ImmutableSet.of(2L), UPDATE);
+        verify(defaultCache).getCommitUpdate(2L);
+    }
 }
@@ -59,6 +59,39 @@ public final class TimestampStateStoreTest {
         assertThat(timestampStateStore.getEarliestVersion()).isEmpty();
     }
 
+    @Test
+    public void startTimestampsArePutOnlyIfConditionHolds() {
+        assertThat(timestampStateStore.putStartTimestampsIf(ImmutableSet.of(100L), version1, () -> false)).isFalse();
+        assertThat(timestampStateStore.getStartVersion(100L)).isEmpty();
+
+        assertThat(timestampStateStore.putStartTimestampsIf(ImmutableSet.of(100L), version1, () -> true)).isTrue();
+        assertThat(timestampStateStore.getStartVersion(100L)).hasValue(version1);
+    }
+
+    @Test
+    public void earliestVersionIsTrackedAcrossManyVersions() {
+        for (long version = 1; version <= 100; version++) {
+            IdentifiedVersion identifiedVersion = IdentifiedVersion.of(leader, version);
+            timestampStateStore.putStartTimestamps(ImmutableSet.of(version * 10), identifiedVersion);
+        }
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(5L), IdentifiedVersion.of(leader, 50L));
+
+        for (long version = 1; version < 50; version++) {
+            removeAndCheckEarliestVersion(version * 10, version + 1);
+        }
+        removeAndCheckEarliestVersion(500L, 50L);
+        removeAndCheckEarliestVersion(5L, 51L);
+        removeAndCheckEarliestVersion(1000L, 51L);
+    }
+
+    @Test
+    public void earliestVersionAccountsForVersionsAddedOutOfOrder() {
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(400L), version2);
+        timestampStateStore.putStartTimestamps(ImmutableSet.of(100L), version1);
+
+        removeAndCheckEarliestVersion(100L, 17L);
+    }
+
     @Test
     public void cannotPutCommitUpdateTwice() {
         TransactionUpdate update = ImmutableTransactionUpdate.builder()
@@ -17,8 +17,13 @@
 package com.palantir.atlasdb.keyvalue.api.watch;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -27,6 +32,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.palantir.lock.watch.LockWatchEvent;
 import com.palantir.lock.watch.UnlockEvent;
+import com.palantir.logsafe.exceptions.SafeIllegalArgumentException;
 
 public final class VersionedEventStoreTest {
 
@@ -70,4 +76,61 @@ public final class VersionedEventStoreTest {
         assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 3L))
                 .containsExactly(EVENT_1, EVENT_2, EVENT_3);
     }
+
+    @Test
+    public void getEventsIfContainedIsEmptyOnceStartVersionHasBeenRemoved() {
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2, EVENT_3, EVENT_4));
+        eventStore.getAndRemoveElementsUpToExclusive(3L);
+
+        assertThat(eventStore.getEventsBetweenVersionsInclusiveIfContained(2L, 4L)).isEmpty();
+        assertThat(eventStore.getEventsBetweenVersionsInclusiveIfContained(3L, 4L))
+                .hasValueSatisfying(events -> assertThat(events).containsExactly(EVENT_3, EVENT_4));
+        assertThat(eventStore.getEventsBetweenVersionsInclusiveIfContained(5L, 10L))
+                .hasValueSatisfying(events -> assertThat(events).isEmpty());
+    }
+
+    @Test
+    public void eventsReturnedAreNotAffectedByLaterUpdates() {
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2));
+        Collection<LockWatchEvent> events = eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 10L);
+
+        eventStore.putAll(ImmutableList.of(EVENT_3, EVENT_4));
+        eventStore.getAndRemoveElementsUpToExclusive(4L);
+
+        assertThat(events).containsExactly(EVENT_1, EVENT_2);
+        assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 10L)).containsExactly(EVENT_4);
+    }
+
+    @Test
+    public void eventsAlreadyStoredOrRemovedAreNotStoredAgain() {
+        eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2, EVENT_3));
+        eventStore.getAndRemoveElementsUpToExclusive(3L);
+
+        assertThat(eventStore.putAll(ImmutableList.of(EVENT_1, EVENT_2, EVENT_3, EVENT_4))).isEqualTo(4L);
+        assertThat(eventStore.getStateForTesting().eventMap()).containsOnlyKeys(3L, 4L);
+    }
+
+    @Test
+    public void nonContiguousEventsThrow() {
+        eventStore.putAll(ImmutableList.of(EVENT_1));
+        assertThatThrownBy(() -> eventStore.putAll(ImmutableList.of(EVENT_3)))
+                .isInstanceOf(SafeIllegalArgumentException.class)
+                .hasMessage("Events form a non-contiguous sequence");
+    }
+
+    @Test
+    public void manyEventsCanBeStoredAndRemovedInBatches() {
+        List<LockWatchEvent> events = LongStream.rangeClosed(1L, 1000L)
+                .mapToObj(sequence -> UnlockEvent.builder(ImmutableSet.of()).build(sequence))
+                .collect(Collectors.toList());
+
+        for (int batch = 0; batch < 10; batch++) {
+            eventStore.putAll(events.subList(batch * 100, (batch + 1) * 100));
+            LockWatchEvents removed = eventStore.getAndRemoveElementsUpToExclusive(batch * 100 + 51);
+            assertThat(removed.latestSequence()).hasValue(batch * 100 + 50L);
+        }
+
+        assertThat(eventStore.getEventsBetweenVersionsInclusive(Optional.empty(), 1000L))
+                .containsExactlyElementsOf(events.subList(950, 1000));
+    }
 }
@@ -16,17 +16,29 @@
 package com.palantir.atlasdb.schema;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
 
 import org.junit.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.HashCode;
+import com.google.common.primitives.UnsignedBytes;
 import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.encoding.PtBytes;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.Namespace;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
 import com.palantir.atlasdb.keyvalue.api.TableReference;
 import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
 import com.palantir.atlasdb.schema.generated.SweepPriorityTable;
 import com.palantir.atlasdb.transaction.impl.TransactionTables;
+import com.palantir.common.base.BatchingVisitableFromIterable;
+import com.palantir.common.base.BatchingVisitableView;
+import com.palantir.util.Pair;
 
 public class KeyValueServiceValidatorsTest {
     private static final TableReference SWEEP_PRIORITY = TableReference.create(
@@ -70,4 +82,77 @@ public class KeyValueServiceValidatorsTest {
         kvs.createTable(OTHER_PRIORITY, AtlasDbConstants.EMPTY_TABLE_METADATA);
         assertThat(KeyValueServiceValidators.getValidatableTableNames(kvs, ImmutableSet.of(OTHER_PRIORITY))).isEmpty();
     }
+
+    @Test
+    public void hashRowIsEqualForEqualRows() {
+        assertThat(KeyValueServiceValidator.hashRow(row("r", "c1", "v1", "c2", "v2")))
+                .isEqualTo(KeyValueServiceValidator.hashRow(row("r", "c1", "v1", "c2", "v2")));
+    }
+
+    @Test
+    public void hashRowDiffersForDifferentValues() {
+        assertThat(KeyValueServiceValidator.hashRow(row("r", "c1", "v1")))
+                .isNotEqualTo(KeyValueServiceValidator.hashRow(row("r", "c1", "v2")));
+    }
+
+    @Test
+    public void hashRowDistinguishesColumnAndValueBoundaries() {
+        assertThat(KeyValueServiceValidator.hashRow(row("r", "ab", "c")))
+                .isNotEqualTo(KeyValueServiceValidator.hashRow(row("r", "a", "bc")));
+    }
+
+    @Test
+    public void validateRowHashesAcceptsMatchingRows() {
+        List<Pair<byte[], HashCode>> expected = KeyValueServiceValidator.hashRows(
+                visitable(row("r1", "c", "v1"), row("r2", "c", "v2")));
+
+        KeyValueServiceValidator.validateRowHashes(expected, visitable(row("r1", "c", "v1"), row("r2", "c", "v2")));
+    }
+
+    @Test
+    public void validateRowHashesRejectsDifferentValues() {
+        List<Pair<byte[], HashCode>> expected = KeyValueServiceValidator.hashRows(
+                visitable(row("r1", "c", "v1"), row("r2", "c", "v2")));
+
+        assertThatThrownBy(() -> KeyValueServiceValidator.validateRowHashes(
+                expected, visitable(row("r1", "c", "v1"), row("r2", "c", "other"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Values not equal for row");
+    }
+
+    @Test
+    public void validateRowHashesRejectsDifferentRows() {
+        List<Pair<byte[], HashCode>> expected = KeyValueServiceValidator.hashRows(visitable(row("r1", "c", "v")));
+
+        assertThatThrownBy(() -> KeyValueServiceValidator.validateRowHashes(expected, visitable(row("r2", "c", "v"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Rows not equal");
+    }
+
+    @Test
+    public void validateRowHashesRejectsMissingAndExtraRows() {
+        List<Pair<byte[], HashCode>> expected = KeyValueServiceValidator.hashRows(visitable(row("r1", "c", "v")));
+
+        assertThatThrownBy(() -> KeyValueServiceValidator.validateRowHashes(expected, visitable()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Number of rows not equal");
+        assertThatThrownBy(() -> KeyValueServiceValidator.validateRowHashes(
+                expected, visitable(row("r1", "c", "v"), row("r2", "c", "v"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Number of rows not equal");
+    }
+
+    private static RowResult<byte[]> row(String rowName, String... columnsAndValues) {
+        ImmutableSortedMap.Builder<byte[], byte[]> columns =
+                ImmutableSortedMap.orderedBy(UnsignedBytes.lexicographicalComparator());
+        for (int i = 0; i < columnsAndValues.length; i += 2) {
+            columns.put(PtBytes.toBytes(columnsAndValues[i]), PtBytes.toBytes(columnsAndValues[i + 1]));
+        }
+        return RowResult.create(PtBytes.toBytes(rowName), columns.build());
+    }
+
+    @SafeVarargs
+    private static BatchingVisitableView<RowResult<byte[]>> visitable(RowResult<byte[]>... rows) {
+        return BatchingVisitableView.of(BatchingVisitableFromIterable.create(ImmutableList.copyOf(rows)));
+    }
 }
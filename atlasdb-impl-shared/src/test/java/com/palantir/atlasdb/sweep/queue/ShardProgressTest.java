@@ -27,6 +27,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.atlasdb.AtlasDbConstants;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.CheckAndSetException;
@@ -130,6 +131,19 @@ public class ShardProgressTest {
         assertThat(progress.getLastSweptTimestamp(CONSERVATIVE_TEN)).isEqualTo(1024L);
     }
 
+    @Test
+    public void canReadLastSweptTimestampsOfSeveralShardsTogether() {
+        progress.updateLastSweptTimestamp(CONSERVATIVE_TEN, 1024L);
+        progress.updateLastSweptTimestamp(THOROUGH_TEN, 512L);
+
+        assertThat(progress.getLastSweptTimestamps(
+                ImmutableSet.of(CONSERVATIVE_TEN, THOROUGH_TEN, CONSERVATIVE_TWENTY)))
+                .isEqualTo(ImmutableMap.of(
+                        CONSERVATIVE_TEN, 1024L,
+                        THOROUGH_TEN, 512L,
+                        CONSERVATIVE_TWENTY, INITIAL_TIMESTAMP));
+    }
+
     @Test
     public void updatingTimestampForOneConsistencyDoesNotAffectOther() {
         assertThat(progress.getLastSweptTimestamp(CONSERVATIVE_TEN)).isEqualTo(INITIAL_TIMESTAMP);
@@ -0,0 +1,144 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.sweep.queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
+import com.palantir.atlasdb.sweep.Sweeper;
+import com.palantir.atlasdb.transaction.api.TransactionManager;
+
+public class SweepQueueDeleterTest {
+    private static final TableReference TABLE_REF = TableReference.createFromFullyQualifiedName("test.test");
+    private static final int COLUMNS_PER_ROW = 7;
+
+    private final KeyValueService kvs = mock(KeyValueService.class);
+    private final SweepQueueDeleter deleter = new SweepQueueDeleter(
+            kvs,
+            new TargetedSweepFollower(ImmutableList.of(), mock(TransactionManager.class)),
+            writes -> writes);
+
+    @Test
+    public void batchesContainContiguousRows() {
+        int numRows = 2 * SweepQueueUtils.BATCH_SIZE_KVS / COLUMNS_PER_ROW + 1;
+        List<WriteInfo> writes = IntStream.range(0, numRows)
+                .boxed()
+                .flatMap(row -> IntStream.range(0, COLUMNS_PER_ROW)
+                        .mapToObj(col -> WriteInfo.write(TABLE_REF, cell(row, col), 10L)))
+                .collect(Collectors.toList());
+
+        deleter.sweep(writes, Sweeper.CONSERVATIVE);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Cell, TimestampRangeDelete>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(kvs, atLeastOnce()).deleteAllTimestamps(eq(TABLE_REF), captor.capture());
+        verify(kvs, atLeastOnce()).addGarbageCollectionSentinelValues(eq(TABLE_REF), any());
+
+        List<Map<Cell, TimestampRangeDelete>> batches = captor.getAllValues();
+        assertThat(batches).hasSize(3);
+        assertThat(batches.stream().mapToInt(Map::size).sum()).isEqualTo(writes.size());
+
+        // each row can only be split across at most two consecutive batches
+        for (int i = 0; i < batches.size(); i++) {
+            Set<Integer> rows = rowsOf(batches.get(i));
+            int first = rows.stream().mapToInt(Integer::intValue).min().getAsInt();
+            int last = rows.stream().mapToInt(Integer::intValue).max().getAsInt();
+            assertThat(rows).hasSize(last - first + 1);
+            for (int j = i + 2; j < batches.size(); j++) {
+                assertThat(rowsOf(batches.get(j))).doesNotContainAnyElementsOf(rows);
+            }
+        }
+    }
+
+    @Test
+    public void approximateSizeOfDeletesAccountsForRowAndColumnNames() {
+        Cell cell = Cell.create(new byte[10], new byte[5]);
+        assertThat(SweepQueueDeleter.approximateSizeOfDeletes(ImmutableList.of(cell, cell)))
+                .isEqualTo(2 * (10 + 5 + Long.BYTES));
+    }
+
+    @Test
+    public void rateLimitedDeleterPacesDeletesByBytes() {
+        long bytesPerBatch = SweepQueueUtils.BATCH_SIZE_KVS * (Integer.BYTES + Integer.BYTES + Long.BYTES);
+        // up to a second's worth of batches may be deleted straight away, after which each batch waits for a quarter
+        // of a second before the next one can start
+        SweepQueueDeleter rateLimitedDeleter = new SweepQueueDeleter(
+                kvs,
+                new TargetedSweepFollower(ImmutableList.of(), mock(TransactionManager.class)),
+                writes -> writes,
+                () -> 4 * bytesPerBatch);
+        List<WriteInfo> writes = IntStream.range(0, 7 * SweepQueueUtils.BATCH_SIZE_KVS)
+                .mapToObj(row -> WriteInfo.write(TABLE_REF, cell(row, 0), 10L))
+                .collect(Collectors.toList());
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        rateLimitedDeleter.sweep(writes, Sweeper.CONSERVATIVE);
+
+        assertThat(stopwatch.elapsed(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(400L);
+        verify(kvs, times(7)).deleteAllTimestamps(eq(TABLE_REF), any());
+    }
+
+    @Test
+    public void rateLimitedDeleterStillDeletesEverything() {
+        SweepQueueDeleter rateLimitedDeleter = new SweepQueueDeleter(
+                kvs,
+                new TargetedSweepFollower(ImmutableList.of(), mock(TransactionManager.class)),
+                writes -> writes,
+                () -> 1_000_000L);
+        List<WriteInfo> writes = ImmutableList.of(
+                WriteInfo.write(TABLE_REF, cell(0, 0), 10L),
+                WriteInfo.tombstone(TABLE_REF, cell(0, 1), 10L));
+
+        rateLimitedDeleter.sweep(writes, Sweeper.THOROUGH);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Cell, TimestampRangeDelete>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(kvs).deleteAllTimestamps(eq(TABLE_REF), captor.capture());
+        assertThat(captor.getValue()).containsOnlyKeys(cell(0, 0), cell(0, 1));
+    }
+
+    private static Set<Integer> rowsOf(Map<Cell, TimestampRangeDelete> batch) {
+        return batch.keySet().stream()
+                .map(cell -> Ints.fromByteArray(cell.getRowName()))
+                .collect(Collectors.toSet());
+    }
+
+    private static Cell cell(int row, int col) {
+        return Cell.create(Ints.toByteArray(row), Ints.toByteArray(col));
+    }
+}
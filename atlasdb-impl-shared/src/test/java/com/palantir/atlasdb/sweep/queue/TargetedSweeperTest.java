@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atMost;
@@ -49,6 +50,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -121,6 +123,7 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
     private PuncherStore puncherStore;
     private boolean enabled = true;
     private boolean batchShardIterations = false;
+    private boolean readAheadNextBatch = false;
 
     public TargetedSweeperTest(int readBatchSize) {
         this.readBatchSize = readBatchSize;
@@ -133,6 +136,7 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
         Supplier<TargetedSweepRuntimeConfig> runtime = () -> ImmutableTargetedSweepRuntimeConfig.builder()
                 .enabled(enabled)
                 .batchShardIterations(batchShardIterations)
+                .readAheadNextBatch(readAheadNextBatch)
                 .maximumPartitionsToBatchInSingleRead(readBatchSize)
                 .shards(DEFAULT_SHARDS)
                 .build();
@@ -1036,6 +1040,26 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
         assertThat(requestedLockIds).hasSameElementsAs(expectedLockIds);
     }
 
+    @Test
+    public void backgroundSweepTriesShardsInOrderOfDecreasingBacklogWhenPrioritizing() throws InterruptedException {
+        setLastSweptTimestampsToPermutationOfShards();
+        List<Integer> triedShards = runOneBackgroundIterationAndGetTriedShards(true);
+
+        assertThat(triedShards).containsExactly(0, 3, 6, 1, 4, 7, 2, 5);
+        verify(spiedKvs, times(1)).get(eq(ShardProgress.TABLE_REF),
+                argThat((Map<Cell, Long> request) -> request.size() == DEFAULT_SHARDS));
+    }
+
+    @Test
+    public void backgroundSweepTriesShardsInRoundRobinOrderWhenNotPrioritizing() throws InterruptedException {
+        setLastSweptTimestampsToPermutationOfShards();
+        List<Integer> triedShards = runOneBackgroundIterationAndGetTriedShards(false);
+
+        assertThat(triedShards).containsExactly(0, 1, 2, 3, 4, 5, 6, 7);
+        verify(spiedKvs, never()).get(eq(ShardProgress.TABLE_REF),
+                argThat((Map<Cell, Long> request) -> request.size() == DEFAULT_SHARDS));
+    }
+
     @Test
     public void doesNotLeaveSentinelsIfTableDestroyed() {
         enqueueWriteCommitted(TABLE_CONS, 10);
@@ -1080,6 +1104,44 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
         assertReadAtTimestampReturnsSentinel(TABLE_CONS, maxTsForFinePartition(0) + 1);
     }
 
+    @Test
+    public void readAheadSweepsMultipleFinePartitions() {
+        batchShardIterations = true;
+        readAheadNextBatch = true;
+
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS);
+        enqueueTombstone(TABLE_CONS, LOW_TS + 2);
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS + 4);
+        // writes in the next two fine partitions
+        enqueueWriteCommitted(TABLE_CONS, maxTsForFinePartition(0) + 1);
+        enqueueTombstone(TABLE_CONS, maxTsForFinePartition(0) + 2);
+        enqueueWriteCommitted(TABLE_CONS, maxTsForFinePartition(1) + 1);
+        enqueueTombstone(TABLE_CONS, maxTsForFinePartition(1) + 2);
+
+        sweepQueue.processShard(ShardAndStrategy.conservative(CONS_SHARD));
+
+        assertReadAtTimestampReturnsSentinel(TABLE_CONS, maxTsForFinePartition(0) + 1);
+        assertReadAtTimestampReturnsSentinel(TABLE_CONS, maxTsForFinePartition(1) + 1);
+        assertThat(progress.getLastSweptTimestamp(ShardAndStrategy.conservative(CONS_SHARD)))
+                .isGreaterThanOrEqualTo(maxTsForFinePartition(1) + 2);
+    }
+
+    @Test
+    public void readAheadDoesNotSweepWhenDisabled() {
+        batchShardIterations = true;
+        readAheadNextBatch = true;
+        enabled = false;
+
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS);
+        enqueueWriteCommitted(TABLE_CONS, LOW_TS + 2);
+
+        sweepQueue.processShard(ShardAndStrategy.conservative(CONS_SHARD));
+
+        verify(spiedKvs, never()).deleteAllTimestamps(any(TableReference.class), anyMap());
+        assertThat(progress.getLastSweptTimestamp(ShardAndStrategy.conservative(CONS_SHARD)))
+                .isEqualTo(SweepQueueUtils.INITIAL_TIMESTAMP);
+    }
+
     @Test
     public void sweepNextBatchReturnsFalseWhenEncounteringEntryCommittedAfterSweepTs() {
         ShardAndStrategy shardStrategy = ShardAndStrategy.conservative(CONS_SHARD);
@@ -1330,6 +1392,48 @@ public class TargetedSweeperTest extends AbstractSweepQueueTest {
         waitUntilSweepRunsOneIteration();
     }
 
+    /**
+     * Shard i is given last swept timestamp 10 * (3 * i mod 8) + 1, so that the shards in order of decreasing backlog
+     * are 0, 3, 6, 1, 4, 7, 2, 5.
+     */
+    private void setLastSweptTimestampsToPermutationOfShards() {
+        for (int shard = 0; shard < DEFAULT_SHARDS; shard++) {
+            progress.updateLastSweptTimestamp(ShardAndStrategy.conservative(shard), 10L * (3 * shard % 8) + 1);
+        }
+    }
+
+    private List<Integer> runOneBackgroundIterationAndGetTriedShards(boolean prioritizeShardsByBacklog)
+            throws InterruptedException {
+        List<LockDescriptor> requestedLocks = new CopyOnWriteArrayList<>();
+        TimelockService refusingLockService = mock(TimelockService.class);
+        doAnswer(invocation -> {
+            LockRequest request = invocation.getArgument(0);
+            requestedLocks.add(Iterables.getOnlyElement(request.getLockDescriptors()));
+            return (LockResponse) Optional::empty;
+        }).when(refusingLockService).lock(any());
+
+        TargetedSweepRuntimeConfig runtime = ImmutableTargetedSweepRuntimeConfig.builder()
+                .shards(DEFAULT_SHARDS)
+                .pauseMillis(5000)
+                .prioritizeShardsByBacklog(prioritizeShardsByBacklog)
+                .build();
+        TargetedSweepInstallConfig install = ImmutableTargetedSweepInstallConfig.builder()
+                .conservativeThreads(1)
+                .thoroughThreads(0)
+                .build();
+        TargetedSweeper sweeper = TargetedSweeper
+                .createUninitialized(metricsManager, () -> runtime, install, ImmutableList.of());
+        sweeper.initializeWithoutRunning(timestampsSupplier, refusingLockService, spiedKvs, txnService, mockFollower);
+        sweeper.runInBackground();
+        waitUntilSweepRunsOneIteration();
+        sweeper.close();
+
+        Map<LockDescriptor, Integer> shardsByLockDescriptor = IntStream.range(0, DEFAULT_SHARDS).boxed()
+                .collect(Collectors.toMap(
+                        shard -> ShardAndStrategy.conservative(shard).toLockDescriptor(), shard -> shard));
+        return requestedLocks.stream().map(shardsByLockDescriptor::get).collect(Collectors.toList());
+    }
+
     private void waitUntilSweepRunsOneIteration() throws InterruptedException {
         Thread.sleep(3000L);
     }
@@ -0,0 +1,198 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.transaction.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.annotation.Nullable;
+
+import org.junit.Test;
+
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.palantir.common.base.ClosableIterator;
+import com.palantir.common.base.ClosableIterators;
+import com.palantir.tracing.Tracer;
+
+public class AdaptivePrefetchingBatchIteratorTest {
+    private static final int ROW_BYTES = 100;
+
+    @Test
+    public void returnsAllResultsInOrder() {
+        ListBatchProvider provider = new ListBatchProvider(rows(100));
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = createIterator(provider, 7, 2_000);
+
+        assertThat(readAllIndices(iterator)).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void fetchesPagesOnCallingThreadWhenPrefetchExecutorIsSaturated() {
+        ListBatchProvider provider = new ListBatchProvider(rows(100));
+        ExecutorService saturatedExecutor = mock(ExecutorService.class);
+        doThrow(new RejectedExecutionException()).when(saturatedExecutor).execute(any());
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = new AdaptivePrefetchingBatchIterator<>(
+                provider, row -> row.length, 7, 2_000, saturatedExecutor, new Timer(), new Timer());
+
+        assertThat(readAllIndices(iterator)).isEqualTo(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void prefetchesRunInTraceOfCaller() {
+        Set<String> traceIdsSeenByProvider = ConcurrentHashMap.newKeySet();
+        ListBatchProvider provider = new ListBatchProvider(rows(100)) {
+            @Override
+            public ClosableIterator<byte[]> getBatch(int batchSize, @Nullable byte[] lastToken) {
+                traceIdsSeenByProvider.add(Tracer.getTraceId());
+                return super.getBatch(batchSize, lastToken);
+            }
+        };
+        Tracer.initTrace(Optional.of(true), getClass().getSimpleName() + "." + Math.random());
+        String traceId = Tracer.getTraceId();
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = new AdaptivePrefetchingBatchIterator<>(
+                provider, row -> row.length, 7, 2_000, new Timer(), new Timer());
+
+        assertThat(readAllIndices(iterator)).hasSize(100);
+        assertThat(traceIdsSeenByProvider).containsExactly(traceId);
+    }
+
+    @Test
+    public void pageSizeGrowsTowardsTargetBytes() {
+        ListBatchProvider provider = new ListBatchProvider(rows(100));
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = createIterator(provider, 2, 10 * ROW_BYTES);
+
+        assertThat(iterator.getBatch()).hasSize(2);
+        assertThat(iterator.getBatch()).hasSize(8);
+        assertThat(iterator.getBatch()).hasSize(10);
+        assertThat(iterator.getBatch()).hasSize(10);
+    }
+
+    @Test
+    public void pageSizeShrinksForWideRows() {
+        ListBatchProvider provider = new ListBatchProvider(rows(100));
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = createIterator(provider, 50, 5 * ROW_BYTES);
+
+        assertThat(iterator.getBatch()).hasSize(50);
+        assertThat(iterator.getBatch()).hasSize(5);
+    }
+
+    @Test
+    public void slowPagesShrinkNextPage() {
+        AdaptivePrefetchingBatchIterator<byte[]> iterator =
+                createIterator(new ListBatchProvider(rows(0)), 100, Long.MAX_VALUE);
+        AdaptivePrefetchingBatchIterator.Page<byte[]> slowPage = new AdaptivePrefetchingBatchIterator.Page<>(
+                ImmutableList.of(), 100, 0, 2 * AdaptivePrefetchingBatchIterator.TARGET_PAGE_LATENCY_NANOS);
+
+        assertThat(iterator.getNextBatchSize(slowPage)).isEqualTo(50);
+    }
+
+    @Test
+    public void prefetchesNextPageBeforeItIsRequested() {
+        ListBatchProvider provider = new ListBatchProvider(rows(100));
+        AdaptivePrefetchingBatchIterator<byte[]> iterator = createIterator(provider, 10, 10 * ROW_BYTES);
+
+        iterator.getBatch();
+
+        assertThat(provider.requestedBatchSizes).containsExactly(10, 10);
+    }
+
+    @Test
+    public void propagatesFailuresFromKeyValueService() {
+        RuntimeException failure = new IllegalStateException("boom");
+        BatchProvider<byte[]> provider = new ListBatchProvider(rows(0)) {
+            @Override
+            public ClosableIterator<byte[]> getBatch(int batchSize, @Nullable byte[] lastToken) {
+                throw failure;
+            }
+        };
+
+        assertThatThrownBy(() -> createIterator(provider, 10, 1_000).getBatch())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("boom");
+    }
+
+    private static AdaptivePrefetchingBatchIterator<byte[]> createIterator(
+            BatchProvider<byte[]> provider, int originalBatchSize, long targetPageBytes) {
+        return new AdaptivePrefetchingBatchIterator<>(
+                provider,
+                row -> row.length,
+                originalBatchSize,
+                targetPageBytes,
+                MoreExecutors.newDirectExecutorService(),
+                new Timer(),
+                new Timer());
+    }
+
+    private static List<Integer> readAllIndices(AdaptivePrefetchingBatchIterator<byte[]> iterator) {
+        List<Integer> indices = new ArrayList<>();
+        for (List<byte[]> batch = iterator.getBatch(); !batch.isEmpty(); batch = iterator.getBatch()) {
+            batch.forEach(row -> indices.add(index(row)));
+        }
+        return indices;
+    }
+
+    private static List<byte[]> rows(int numRows) {
+        return IntStream.range(0, numRows)
+                .mapToObj(index -> ByteBuffer.allocate(ROW_BYTES).putInt(index).array())
+                .collect(Collectors.toList());
+    }
+
+    private static int index(byte[] row) {
+        return Ints.fromByteArray(row);
+    }
+
+    private static class ListBatchProvider implements BatchProvider<byte[]> {
+        private final List<byte[]> rows;
+        private final List<Integer> requestedBatchSizes = new ArrayList<>();
+
+        ListBatchProvider(List<byte[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public ClosableIterator<byte[]> getBatch(int batchSize, @Nullable byte[] lastToken) {
+            requestedBatchSizes.add(batchSize);
+            int start = lastToken == null ? 0 : index(lastToken) + 1;
+            return ClosableIterators.wrap(rows.subList(start, rows.size()).iterator());
+        }
+
+        @Override
+        public boolean hasNext(byte[] lastToken) {
+            return index(lastToken) + 1 < rows.size();
+        }
+
+        @Override
+        public byte[] getLastToken(List<byte[]> batch) {
+            return batch.get(batch.size() - 1);
+        }
+    }
+}
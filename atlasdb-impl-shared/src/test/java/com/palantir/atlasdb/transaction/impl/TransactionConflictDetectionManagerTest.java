@@ -93,6 +93,12 @@ public final class TransactionConflictDetectionManagerTest {
         testDisableReadWriteConflict(ConflictHandler.SERIALIZABLE_CELL, ConflictHandler.RETRY_ON_WRITE_WRITE_CELL);
     }
 
+    @Test
+    public void testDisableReadWriteConflict_SerializableStriped() throws Exception {
+        testDisableReadWriteConflict(ConflictHandler.SERIALIZABLE_STRIPED,
+                ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+    }
+
     @Test
     public void testDisableReadWriteConflict_IgnoreAll() throws Exception {
         testDisableReadWriteConflict(ConflictHandler.IGNORE_ALL, ConflictHandler.IGNORE_ALL);
@@ -114,6 +120,12 @@ public final class TransactionConflictDetectionManagerTest {
                 ConflictHandler.RETRY_ON_WRITE_WRITE_CELL);
     }
 
+    @Test
+    public void testDisableReadWriteConflict_RetryOnWriteWriteStriped() throws Exception {
+        testDisableReadWriteConflict(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED,
+                ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+    }
+
     @Test
     public void testDisableReadWriteConflict_Unsupported() {
         testDisableReadWriteConflictThrowsUnsupported(ConflictHandler.SERIALIZABLE_INDEX);
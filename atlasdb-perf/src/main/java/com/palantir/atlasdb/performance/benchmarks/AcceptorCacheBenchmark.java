@@ -0,0 +1,234 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.TreeMultimap;
+import com.palantir.atlasdb.timelock.paxos.AcceptorCache;
+import com.palantir.atlasdb.timelock.paxos.AcceptorCacheDigest;
+import com.palantir.atlasdb.timelock.paxos.AcceptorCacheImpl;
+import com.palantir.atlasdb.timelock.paxos.AcceptorCacheKey;
+import com.palantir.atlasdb.timelock.paxos.ImmutableAcceptorCacheDigest;
+import com.palantir.atlasdb.timelock.paxos.InvalidAcceptorCacheKeyException;
+import com.palantir.atlasdb.timelock.paxos.WithSeq;
+import com.palantir.paxos.Client;
+
+/**
+ * Compares {@link AcceptorCacheImpl} against the read-write locked implementation it replaced, with batch acceptor
+ * requests from many namespaces updating the cache while followers poll it for updates.
+ */
+@Measurement(iterations = 10, time = 2)
+@Warmup(iterations = 6, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AcceptorCacheBenchmark {
+    private static final int CLIENTS_PER_UPDATE = 8;
+
+    @Param({"LOCKING", "LOCK_FREE"})
+    private Implementation implementation;
+
+    @Param({"500"})
+    private int numClients;
+
+    private AcceptorCache cache;
+    private Client[] clients;
+    private final AtomicLong sequenceNumbers = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        cache = implementation.create();
+        clients = IntStream.range(0, numClients)
+                .mapToObj(i -> Client.of("client" + i))
+                .toArray(Client[]::new);
+        cache.updateSequenceNumbers(Stream.of(clients)
+                .map(client -> WithSeq.of(client, sequenceNumbers.incrementAndGet()))
+                .collect(Collectors.toSet()));
+    }
+
+    @State(Scope.Thread)
+    public static class Follower {
+        private AcceptorCacheKey cacheKey;
+
+        @Setup
+        public void setUp(AcceptorCacheBenchmark benchmark) {
+            cacheKey = benchmark.cache.getAllUpdates().newCacheKey();
+        }
+    }
+
+    @Benchmark
+    @Group("acceptor")
+    @GroupThreads(16)
+    public void updateSequenceNumbers() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ImmutableSet.Builder<WithSeq<Client>> update = ImmutableSet.builder();
+        for (int i = 0; i < CLIENTS_PER_UPDATE; i++) {
+            update.add(WithSeq.of(clients[random.nextInt(clients.length)], sequenceNumbers.incrementAndGet()));
+        }
+        cache.updateSequenceNumbers(update.build());
+    }
+
+    @Benchmark
+    @Group("acceptor")
+    @GroupThreads(4)
+    public Optional<AcceptorCacheDigest> updatesSinceCacheKey(Follower follower)
+            throws InvalidAcceptorCacheKeyException {
+        Optional<AcceptorCacheDigest> digest = cache.updatesSinceCacheKey(follower.cacheKey);
+        digest.ifPresent(update -> follower.cacheKey = update.newCacheKey());
+        return digest;
+    }
+
+    public enum Implementation {
+        LOCKING {
+            @Override
+            AcceptorCache create() {
+                return new LockingAcceptorCache();
+            }
+        },
+        LOCK_FREE {
+            @Override
+            AcceptorCache create() {
+                return new AcceptorCacheImpl();
+            }
+        };
+
+        abstract AcceptorCache create();
+    }
+
+    /**
+     * The previous implementation of {@link AcceptorCacheImpl}, which serialises all updates on a single lock.
+     */
+    private static final class LockingAcceptorCache implements AcceptorCache {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Cache<AcceptorCacheKey, Long> cacheKeyToTimestamp = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        private final Map<Client, WithSeq<Long>> clientToTimeAndSeq = Maps.newHashMap();
+        private final TreeMultimap<Long, WithSeq<Client>> clientsByLatestTimestamp = TreeMultimap.create(
+                Comparator.naturalOrder(),
+                Comparator.comparing(clientWithSeq -> clientWithSeq.value().value(), Comparator.naturalOrder()));
+
+        private AcceptorCacheKey latestCacheKey = AcceptorCacheKey.newCacheKey();
+        private long latestTimestamp = 0;
+
+        private LockingAcceptorCache() {
+            cacheKeyToTimestamp.put(latestCacheKey, latestTimestamp);
+        }
+
+        @Override
+        public void updateSequenceNumbers(Set<WithSeq<Client>> clientsAndSeqs) {
+            lock.writeLock().lock();
+            try {
+                long nextTimestamp = latestTimestamp + 1;
+                boolean updated = false;
+                for (WithSeq<Client> clientAndSeq : clientsAndSeqs) {
+                    Client client = clientAndSeq.value();
+                    WithSeq<Long> clientLatestWithTs = clientToTimeAndSeq.get(client);
+                    if (clientLatestWithTs == null || clientAndSeq.seq() > clientLatestWithTs.seq()) {
+                        clientToTimeAndSeq.put(client, WithSeq.of(nextTimestamp, clientAndSeq.seq()));
+                        clientsByLatestTimestamp.put(nextTimestamp, clientAndSeq);
+                        if (clientLatestWithTs != null) {
+                            clientsByLatestTimestamp.remove(
+                                    clientLatestWithTs.value(),
+                                    WithSeq.of(client, clientLatestWithTs.seq()));
+                        }
+                        updated = true;
+                    }
+                }
+                if (updated) {
+                    latestCacheKey = AcceptorCacheKey.newCacheKey();
+                    latestTimestamp = nextTimestamp;
+                    cacheKeyToTimestamp.put(latestCacheKey, latestTimestamp);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public AcceptorCacheDigest getAllUpdates() {
+            lock.readLock().lock();
+            try {
+                return ImmutableAcceptorCacheDigest.builder()
+                        .newCacheKey(latestCacheKey)
+                        .cacheTimestamp(latestTimestamp)
+                        .updates(Maps.transformValues(clientToTimeAndSeq, WithSeq::seq))
+                        .build();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public Optional<AcceptorCacheDigest> updatesSinceCacheKey(AcceptorCacheKey cacheKey)
+                throws InvalidAcceptorCacheKeyException {
+            lock.readLock().lock();
+            try {
+                if (cacheKey.equals(latestCacheKey)) {
+                    return Optional.empty();
+                }
+                Long cacheKeyTimestamp = cacheKeyToTimestamp.getIfPresent(cacheKey);
+                if (cacheKeyTimestamp == null) {
+                    throw new InvalidAcceptorCacheKeyException(cacheKey);
+                }
+                Map<Client, Long> diff = clientsByLatestTimestamp.asMap().tailMap(cacheKeyTimestamp, false).values()
+                        .stream()
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toMap(WithSeq::value, WithSeq::seq));
+                return Optional.of(ImmutableAcceptorCacheDigest.builder()
+                        .newCacheKey(latestCacheKey)
+                        .cacheTimestamp(latestTimestamp)
+                        .updates(diff)
+                        .build());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
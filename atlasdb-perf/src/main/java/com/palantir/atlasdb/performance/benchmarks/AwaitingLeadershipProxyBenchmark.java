@@ -16,6 +16,7 @@
 
 package com.palantir.atlasdb.performance.benchmarks;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +43,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.leader.LeaderElectionService;
 import com.palantir.leader.proxy.AwaitingLeadershipProxy;
+import com.palantir.leader.proxy.LeaderLease;
 
 @Measurement(iterations = 10, time = 2)
 @Warmup(iterations = 6, time = 1)
@@ -55,6 +57,12 @@ public class AwaitingLeadershipProxyBenchmark {
                     LeaderAwareService.class,
                     () -> LeaderAwareImpl.INSTANCE,
                     FakeLeaderElectionService.INSTANCE);
+    private final LeaderAwareService leasedService =
+            AwaitingLeadershipProxy.newProxyInstance(
+                    LeaderAwareService.class,
+                    () -> LeaderAwareImpl.INSTANCE,
+                    FakeLeaderElectionService.INSTANCE,
+                    LeaderLease.of(Duration.ofSeconds(1), Duration.ofSeconds(2)));
     private static final int ASYNC_ITERATIONS = 1000;
 
     @Benchmark
@@ -67,9 +75,26 @@ public class AwaitingLeadershipProxyBenchmark {
     @OperationsPerInvocation(ASYNC_ITERATIONS)
     @Threads(12)
     public List<Object> benchmarkAsync() {
+        return runAsync(service);
+    }
+
+    @Benchmark
+    @Threads(256)
+    public int benchmarkBlockingWithLease() {
+        return leasedService.somethingBlocking();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ASYNC_ITERATIONS)
+    @Threads(12)
+    public List<Object> benchmarkAsyncWithLease() {
+        return runAsync(leasedService);
+    }
+
+    private static List<Object> runAsync(LeaderAwareService proxy) {
         List<ListenableFuture<?>> futures = new ArrayList<>(ASYNC_ITERATIONS);
         for (int i = 0; i < ASYNC_ITERATIONS; i++) {
-            futures.add(service.somethingAsync());
+            futures.add(proxy.somethingAsync());
         }
         ListenableFuture<List<Object>> composition = Futures.allAsList(futures);
         return Futures.getUnchecked(composition);
@@ -0,0 +1,141 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.List;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.compress.CompressionUtils;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.Document;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.JsonDocumentRow;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.JsonDocumentRowResult;
+import com.palantir.atlasdb.persister.JsonNodePersister;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+
+/**
+ * Measures the client side cost of decoding the results of a range scan through a generated table class whose values
+ * use a reusable persister, without any key value service or transaction overhead.
+ *
+ * The benchmarks suffixed with {@code Baseline} decode the same rows the way generated classes did before reusable
+ * persisters were shared, allocating a persister per value, so that a single run compares both. The row view and
+ * bulk decode benchmarks use the code generated for tables with flyweight reads enabled.
+ */
+@Measurement(iterations = 10, time = 2)
+@Warmup(iterations = 6, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GeneratedTableDecodingBenchmark {
+    private static final int NUM_ROWS = 1000;
+    private static final byte[] DOCUMENT_COLUMN = PtBytes.toCachedBytes("d");
+
+    private List<RowResult<byte[]>> rawRows;
+    private List<ObjectNode> documents;
+
+    @Setup
+    public void setup() {
+        rawRows = Lists.newArrayListWithCapacity(NUM_ROWS);
+        documents = Lists.newArrayListWithCapacity(NUM_ROWS);
+        for (int i = 0; i < NUM_ROWS; i++) {
+            ObjectNode document = JsonNodeFactory.instance.objectNode()
+                    .put("id", i)
+                    .put("type", "com.palantir.example.SomeEvent")
+                    .put("status", "SUCCEEDED");
+            documents.add(document);
+            Document value = Document.of(document);
+            SortedMap<byte[], byte[]> columns = ImmutableSortedMap.<byte[], byte[]>orderedBy(
+                    UnsignedBytes.lexicographicalComparator())
+                    .put(value.persistColumnName(), value.persistValue())
+                    .build();
+            rawRows.add(RowResult.create(JsonDocumentRow.of("row-" + i).persistToBytes(), columns));
+        }
+    }
+
+    @Benchmark
+    public void decodeRowsAndValuesBaseline(Blackhole blackhole) {
+        for (RowResult<byte[]> rawRow : rawRows) {
+            blackhole.consume(JsonDocumentRow.BYTES_HYDRATOR.hydrateFromBytes(rawRow.getRowName()).getKey());
+            byte[] bytes = CompressionUtils.decompress(rawRow.getColumns().get(DOCUMENT_COLUMN), Compression.NONE);
+            blackhole.consume(new JsonNodePersister().hydrateFromBytes(
+                    CompressionUtils.decompress(bytes, Compression.NONE)));
+        }
+    }
+
+    @Benchmark
+    public void decodeRowsAndValues(Blackhole blackhole) {
+        for (RowResult<byte[]> rawRow : rawRows) {
+            JsonDocumentRowResult rowResult = JsonDocumentRowResult.of(rawRow);
+            blackhole.consume(rowResult.getRowName().getKey());
+            blackhole.consume(rowResult.getDocument());
+        }
+    }
+
+    @Benchmark
+    public void decodeRowsAndValuesWithRowView(Blackhole blackhole) {
+        JsonDocumentTable.visitRowViews(rawRows, view -> {
+            blackhole.consume(view.getRowName().getKey());
+            blackhole.consume(view.getDocument());
+        });
+    }
+
+    @Benchmark
+    public Object decodeValuesInBulk() {
+        return JsonDocumentTable.decodeDocuments(rawRows);
+    }
+
+    @Benchmark
+    public void decodeRowNamesWithRowView(Blackhole blackhole) {
+        JsonDocumentTable.visitRowViews(rawRows, view -> blackhole.consume(view.getRawRowName()));
+    }
+
+    @Benchmark
+    public void encodeValuesBaseline(Blackhole blackhole) {
+        for (ObjectNode document : documents) {
+            byte[] bytes = CompressionUtils.compress(
+                    new JsonNodePersister().persistToBytes(document), Compression.NONE);
+            blackhole.consume(CompressionUtils.compress(bytes, Compression.NONE));
+        }
+    }
+
+    @Benchmark
+    public void encodeValues(Blackhole blackhole) {
+        for (ObjectNode document : documents) {
+            blackhole.consume(Document.of(document).persistValue());
+        }
+    }
+}
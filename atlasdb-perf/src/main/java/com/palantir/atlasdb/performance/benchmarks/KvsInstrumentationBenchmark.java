@@ -0,0 +1,90 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.Value;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.util.AtlasDbMetrics;
+
+/**
+ * Compares the overhead of instrumenting a key value service with a dynamic proxy against the generated
+ * {@code AutoTimed} decorator, for point reads against an in memory key value service.
+ */
+@Measurement(iterations = 10, time = 2)
+@Warmup(iterations = 6, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class KvsInstrumentationBenchmark {
+    private static final TableReference TABLE = TableReference.createFromFullyQualifiedName("benchmark.table");
+    private static final Cell CELL = Cell.create(new byte[] {1}, new byte[] {2});
+    private static final Map<Cell, Long> READ = ImmutableMap.of(CELL, Long.MAX_VALUE);
+
+    private KeyValueService uninstrumented;
+    private KeyValueService proxy;
+    private KeyValueService generated;
+
+    @Setup
+    public void setup() {
+        uninstrumented = new InMemoryKeyValueService(false);
+        uninstrumented.createTable(TABLE, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        uninstrumented.put(TABLE, ImmutableMap.of(CELL, new byte[] {3}), 1L);
+
+        String name = MetricRegistry.name(KeyValueService.class);
+        proxy = AtlasDbMetrics.instrumentTimed(new MetricRegistry(), KeyValueService.class, uninstrumented, name);
+        generated = AtlasDbMetrics.instrumentTimedKeyValueService(new MetricRegistry(), uninstrumented, name);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Map<Cell, Value> uninstrumentedGet() {
+        return uninstrumented.get(TABLE, READ);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Map<Cell, Value> proxyGet() {
+        return proxy.get(TABLE, READ);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Map<Cell, Value> generatedGet() {
+        return generated.get(TABLE, READ);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.atlasdb.AtlasDbConstants;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.KeyValueService;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.impl.InMemoryKeyValueService;
+import com.palantir.atlasdb.keyvalue.impl.SweepStatsKeyValueService;
+import com.palantir.timestamp.InMemoryTimestampService;
+
+/**
+ * Measures the overhead of recording sweep stats for many threads writing to the same few tables, against writing to
+ * an in memory key value service directly. Flushing is disabled so that only the cost of recording is measured.
+ */
+@Measurement(iterations = 10, time = 2)
+@Warmup(iterations = 6, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SweepStatsKvsBenchmark {
+    private static final TableReference TABLE_1 = TableReference.createFromFullyQualifiedName("benchmark.table1");
+    private static final TableReference TABLE_2 = TableReference.createFromFullyQualifiedName("benchmark.table2");
+    private static final Map<Cell, byte[]> VALUES = ImmutableMap.of(
+            Cell.create(new byte[] {1}, new byte[] {1}), new byte[] {1, 2, 3},
+            Cell.create(new byte[] {1}, new byte[] {2}), new byte[] {4, 5, 6});
+    private static final Map<TableReference, Map<Cell, byte[]>> MULTI_VALUES = ImmutableMap.of(
+            TABLE_1, VALUES,
+            TABLE_2, VALUES);
+
+    private KeyValueService uninstrumented;
+    private KeyValueService sweepStats;
+
+    @Setup
+    public void setup() {
+        uninstrumented = new InMemoryKeyValueService(false);
+        uninstrumented.createTable(TABLE_1, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        uninstrumented.createTable(TABLE_2, AtlasDbConstants.GENERIC_TABLE_METADATA);
+        sweepStats = SweepStatsKeyValueService.create(
+                uninstrumented,
+                new InMemoryTimestampService(),
+                () -> Integer.MAX_VALUE,
+                () -> Long.MAX_VALUE,
+                () -> true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sweepStats.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void uninstrumentedPut() {
+        uninstrumented.put(TABLE_1, VALUES, 1L);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void sweepStatsPut() {
+        sweepStats.put(TABLE_1, VALUES, 1L);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void sweepStatsMultiPut() {
+        sweepStats.multiPut(MULTI_VALUES, 1L);
+    }
+}
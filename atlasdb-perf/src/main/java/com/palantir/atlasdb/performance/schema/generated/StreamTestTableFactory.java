@@ -44,6 +44,11 @@ public final class StreamTestTableFactory {
         return of(ImmutableList.<Function<? super Transaction, SharedTriggers>>of(), defaultNamespace);
     }
 
+    public JsonDocumentTable getJsonDocumentTable(Transaction t,
+            JsonDocumentTable.JsonDocumentTrigger... triggers) {
+        return JsonDocumentTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
+    }
+
     public KeyValueTable getKeyValueTable(Transaction t,
             KeyValueTable.KeyValueTrigger... triggers) {
         return KeyValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
@@ -69,10 +74,16 @@ public final class StreamTestTableFactory {
         return ValueStreamValueTable.of(t, namespace, Triggers.getAllTriggers(t, sharedTriggers, triggers));
     }
 
-    public interface SharedTriggers extends KeyValueTable.KeyValueTrigger, ValueStreamHashAidxTable.ValueStreamHashAidxTrigger, ValueStreamIdxTable.ValueStreamIdxTrigger, ValueStreamMetadataTable.ValueStreamMetadataTrigger, ValueStreamValueTable.ValueStreamValueTrigger {
+    public interface SharedTriggers extends JsonDocumentTable.JsonDocumentTrigger, KeyValueTable.KeyValueTrigger, ValueStreamHashAidxTable.ValueStreamHashAidxTrigger, ValueStreamIdxTable.ValueStreamIdxTrigger, ValueStreamMetadataTable.ValueStreamMetadataTrigger, ValueStreamValueTable.ValueStreamValueTrigger {
     }
 
     public abstract static class NullSharedTriggers implements SharedTriggers {
+        @Override
+        public void putJsonDocument(
+                Multimap<JsonDocumentTable.JsonDocumentRow, ? extends JsonDocumentTable.JsonDocumentNamedColumnValue<?>> newRows) {
+            // do nothing
+        }
+
         @Override
         public void putKeyValue(
                 Multimap<KeyValueTable.KeyValueRow, ? extends KeyValueTable.KeyValueNamedColumnValue<?>> newRows) {
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.performance.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Lists;
+import com.google.common.primitives.UnsignedBytes;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.Document;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.JsonDocumentRow;
+import com.palantir.atlasdb.performance.schema.generated.JsonDocumentTable.JsonDocumentRowResult;
+
+public class JsonDocumentTableTest {
+    private static final JsonNode FIRST_DOCUMENT = JsonNodeFactory.instance.objectNode().put("id", 1);
+    private static final JsonNode SECOND_DOCUMENT = JsonNodeFactory.instance.objectNode().put("id", 2);
+
+    private static final RowResult<byte[]> FIRST_ROW = rowResult("first", FIRST_DOCUMENT);
+    private static final RowResult<byte[]> SECOND_ROW = rowResult("second", SECOND_DOCUMENT);
+    private static final RowResult<byte[]> EMPTY_ROW = RowResult.create(
+            JsonDocumentRow.of("empty").persistToBytes(),
+            ImmutableSortedMap.<byte[], byte[]>orderedBy(UnsignedBytes.lexicographicalComparator()).build());
+
+    private static final List<RowResult<byte[]>> ROWS = ImmutableList.of(FIRST_ROW, EMPTY_ROW, SECOND_ROW);
+
+    @Test
+    public void rowViewDecodesTheSameValuesAsRowResults() {
+        List<JsonDocumentRow> rowNames = Lists.newArrayList();
+        List<JsonNode> documents = Lists.newArrayList();
+        JsonDocumentTable.visitRowViews(ROWS, view -> {
+            rowNames.add(view.getRowName());
+            if (view.hasDocument()) {
+                documents.add(view.getDocument());
+            }
+        });
+
+        List<JsonDocumentRow> expectedRowNames = Lists.newArrayList();
+        List<JsonNode> expectedDocuments = Lists.newArrayList();
+        for (RowResult<byte[]> row : ROWS) {
+            JsonDocumentRowResult rowResult = JsonDocumentRowResult.of(row);
+            expectedRowNames.add(rowResult.getRowName());
+            if (rowResult.hasDocument()) {
+                expectedDocuments.add(rowResult.getDocument());
+            }
+        }
+
+        assertThat(rowNames).containsExactlyElementsOf(expectedRowNames);
+        assertThat(documents).containsExactly(FIRST_DOCUMENT, SECOND_DOCUMENT).isEqualTo(expectedDocuments);
+    }
+
+    @Test
+    public void rowViewDoesNotRetainTheRowNameOfThePreviousRow() {
+        List<byte[]> rawRowNames = Lists.newArrayList();
+        JsonDocumentTable.visitRowViews(ROWS, view -> {
+            view.getRowName();
+            rawRowNames.add(view.getRawRowName());
+            assertThat(view.getRowName().persistToBytes()).isEqualTo(view.getRawRowName());
+        });
+        assertThat(rawRowNames).containsExactly(
+                FIRST_ROW.getRowName(), EMPTY_ROW.getRowName(), SECOND_ROW.getRowName());
+    }
+
+    @Test
+    public void bulkDecodeSkipsRowsWithoutTheColumnAndPreservesOrder() {
+        Map<JsonDocumentRow, JsonNode> documents = JsonDocumentTable.decodeDocuments(ROWS);
+        assertThat(documents.keySet())
+                .containsExactly(JsonDocumentRow.of("first"), JsonDocumentRow.of("second"));
+        assertThat(documents.values()).containsExactly(FIRST_DOCUMENT, SECOND_DOCUMENT);
+    }
+
+    private static RowResult<byte[]> rowResult(String key, JsonNode document) {
+        Document value = Document.of(document);
+        SortedMap<byte[], byte[]> columns = ImmutableSortedMap.<byte[], byte[]>orderedBy(
+                UnsignedBytes.lexicographicalComparator())
+                .put(value.persistColumnName(), value.persistValue())
+                .build();
+        return RowResult.create(JsonDocumentRow.of(key).persistToBytes(), columns);
+    }
+}
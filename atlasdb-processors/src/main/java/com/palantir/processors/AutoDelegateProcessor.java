@@ -16,7 +16,6 @@
 package com.palantir.processors;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -48,7 +47,6 @@ import javax.tools.Diagnostic;
 import com.google.auto.service.AutoService;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.MapMaker;
-import com.google.common.collect.Sets;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
@@ -169,31 +167,10 @@ public final class AutoDelegateProcessor extends AbstractProcessor {
             throw new ProcessingException(annotatedElement, "Trying to extend final type %s", annotatedElement);
         }
 
-        List<TypeElement> superTypes = fetchSuperinterfaces(annotatedElement);
+        List<TypeElement> superTypes = ProcessorUtils.fetchSuperinterfaces(typeUtils, annotatedElement);
         return new TypeToExtend(typePackage, annotatedElement, superTypes.toArray(new TypeElement[0]));
     }
 
-    private List<TypeElement> fetchSuperinterfaces(TypeElement baseInterface) {
-        List<TypeMirror> interfacesQueue = new ArrayList<>(baseInterface.getInterfaces());
-        Set<TypeMirror> interfacesSet = Sets.newHashSet(interfacesQueue);
-        List<TypeElement> superinterfaceElements = new ArrayList<>();
-
-        for (int i = 0; i < interfacesQueue.size(); i++) {
-            TypeMirror superinterfaceMirror = interfacesQueue.get(i);
-            TypeElement superinterfaceType = ProcessorUtils.extractType(typeUtils, superinterfaceMirror);
-            superinterfaceElements.add(superinterfaceType);
-
-            List<TypeMirror> newInterfaces = superinterfaceType.getInterfaces()
-                    .stream()
-                    .filter(newInterface -> !interfacesSet.contains(newInterface))
-                    .collect(Collectors.toList());
-            interfacesSet.addAll(newInterfaces);
-            interfacesQueue.addAll(newInterfaces);
-        }
-
-        return superinterfaceElements;
-    }
-
     private void generateCode(TypeToExtend typeToExtend) throws IOException {
         String newTypeName = PREFIX + typeToExtend.getSimpleName();
         TypeSpec.Builder typeBuilder = TypeSpec.interfaceBuilder(newTypeName);
@@ -0,0 +1,36 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.processors;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@code AutoTimed_<InterfaceName>}, a statically typed decorator for the single interface extended by the
+ * annotated interface. Methods annotated with {@code com.palantir.atlasdb.metrics.Timed} record their latency on a
+ * Dropwizard timer named {@code <serviceName>.<methodName>} and mark {@code <serviceName>.<methodName>.failures}
+ * meters on failure; all other methods are forwarded to the delegate as is.
+ *
+ * This produces the same metrics as instrumenting the interface with a timed-only dynamic proxy, without reflective
+ * dispatch or argument boxing on every call. The annotated interface must not declare any methods itself, and the
+ * module it lives in must have Dropwizard metrics on its classpath.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface AutoTimed {
+}
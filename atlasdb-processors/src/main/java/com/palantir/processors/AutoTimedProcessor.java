@@ -0,0 +1,352 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.processors;
+
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.FilerException;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.Processor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+import com.google.auto.service.AutoService;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.MapMaker;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+@AutoService(Processor.class)
+public final class AutoTimedProcessor extends AbstractProcessor {
+    // See AutoDelegateProcessor for why we keep track of the processing environments this processor is registered in.
+    private static final ConcurrentMap<ProcessingEnvironment, Processor> registeredProcessors =
+            new MapMaker().weakKeys().weakValues().concurrencyLevel(1).initialCapacity(1).makeMap();
+    private static final String PREFIX = "AutoTimed_";
+    private static final String TIMED_ANNOTATION = "com.palantir.atlasdb.metrics.Timed";
+
+    private static final ClassName METRIC_REGISTRY = ClassName.get("com.codahale.metrics", "MetricRegistry");
+    private static final ClassName TIMER = ClassName.get("com.codahale.metrics", "Timer");
+    // Creates timers with the same reservoir as the timed Tritium proxy, so the metrics are interchangeable.
+    private static final ClassName INSTRUMENTATION_UTILS =
+            ClassName.get("com.palantir.atlasdb.util", "InstrumentationUtils");
+    private static final String CREATE_NEW_TIMER = "createNewTimer";
+    private static final String FAILURES = "failures";
+
+    private static final String DELEGATE = "delegate";
+    private static final String METRIC_REGISTRY_FIELD = "metricRegistry";
+    private static final String SERVICE_NAME = "serviceName";
+    private static final String MARK_FAILURE = "markFailure";
+    private static final String START_NANOS = "autoTimedStartNanos";
+    private static final String RESULT = "autoTimedResult";
+    private static final String FAILURE = "autoTimedFailure";
+    private static final String TIMER_VARIABLE = "timer";
+
+    private Types typeUtils;
+    private Elements elementUtils;
+    private Filer filer;
+    private Messager messager;
+    private AtomicBoolean abortProcessing = new AtomicBoolean(false);
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+
+        typeUtils = processingEnv.getTypeUtils();
+        elementUtils = processingEnv.getElementUtils();
+        filer = processingEnv.getFiler();
+        messager = processingEnv.getMessager();
+
+        if (registeredProcessors.putIfAbsent(processingEnv, this) != null) {
+            messager.printMessage(
+                    Diagnostic.Kind.NOTE, "AutoTimed processor registered twice; disabling duplicate instance");
+            abortProcessing.set(true);
+        }
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return ImmutableSet.of(AutoTimed.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.RELEASE_8;
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (abortProcessing.get()) {
+            // Another instance of AutoTimedProcessor is running in the current processing environment.
+            return false;
+        }
+
+        for (Element annotatedElement : roundEnv.getElementsAnnotatedWith(AutoTimed.class)) {
+            try {
+                TypeElement typeElement = validateAnnotatedElement(annotatedElement);
+                TypeMirror delegateType = typeElement.getInterfaces().get(0);
+                generateCode(createTypeToExtend(typeElement), delegateType);
+            } catch (FilerException e) {
+                // Happens when same file is written twice.
+                warn(annotatedElement, e.getMessage());
+            } catch (ProcessingException e) {
+                error(e.getElement(), e.getMessage());
+            } catch (IOException | RuntimeException e) {
+                error(annotatedElement, e.getMessage());
+            }
+        }
+
+        return false;
+    }
+
+    private static TypeElement validateAnnotatedElement(Element annotatedElement) throws ProcessingException {
+        if (annotatedElement.getKind() != ElementKind.INTERFACE) {
+            throw new ProcessingException(annotatedElement, "Only interfaces can be annotated with @%s",
+                    AutoTimed.class.getSimpleName());
+        }
+
+        TypeElement typeElement = (TypeElement) annotatedElement;
+        if (typeElement.getInterfaces().size() != 1) {
+            throw new ProcessingException(annotatedElement, "Interfaces annotated with @%s must extend exactly one "
+                    + "interface, which is the type of the delegate", AutoTimed.class.getSimpleName());
+        }
+
+        boolean declaresMethods = typeElement.getEnclosedElements()
+                .stream()
+                .anyMatch(element -> element.getKind() == ElementKind.METHOD);
+        if (declaresMethods) {
+            throw new ProcessingException(annotatedElement, "Interfaces annotated with @%s must not declare methods",
+                    AutoTimed.class.getSimpleName());
+        }
+
+        return typeElement;
+    }
+
+    private TypeToExtend createTypeToExtend(TypeElement annotatedElement) throws ProcessingException {
+        PackageElement typePackage = elementUtils.getPackageOf(annotatedElement);
+
+        if (typePackage.isUnnamed()) {
+            throw new ProcessingException(annotatedElement, "Type %s doesn't have a package", annotatedElement);
+        }
+
+        List<TypeElement> superTypes = ProcessorUtils.fetchSuperinterfaces(typeUtils, annotatedElement);
+        for (TypeElement superType : superTypes) {
+            if (!superType.getTypeParameters().isEmpty()) {
+                throw new ProcessingException(annotatedElement, "Generic interfaces such as %s are not supported by "
+                        + "@%s", superType, AutoTimed.class.getSimpleName());
+            }
+        }
+        if (!annotatedElement.getTypeParameters().isEmpty()) {
+            throw new ProcessingException(annotatedElement, "Generic interfaces are not supported by @%s",
+                    AutoTimed.class.getSimpleName());
+        }
+
+        return new TypeToExtend(typePackage, annotatedElement, superTypes.toArray(new TypeElement[0]));
+    }
+
+    private void generateCode(TypeToExtend typeToExtend, TypeMirror delegateType) throws IOException {
+        String newTypeName = PREFIX + typeToExtend.getSimpleName();
+        TypeSpec.Builder typeBuilder = TypeSpec.classBuilder(newTypeName)
+                .addModifiers(Modifier.FINAL)
+                .addSuperinterface(TypeName.get(typeToExtend.getType()));
+        if (typeToExtend.isPublic()) {
+            typeBuilder.addModifiers(Modifier.PUBLIC);
+        }
+
+        List<ExecutableElement> methods = typeToExtend.getMethods()
+                .stream()
+                .sorted(Comparator.comparing(ExecutableElement::toString))
+                .collect(Collectors.toList());
+        SortedSet<String> timedMethodNames = methods.stream()
+                .filter(AutoTimedProcessor::isTimed)
+                .map(method -> method.getSimpleName().toString())
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        // Fields
+        typeBuilder.addField(TypeName.get(delegateType), DELEGATE, Modifier.PRIVATE, Modifier.FINAL);
+        typeBuilder.addField(METRIC_REGISTRY, METRIC_REGISTRY_FIELD, Modifier.PRIVATE, Modifier.FINAL);
+        typeBuilder.addField(String.class, SERVICE_NAME, Modifier.PRIVATE, Modifier.FINAL);
+        for (String methodName : timedMethodNames) {
+            typeBuilder.addField(FieldSpec.builder(TIMER, timerField(methodName), Modifier.PRIVATE, Modifier.VOLATILE)
+                    .build());
+        }
+
+        // Constructor
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(METRIC_REGISTRY, METRIC_REGISTRY_FIELD)
+                .addParameter(String.class, SERVICE_NAME)
+                .addParameter(TypeName.get(delegateType), DELEGATE)
+                .addStatement("this.$L = $L", DELEGATE, DELEGATE)
+                .addStatement("this.$L = $L", METRIC_REGISTRY_FIELD, METRIC_REGISTRY_FIELD)
+                .addStatement("this.$L = $L", SERVICE_NAME, SERVICE_NAME);
+        typeBuilder.addMethod(constructor.build());
+
+        // Methods
+        for (ExecutableElement methodElement : methods) {
+            typeBuilder.addMethod(isTimed(methodElement)
+                    ? timedMethod(methodElement)
+                    : delegatingMethod(methodElement));
+        }
+
+        // Helpers
+        for (String methodName : timedMethodNames) {
+            typeBuilder.addMethod(timerGetter(methodName));
+        }
+        typeBuilder.addMethod(MethodSpec.methodBuilder(MARK_FAILURE)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(String.class, "methodName")
+                .addParameter(Throwable.class, "cause")
+                .addStatement("String failuresMetricName = $T.name($L, methodName, $S)",
+                        METRIC_REGISTRY, SERVICE_NAME, FAILURES)
+                .addStatement("$L.meter(failuresMetricName).mark()", METRIC_REGISTRY_FIELD)
+                .addStatement("$L.meter($T.name(failuresMetricName, cause.getClass().getName())).mark()",
+                        METRIC_REGISTRY_FIELD, METRIC_REGISTRY)
+                .addStatement("$L.meter($S).mark()", METRIC_REGISTRY_FIELD, FAILURES)
+                .build());
+
+        JavaFile
+                .builder(typeToExtend.getPackageName(), typeBuilder.build())
+                .build()
+                .writeTo(filer);
+    }
+
+    private static MethodSpec delegatingMethod(ExecutableElement methodElement) {
+        String returnStatement = isVoid(methodElement) ? "" : "return ";
+        return MethodSpec.overriding(methodElement)
+                .addStatement("$Lthis.$L.$L($L)", returnStatement, DELEGATE, methodElement.getSimpleName(),
+                        arguments(methodElement))
+                .build();
+    }
+
+    private static MethodSpec timedMethod(ExecutableElement methodElement) {
+        String methodName = methodElement.getSimpleName().toString();
+        CodeBlock call = CodeBlock.of("this.$L.$L($L)", DELEGATE, methodName, arguments(methodElement));
+
+        MethodSpec.Builder method = MethodSpec.overriding(methodElement)
+                .addStatement("long $L = $T.nanoTime()", START_NANOS, System.class);
+        if (!isVoid(methodElement)) {
+            method.addStatement("$T $L", TypeName.get(methodElement.getReturnType()), RESULT);
+        }
+        method.beginControlFlow("try");
+        if (isVoid(methodElement)) {
+            method.addStatement("$L", call);
+        } else {
+            method.addStatement("$L = $L", RESULT, call);
+        }
+        method.nextControlFlow("catch ($T $L)", Throwable.class, FAILURE)
+                .addStatement("$L($S, $L)", MARK_FAILURE, methodName, FAILURE)
+                .addStatement("throw $L", FAILURE)
+                .endControlFlow()
+                .addStatement("$L().update($T.nanoTime() - $L, $T.NANOSECONDS)",
+                        timerGetterName(methodName), System.class, START_NANOS, TimeUnit.class);
+        if (!isVoid(methodElement)) {
+            method.addStatement("return $L", RESULT);
+        }
+        return method.build();
+    }
+
+    /**
+     * Timers are registered on first use, so that methods that are never called do not publish empty timers. Racing
+     * first calls are harmless, as the metric registry returns the same timer for the same name.
+     */
+    private static MethodSpec timerGetter(String methodName) {
+        return MethodSpec.methodBuilder(timerGetterName(methodName))
+                .addModifiers(Modifier.PRIVATE)
+                .returns(TIMER)
+                .addStatement("$T $L = this.$L", TIMER, TIMER_VARIABLE, timerField(methodName))
+                .beginControlFlow("if ($L == null)", TIMER_VARIABLE)
+                .addStatement("$L = $L.timer($T.name($L, $S), $T::$L)",
+                        TIMER_VARIABLE, METRIC_REGISTRY_FIELD, METRIC_REGISTRY, SERVICE_NAME, methodName,
+                        INSTRUMENTATION_UTILS, CREATE_NEW_TIMER)
+                .addStatement("this.$L = $L", timerField(methodName), TIMER_VARIABLE)
+                .endControlFlow()
+                .addStatement("return $L", TIMER_VARIABLE)
+                .build();
+    }
+
+    private static boolean isTimed(ExecutableElement methodElement) {
+        return methodElement.getAnnotationMirrors()
+                .stream()
+                .anyMatch(annotation -> annotation.getAnnotationType().toString().equals(TIMED_ANNOTATION));
+    }
+
+    private static boolean isVoid(ExecutableElement methodElement) {
+        return methodElement.getReturnType().getKind() == TypeKind.VOID;
+    }
+
+    private static String arguments(ExecutableElement methodElement) {
+        return methodElement.getParameters()
+                .stream()
+                .map(parameter -> parameter.getSimpleName().toString())
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String timerField(String methodName) {
+        return methodName + "Timer";
+    }
+
+    private static String timerGetterName(String methodName) {
+        return "get" + Character.toUpperCase(methodName.charAt(0)) + methodName.substring(1) + "Timer";
+    }
+
+    /**
+     * Prints a warn message.
+     *
+     * @param element The element which has caused the error. Can be null
+     * @param msg The error message
+     */
+    private void warn(Element element, String msg) {
+        messager.printMessage(Diagnostic.Kind.WARNING, msg, element);
+    }
+
+    /**
+     * Prints an error message.
+     *
+     * @param element The element which has caused the error. Can be null
+     * @param msg The error message
+     */
+    private void error(Element element, String msg) {
+        messager.printMessage(Diagnostic.Kind.ERROR, msg, element);
+    }
+}
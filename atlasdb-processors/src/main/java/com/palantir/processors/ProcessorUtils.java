@@ -15,7 +15,9 @@
  */
 package com.palantir.processors;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.lang.model.element.ExecutableElement;
@@ -25,6 +27,7 @@ import javax.lang.model.type.MirroredTypeException;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Types;
 
+import com.google.common.collect.Sets;
 import com.squareup.javapoet.ParameterSpec;
 
 final class ProcessorUtils {
@@ -46,4 +49,25 @@ final class ProcessorUtils {
                 .map(ParameterSpec::get)
                 .collect(Collectors.toList());
     }
+
+    static List<TypeElement> fetchSuperinterfaces(Types typeUtils, TypeElement baseInterface) {
+        List<TypeMirror> interfacesQueue = new ArrayList<>(baseInterface.getInterfaces());
+        Set<TypeMirror> interfacesSet = Sets.newHashSet(interfacesQueue);
+        List<TypeElement> superinterfaceElements = new ArrayList<>();
+
+        for (int i = 0; i < interfacesQueue.size(); i++) {
+            TypeMirror superinterfaceMirror = interfacesQueue.get(i);
+            TypeElement superinterfaceType = extractType(typeUtils, superinterfaceMirror);
+            superinterfaceElements.add(superinterfaceType);
+
+            List<TypeMirror> newInterfaces = superinterfaceType.getInterfaces()
+                    .stream()
+                    .filter(newInterface -> !interfacesSet.contains(newInterface))
+                    .collect(Collectors.toList());
+            interfacesSet.addAll(newInterfaces);
+            interfacesQueue.addAll(newInterfaces);
+        }
+
+        return superinterfaceElements;
+    }
 }
@@ -24,6 +24,7 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
 
 import com.palantir.atlasdb.table.description.TableMetadata;
 import com.palantir.common.annotation.Idempotent;
@@ -78,6 +79,18 @@ public interface AtlasDbService {
     RangeToken getRange(@PathParam("token") TransactionToken token,
                         TableRange rangeRequest);
 
+    /**
+     * Returns the whole of the given range in the format of {@link TableRowResult}, writing rows as they are read
+     * rather than in batches of range tokens. Rows are read {@code batch_size} rows at a time.
+     */
+    @Idempotent
+    @POST
+    @Path("range-stream/{token}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Consumes(MediaType.APPLICATION_JSON)
+    StreamingOutput getRangeStream(@PathParam("token") TransactionToken token,
+                                   TableRange rangeRequest);
+
     @Idempotent
     @POST
     @Path("put/{token}")
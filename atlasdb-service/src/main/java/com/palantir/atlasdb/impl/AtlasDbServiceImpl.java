@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.impl;
 
+import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -38,6 +40,7 @@ import com.palantir.atlasdb.api.TableRange;
 import com.palantir.atlasdb.api.TableRowResult;
 import com.palantir.atlasdb.api.TableRowSelection;
 import com.palantir.atlasdb.api.TransactionToken;
+import com.palantir.atlasdb.jackson.TableRowResultStreamWriter;
 import com.palantir.atlasdb.keyvalue.api.Cell;
 import com.palantir.atlasdb.keyvalue.api.KeyValueService;
 import com.palantir.atlasdb.keyvalue.api.RangeRequest;
@@ -51,6 +54,7 @@ import com.palantir.atlasdb.transaction.api.OpenTransaction;
 import com.palantir.atlasdb.transaction.api.RuntimeTransactionTask;
 import com.palantir.atlasdb.transaction.api.Transaction;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
+import com.palantir.atlasdb.transaction.api.TransactionTask;
 import com.palantir.atlasdb.transaction.impl.PreCommitConditions;
 import com.palantir.atlasdb.transaction.impl.TxTask;
 import com.palantir.common.base.BatchingVisitable;
@@ -70,6 +74,7 @@ public class AtlasDbServiceImpl implements AtlasDbService {
     private final Cache<TransactionToken, OpenTransaction> transactions =
             CacheBuilder.newBuilder().expireAfterAccess(12, TimeUnit.HOURS).build();
     private final TableMetadataCache metadataCache;
+    private final TableRowResultStreamWriter streamWriter;
 
     @Inject
     public AtlasDbServiceImpl(KeyValueService kvs,
@@ -78,6 +83,7 @@ public class AtlasDbServiceImpl implements AtlasDbService {
         this.kvs = kvs;
         this.txManager = txManager;
         this.metadataCache = metadataCache;
+        this.streamWriter = new TableRowResultStreamWriter(metadataCache);
     }
 
     @Override
@@ -120,12 +126,7 @@ public class AtlasDbServiceImpl implements AtlasDbService {
             final TableRange range) {
         return runReadOnly(token, transaction -> {
             int limit = range.getBatchSize() + 1;
-            RangeRequest request = RangeRequest.builder()
-                    .startRowInclusive(range.getStartRow())
-                    .endRowExclusive(range.getEndRow())
-                    .batchHint(limit)
-                    .retainColumns(range.getColumns())
-                    .build();
+            RangeRequest request = toRangeRequest(range, limit);
             BatchingVisitable<RowResult<byte[]>> visitable = transaction.getRange(getTableRef(range.getTableName()),
                     request);
             List<RowResult<byte[]>> results = BatchingVisitables.limit(visitable, limit).immutableCopy();
@@ -141,6 +142,27 @@ public class AtlasDbServiceImpl implements AtlasDbService {
         });
     }
 
+    @Override
+    public StreamingOutput getRangeStream(TransactionToken token,
+            final TableRange range) {
+        return output -> runStreamingRead(token, transaction -> {
+            RangeRequest request = toRangeRequest(range, range.getBatchSize());
+            BatchingVisitable<RowResult<byte[]>> visitable = transaction.getRange(getTableRef(range.getTableName()),
+                    request);
+            streamWriter.write(range.getTableName(), visitable, range.getBatchSize(), output);
+            return null;
+        });
+    }
+
+    private static RangeRequest toRangeRequest(TableRange range, int batchHint) {
+        return RangeRequest.builder()
+                .startRowInclusive(range.getStartRow())
+                .endRowExclusive(range.getEndRow())
+                .batchHint(batchHint)
+                .retainColumns(range.getColumns())
+                .build();
+    }
+
     @Override
     public void put(TransactionToken token,
             final TableCellVal data) {
@@ -174,6 +196,18 @@ public class AtlasDbServiceImpl implements AtlasDbService {
         }
     }
 
+    // Rows may already have been written by the time a read fails, so streaming reads must not be retried.
+    private void runStreamingRead(TransactionToken token, TransactionTask<Void, IOException> task)
+            throws IOException {
+        if (token.shouldAutoCommit()) {
+            txManager.runTaskReadOnly(task);
+        } else {
+            Transaction tx = transactions.getIfPresent(token);
+            Preconditions.checkNotNull(tx, "The given transaction does not exist.");
+            task.execute(tx);
+        }
+    }
+
     private <T> T runWithRetry(TransactionToken token, RuntimeTransactionTask<T> task) {
         if (token.shouldAutoCommit()) {
             return txManager.runTaskWithRetry(task);
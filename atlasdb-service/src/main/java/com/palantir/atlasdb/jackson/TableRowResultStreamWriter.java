@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.jackson;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.google.common.base.Preconditions;
+import com.palantir.atlasdb.impl.TableMetadataCache;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.common.base.AbortingVisitor;
+import com.palantir.common.base.BatchingVisitable;
+
+/**
+ * Writes rows in the same format as {@link TableRowResultSerializer}, but as they are read rather than after the
+ * whole result has been collected. The output is flushed after every page, so a slow reader holds up reading of
+ * further pages instead of letting them accumulate in memory.
+ */
+public class TableRowResultStreamWriter {
+    private final TableMetadataCache metadataCache;
+    private final JsonFactory jsonFactory;
+
+    public TableRowResultStreamWriter(TableMetadataCache metadataCache) {
+        this(metadataCache, new JsonFactory());
+    }
+
+    public TableRowResultStreamWriter(TableMetadataCache metadataCache, JsonFactory jsonFactory) {
+        this.metadataCache = metadataCache;
+        this.jsonFactory = jsonFactory;
+    }
+
+    public void write(String tableName,
+                      BatchingVisitable<RowResult<byte[]>> rows,
+                      int pageSize,
+                      OutputStream output) throws IOException {
+        TableMetadata metadata = metadataCache.getMetadata(tableName);
+        Preconditions.checkNotNull(metadata, "Unknown table %s", tableName);
+        JsonGenerator jgen = jsonFactory.createGenerator(output);
+        // If reading fails part way through, leave the output truncated rather than closing it into valid JSON.
+        jgen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        try {
+            jgen.writeStartObject();
+            jgen.writeStringField("table", tableName);
+            jgen.writeArrayFieldStart("data");
+            AbortingVisitor<List<RowResult<byte[]>>, IOException> writePage = page -> {
+                for (RowResult<byte[]> row : page) {
+                    TableRowResultSerializer.serializeRowResult(jgen, metadata, row);
+                }
+                jgen.flush();
+                return true;
+            };
+            rows.batchAccept(pageSize, writePage);
+            jgen.writeEndArray();
+            jgen.writeEndObject();
+        } finally {
+            jgen.close();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.palantir.atlasdb.api.TableRowResult;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.impl.TableMetadataCache;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.RowResult;
+import com.palantir.atlasdb.protos.generated.TableMetadataPersistence;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.table.description.ValueType;
+import com.palantir.atlasdb.transaction.api.ConflictHandler;
+import com.palantir.common.base.AbortingVisitor;
+import com.palantir.common.base.BatchingVisitable;
+import com.palantir.common.base.BatchingVisitableFromIterable;
+
+public class TableRowResultStreamWriterTest {
+    private static final String TABLE = "ns.table";
+    private static final TableMetadata METADATA = TableMetadata.builder()
+            .singleRowComponent("row", ValueType.STRING)
+            .singleDynamicColumn("col", ValueType.STRING, ValueType.STRING)
+            .conflictHandler(ConflictHandler.SERIALIZABLE)
+            .nameLogSafety(TableMetadataPersistence.LogSafety.SAFE)
+            .build();
+    private static final List<RowResult<byte[]>> ROWS = ImmutableList.of(
+            RowResult.of(Cell.create(PtBytes.toBytes("row1"), PtBytes.toBytes("col1")), PtBytes.toBytes("val1")),
+            RowResult.of(Cell.create(PtBytes.toBytes("row2"), PtBytes.toBytes("col2")), PtBytes.toBytes("val2")),
+            RowResult.of(Cell.create(PtBytes.toBytes("row3"), PtBytes.toBytes("col3")), PtBytes.toBytes("val3")));
+
+    private final TableMetadataCache metadataCache = mock(TableMetadataCache.class);
+    private final TableRowResultStreamWriter writer = new TableRowResultStreamWriter(metadataCache);
+
+    @Test
+    public void writesSameJsonAsTableRowResultSerializer() throws IOException {
+        when(metadataCache.getMetadata(TABLE)).thenReturn(METADATA);
+        ObjectMapper mapper = new ObjectMapper().registerModule(new AtlasJacksonModule(metadataCache).createModule());
+        String expected = mapper.writeValueAsString(new TableRowResult(TABLE, ROWS));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        writer.write(TABLE, BatchingVisitableFromIterable.create(ROWS), 2, output);
+
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    @Test
+    public void leavesOutputTruncatedIfReadingFails() {
+        when(metadataCache.getMetadata(TABLE)).thenReturn(METADATA);
+        BatchingVisitable<RowResult<byte[]>> failingRows = new BatchingVisitable<RowResult<byte[]>>() {
+            @Override
+            public <K extends Exception> boolean batchAccept(int batchSize,
+                    AbortingVisitor<? super List<RowResult<byte[]>>, K> visitor) throws K {
+                visitor.visit(ROWS.subList(0, 1));
+                throw new IllegalStateException("read failed");
+            }
+        };
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> writer.write(TABLE, failingRows, 1, output))
+                .isInstanceOf(IllegalStateException.class);
+
+        String written = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        assertThat(written).contains("\"data\":[{").doesNotEndWith("]}");
+    }
+}
@@ -16,6 +16,7 @@
 package com.palantir.atlasdb.transaction.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
@@ -29,6 +30,10 @@ import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -103,6 +108,12 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
 
     @Override
     protected Transaction startTransaction() {
+        return startTransaction(
+                AbstractTransactionTest.GET_RANGES_EXECUTOR,
+                AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY);
+    }
+
+    private Transaction startTransaction(ExecutorService getRangesExecutor, int getRangesConcurrency) {
         ImmutableMap<TableReference, ConflictHandler> tablesToWriteWrite = ImmutableMap.of(
                 TEST_TABLE,
                 ConflictHandler.SERIALIZABLE,
@@ -126,8 +137,8 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
                 TransactionReadSentinelBehavior.THROW_EXCEPTION,
                 true,
                 timestampCache,
-                AbstractTransactionTest.GET_RANGES_EXECUTOR,
-                AbstractTransactionTest.DEFAULT_GET_RANGES_CONCURRENCY,
+                getRangesExecutor,
+                getRangesConcurrency,
                 getSweepQueueWriterInitialized(),
                 MoreExecutors.newDirectExecutorService(),
                 true,
@@ -438,6 +449,89 @@ public abstract class AbstractSerializableTransactionTest extends AbstractTransa
         }
     }
 
+    @Test
+    public void testConflictInLaterRangeDetectedWhenVerifyingRangesConcurrently() {
+        AtomicInteger verificationTasks = new AtomicInteger();
+        ExecutorService executor = countingExecutor(verificationTasks);
+        try {
+            Transaction t1 = startTransactionReadingDisjointRanges(executor, 4);
+
+            Transaction t2 = startTransaction();
+            put(t2, "row7a", "col1", "100");
+            t2.commit();
+
+            assertThatThrownBy(t1::commit).isInstanceOf(TransactionSerializableConflictException.class);
+            assertThat(verificationTasks.get()).isPositive();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testNoConflictWhenVerifyingRangesConcurrently() {
+        AtomicInteger verificationTasks = new AtomicInteger();
+        ExecutorService executor = countingExecutor(verificationTasks);
+        try {
+            Transaction t1 = startTransactionReadingDisjointRanges(executor, 4);
+
+            Transaction t2 = startTransaction();
+            put(t2, "row9", "col1", "100");
+            t2.commit();
+
+            t1.commit();
+            assertThat(verificationTasks.get()).isPositive();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRangesVerifiedSeriallyWithoutConcurrency() {
+        AtomicInteger verificationTasks = new AtomicInteger();
+        ExecutorService executor = countingExecutor(verificationTasks);
+        try {
+            Transaction t1 = startTransactionReadingDisjointRanges(executor, 1);
+
+            Transaction t2 = startTransaction();
+            put(t2, "row7a", "col1", "100");
+            t2.commit();
+
+            assertThatThrownBy(t1::commit).isInstanceOf(TransactionSerializableConflictException.class);
+            assertThat(verificationTasks.get()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Transaction startTransactionReadingDisjointRanges(ExecutorService getRangesExecutor, int concurrency) {
+        Transaction t0 = startTransaction();
+        for (int i = 0; i < 8; i++) {
+            put(t0, "row" + i, "col1", "100");
+        }
+        t0.commit();
+
+        Transaction t1 = startTransaction(getRangesExecutor, concurrency);
+        for (int i = 0; i < 8; i++) {
+            RangeRequest range = RangeRequest.builder()
+                    .startRowInclusive(PtBytes.toBytes("row" + i))
+                    .endRowExclusive(PtBytes.toBytes("row" + (i + 1)))
+                    .build();
+            BatchingVisitables.copyToList(t1.getRange(TEST_TABLE, range));
+        }
+        put(t1, "other", "col1", "100");
+        return t1;
+    }
+
+    private static ExecutorService countingExecutor(AtomicInteger submittedTasks) {
+        return new ThreadPoolExecutor(4, 4, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                submittedTasks.incrementAndGet();
+                super.execute(command);
+            }
+        };
+    }
+
     @Test
     public void testPhantomReadFail2() {
         String initialValue = "100";
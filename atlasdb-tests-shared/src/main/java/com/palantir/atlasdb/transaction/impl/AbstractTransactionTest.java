@@ -25,8 +25,10 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -131,6 +133,16 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
             Executors.newFixedThreadPool(GET_RANGES_THREAD_POOL_SIZE);
 
     protected Transaction startTransaction() {
+        return startTransaction(ConflictDetectionManagers.create(keyValueService));
+    }
+
+    protected SnapshotTransaction startTransaction(ConflictHandler testTableConflictHandler) {
+        return startTransaction(TestConflictDetectionManagers.createWithStaticConflictDetection(ImmutableMap.of(
+                TEST_TABLE, testTableConflictHandler,
+                TransactionConstants.TRANSACTION_TABLE, ConflictHandler.IGNORE_ALL)));
+    }
+
+    private SnapshotTransaction startTransaction(ConflictDetectionManager conflictDetectionManager) {
         long startTimestamp = timestampService.getFreshTimestamp();
         return new SnapshotTransaction(metricsManager,
                 keyValueService,
@@ -139,7 +151,7 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
                 transactionService,
                 NoOpCleaner.INSTANCE,
                 () -> startTimestamp,
-                ConflictDetectionManagers.create(keyValueService),
+                conflictDetectionManager,
                 SweepStrategyManagers.createDefault(keyValueService),
                 startTimestamp,
                 Optional.empty(),
@@ -1277,6 +1289,129 @@ public abstract class AbstractTransactionTest extends TransactionTestSetup {
         }
     }
 
+    @Test
+    public void testWriteWriteConflictWithStripedLocks() {
+        Transaction t1 = startTransaction(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+        Transaction t2 = startTransaction(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+
+        put(t1, "row1", "col1", "v1");
+        put(t2, "row1", "col1", "v2");
+
+        t1.commit();
+        assertThatThrownBy(t2::commit).isInstanceOf(TransactionConflictException.class);
+    }
+
+    @Test
+    public void testNoWriteWriteConflictOnDifferentCellsWithStripedLocks() {
+        Transaction t1 = startTransaction(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+        Transaction t2 = startTransaction(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+
+        put(t1, "row1", "col1", "v1");
+        put(t2, "row1", "col2", "v2");
+
+        t1.commit();
+        t2.commit();
+
+        Transaction t3 = startTransaction();
+        assertEquals("v1", get(t3, "row1", "col1"));
+        assertEquals("v2", get(t3, "row1", "col2"));
+    }
+
+    @Test
+    public void testStripedLocksBoundNumberOfCommitLocks() {
+        SnapshotTransaction t = startTransaction(ConflictHandler.RETRY_ON_WRITE_WRITE_STRIPED);
+        int numCells = 10 * SnapshotTransaction.LOCK_STRIPES_PER_TABLE;
+        for (int i = 0; i < numCells; i++) {
+            put(t, "row" + i, "col", "v" + i);
+        }
+
+        // one extra lock for the transaction's own row in the transactions table
+        assertThat(t.getLocksForWrites()).hasSizeLessThanOrEqualTo(SnapshotTransaction.LOCK_STRIPES_PER_TABLE + 1);
+        t.commit();
+
+        Transaction readTransaction = startTransaction();
+        assertEquals("v0", get(readTransaction, "row0", "col"));
+        assertEquals("v" + (numCells - 1), get(readTransaction, "row" + (numCells - 1), "col"));
+    }
+
+    @Test
+    public void getRangeParallelReturnsSameRowsAsGetRange() {
+        putRowsSpreadAcrossRowSpace(100);
+        assertGetRangeParallelReturnsSameRowsAsGetRange(RangeRequest.all(), true);
+    }
+
+    @Test
+    public void getRangeParallelOnBoundedRangeReturnsSameRowsAsGetRange() {
+        List<byte[]> rows = putRowsSpreadAcrossRowSpace(100);
+        rows.sort(UnsignedBytes.lexicographicalComparator());
+        RangeRequest range = RangeRequest.builder()
+                .startRowInclusive(rows.get(10))
+                .endRowExclusive(rows.get(90))
+                .build();
+        assertGetRangeParallelReturnsSameRowsAsGetRange(range, false);
+    }
+
+    @Test
+    public void getRangeParallelDoesNotSplitReverseRanges() {
+        putRowsSpreadAcrossRowSpace(20);
+        Transaction t = startTransaction();
+        RangeRequest range = RangeRequest.reverseBuilder().build();
+
+        List<Pair<RangeRequest, List<RowResult<byte[]>>>> results = t.getRangeParallel(TEST_TABLE, range, 4,
+                (subRange, visitable) -> Pair.create(subRange, BatchingVisitables.copyToList(visitable)))
+                .collect(Collectors.toList());
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getLhSide()).isEqualTo(range);
+        assertThat(rowNames(results.get(0).getRhSide()))
+                .containsExactlyElementsOf(rowNames(BatchingVisitables.copyToList(t.getRange(TEST_TABLE, range))));
+    }
+
+    private void assertGetRangeParallelReturnsSameRowsAsGetRange(RangeRequest range, boolean expectSplits) {
+        Transaction t = startTransaction();
+        List<Pair<RangeRequest, List<RowResult<byte[]>>>> results = t.getRangeParallel(TEST_TABLE, range, 4,
+                (subRange, visitable) -> Pair.create(subRange, BatchingVisitables.copyToList(visitable)))
+                .collect(Collectors.toList());
+        List<String> expectedRows = rowNames(BatchingVisitables.copyToList(t.getRange(TEST_TABLE, range)));
+
+        if (expectSplits) {
+            assertThat(results).hasSizeGreaterThan(1);
+        }
+        for (Pair<RangeRequest, List<RowResult<byte[]>>> result : results) {
+            List<String> subRangeRows = rowNames(result.getRhSide());
+            assertThat(subRangeRows).isSorted();
+            assertThat(subRangeRows).containsExactlyElementsOf(
+                    rowNames(BatchingVisitables.copyToList(t.getRange(TEST_TABLE, result.getLhSide()))));
+        }
+        assertThat(results.stream().flatMap(result -> rowNames(result.getRhSide()).stream()))
+                .containsExactlyInAnyOrderElementsOf(expectedRows);
+    }
+
+    /**
+     * Writes rows with random eight byte names, so that they are spread across the row space and fall into several
+     * of the sub-ranges that a full table scan is split into.
+     */
+    private List<byte[]> putRowsSpreadAcrossRowSpace(int numRows) {
+        Random random = new Random(0);
+        List<byte[]> rows = new ArrayList<>();
+        Map<Cell, byte[]> values = new HashMap<>();
+        for (int i = 0; i < numRows; i++) {
+            byte[] row = PtBytes.toBytes(random.nextLong());
+            rows.add(row);
+            values.put(Cell.create(row, PtBytes.toBytes("col")), PtBytes.toBytes("value" + i));
+        }
+        Transaction t = startTransaction();
+        t.put(TEST_TABLE, values);
+        t.commit();
+        return rows;
+    }
+
+    private static List<String> rowNames(List<RowResult<byte[]>> rowResults) {
+        return rowResults.stream()
+                .map(rowResult -> PtBytes.encodeHexString(rowResult.getRowName()))
+                .collect(Collectors.toList());
+    }
+
     @Test
     public void testGetRanges() {
         Transaction t = startTransaction();
@@ -0,0 +1,159 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.compress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.persister.JsonNodePersister;
+import com.palantir.atlasdb.table.description.ColumnValueDescription;
+import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
+import com.palantir.atlasdb.table.description.TableDefinition;
+import com.palantir.atlasdb.table.description.TableMetadata;
+import com.palantir.atlasdb.table.description.ValueType;
+
+public class CompressionDictionariesTest {
+    private static final List<byte[]> SAMPLES = IntStream.range(0, 100)
+            .mapToObj(i -> PtBytes.toBytes("{\"type\":\"com.palantir.example.SomeEvent\",\"status\":\"SUCCEEDED\","
+                    + "\"attempt\":" + i + "}"))
+            .collect(Collectors.toList());
+    private static final byte[] DICTIONARY = CompressionDictionaries.train(SAMPLES, 1024);
+
+    @Test
+    public void trainedDictionaryContainsCommonSegments() {
+        assertThat(DICTIONARY).isNotEmpty();
+        assertThat(DICTIONARY.length).isLessThanOrEqualTo(1024);
+        assertThat(PtBytes.toString(DICTIONARY)).contains("example");
+    }
+
+    @Test
+    public void compressAndDecompressWithDictionary() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        byte[] original = SAMPLES.get(7);
+
+        byte[] compressed = CompressionUtils.compress(original, Compression.DEFLATE_DICTIONARY, dictionaries);
+
+        assertThat(compressed.length).isLessThan(original.length / 2);
+        assertThat(CompressionUtils.decompress(compressed, Compression.DEFLATE_DICTIONARY, dictionaries))
+                .isEqualTo(original);
+    }
+
+    @Test
+    public void valuesCompressedWithOlderDictionariesRemainReadable() {
+        CompressionDictionaries oldDictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        CompressionDictionaries newDictionaries = CompressionDictionaries.of(
+                ImmutableList.of(DICTIONARY, PtBytes.toBytes("some other dictionary")));
+        byte[] original = SAMPLES.get(3);
+
+        byte[] compressed = oldDictionaries.compress(original);
+
+        assertThat(newDictionaries.decompress(compressed)).isEqualTo(original);
+    }
+
+    @Test
+    public void decompressingWithUnknownVersionThrows() {
+        CompressionDictionaries oldDictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        CompressionDictionaries newDictionaries = CompressionDictionaries.of(
+                ImmutableList.of(DICTIONARY, PtBytes.toBytes("some other dictionary")));
+
+        byte[] compressed = newDictionaries.compress(SAMPLES.get(0));
+
+        assertThatThrownBy(() -> oldDictionaries.decompress(compressed))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decompressingTruncatedValueThrows() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        byte[] compressed = dictionaries.compress(SAMPLES.get(0));
+        byte[] truncated = PtBytes.head(compressed, compressed.length / 2);
+
+        assertThatThrownBy(() -> dictionaries.decompress(truncated)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decompressesHighlyCompressibleValues() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        byte[] original = new byte[1024 * 1024];
+
+        assertThat(dictionaries.decompress(dictionaries.compress(original))).isEqualTo(original);
+    }
+
+    @Test
+    public void decompressingValueInflatingBeyondMaximumRatioThrows() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        byte[] compressed = dictionaries.compress(new byte[1024 * 1024]);
+
+        assertThatThrownBy(() -> dictionaries.decompress(compressed, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("maximum ratio");
+    }
+
+    @Test
+    public void dictionariesRoundTripThroughBase64() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+
+        assertThat(CompressionDictionaries.fromBase64(dictionaries.toBase64().toArray(new String[0])))
+                .isEqualTo(dictionaries);
+    }
+
+    @Test
+    public void dictionariesArePersistedWithColumnValueDescription() {
+        CompressionDictionaries dictionaries = CompressionDictionaries.of(ImmutableList.of(DICTIONARY));
+        ColumnValueDescription description = ColumnValueDescription.forType(
+                ValueType.BLOB, Compression.DEFLATE_DICTIONARY).withCompressionDictionaries(dictionaries);
+
+        ColumnValueDescription hydrated = ColumnValueDescription.hydrateFromProto(
+                description.persistToProto().build());
+
+        assertThat(hydrated).isEqualTo(description);
+        assertThat(hydrated.getCompressionDictionaries()).isEqualTo(dictionaries);
+    }
+
+    @Test
+    public void valuesRoundTripThroughPersistedTableMetadata() {
+        TableDefinition definition = new TableDefinition() {{
+            javaTableName("DictionaryTable");
+            rowName();
+            rowComponent("rowName", ValueType.STRING);
+            columns();
+            column("value", "v", JsonNodePersister.class, Compression.DEFLATE_DICTIONARY);
+            compressionDictionaries(DICTIONARY);
+        }};
+        TableMetadata metadata = definition.toTableMetadata();
+        ColumnValueDescription written = Iterables.getOnlyElement(metadata.getColumns().getAllColumnValues());
+        byte[] original = SAMPLES.get(11);
+
+        byte[] compressed = CompressionUtils.compress(
+                original, written.getCompression(), written.getCompressionDictionaries());
+        TableMetadata hydratedMetadata = TableMetadata.hydrateFromProto(metadata.persistToProto().build());
+        ColumnValueDescription read = Iterables.getOnlyElement(hydratedMetadata.getColumns().getAllColumnValues());
+
+        assertThat(read.getCompression()).isEqualTo(Compression.DEFLATE_DICTIONARY);
+        assertThat(compressed.length).isLessThan(original.length / 2);
+        assertThat(CompressionUtils.decompress(compressed, read.getCompression(), read.getCompressionDictionaries()))
+                .isEqualTo(original);
+    }
+}
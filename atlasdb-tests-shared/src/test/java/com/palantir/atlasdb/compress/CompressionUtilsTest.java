@@ -15,6 +15,7 @@
  */
 package com.palantir.atlasdb.compress;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -23,6 +24,7 @@ import java.util.Arrays;
 
 import org.junit.Test;
 
+import com.google.common.primitives.Ints;
 import com.palantir.atlasdb.table.description.ColumnValueDescription.Compression;
 
 public class CompressionUtilsTest {
@@ -50,6 +52,57 @@ public class CompressionUtilsTest {
         assertArrayEquals(original, decompressed);
     }
 
+    @Test
+    public void testCompressAndDecompressWithLz4() {
+        byte[] original = new byte[1024];
+        byte[] compressed = CompressionUtils.compress(original, Compression.LZ4);
+        assertTrue(compressed.length < original.length);
+        byte[] decompressed = CompressionUtils.decompress(compressed, Compression.LZ4);
+        assertArrayEquals(original, decompressed);
+    }
+
+    @Test
+    public void testCompressAndDecompressEmptyWithLz4() {
+        byte[] decompressed = CompressionUtils.decompressWithLz4(CompressionUtils.compressWithLz4(new byte[0]));
+        assertArrayEquals(new byte[0], decompressed);
+    }
+
+    @Test
+    public void testDecompressExceptionWithLz4() {
+        byte[] compressed = new byte[] { 0, 0, 1, 0, 1, 2, 3 };  // invalid
+        boolean threwIllegalArgumentException = false;
+        try {
+            CompressionUtils.decompressWithLz4(compressed);
+        } catch (IllegalArgumentException e) {
+            threwIllegalArgumentException = true;
+        }
+        assertTrue(threwIllegalArgumentException);
+    }
+
+    @Test
+    public void testDecompressWithLz4RejectsLengthLargerThanBlockCanEncode() {
+        byte[] compressed = CompressionUtils.compressWithLz4(new byte[1024]);
+        System.arraycopy(Ints.toByteArray(Integer.MAX_VALUE), 0, compressed, 0, Integer.BYTES);
+        assertThatThrownBy(() -> CompressionUtils.decompressWithLz4(compressed))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testDecompressWithLz4RejectsLengthSmallerThanBlock() {
+        byte[] compressed = CompressionUtils.compressWithLz4(new byte[1024]);
+        System.arraycopy(Ints.toByteArray(512), 0, compressed, 0, Integer.BYTES);
+        assertThatThrownBy(() -> CompressionUtils.decompressWithLz4(compressed))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testDecompressWithLz4RejectsLengthLargerThanBlock() {
+        byte[] compressed = CompressionUtils.compressWithLz4(new byte[1024]);
+        System.arraycopy(Ints.toByteArray(2048), 0, compressed, 0, Integer.BYTES);
+        assertThatThrownBy(() -> CompressionUtils.decompressWithLz4(compressed))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     public void testDecompressException() {
         byte[] compressed = new byte[] { 1, 2, 3 };  // invalid
@@ -15,13 +15,58 @@
  */
 package com.palantir.atlasdb.keyvalue.impl;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import org.junit.ClassRule;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMultimap;
+import com.palantir.atlasdb.encoding.PtBytes;
+import com.palantir.atlasdb.keyvalue.api.Cell;
+import com.palantir.atlasdb.keyvalue.api.TableReference;
+import com.palantir.atlasdb.keyvalue.api.TimestampRangeDelete;
 
 public class InMemoryKeyValueServiceTest extends AbstractKeyValueServiceTest {
     @ClassRule
     public static final TestResourceManager TRM = TestResourceManager.inMemory();
 
+    private static final TableReference PRUNING_TABLE = TableReference.createFromFullyQualifiedName("test.pruning");
+    private static final Cell FIRST_CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col1"));
+    private static final Cell SECOND_CELL = Cell.create(PtBytes.toBytes("row"), PtBytes.toBytes("col2"));
+    private static final byte[] VALUE = PtBytes.toBytes("value");
+
     public InMemoryKeyValueServiceTest() {
         super(TRM);
     }
+
+    @Test
+    public void deletingEveryVersionOfEveryCellRemovesTheRow() {
+        InMemoryKeyValueService kvs = new InMemoryKeyValueService(true);
+        kvs.put(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, VALUE, SECOND_CELL, VALUE), 1L);
+
+        kvs.delete(PRUNING_TABLE, ImmutableMultimap.of(FIRST_CELL, 1L));
+        assertThat(kvs.getNumberOfRows(PRUNING_TABLE)).isEqualTo(1);
+
+        kvs.delete(PRUNING_TABLE, ImmutableMultimap.of(SECOND_CELL, 1L));
+        assertThat(kvs.getNumberOfRows(PRUNING_TABLE)).isZero();
+    }
+
+    @Test
+    public void deletingAllTimestampsRemovesTheRow() {
+        InMemoryKeyValueService kvs = new InMemoryKeyValueService(true);
+        kvs.put(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, VALUE), 1L);
+        kvs.put(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, VALUE), 2L);
+
+        kvs.deleteAllTimestamps(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, new TimestampRangeDelete.Builder()
+                .deleteSentinels(true)
+                .endInclusive(true)
+                .timestamp(2L)
+                .build()));
+        assertThat(kvs.getNumberOfRows(PRUNING_TABLE)).isZero();
+
+        kvs.put(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, VALUE), 3L);
+        assertThat(kvs.get(PRUNING_TABLE, ImmutableMap.of(FIRST_CELL, 4L)).get(FIRST_CELL).getContents())
+                .isEqualTo(VALUE);
+    }
 }
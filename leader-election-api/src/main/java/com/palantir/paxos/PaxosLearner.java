@@ -64,7 +64,8 @@ public interface PaxosLearner {
     Optional<PaxosValue> getGreatestLearnedValue();
 
     /**
-     * Returns some collection of learned values since the seq-th round (inclusive).
+     * Returns some collection of learned values since the seq-th round (inclusive). This need not include every
+     * learned value; in particular, callers that are far behind may only receive the greatest learned value.
      *
      * @param seq lower round cutoff for returned values
      * @return some set of learned values for rounds since the seq-th round
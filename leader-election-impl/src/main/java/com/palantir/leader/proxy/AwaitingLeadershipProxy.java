@@ -24,7 +24,10 @@ import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
 import java.util.function.Supplier;
 
 import javax.annotation.Nullable;
@@ -33,10 +36,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
 import com.google.common.reflect.AbstractInvocationHandler;
 import com.google.common.util.concurrent.FluentFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
@@ -49,6 +52,7 @@ import com.palantir.leader.LeaderElectionService;
 import com.palantir.leader.LeaderElectionService.LeadershipToken;
 import com.palantir.leader.LeaderElectionService.StillLeadingStatus;
 import com.palantir.leader.NotCurrentLeaderException;
+import com.palantir.logsafe.Preconditions;
 import com.palantir.logsafe.SafeArg;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
 import com.palantir.tracing.CloseableTracer;
@@ -74,11 +78,39 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
     public static <U> U newProxyInstance(Class<U> interfaceClass,
                                          Supplier<U> delegateSupplier,
                                          LeaderElectionService leaderElectionService) {
+        return newProxyInstance(interfaceClass, delegateSupplier, leaderElectionService, Optional.empty(),
+                System::nanoTime);
+    }
+
+    /**
+     * Creates a proxy that serves requests under a leader lease. Each time a quorum confirms that this node is still
+     * leading, the node holds the lease for {@link LeaderLease#localDurationNanos()} measured from when the check
+     * started, and requests arriving while the lease is held are served after only a local clock check. The lease is
+     * renewed in the background well ahead of its expiry, so a busy node only falls back to per-request checks if
+     * renewals fail. {@link LeaderLease} ensures that the lease expires before followers give up on this node.
+     */
+    public static <U> U newProxyInstance(Class<U> interfaceClass,
+                                         Supplier<U> delegateSupplier,
+                                         LeaderElectionService leaderElectionService,
+                                         LeaderLease leaderLease) {
+        return newProxyInstance(interfaceClass, delegateSupplier, leaderElectionService, Optional.of(leaderLease),
+                System::nanoTime);
+    }
+
+    @VisibleForTesting
+    static <U> U newProxyInstance(Class<U> interfaceClass,
+                                  Supplier<U> delegateSupplier,
+                                  LeaderElectionService leaderElectionService,
+                                  Optional<LeaderLease> leaderLease,
+                                  LongSupplier nanoClock) {
         AwaitingLeadershipProxy<U> proxy = new AwaitingLeadershipProxy<>(
                 delegateSupplier,
                 leaderElectionService,
-                interfaceClass);
+                interfaceClass,
+                leaderLease,
+                nanoClock);
         proxy.tryToGainLeadership();
+        leaderLease.ifPresent(proxy::scheduleLeaseRenewal);
 
         return (U) Proxy.newProxyInstance(
                 interfaceClass.getClassLoader(),
@@ -97,13 +129,19 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
     private final AtomicReference<LeadershipToken> leadershipTokenRef;
     private final AtomicReference<T> delegateRef;
     private final Class<T> interfaceClass;
+    private final Optional<LeaderLease> leaderLease;
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Lease> leaseRef;
+    private volatile ScheduledFuture<?> leaseRenewal;
     private volatile boolean isClosed;
 
     private AwaitingLeadershipProxy(
             Supplier<T> delegateSupplier,
             LeaderElectionService leaderElectionService,
-            Class<T> interfaceClass) {
-        com.palantir.logsafe.Preconditions.checkNotNull(delegateSupplier,
+            Class<T> interfaceClass,
+            Optional<LeaderLease> leaderLease,
+            LongSupplier nanoClock) {
+        Preconditions.checkNotNull(delegateSupplier,
                 "Unable to create an AwaitingLeadershipProxy with no supplier");
         this.delegateSupplier = delegateSupplier;
         this.leaderElectionService = leaderElectionService;
@@ -111,6 +149,9 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         this.leadershipTokenRef = new AtomicReference<>();
         this.delegateRef = new AtomicReference<>();
         this.interfaceClass = interfaceClass;
+        this.leaderLease = leaderLease;
+        this.nanoClock = nanoClock;
+        this.leaseRef = new AtomicReference<>();
         this.isClosed = false;
     }
 
@@ -206,6 +247,10 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         if (method.getName().equals("close") && args.length == 0) {
             log.debug("Closing leadership proxy");
             isClosed = true;
+            leaseRef.set(null);
+            if (leaseRenewal != null) {
+                leaseRenewal.cancel(false);
+            }
             executor.shutdownNow();
             clearDelegate();
             return null;
@@ -215,32 +260,13 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
 
         T maybeValidDelegate = delegateRef.get();
 
-        ListenableFuture<StillLeadingStatus> leadingFuture =
-                Tracers.wrapListenableFuture("validate-leadership",
-                        () -> statusRetrier.execute(
-                                () -> Tracers.wrapListenableFuture("validate-leadership-attempt",
-                                        () -> leaderElectionService.isStillLeading(leadershipToken))));
-
-        ListenableFuture<T> delegateFuture = Futures.transformAsync(leadingFuture,
-                leading -> {
-                    // treat a repeated NO_QUORUM as NOT_LEADING; likely we've been cut off from the other nodes
-                    // and should assume we're not the leader
-                    if (leading == StillLeadingStatus.NOT_LEADING || leading == StillLeadingStatus.NO_QUORUM) {
-                        return Futures.submitAsync(
-                                () -> {
-                                    markAsNotLeading(leadershipToken, null /* cause */);
-                                    throw new AssertionError("should not reach here");
-                                },
-                                executionExecutor);
-                    }
-
-                    if (isClosed) {
-                        throw new IllegalStateException("already closed proxy for " + interfaceClass.getName());
-                    }
-
-                    Preconditions.checkNotNull(maybeValidDelegate, "%s backing is null", interfaceClass.getName());
-                    return Futures.immediateFuture(maybeValidDelegate);
-                }, MoreExecutors.directExecutor());
+        ListenableFuture<T> delegateFuture;
+        if (holdsLease(leadershipToken)) {
+            delegateFuture = Futures.submitAsync(() -> delegateIfOpen(maybeValidDelegate),
+                    MoreExecutors.directExecutor());
+        } else {
+            delegateFuture = validateLeadership(leadershipToken, maybeValidDelegate);
+        }
 
         if (!method.getReturnType().equals(ListenableFuture.class)) {
             T delegate = AtlasFutures.getUnchecked(delegateFuture);
@@ -267,6 +293,104 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         }
     }
 
+    private ListenableFuture<T> validateLeadership(LeadershipToken leadershipToken, T maybeValidDelegate) {
+        long checkStartNanos = nanoClock.getAsLong();
+        ListenableFuture<StillLeadingStatus> leadingFuture =
+                Tracers.wrapListenableFuture("validate-leadership",
+                        () -> statusRetrier.execute(
+                                () -> Tracers.wrapListenableFuture("validate-leadership-attempt",
+                                        () -> leaderElectionService.isStillLeading(leadershipToken))));
+
+        return Futures.transformAsync(leadingFuture,
+                leading -> {
+                    // treat a repeated NO_QUORUM as NOT_LEADING; likely we've been cut off from the other nodes
+                    // and should assume we're not the leader
+                    if (leading == StillLeadingStatus.NOT_LEADING || leading == StillLeadingStatus.NO_QUORUM) {
+                        return Futures.submitAsync(
+                                () -> {
+                                    markAsNotLeading(leadershipToken, null /* cause */);
+                                    throw new AssertionError("should not reach here");
+                                },
+                                executionExecutor);
+                    }
+
+                    extendLease(leadershipToken, checkStartNanos);
+                    return delegateIfOpen(maybeValidDelegate);
+                }, MoreExecutors.directExecutor());
+    }
+
+    private ListenableFuture<T> delegateIfOpen(T maybeValidDelegate) {
+        if (isClosed) {
+            throw new IllegalStateException("already closed proxy for " + interfaceClass.getName());
+        }
+
+        Preconditions.checkNotNull(maybeValidDelegate, "Backing delegate is null",
+                SafeArg.of("interfaceClass", interfaceClass.getName()));
+        return Futures.immediateFuture(maybeValidDelegate);
+    }
+
+    private boolean holdsLease(LeadershipToken leadershipToken) {
+        Lease lease = leaseRef.get();
+        return lease != null && lease.token == leadershipToken && nanoClock.getAsLong() - lease.expiryNanos < 0;
+    }
+
+    /**
+     * Records that a quorum confirmed {@code leadershipToken} in a check that started at {@code checkStartNanos}.
+     * Other nodes may have started waiting out this node's leadership as early as that, so the lease runs from the
+     * start of the check rather than from when it completed.
+     */
+    private void extendLease(LeadershipToken leadershipToken, long checkStartNanos) {
+        if (!leaderLease.isPresent() || !isStillCurrentToken(leadershipToken)) {
+            return;
+        }
+        Lease extended = new Lease(leadershipToken, checkStartNanos + leaderLease.get().localDurationNanos());
+        leaseRef.accumulateAndGet(extended, (current, next) ->
+                current != null && current.token == next.token && current.expiryNanos - next.expiryNanos >= 0
+                        ? current
+                        : next);
+    }
+
+    private void scheduleLeaseRenewal(LeaderLease lease) {
+        long renewalIntervalNanos = lease.localDurationNanos() / 3;
+        leaseRenewal = schedulingExecutor.scheduleWithFixedDelay(
+                this::renewLease, renewalIntervalNanos, renewalIntervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs on the scheduling executor, which cancels all later renewals if this throws, so failures are only logged.
+     */
+    @VisibleForTesting
+    void renewLease() {
+        LeadershipToken leadershipToken = leadershipTokenRef.get();
+        if (leadershipToken == null || isClosed) {
+            return;
+        }
+        long checkStartNanos = nanoClock.getAsLong();
+        try {
+            Futures.addCallback(leaderElectionService.isStillLeading(leadershipToken),
+                    new FutureCallback<StillLeadingStatus>() {
+                        @Override
+                        public void onSuccess(StillLeadingStatus status) {
+                            if (status == StillLeadingStatus.LEADING) {
+                                extendLease(leadershipToken, checkStartNanos);
+                            } else {
+                                // the next request checks leadership itself, and steps down if need be
+                                leaseRef.set(null);
+                            }
+                        }
+
+                        @Override
+                        public void onFailure(Throwable throwable) {
+                            log.info("Failed to renew leader lease; requests will check leadership until it is"
+                                    + " renewed", throwable);
+                        }
+                    }, MoreExecutors.directExecutor());
+        } catch (Throwable t) {
+            log.warn("Failed to renew leader lease; requests will check leadership until it is renewed", t);
+            leaseRef.set(null);
+        }
+    }
+
     private RuntimeException handleDelegateThrewException(
             LeadershipToken leadershipToken, InvocationTargetException exception) throws Exception {
         if (exception.getTargetException() instanceof ServiceNotAvailableException
@@ -322,6 +446,7 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
 
     private void markAsNotLeading(final LeadershipToken leadershipToken, @Nullable Throwable cause) {
         log.warn("Lost leadership", cause);
+        leaseRef.set(null);
         if (leadershipTokenRef.compareAndSet(leadershipToken, null)) {
             // this is fine in the case that this node has been elected leader again (i.e. with a different leadership
             // token). `onGainedLeadership` guarantees that the delegate will be refreshed *before* we get a new
@@ -340,4 +465,13 @@ public final class AwaitingLeadershipProxy<T> extends AbstractInvocationHandler
         throw notCurrentLeaderException("method invoked on a non-leader (leadership lost)", cause);
     }
 
+    private static final class Lease {
+        private final LeadershipToken token;
+        private final long expiryNanos;
+
+        private Lease(LeadershipToken token, long expiryNanos) {
+            this.token = token;
+            this.expiryNanos = expiryNanos;
+        }
+    }
 }
@@ -0,0 +1,77 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.leader.proxy;
+
+import java.time.Duration;
+
+import org.immutables.value.Value;
+
+import com.palantir.logsafe.Preconditions;
+import com.palantir.logsafe.SafeArg;
+
+/**
+ * A lease under which an {@link AwaitingLeadershipProxy} serves requests without checking leadership with a quorum.
+ * <p>
+ * Followers only propose themselves once they have failed to reach the leader for {@link #followerTimeout()}, so
+ * a lease is only safe if it expires before then, even if the clocks of the leader and its followers run at rates
+ * that differ by up to {@link #maxClockDriftRate()}. This is checked when the lease is created.
+ */
+@Value.Immutable
+public interface LeaderLease {
+    double DEFAULT_MAX_CLOCK_DRIFT_RATE = 0.05;
+
+    @Value.Parameter
+    Duration duration();
+
+    /**
+     * How long a follower waits for a response from the leader before proposing itself as leader.
+     */
+    @Value.Parameter
+    Duration followerTimeout();
+
+    @Value.Default
+    default double maxClockDriftRate() {
+        return DEFAULT_MAX_CLOCK_DRIFT_RATE;
+    }
+
+    /**
+     * The length of the lease as measured by the local clock, shortened so that it does not outlast
+     * {@link #duration()} if the local clock runs slow.
+     */
+    @Value.Derived
+    default long localDurationNanos() {
+        return (long) (duration().toNanos() / (1 + maxClockDriftRate()));
+    }
+
+    @Value.Check
+    default void check() {
+        Preconditions.checkArgument(!duration().isNegative() && !duration().isZero(),
+                "Lease duration must be positive",
+                SafeArg.of("leaseDuration", duration()));
+        Preconditions.checkArgument(maxClockDriftRate() >= 0 && maxClockDriftRate() < 1,
+                "Maximum clock drift rate must be at least 0 and less than 1",
+                SafeArg.of("maxClockDriftRate", maxClockDriftRate()));
+        Preconditions.checkArgument(duration().toNanos() * (1 + maxClockDriftRate()) < followerTimeout().toNanos(),
+                "Lease duration must be shorter than the follower timeout, allowing for clock drift",
+                SafeArg.of("leaseDuration", duration()),
+                SafeArg.of("followerTimeout", followerTimeout()),
+                SafeArg.of("maxClockDriftRate", maxClockDriftRate()));
+    }
+
+    static LeaderLease of(Duration duration, Duration followerTimeout) {
+        return ImmutableLeaderLease.of(duration, followerTimeout);
+    }
+}
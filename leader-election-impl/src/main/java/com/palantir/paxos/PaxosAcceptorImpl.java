@@ -20,6 +20,8 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ConcurrentSkipListMap;
 
+import javax.annotation.Nullable;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,7 +93,7 @@ public final class PaxosAcceptorImpl implements PaxosAcceptor {
                     : PaxosAcceptorState.newState(pid);
             if ((oldState == null && state.putIfAbsent(seq, newState) == null)
                     || (oldState != null && state.replace(seq, oldState, newState))) {
-                log.writeRound(seq, newState);
+                persist(seq, oldState, newState);
                 return PaxosPromise.accept(
                         newState.lastPromisedId,
                         newState.lastAcceptedId,
@@ -123,12 +125,29 @@ public final class PaxosAcceptorImpl implements PaxosAcceptor {
                     : PaxosAcceptorState.newState(proposal.id);
             if ((oldState == null && state.putIfAbsent(seq, newState) == null)
                     || (oldState != null && state.replace(seq, oldState, newState))) {
-                log.writeRound(seq, newState);
+                persist(seq, oldState, newState);
                 return new BooleanPaxosResponse(true);
             }
         }
     }
 
+    /**
+     * Writes a state that has already been published. If it is not persisted, the previous state is restored unless
+     * the state has been superseded in the meantime, in which case the newer state's write persists it as well.
+     */
+    private void persist(long seq, @Nullable PaxosAcceptorState oldState, PaxosAcceptorState newState) {
+        Runnable rollback = oldState == null
+                ? () -> state.remove(seq, newState)
+                : () -> state.replace(seq, newState, oldState);
+        try {
+            log.writeRound(seq, newState);
+        } catch (RuntimeException e) {
+            rollback.run();
+            throw e;
+        }
+        SqlitePaxosStateLogWriteBatch.registerRollback(rollback);
+    }
+
     @Override
     public long getLatestSequencePreparedOrAccepted() {
         if (state.isEmpty()) {
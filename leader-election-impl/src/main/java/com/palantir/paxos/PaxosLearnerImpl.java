@@ -27,6 +27,7 @@ import java.util.stream.LongStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.palantir.leader.PaxosKnowledgeEventRecorder;
 import com.palantir.logsafe.SafeArg;
@@ -35,6 +36,13 @@ public final class PaxosLearnerImpl implements PaxosLearner {
 
     private static final Logger logger = LoggerFactory.getLogger(PaxosLearnerImpl.class);
 
+    /**
+     * The most learned values returned by a single call to {@link #getLearnedValuesSince}. Callers that are further
+     * behind are only sent the greatest learned value, which supersedes all earlier values.
+     */
+    @VisibleForTesting
+    static final int MAX_LEARNED_VALUES_SINCE = 500;
+
     public static PaxosLearner newLearner(String logDir, PaxosKnowledgeEventRecorder eventRecorder) {
         return newLearner(new PaxosStateLogImpl<>(logDir), eventRecorder);
     }
@@ -73,45 +81,64 @@ public final class PaxosLearnerImpl implements PaxosLearner {
 
     @Override
     public void learn(long seq, PaxosValue val) {
-        state.put(seq, val);
-        log.writeRound(seq, val);
+        // a value already learned for this round is the same value, and is not dropped if this write fails
+        Runnable rollback = state.put(seq, val) == null ? () -> state.remove(seq, val) : () -> { };
+        try {
+            log.writeRound(seq, val);
+        } catch (RuntimeException e) {
+            rollback.run();
+            throw e;
+        }
+        SqlitePaxosStateLogWriteBatch.registerRollback(rollback);
         eventRecorder.recordRound(val);
     }
 
     @Override
     public Optional<PaxosValue> getLearnedValue(long seq) {
-        try {
-            if (!state.containsKey(seq)) {
-                byte[] bytes = log.readRound(seq);
-                if (bytes != null) {
-                    PaxosValue value = PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(log.readRound(seq));
-                    state.put(seq, value);
-                }
-            }
-            return Optional.ofNullable(state.get(seq));
-        } catch (IOException e) {
-            logger.error("Unable to get corrupt learned value for sequence {}",
-                    SafeArg.of("sequence", seq),
-                    e);
-            return Optional.empty();
-        }
+        Optional<PaxosValue> value = readLearnedValue(seq);
+        value.ifPresent(learnedValue -> state.putIfAbsent(seq, learnedValue));
+        return value;
     }
 
+    /**
+     * Returns the values learned since the given round, or only the greatest learned value if there are more than
+     * {@link #MAX_LEARNED_VALUES_SINCE} rounds since the given one, so that the response and the memory needed to
+     * build it are bounded however far behind the caller is. Values read from the log are not cached.
+     */
     @Override
     public Collection<PaxosValue> getLearnedValuesSince(long seq) {
-        Optional<Long> greatestSeq = getGreatestLearnedValue().map(PaxosValue::getRound);
-        if (!greatestSeq.isPresent()) {
+        Optional<PaxosValue> greatestLearnedValue = getGreatestLearnedValue();
+        if (!greatestLearnedValue.isPresent()) {
             return ImmutableList.of();
         }
 
-        return LongStream.rangeClosed(seq, greatestSeq.get())
-                .boxed()
-                .map(this::getLearnedValue)
+        long greatestSeq = greatestLearnedValue.get().getRound();
+        if (seq <= greatestSeq - MAX_LEARNED_VALUES_SINCE) {
+            return ImmutableList.of(greatestLearnedValue.get());
+        }
+
+        return LongStream.rangeClosed(seq, greatestSeq)
+                .mapToObj(this::readLearnedValue)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    private Optional<PaxosValue> readLearnedValue(long seq) {
+        PaxosValue cachedValue = state.get(seq);
+        if (cachedValue != null) {
+            return Optional.of(cachedValue);
+        }
+        try {
+            return Optional.ofNullable(log.readRound(seq)).map(PaxosValue.BYTES_HYDRATOR::hydrateFromBytes);
+        } catch (IOException e) {
+            logger.error("Unable to get corrupt learned value for sequence {}",
+                    SafeArg.of("sequence", seq),
+                    e);
+            return Optional.empty();
+        }
+    }
+
     @Override
     public Optional<PaxosValue> getGreatestLearnedValue() {
         if (state.isEmpty()) {
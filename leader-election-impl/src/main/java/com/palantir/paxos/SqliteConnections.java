@@ -40,13 +40,17 @@ public final class SqliteConnections {
     }
 
     public static HikariDataSource getPooledDataSource(Path path) {
+        return getPooledDataSource(path, SynchronousLevel.EXTRA);
+    }
+
+    public static HikariDataSource getPooledDataSource(Path path, SynchronousLevel synchronousLevel) {
         createDirectoryIfNotExists(path);
         String target = String.format("jdbc:sqlite:%s", path.resolve(DEFAULT_SQLITE_DATABASE_NAME).toString());
 
         SQLiteConfig config = new SQLiteConfig();
         config.setPragma(SQLiteConfig.Pragma.JOURNAL_MODE, SQLiteConfig.JournalMode.WAL.getValue());
         config.setPragma(SQLiteConfig.Pragma.LOCKING_MODE, SQLiteConfig.LockingMode.EXCLUSIVE.getValue());
-        config.setPragma(SQLiteConfig.Pragma.SYNCHRONOUS, "EXTRA");
+        config.setPragma(SQLiteConfig.Pragma.SYNCHRONOUS, synchronousLevel.name());
 
         SQLiteConnectionPoolDataSource dataSource = new SQLiteConnectionPoolDataSource();
         dataSource.setUrl(target);
@@ -58,6 +62,18 @@ public final class SqliteConnections {
         return new HikariDataSource(hikariConfig);
     }
 
+    /**
+     * How often SQLite syncs the write ahead log to disk. With any level below {@link #FULL}, transactions that have
+     * been committed may be lost if the machine (rather than the process) crashes, so Paxos promises and acceptances
+     * may be forgotten; those levels should only be used where that is acceptable, such as in benchmarks.
+     */
+    public enum SynchronousLevel {
+        OFF,
+        NORMAL,
+        FULL,
+        EXTRA
+    }
+
     private static void createDirectoryIfNotExists(Path path) {
         try {
             FileUtils.forceMkdir(path.toFile());
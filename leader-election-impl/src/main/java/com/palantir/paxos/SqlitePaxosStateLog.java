@@ -16,9 +16,13 @@
 
 package com.palantir.paxos;
 
+import java.util.List;
 import java.util.OptionalLong;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.sql.DataSource;
 
@@ -31,67 +35,222 @@ import org.jdbi.v3.sqlobject.customizer.BindPojo;
 import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.persist.Persistable;
+import com.palantir.logsafe.SafeArg;
 
+/**
+ * A {@link PaxosStateLog} stored in a SQLite table shared by all namespaces and use cases.
+ * <p>
+ * All logs backed by the same {@link DataSource} share a single {@link Jdbi} instance and SQL object, so statements
+ * are only parsed and bound to their SQL object methods once, rather than for every log and call. The least and
+ * greatest sequence numbers of each (namespace, use case) are cached after they are first read and kept up to date by
+ * subsequent writes, so the {@code MIN} and {@code MAX} aggregates only run when a log is first used and after the
+ * least entry has been truncated. Truncation takes effect immediately for readers of the log, but the rows are deleted
+ * in the background, one deletion at a time and under the same write lock as every other write to the database, and
+ * repeated truncations of a log that arrive while a deletion is pending are coalesced into a single deletion.
+ */
 @SuppressWarnings("checkstyle:FinalClass") // non-final for mocking
 public class SqlitePaxosStateLog<V extends Persistable & Versionable> implements PaxosStateLog<V> {
+    private static final Logger log = LoggerFactory.getLogger(SqlitePaxosStateLog.class);
+
+    private static final LoadingCache<DataSource, SharedState> sharedStates = Caffeine.newBuilder()
+            .weakValues()
+            .build(SharedState::create);
+    private static final ExecutorService truncationExecutor =
+            PTExecutors.newFixedThreadPool(1, "sqlite-paxos-state-log-truncation");
+
     private final Client namespace;
     private final String useCase;
-    private final Jdbi jdbi;
+    private final DataSource dataSource;
+    private final SharedState shared;
+    private final Queries queries;
+    private final LogState state;
 
-    private SqlitePaxosStateLog(NamespaceAndUseCase namespaceAndUseCase, Jdbi jdbi) {
+    private SqlitePaxosStateLog(NamespaceAndUseCase namespaceAndUseCase, DataSource dataSource, SharedState shared) {
         this.namespace = namespaceAndUseCase.namespace();
         this.useCase = namespaceAndUseCase.useCase();
-        this.jdbi = jdbi;
+        this.dataSource = dataSource;
+        this.shared = shared;
+        this.queries = shared.queries;
+        this.state = shared.getLogState(namespaceAndUseCase);
     }
 
     public static <V extends Persistable & Versionable> PaxosStateLog<V> create(
             NamespaceAndUseCase namespaceAndUseCase,
             DataSource dataSource) {
-        Jdbi jdbi = Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
-        jdbi.getConfig(JdbiImmutables.class).registerImmutable(Client.class, PaxosRound.class);
-        SqlitePaxosStateLog<V> log = new SqlitePaxosStateLog<>(namespaceAndUseCase, jdbi);
-        log.initialize();
-        return log;
-    }
-
-    private void initialize() {
-        execute(Queries::createTable);
+        return new SqlitePaxosStateLog<>(namespaceAndUseCase, dataSource, sharedStates.get(dataSource));
     }
 
     @Override
     public void writeRound(long seq, V round) {
-        execute(dao -> dao.writeRound(namespace, useCase, seq, round.persistToBytes()));
+        byte[] value = round.persistToBytes();
+        Runnable onPersisted = () -> state.recordWritten(seq);
+        if (!SqlitePaxosStateLogWriteBatch.addIfBatching(
+                dataSource, shared.jdbi, namespace, useCase, seq, value, onPersisted)) {
+            SqlitePaxosStateLogWriteBatch.writeExclusively(
+                    dataSource, () -> queries.writeRound(namespace, useCase, seq, value));
+            onPersisted.run();
+        }
     }
 
     @Override
     public void writeBatchOfRounds(Iterable<PaxosRound<V>> rounds) {
-        execute(dao -> dao.writeBatchOfRounds(namespace, useCase, rounds));
+        SqlitePaxosStateLogWriteBatch.writeExclusively(
+                dataSource, () -> queries.writeBatchOfRounds(namespace, useCase, rounds));
+        rounds.forEach(round -> state.recordWritten(round.sequence()));
     }
 
     @Override
     public byte[] readRound(long seq) {
-        return execute(dao -> dao.readRound(namespace, useCase, seq));
+        if (state.isTruncated(seq)) {
+            return null;
+        }
+        return queries.readRound(namespace, useCase, seq);
     }
 
     @Override
     public long getLeastLogEntry() {
-        return execute(dao -> dao.getLeastLogEntry(namespace, useCase)).orElse(PaxosAcceptor.NO_LOG_ENTRY);
+        return state.getLeastLogEntry();
     }
 
     @Override
     public long getGreatestLogEntry() {
-        return execute(dao -> dao.getGreatestLogEntry(namespace, useCase)).orElse(PaxosAcceptor.NO_LOG_ENTRY);
+        return state.getGreatestLogEntry();
     }
 
     @Override
     public void truncate(long toDeleteInclusive) {
-        execute(dao -> dao.truncate(namespace, useCase, toDeleteInclusive));
+        if (state.truncate(toDeleteInclusive)) {
+            truncationExecutor.execute(() -> SqlitePaxosStateLogWriteBatch.writeExclusively(
+                    dataSource, state::deleteTruncatedRounds));
+        }
     }
 
-    private <T> T execute(Function<Queries, T> call) {
-        return jdbi.withExtension(Queries.class, call::apply);
+    /**
+     * State shared by all logs backed by the same {@link DataSource}. It is only weakly referenced by the cache, so it
+     * lives as long as the logs using it.
+     */
+    private static final class SharedState {
+        private final Jdbi jdbi;
+        private final Queries queries;
+        private final ConcurrentMap<NamespaceAndUseCase, LogState> logStates = new ConcurrentHashMap<>();
+
+        private SharedState(Jdbi jdbi) {
+            this.jdbi = jdbi;
+            this.queries = jdbi.onDemand(Queries.class);
+        }
+
+        private static SharedState create(DataSource dataSource) {
+            Jdbi jdbi = Jdbi.create(dataSource).installPlugin(new SqlObjectPlugin());
+            jdbi.getConfig(JdbiImmutables.class).registerImmutable(Client.class, PaxosRound.class);
+            SharedState sharedState = new SharedState(jdbi);
+            sharedState.queries.createTable();
+            return sharedState;
+        }
+
+        private LogState getLogState(NamespaceAndUseCase namespaceAndUseCase) {
+            return logStates.computeIfAbsent(namespaceAndUseCase, key -> new LogState(key, queries));
+        }
+    }
+
+    /**
+     * The cached bounds and truncation point of a single (namespace, use case). Updates to the bounds are made under
+     * the lock after the corresponding write has been committed, and loading the bounds queries the database under the
+     * same lock, so a write is always reflected either by the loaded bounds or by the subsequent update.
+     */
+    private static final class LogState {
+        private final Client namespace;
+        private final String useCase;
+        private final Queries queries;
+        private final AtomicBoolean deletionScheduled = new AtomicBoolean();
+
+        private volatile boolean loaded = false;
+        private volatile long least = PaxosAcceptor.NO_LOG_ENTRY;
+        private volatile long greatest = PaxosAcceptor.NO_LOG_ENTRY;
+        private volatile long truncatedUpTo = Long.MIN_VALUE;
+
+        private LogState(NamespaceAndUseCase namespaceAndUseCase, Queries queries) {
+            this.namespace = namespaceAndUseCase.namespace();
+            this.useCase = namespaceAndUseCase.useCase();
+            this.queries = queries;
+        }
+
+        private long getLeastLogEntry() {
+            ensureLoaded();
+            return least;
+        }
+
+        private long getGreatestLogEntry() {
+            ensureLoaded();
+            return greatest;
+        }
+
+        private boolean isTruncated(long seq) {
+            return seq <= truncatedUpTo;
+        }
+
+        private void ensureLoaded() {
+            if (!loaded) {
+                load();
+            }
+        }
+
+        private synchronized void load() {
+            if (loaded) {
+                return;
+            }
+            long floor = truncatedUpTo;
+            least = queries.getLeastLogEntry(namespace, useCase, floor).orElse(PaxosAcceptor.NO_LOG_ENTRY);
+            greatest = queries.getGreatestLogEntry(namespace, useCase, floor).orElse(PaxosAcceptor.NO_LOG_ENTRY);
+            loaded = true;
+        }
+
+        private synchronized void recordWritten(long seq) {
+            if (!loaded || isTruncated(seq)) {
+                return;
+            }
+            if (greatest == PaxosAcceptor.NO_LOG_ENTRY || seq > greatest) {
+                greatest = seq;
+            }
+            if (least == PaxosAcceptor.NO_LOG_ENTRY || seq < least) {
+                least = seq;
+            }
+        }
+
+        /**
+         * Moves the truncation point of the log forward.
+         *
+         * @return whether a deletion of the truncated rounds needs to be scheduled
+         */
+        private synchronized boolean truncate(long toDeleteInclusive) {
+            if (isTruncated(toDeleteInclusive)) {
+                return false;
+            }
+            truncatedUpTo = toDeleteInclusive;
+            if (loaded && least != PaxosAcceptor.NO_LOG_ENTRY && isTruncated(least)) {
+                loaded = false;
+            }
+            return deletionScheduled.compareAndSet(false, true);
+        }
+
+        private void deleteTruncatedRounds() {
+            deletionScheduled.set(false);
+            try {
+                queries.truncate(namespace, useCase, truncatedUpTo);
+            } catch (RuntimeException e) {
+                log.warn("Failed to delete truncated rounds of a SQLite Paxos state log. They will be deleted the "
+                                + "next time the log is truncated.",
+                        SafeArg.of("namespace", namespace),
+                        SafeArg.of("useCase", useCase),
+                        e);
+            }
+        }
     }
 
     public interface Queries {
@@ -118,11 +277,19 @@ public class SqlitePaxosStateLog<V extends Persistable & Versionable> implements
                 @Bind("useCase") String useCase,
                 @Bind("seq") long seq);
 
-        @SqlQuery("SELECT MIN(seq) FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase")
-        OptionalLong getLeastLogEntry(@BindPojo("namespace") Client namespace, @Bind("useCase") String useCase);
+        @SqlQuery("SELECT MIN(seq) FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase "
+                + "AND seq > :floor")
+        OptionalLong getLeastLogEntry(
+                @BindPojo("namespace") Client namespace,
+                @Bind("useCase") String useCase,
+                @Bind("floor") long floor);
 
-        @SqlQuery("SELECT MAX(seq) FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase")
-        OptionalLong getGreatestLogEntry(@BindPojo("namespace") Client namespace, @Bind("useCase") String useCase);
+        @SqlQuery("SELECT MAX(seq) FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase "
+                + "AND seq > :floor")
+        OptionalLong getGreatestLogEntry(
+                @BindPojo("namespace") Client namespace,
+                @Bind("useCase") String useCase,
+                @Bind("floor") long floor);
 
         @SqlUpdate("DELETE FROM paxosLog WHERE namespace = :namespace.value AND useCase = :useCase AND seq <= :seq")
         boolean truncate(
@@ -137,6 +304,14 @@ public class SqlitePaxosStateLog<V extends Persistable & Versionable> implements
                 @Bind("useCase") String useCase,
                 @BindPojo("round") Iterable<PaxosRound<V>> rounds);
 
+        @SqlBatch("INSERT OR REPLACE INTO paxosLog (namespace, useCase, seq, val) VALUES ("
+                + ":namespace, :useCase, :seq, :value)")
+        boolean[] writeRoundsAcrossNamespaces(
+                @Bind("namespace") List<String> namespaces,
+                @Bind("useCase") List<String> useCases,
+                @Bind("seq") List<Long> sequences,
+                @Bind("value") List<byte[]> values);
+
         @SqlQuery("SELECT DISTINCT(namespace) FROM paxosLog")
         Set<String> getAllNamespaces();
     }
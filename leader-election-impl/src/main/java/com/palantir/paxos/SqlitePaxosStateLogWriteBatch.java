@@ -0,0 +1,176 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.jdbi.v3.core.Jdbi;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+/**
+ * Groups the rounds written to the {@link SqlitePaxosStateLog}s backed by one {@link DataSource} while running a task,
+ * so that the rounds of every namespace and use case sharing that database are persisted in a single transaction once
+ * the task completes, rather than in one transaction each.
+ * <p>
+ * Only writes made on the thread running the task are grouped, and rounds written to logs backed by other data sources
+ * are written immediately, as they would be outside of a batch. Grouped rounds cannot be read back from the logs until
+ * the task completes, so this is only suitable for callers that keep the rounds they write in memory, and that do not
+ * act on the writes before the task returns, such as acceptors and learners serving a batch of requests whose
+ * responses are only sent once the whole batch has been processed. If the rounds cannot be persisted, the task's
+ * result is discarded and the failure is thrown instead.
+ * <p>
+ * Callers publish the rounds they write in memory before the batch is persisted. So that no other request can act on
+ * them in the meantime, batches for the same data source run one at a time, and rounds written to that data source
+ * outside of a batch wait for the running batch to be persisted. Rounds are therefore persisted in the order they were
+ * published, and a batch persisted late cannot replace a round with an older state. SQLite only allows one writer at a
+ * time, so this costs little throughput. If the task fails or the rounds cannot be persisted, the rollbacks registered
+ * by callers are run to drop the state they published for the batch; as the batch is persisted in one transaction,
+ * none of its rounds have been persisted in that case.
+ */
+public final class SqlitePaxosStateLogWriteBatch {
+    private static final ThreadLocal<SqlitePaxosStateLogWriteBatch> currentBatch = new ThreadLocal<>();
+    private static final LoadingCache<DataSource, ReentrantLock> writeLocks = Caffeine.newBuilder()
+            .weakKeys()
+            .build(unused -> new ReentrantLock());
+
+    private final DataSource dataSource;
+    private final List<String> namespaces = new ArrayList<>();
+    private final List<String> useCases = new ArrayList<>();
+    private final List<Long> sequences = new ArrayList<>();
+    private final List<byte[]> values = new ArrayList<>();
+    private final List<Runnable> persistenceCallbacks = new ArrayList<>();
+    private final List<Runnable> rollbacks = new ArrayList<>();
+    private Jdbi jdbi;
+    private boolean lastRoundAdded;
+
+    private SqlitePaxosStateLogWriteBatch(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * Runs the given task, grouping the rounds it writes to logs backed by the given data source. If the current thread
+     * is already running a batch, the task joins that batch instead.
+     */
+    public static <T> T run(DataSource dataSource, Supplier<T> task) {
+        if (currentBatch.get() != null) {
+            return task.get();
+        }
+
+        ReentrantLock writeLock = writeLocks.get(dataSource);
+        writeLock.lock();
+        try {
+            SqlitePaxosStateLogWriteBatch batch = new SqlitePaxosStateLogWriteBatch(dataSource);
+            currentBatch.set(batch);
+            try {
+                T result = task.get();
+                batch.flush();
+                return result;
+            } catch (RuntimeException | Error e) {
+                batch.rollBack();
+                throw e;
+            } finally {
+                currentBatch.remove();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public static void run(DataSource dataSource, Runnable task) {
+        run(dataSource, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Adds the given round to the batch of the current thread, if there is one for the given data source. The given
+     * callback is run once the round has been persisted.
+     *
+     * @return whether the round was added to a batch, and so must not be written by the caller
+     */
+    static boolean addIfBatching(
+            DataSource dataSource,
+            Jdbi jdbi,
+            Client namespace,
+            String useCase,
+            long seq,
+            byte[] value,
+            Runnable onPersisted) {
+        SqlitePaxosStateLogWriteBatch batch = currentBatch.get();
+        if (batch == null || batch.dataSource != dataSource) {
+            return false;
+        }
+        batch.jdbi = jdbi;
+        batch.namespaces.add(namespace.value());
+        batch.useCases.add(useCase);
+        batch.sequences.add(seq);
+        batch.values.add(value);
+        batch.persistenceCallbacks.add(onPersisted);
+        batch.lastRoundAdded = true;
+        return true;
+    }
+
+    /**
+     * Registers an action dropping in-memory state derived from the round just written by the current thread, to be
+     * run if its batch is not persisted. Does nothing if that round was not added to a batch, as it has then already
+     * been persisted.
+     */
+    static void registerRollback(Runnable rollback) {
+        SqlitePaxosStateLogWriteBatch batch = currentBatch.get();
+        if (batch != null && batch.lastRoundAdded) {
+            batch.rollbacks.add(rollback);
+            batch.lastRoundAdded = false;
+        }
+    }
+
+    /**
+     * Runs a write to the given data source made outside of a batch once no batch for that data source is running,
+     * so that it cannot be overwritten by a batch that published an older state of the same round earlier but is
+     * persisted later.
+     */
+    static void writeExclusively(DataSource dataSource, Runnable write) {
+        ReentrantLock writeLock = writeLocks.get(dataSource);
+        writeLock.lock();
+        try {
+            write.run();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void rollBack() {
+        for (int i = rollbacks.size() - 1; i >= 0; i--) {
+            rollbacks.get(i).run();
+        }
+    }
+
+    private void flush() {
+        if (jdbi == null) {
+            return;
+        }
+        jdbi.useExtension(SqlitePaxosStateLog.Queries.class,
+                dao -> dao.writeRoundsAcrossNamespaces(namespaces, useCases, sequences, values));
+        persistenceCallbacks.forEach(Runnable::run);
+    }
+}
@@ -19,13 +19,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.core.Is.isA;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.Closeable;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
@@ -34,6 +39,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
@@ -56,6 +62,7 @@ import com.palantir.tracing.RenderTracingRule;
 
 public class AwaitingLeadershipProxyTest {
     private static final String TEST_MESSAGE = "test_message";
+    private static final LeaderLease ONE_HOUR_LEASE = LeaderLease.of(Duration.ofHours(1), Duration.ofHours(2));
 
     private final ExecutorService executor = Executors.newCachedThreadPool();
     private final LeadershipToken leadershipToken = mock(PaxosLeadershipToken.class);
@@ -308,6 +315,141 @@ public class AwaitingLeadershipProxyTest {
         return AwaitingLeadershipProxy.newProxyInstance(Callable.class, () -> fn, leaderElectionService);
     }
 
+    @Test
+    public void leaseSkipsLeadershipChecksUntilItExpires() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(ONE_HOUR_LEASE),
+                clock::get);
+        waitForLeadershipToBeGained();
+
+        proxy.run();
+        proxy.run();
+        proxy.run();
+        verify(leaderElectionService, times(1)).isStillLeading(leadershipToken);
+        verify(mockRunnable, times(3)).run();
+
+        clock.addAndGet(Duration.ofHours(2).toNanos());
+        proxy.run();
+        verify(leaderElectionService, times(2)).isStillLeading(leadershipToken);
+    }
+
+    @Test
+    public void leaseIsDroppedWhenLeadershipIsLost() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(ONE_HOUR_LEASE),
+                clock::get);
+        waitForLeadershipToBeGained();
+        proxy.run();
+
+        doThrow(new NotCurrentLeaderException("lost leadership")).doNothing().when(mockRunnable).run();
+        assertThatThrownBy(proxy::run).isInstanceOf(NotCurrentLeaderException.class);
+
+        verify(leaderElectionService, timeout(5_000).times(2)).blockOnBecomingLeader();
+        Uninterruptibles.sleepUninterruptibly(100L, TimeUnit.MILLISECONDS);
+        proxy.run();
+        verify(leaderElectionService, times(2)).isStillLeading(leadershipToken);
+    }
+
+    @Test
+    public void renewalExtendsLeaseWhileLeading() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(ONE_HOUR_LEASE),
+                clock::get);
+        waitForLeadershipToBeGained();
+        proxy.run();
+
+        clock.addAndGet(Duration.ofMinutes(50).toNanos());
+        handlerOf(proxy).renewLease();
+        clock.addAndGet(Duration.ofMinutes(50).toNanos());
+        proxy.run();
+
+        verify(leaderElectionService, times(2)).isStillLeading(leadershipToken);
+        verify(mockRunnable, times(2)).run();
+    }
+
+    @Test
+    public void renewalClearsLeaseWhenNotLeading() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(ONE_HOUR_LEASE),
+                clock::get);
+        waitForLeadershipToBeGained();
+        proxy.run();
+
+        when(leaderElectionService.isStillLeading(leadershipToken)).thenReturn(
+                Futures.immediateFuture(StillLeadingStatus.NOT_LEADING),
+                Futures.immediateFuture(StillLeadingStatus.LEADING));
+        handlerOf(proxy).renewLease();
+        proxy.run();
+
+        verify(leaderElectionService, times(3)).isStillLeading(leadershipToken);
+        verify(mockRunnable, times(2)).run();
+    }
+
+    @Test
+    public void renewalClearsLeaseWhenCheckThrows() throws InterruptedException {
+        AtomicLong clock = new AtomicLong();
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(ONE_HOUR_LEASE),
+                clock::get);
+        waitForLeadershipToBeGained();
+        proxy.run();
+
+        when(leaderElectionService.isStillLeading(leadershipToken))
+                .thenThrow(new RuntimeException("renewal failed"))
+                .thenReturn(Futures.immediateFuture(StillLeadingStatus.LEADING));
+        handlerOf(proxy).renewLease();
+        proxy.run();
+
+        verify(leaderElectionService, times(3)).isStillLeading(leadershipToken);
+        verify(mockRunnable, times(2)).run();
+    }
+
+    @Test
+    public void renewalContinuesAfterCheckThrows() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        when(leaderElectionService.isStillLeading(leadershipToken))
+                .thenThrow(new RuntimeException("renewal failed"))
+                .thenReturn(Futures.immediateFuture(StillLeadingStatus.LEADING));
+        Runnable proxy = AwaitingLeadershipProxy.newProxyInstance(
+                Runnable.class, delegateSupplier, leaderElectionService, Optional.of(LeaderLease.of(Duration.ofMillis(300), Duration.ofSeconds(1))),
+                clock::get);
+
+        verify(leaderElectionService, timeout(5_000).atLeast(3)).isStillLeading(leadershipToken);
+        ((Closeable) proxy).close();
+    }
+
+    @Test
+    public void leaseDurationMustBePositive() {
+        assertThatThrownBy(() -> LeaderLease.of(Duration.ZERO, Duration.ofSeconds(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Lease duration must be positive");
+    }
+
+    @Test
+    public void leaseMustExpireBeforeFollowersProposeThemselves() {
+        assertThatThrownBy(() -> LeaderLease.of(Duration.ofSeconds(2), Duration.ofSeconds(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("shorter than the follower timeout");
+        assertThatThrownBy(() -> ImmutableLeaderLease.builder()
+                .duration(Duration.ofMillis(1900))
+                .followerTimeout(Duration.ofSeconds(2))
+                .maxClockDriftRate(0.1)
+                .build())
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("allowing for clock drift");
+        assertThat(LeaderLease.of(Duration.ofMillis(1900), Duration.ofSeconds(2)).localDurationNanos())
+                .isLessThan(Duration.ofMillis(1900).toNanos());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static AwaitingLeadershipProxy<Runnable> handlerOf(Runnable proxy) {
+        return (AwaitingLeadershipProxy<Runnable>) Proxy.getInvocationHandler(proxy);
+    }
+
     private void waitForLeadershipToBeGained() throws InterruptedException {
         verify(leaderElectionService, timeout(5_000)).blockOnBecomingLeader();
         Uninterruptibles.sleepUninterruptibly(100L, TimeUnit.MILLISECONDS);
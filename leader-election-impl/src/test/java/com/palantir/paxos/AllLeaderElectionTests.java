@@ -22,5 +22,6 @@ import org.junit.runners.Suite.SuiteClasses;
 import com.palantir.paxos.persistence.ProtobufTest;
 
 @RunWith(Suite.class)
-@SuiteClasses({ProtobufTest.class, PaxosConsensusFastTest.class, PaxosConsensusSlowTest.class})
+@SuiteClasses({ProtobufTest.class, PaxosConsensusFastTest.class, PaxosConsensusSlowTest.class,
+        PaxosLeaderLeaseTest.class})
 public class AllLeaderElectionTests {}
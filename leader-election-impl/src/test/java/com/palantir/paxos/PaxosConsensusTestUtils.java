@@ -20,6 +20,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.ExecutorService;
@@ -34,10 +35,13 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.net.HostAndPort;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.leader.LeaderElectionService;
 import com.palantir.leader.LeaderElectionServiceBuilder;
+import com.palantir.leader.LocalPingableLeader;
 import com.palantir.leader.PaxosKnowledgeEventRecorder;
+import com.palantir.leader.PingableLeader;
 import com.palantir.leader.proxy.SimulatingFailingServerProxy;
 import com.palantir.leader.proxy.ToggleableExceptionProxy;
 import com.palantir.logsafe.exceptions.SafeIllegalStateException;
@@ -55,10 +59,29 @@ public final class PaxosConsensusTestUtils {
 
     public static PaxosTestState setup(int numLeaders,
                                        int quorumSize) {
+        return setup(numLeaders, quorumSize, Optional.empty());
+    }
+
+    /**
+     * Sets up leaders that ping the current leader before proposing themselves, waiting up to
+     * {@code leaderPingResponseWait} for it to respond. A leader that goes down stops responding to pings rather than
+     * failing them, as it would if it were partitioned from the other nodes.
+     */
+    public static PaxosTestState setupWithLeaderPings(int numLeaders,
+                                                      int quorumSize,
+                                                      Duration leaderPingResponseWait) {
+        return setup(numLeaders, quorumSize, Optional.of(leaderPingResponseWait));
+    }
+
+    private static PaxosTestState setup(int numLeaders,
+                                        int quorumSize,
+                                        Optional<Duration> leaderPingResponseWait) {
         List<LeaderElectionService> leaders = Lists.newArrayList();
         List<PaxosAcceptor> acceptors = Lists.newArrayList();
         List<PaxosLearner> learners = Lists.newArrayList();
         List<AtomicBoolean> failureToggles = Lists.newArrayList();
+        List<UUID> leaderUuids = Lists.newArrayList();
+        List<LeaderPingerContext<PingableLeader>> pingableLeaders = Lists.newArrayList();
         ExecutorService executor = PTExecutors.newCachedThreadPool();
 
         DataSource sqliteDataSource = SqliteConnections.getPooledDataSource(getSqlitePath());
@@ -70,9 +93,13 @@ public final class PaxosConsensusTestUtils {
                 .build();
         for (int i = 0; i < numLeaders; i++) {
             failureToggles.add(new AtomicBoolean(false));
+            leaderUuids.add(UUID.randomUUID());
 
             PaxosLearner learner = PaxosLearnerImpl.newSplittingLearner(
                     getLearnerStorageParameters(i, sqliteDataSource), noop, PaxosKnowledgeEventRecorder.NO_OP);
+            pingableLeaders.add(ImmutableLeaderPingerContext.of(
+                    unresponsiveWhenDown(new LocalPingableLeader(learner, leaderUuids.get(i)), failureToggles.get(i)),
+                    HostAndPort.fromParts("localhost", 8080 + i)));
             learners.add(ToggleableExceptionProxy.newProxyInstance(
                     PaxosLearner.class,
                     learner,
@@ -95,7 +122,7 @@ public final class PaxosConsensusTestUtils {
                 PaxosConstants.CANCEL_REMAINING_CALLS);
 
         for (int i = 0; i < numLeaders; i++) {
-            UUID leaderUuid = UUID.randomUUID();
+            UUID leaderUuid = leaderUuids.get(i);
 
             PaxosLearner ourLearner = learners.get(i);
             List<PaxosLearner> remoteLearners = learners.stream()
@@ -113,7 +140,7 @@ public final class PaxosConsensusTestUtils {
                     .knowledge(ourLearner)
                     .acceptorClient(acceptorNetworkClient)
                     .learnerClient(learnerNetworkClient)
-                    .leaderPinger(new SingleLeaderPinger(ImmutableMap.of(), Duration.ZERO, leaderUuid, true))
+                    .leaderPinger(leaderPinger(i, leaderUuid, pingableLeaders, leaderPingResponseWait, executor))
                     .build();
             leaders.add(SimulatingFailingServerProxy.newProxyInstance(
                     LeaderElectionService.class,
@@ -125,6 +152,51 @@ public final class PaxosConsensusTestUtils {
         return new PaxosTestState(leaders, learners, failureToggles, executor);
     }
 
+    private static LeaderPinger leaderPinger(
+            int ourIndex,
+            UUID leaderUuid,
+            List<LeaderPingerContext<PingableLeader>> pingableLeaders,
+            Optional<Duration> leaderPingResponseWait,
+            ExecutorService executor) {
+        if (!leaderPingResponseWait.isPresent()) {
+            return new SingleLeaderPinger(ImmutableMap.of(), Duration.ZERO, leaderUuid, true);
+        }
+        LeaderPingerContext<PingableLeader> ourPingableLeader = pingableLeaders.get(ourIndex);
+        Map<LeaderPingerContext<PingableLeader>, ExecutorService> otherPingableLeaders = Maps.toMap(
+                pingableLeaders.stream()
+                        .filter(pingableLeader -> !pingableLeader.equals(ourPingableLeader))
+                        .collect(ImmutableList.toImmutableList()),
+                $ -> executor);
+        return new SingleLeaderPinger(otherPingableLeaders, leaderPingResponseWait.get(), leaderUuid, true);
+    }
+
+    private static PingableLeader unresponsiveWhenDown(PingableLeader delegate, AtomicBoolean isDown) {
+        return new PingableLeader() {
+            @Override
+            public boolean ping() {
+                awaitComingUp();
+                return delegate.ping();
+            }
+
+            @Override
+            public String getUUID() {
+                awaitComingUp();
+                return delegate.getUUID();
+            }
+
+            private void awaitComingUp() {
+                while (isDown.get()) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SafeRuntimeException("interrupted while unresponsive", e);
+                    }
+                }
+            }
+        };
+    }
+
     public static void teardown(PaxosTestState state) throws Exception {
         try {
             ExecutorService executor = state.getExecutor();
@@ -0,0 +1,93 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.palantir.leader.proxy.AwaitingLeadershipProxy;
+import com.palantir.leader.proxy.LeaderLease;
+
+public class PaxosLeaderLeaseTest {
+    private static final int NUM_POTENTIAL_LEADERS = 3;
+    private static final int QUORUM_SIZE = 2;
+    private static final Duration LEADER_PING_RESPONSE_WAIT = Duration.ofMillis(500);
+    private static final LeaderLease LEADER_LEASE = LeaderLease.of(Duration.ofMillis(200), LEADER_PING_RESPONSE_WAIT);
+
+    private PaxosTestState state;
+
+    @Before
+    public void setup() {
+        state = PaxosConsensusTestUtils.setupWithLeaderPings(
+                NUM_POTENTIAL_LEADERS, QUORUM_SIZE, LEADER_PING_RESPONSE_WAIT);
+    }
+
+    @After
+    public void teardown() throws Exception {
+        PaxosConsensusTestUtils.teardown(state);
+    }
+
+    @Test
+    public void partitionedLeaderStopsServingBeforeANewLeaderIsElected()
+            throws InterruptedException, ExecutionException, TimeoutException, IOException {
+        state.gainLeadership(0);
+        LongSupplier clockOnLeader = AwaitingLeadershipProxy.newProxyInstance(
+                LongSupplier.class, () -> System::nanoTime, state.leader(0), LEADER_LEASE);
+        long lastServedNanos = clockOnLeader.getAsLong();
+
+        state.goDown(0);
+        Future<Long> newLeaderElectedNanos = state.getExecutor().submit(() -> {
+            state.gainLeadership(1);
+            return System.nanoTime();
+        });
+
+        try {
+            while (true) {
+                lastServedNanos = clockOnLeader.getAsLong();
+            }
+        } catch (RuntimeException e) {
+            // the lease has expired, and the partitioned leader can no longer confirm its leadership
+        }
+
+        assertThat(newLeaderElectedNanos.get(30, TimeUnit.SECONDS)).isGreaterThan(lastServedNanos);
+        ((Closeable) clockOnLeader).close();
+    }
+
+    @Test
+    public void leaderServesFromItsLeaseWhileItIsConfirmed() throws IOException {
+        state.gainLeadership(0);
+        LongSupplier clockOnLeader = AwaitingLeadershipProxy.newProxyInstance(
+                LongSupplier.class, () -> System::nanoTime, state.leader(0), LEADER_LEASE);
+
+        long startNanos = System.nanoTime();
+        while (System.nanoTime() - startNanos < LEADER_LEASE.duration().toNanos() * 3) {
+            assertThat(clockOnLeader.getAsLong()).isGreaterThanOrEqualTo(startNanos);
+        }
+        ((Closeable) clockOnLeader).close();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.paxos;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.palantir.leader.PaxosKnowledgeEventRecorder;
+
+public class PaxosLearnerImplTest {
+    private static final String LEADER = UUID.randomUUID().toString();
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private PaxosLearner learner;
+
+    @Before
+    public void setup() {
+        learner = PaxosLearnerImpl.newLearner(tempFolder.getRoot().getPath(), PaxosKnowledgeEventRecorder.NO_OP);
+    }
+
+    @Test
+    public void returnsNothingIfNothingLearned() {
+        assertThat(learner.getLearnedValuesSince(0L)).isEmpty();
+    }
+
+    @Test
+    public void returnsAllValuesSinceRoundForCallersThatAreSlightlyBehind() {
+        learnRounds(0, 10);
+
+        assertThat(learner.getLearnedValuesSince(5L))
+                .extracting(PaxosValue::getRound)
+                .containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    public void returnsOnlyGreatestValueForCallersThatAreFarBehind() {
+        long greatestRound = PaxosLearnerImpl.MAX_LEARNED_VALUES_SINCE + 10;
+        learnRounds(0, greatestRound);
+
+        assertThat(learner.getLearnedValuesSince(0L))
+                .extracting(PaxosValue::getRound)
+                .containsExactly(greatestRound);
+        assertThat(learner.getLearnedValuesSince(11L))
+                .hasSize(PaxosLearnerImpl.MAX_LEARNED_VALUES_SINCE);
+    }
+
+    @Test
+    public void readsValuesSinceRoundFromLogAfterRestart() {
+        learnRounds(0, 10);
+        PaxosLearner restartedLearner = PaxosLearnerImpl.newLearner(
+                tempFolder.getRoot().getPath(), PaxosKnowledgeEventRecorder.NO_OP);
+
+        assertThat(restartedLearner.getLearnedValuesSince(8L))
+                .extracting(PaxosValue::getRound)
+                .containsExactly(8L, 9L, 10L);
+    }
+
+    private void learnRounds(long fromInclusive, long toInclusive) {
+        for (long round = fromInclusive; round <= toInclusive; round++) {
+            learner.learn(round, new PaxosValue(LEADER, round, null));
+        }
+    }
+}
@@ -18,20 +18,28 @@ package com.palantir.paxos;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import static com.palantir.paxos.PaxosStateLogTestUtils.valueForRound;
 import static com.palantir.paxos.PaxosStateLogTestUtils.wrap;
 
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 
 import javax.sql.DataSource;
 
+import org.awaitility.Awaitility;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -39,8 +47,10 @@ import org.junit.rules.TemporaryFolder;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.Uninterruptibles;
 import com.palantir.common.concurrent.PTExecutors;
 import com.palantir.common.streams.KeyedStream;
+import com.palantir.logsafe.exceptions.SafeRuntimeException;
 
 public class SqlitePaxosStateLogTest {
     @Rule
@@ -111,6 +121,58 @@ public class SqlitePaxosStateLogTest {
         assertThat(PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(otherLog.readRound(5L))).isEqualTo(v2);
     }
 
+    @Test
+    public void writesInWriteBatchArePersistedTogetherWhenBatchCompletes() throws IOException {
+        PaxosStateLog<PaxosValue> otherLog = SqlitePaxosStateLog.create(wrap(CLIENT_2, USE_CASE_2), dataSource);
+        PaxosValue v1 = valueForRound(5L);
+        PaxosValue v2 = valueForRound(6L);
+
+        SqlitePaxosStateLogWriteBatch.run(dataSource, () -> {
+            stateLog.writeRound(5L, v1);
+            otherLog.writeRound(6L, v2);
+            assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+            assertThat(otherLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        });
+
+        assertThat(PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(stateLog.readRound(5L))).isEqualTo(v1);
+        assertThat(PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(otherLog.readRound(6L))).isEqualTo(v2);
+    }
+
+    @Test
+    public void writesToOtherDataSourcesInWriteBatchArePersistedImmediatelyAndNotRolledBack() throws IOException {
+        PaxosStateLog<PaxosValue> otherLog = SqlitePaxosStateLog.create(wrap(CLIENT_1, USE_CASE_1),
+                SqliteConnections.getPooledDataSource(tempFolder.newFolder().toPath()));
+        PaxosValue value = valueForRound(5L);
+        AtomicBoolean rolledBack = new AtomicBoolean();
+
+        assertThatThrownBy(() -> SqlitePaxosStateLogWriteBatch.run(dataSource, () -> {
+            otherLog.writeRound(5L, value);
+            SqlitePaxosStateLogWriteBatch.registerRollback(() -> rolledBack.set(true));
+            assertThat(otherLog.getGreatestLogEntry()).isEqualTo(5L);
+            throw new SafeRuntimeException("task failed");
+        })).hasMessage("task failed");
+
+        assertThat(rolledBack).isFalse();
+        assertThat(PaxosValue.BYTES_HYDRATOR.hydrateFromBytes(otherLog.readRound(5L))).isEqualTo(value);
+    }
+
+    @Test
+    public void writeBatchDoesNotBlockWritesToOtherDataSources() throws IOException {
+        PaxosStateLog<PaxosValue> otherLog = SqlitePaxosStateLog.create(wrap(CLIENT_1, USE_CASE_1),
+                SqliteConnections.getPooledDataSource(tempFolder.newFolder().toPath()));
+        ExecutorService executor = PTExecutors.newSingleThreadExecutor();
+
+        SqlitePaxosStateLogWriteBatch.run(dataSource, () -> {
+            stateLog.writeRound(5L, valueForRound(5L));
+            Future<?> otherWrite = executor.submit(() -> otherLog.writeRound(6L, valueForRound(6L)));
+            assertThatCode(() -> otherWrite.get(10, TimeUnit.SECONDS)).doesNotThrowAnyException();
+        });
+
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(5L);
+        assertThat(otherLog.getGreatestLogEntry()).isEqualTo(6L);
+        executor.shutdown();
+    }
+
     @Test
     public void returnsDefaultValueForExtremesWhenNoEntries() {
         assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
@@ -163,6 +225,66 @@ public class SqlitePaxosStateLogTest {
         assertThat(stateLog.getLeastLogEntry()).isEqualTo(9L);
     }
 
+    @Test
+    public void truncatedRoundsAreNotReadableAndAreEventuallyDeleted() {
+        writeValueForRound(5L);
+        writeValueForRound(7L);
+        writeValueForRound(9L);
+
+        stateLog.truncate(7L);
+        assertThat(stateLog.readRound(5L)).isNull();
+        assertThat(stateLog.readRound(7L)).isNull();
+        assertThat(stateLog.readRound(9L)).isNotNull();
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(countStoredRounds()).isEqualTo(1));
+    }
+
+    @Test
+    public void truncatedRoundsAreNotDeletedWhileAWriteBatchIsRunning() {
+        writeValueForRound(5L);
+        writeValueForRound(9L);
+
+        int storedRoundsDuringBatch = SqlitePaxosStateLogWriteBatch.run(dataSource, () -> {
+            stateLog.truncate(7L);
+            Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+            return countStoredRounds();
+        });
+
+        assertThat(storedRoundsDuringBatch).isEqualTo(2);
+
+        Awaitility.await()
+                .atMost(10, TimeUnit.SECONDS)
+                .untilAsserted(() -> assertThat(countStoredRounds()).isEqualTo(1));
+    }
+
+    @Test
+    public void truncatingAllEntriesLeavesNoEntries() {
+        writeValueForRound(1L);
+        writeValueForRound(3L);
+
+        stateLog.truncate(5L);
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(PaxosAcceptor.NO_LOG_ENTRY);
+
+        writeValueForRound(6L);
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(6L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(6L);
+    }
+
+    @Test
+    public void extremesReflectWritesThroughOtherLogsToTheSameNamespace() {
+        PaxosStateLog<PaxosValue> otherLogWithSameNamespace = SqlitePaxosStateLog
+                .create(wrap(CLIENT_1, USE_CASE_1), dataSource);
+        writeValueForRound(5L);
+        assertThat(otherLogWithSameNamespace.getGreatestLogEntry()).isEqualTo(5L);
+
+        otherLogWithSameNamespace.writeRound(8L, valueForRound(8L));
+        otherLogWithSameNamespace.writeRound(2L, valueForRound(2L));
+        assertThat(stateLog.getLeastLogEntry()).isEqualTo(2L);
+        assertThat(stateLog.getGreatestLogEntry()).isEqualTo(8L);
+    }
+
     @Test
     public void valuesAreDistinguishedAcrossLogNamespaces() throws IOException {
         PaxosStateLog<PaxosValue> otherLog = SqlitePaxosStateLog.create(wrap(CLIENT_2, USE_CASE_1), dataSource);
@@ -219,6 +341,17 @@ public class SqlitePaxosStateLogTest {
         futures.forEach(future -> assertThatCode(() -> Futures.getUnchecked(future)).doesNotThrowAnyException());
     }
 
+    private int countStoredRounds() {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM paxosLog")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        } catch (SQLException e) {
+            throw new SafeRuntimeException("Failed to count stored rounds", e);
+        }
+    }
+
     private PaxosValue writeValueForRound(long round) {
         PaxosValue paxosValue = valueForRound(round);
         stateLog.writeRound(round, paxosValue);
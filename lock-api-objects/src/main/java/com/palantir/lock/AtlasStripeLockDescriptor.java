@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.lock;
+
+import java.util.concurrent.locks.ReadWriteLock;
+
+import com.google.common.base.Strings;
+import com.google.common.primitives.Longs;
+import com.palantir.logsafe.Preconditions;
+
+/**
+ * A descriptor for a {@link ReadWriteLock} covering one of a fixed number of hash stripes of a table.
+ * <p>
+ * The table name is followed by a separator that is not valid in table names, so these descriptors never
+ * coincide with row or cell lock descriptors of any table.
+ */
+public final class AtlasStripeLockDescriptor {
+    private static final byte[] STRIPE_SEPARATOR = "#stripe".getBytes();
+
+    private AtlasStripeLockDescriptor() {
+        // cannot instantiate
+    }
+
+    /** Returns a {@code LockDescriptor} instance for the given table and stripe. */
+    public static LockDescriptor of(String tableName, long stripe) {
+        Preconditions.checkArgument(!Strings.isNullOrEmpty(tableName));
+        byte[] tableBytes = tableName.getBytes();
+        byte[] stripeBytes = Longs.toByteArray(stripe);
+        byte[] bytes = new byte[tableBytes.length + STRIPE_SEPARATOR.length + 1 + stripeBytes.length];
+        System.arraycopy(tableBytes, 0, bytes, 0, tableBytes.length);
+        System.arraycopy(STRIPE_SEPARATOR, 0, bytes, tableBytes.length, STRIPE_SEPARATOR.length);
+        System.arraycopy(stripeBytes, 0, bytes, tableBytes.length + STRIPE_SEPARATOR.length + 1, stripeBytes.length);
+        return new LockDescriptor(bytes);
+    }
+}
@@ -20,6 +20,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
@@ -34,6 +35,7 @@ import com.palantir.atlasdb.timelock.paxos.NetworkClientFactories.Factory;
 import com.palantir.leader.LeaderElectionService;
 import com.palantir.leader.NotCurrentLeaderException;
 import com.palantir.leader.proxy.AwaitingLeadershipProxy;
+import com.palantir.leader.proxy.LeaderLease;
 import com.palantir.paxos.Client;
 import com.palantir.timelock.paxos.HealthCheckPinger;
 import com.palantir.timelock.paxos.LeaderPingHealthCheck;
@@ -58,7 +60,11 @@ public class LeadershipComponents {
 
     public <T> T wrapInLeadershipProxy(Client client, Class<T> clazz, Supplier<T> delegateSupplier) {
         LeadershipContext context = getOrCreateNewLeadershipContext(client);
-        T instance = AwaitingLeadershipProxy.newProxyInstance(clazz, delegateSupplier, context.leaderElectionService());
+        T instance = context.leaderLease()
+                .map(lease -> AwaitingLeadershipProxy.newProxyInstance(
+                        clazz, delegateSupplier, context.leaderElectionService(), lease))
+                .orElseGet(() -> AwaitingLeadershipProxy.newProxyInstance(
+                        clazz, delegateSupplier, context.leaderElectionService()));
 
         // this is acceptable since the proxy returned implements Closeable and needs to be closed
         Closeable closeableInstance = (Closeable) instance;
@@ -148,6 +154,7 @@ public class LeadershipComponents {
     abstract static class LeadershipContext {
         abstract LeaderElectionService leaderElectionService();
         abstract TimelockLeadershipMetrics leadershipMetrics();
+        abstract Optional<LeaderLease> leaderLease();
         abstract List<Closeable> closeables();
     }
 }
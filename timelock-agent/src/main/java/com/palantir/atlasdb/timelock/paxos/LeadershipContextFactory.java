@@ -109,6 +109,7 @@ public abstract class LeadershipContextFactory implements
         return ImmutableLeadershipContext.builder()
                 .leadershipMetrics(clientAwareComponents.leadershipMetrics())
                 .leaderElectionService(leaderElectionService)
+                .leaderLease(runtime().get().leaderLease())
                 .addCloseables(leaderElectionService)
                 .addAllCloseables(leaderPingerFactory().closeables())
                 .build();
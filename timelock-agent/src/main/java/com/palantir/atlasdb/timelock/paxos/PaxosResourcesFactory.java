@@ -43,6 +43,7 @@ import com.palantir.paxos.PaxosProposerImpl;
 import com.palantir.paxos.SqliteConnections;
 import com.palantir.timelock.config.PaxosInstallConfiguration.PaxosLeaderMode;
 import com.palantir.timelock.config.PaxosRuntimeConfiguration;
+import com.palantir.timelock.config.SqlitePaxosPersistenceConfiguration;
 import com.palantir.timelock.config.TimeLockInstallConfiguration;
 import com.palantir.timelock.paxos.PaxosRemotingUtils;
 import com.palantir.timelock.paxos.TimeLockDialogueServiceProvider;
@@ -303,8 +304,10 @@ public final class PaxosResourcesFactory {
 
         @Value.Derived
         default HikariDataSource sqliteDataSource() {
-            return SqliteConnections
-                    .getPooledDataSource(install().paxos().sqlitePersistence().dataDirectory().toPath());
+            SqlitePaxosPersistenceConfiguration sqlitePersistence = install().paxos().sqlitePersistence();
+            return SqliteConnections.getPooledDataSource(
+                    sqlitePersistence.dataDirectory().toPath(),
+                    sqlitePersistence.synchronousLevel());
         }
 
         @Value.Derived
@@ -16,6 +16,7 @@
 package com.palantir.timelock.config;
 
 import java.time.Duration;
+import java.util.Optional;
 
 import org.immutables.value.Value;
 
@@ -24,6 +25,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.common.base.Preconditions;
+import com.palantir.leader.proxy.ImmutableLeaderLease;
+import com.palantir.leader.proxy.LeaderLease;
 
 @JsonDeserialize(as = ImmutablePaxosRuntimeConfiguration.class)
 @JsonSerialize(as = ImmutablePaxosRuntimeConfiguration.class)
@@ -68,6 +71,31 @@ public interface PaxosRuntimeConfiguration {
         return Duration.ofMillis(leaderPingResponseWaitMs());
     }
 
+    /**
+     * If set, leaders serve requests under a lease of this length after a quorum confirms their leadership, rather
+     * than confirming it with a quorum on every request. Must be shorter than {@link #leaderPingResponseWaitMs()},
+     * allowing for {@link #maxClockDriftRate()}. Read when the leadership proxies for a client are created.
+     */
+    @JsonProperty("leader-lease-in-ms")
+    Optional<Long> leaderLeaseMs();
+
+    @JsonProperty("max-clock-drift-rate")
+    @Value.Default
+    default double maxClockDriftRate() {
+        return LeaderLease.DEFAULT_MAX_CLOCK_DRIFT_RATE;
+    }
+
+    @JsonIgnore
+    @Value.Derived
+    @Value.Auxiliary
+    default Optional<LeaderLease> leaderLease() {
+        return leaderLeaseMs().map(leaseMs -> ImmutableLeaderLease.builder()
+                .duration(Duration.ofMillis(leaseMs))
+                .followerTimeout(leaderPingResponseWait())
+                .maxClockDriftRate(maxClockDriftRate())
+                .build());
+    }
+
     @JsonProperty("only-log-on-quorum-failure")
     @Value.Default
     default boolean onlyLogOnQuorumFailure() {
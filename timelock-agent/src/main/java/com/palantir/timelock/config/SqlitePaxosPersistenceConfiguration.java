@@ -23,6 +23,7 @@ import org.immutables.value.Value;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.palantir.paxos.SqliteConnections;
 
 @JsonDeserialize(as = ImmutableSqlitePaxosPersistenceConfiguration.class)
 @JsonSerialize(as = ImmutableSqlitePaxosPersistenceConfiguration.class)
@@ -38,4 +39,14 @@ public interface SqlitePaxosPersistenceConfiguration {
      */
     @JsonProperty("data-directory")
     File dataDirectory();
+
+    /**
+     * How often SQLite syncs its write ahead log to disk. Levels below FULL may lose acknowledged Paxos state if the
+     * machine crashes, and should not be used in production.
+     */
+    @JsonProperty("synchronous-level")
+    @Value.Default
+    default SqliteConnections.SynchronousLevel synchronousLevel() {
+        return SqliteConnections.SynchronousLevel.EXTRA;
+    }
 }
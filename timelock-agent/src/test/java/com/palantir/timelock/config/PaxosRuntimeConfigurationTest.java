@@ -15,8 +15,11 @@
  */
 package com.palantir.timelock.config;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.time.Duration;
+
 import org.junit.Test;
 
 public class PaxosRuntimeConfigurationTest {
@@ -64,4 +67,38 @@ public class PaxosRuntimeConfigurationTest {
                 .leaderPingResponseWaitMs(NEGATIVE_LONG)
                 ::build).isInstanceOf(IllegalArgumentException.class);
     }
+
+    @Test
+    public void leaderLeaseIsDisabledByDefault() {
+        assertThat(ImmutablePaxosRuntimeConfiguration.builder().build().leaderLease()).isEmpty();
+    }
+
+    @Test
+    public void canSpecifyLeaderLeaseShorterThanLeaderPingResponseWait() {
+        PaxosRuntimeConfiguration configuration = ImmutablePaxosRuntimeConfiguration.builder()
+                .leaderPingResponseWaitMs(2000L)
+                .leaderLeaseMs(1000L)
+                .build();
+        assertThat(configuration.leaderLease()).hasValueSatisfying(lease -> {
+            assertThat(lease.duration()).isEqualTo(Duration.ofSeconds(1));
+            assertThat(lease.followerTimeout()).isEqualTo(Duration.ofSeconds(2));
+        });
+    }
+
+    @Test
+    public void throwOnLeaderLeaseNotShorterThanLeaderPingResponseWait() {
+        assertThatThrownBy(ImmutablePaxosRuntimeConfiguration.builder()
+                .leaderPingResponseWaitMs(2000L)
+                .leaderLeaseMs(2000L)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void throwOnLeaderLeaseOutlastingLeaderPingResponseWaitWithClockDrift() {
+        assertThatThrownBy(ImmutablePaxosRuntimeConfiguration.builder()
+                .leaderPingResponseWaitMs(2000L)
+                .leaderLeaseMs(1900L)
+                .maxClockDriftRate(0.1)
+                ::build).isInstanceOf(IllegalArgumentException.class);
+    }
 }
@@ -17,134 +17,176 @@
 package com.palantir.atlasdb.timelock.paxos;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.GuardedBy;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import com.google.common.collect.Maps;
-import com.google.common.collect.TreeMultimap;
-import com.palantir.common.streams.KeyedStream;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.palantir.paxos.Client;
 
+/**
+ * Lock free implementation of {@link AcceptorCache}.
+ * <p>
+ * The latest sequence number of each client is kept in a concurrent map that writers only ever advance with a
+ * compare-and-set. Every update that advances at least one client is also appended as a new {@link Version}, which
+ * records the clients it advanced, to a singly linked list that only ever grows at its tail. Readers find the version
+ * for their cache key and walk forwards from it, so they never block writers or each other; writers race to link
+ * their version onto the tail with a compare-and-set.
+ * <p>
+ * Versions only reference later versions, so once no cache key refers to a version anymore, it and every version
+ * before it can be garbage collected.
+ */
 public class AcceptorCacheImpl implements AcceptorCache {
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final Cache<AcceptorCacheKey, TimestampedAcceptorCacheKey> cacheKeyToTimestamp;
-    private final Map<Client, WithSeq<Long>> clientToTimeAndSeq = Maps.newHashMap();
-    private final TreeMultimap<Long, WithSeq<Client>> clientsByLatestTimestamp = TreeMultimap.create(
-            Comparator.naturalOrder(),
-            Comparator.comparing(clientWithSeq -> clientWithSeq.value().value(), Comparator.naturalOrder()));
-
-    @GuardedBy("lock")
-    private TimestampedAcceptorCacheKey latestTimestampedAcceptorCacheKey =
-            TimestampedAcceptorCacheKey.of(AcceptorCacheKey.newCacheKey(), 0);
+    private final Cache<AcceptorCacheKey, Version> cacheKeyToVersion;
+    private final ConcurrentMap<Client, Long> clientToLatestSeq = new ConcurrentHashMap<>();
+    private final AtomicReference<Version> latestVersion;
 
     public AcceptorCacheImpl() {
-        Cache<AcceptorCacheKey, TimestampedAcceptorCacheKey> cacheKeyToTime = Caffeine.newBuilder()
+        Version initialVersion = new Version(
+                TimestampedAcceptorCacheKey.of(AcceptorCacheKey.newCacheKey(), 0), ImmutableSet.of());
+        Cache<AcceptorCacheKey, Version> cacheKeyToVersions = Caffeine.newBuilder()
                 .expireAfterAccess(Duration.ofMinutes(10))
                 .build();
-        cacheKeyToTime.put(latestTimestampedAcceptorCacheKey.cacheKey(), latestTimestampedAcceptorCacheKey);
-        this.cacheKeyToTimestamp = cacheKeyToTime;
+        cacheKeyToVersions.put(initialVersion.cacheKey(), initialVersion);
+        this.cacheKeyToVersion = cacheKeyToVersions;
+        this.latestVersion = new AtomicReference<>(initialVersion);
     }
 
     @Override
     public void updateSequenceNumbers(Set<WithSeq<Client>> clientsAndSeqs) {
-        if (clientsAndSeqs.isEmpty()) {
-            return;
+        ImmutableSet.Builder<Client> advancedClientsBuilder = ImmutableSet.builder();
+        for (WithSeq<Client> clientAndSeq : clientsAndSeqs) {
+            if (advanceSequenceNumber(clientAndSeq.value(), clientAndSeq.seq())) {
+                advancedClientsBuilder.add(clientAndSeq.value());
+            }
         }
 
-        lock.writeLock().lock();
-        try {
-            long nextTimestamp = latestTimestampedAcceptorCacheKey.timestamp() + 1;
-            AtomicBoolean updated = new AtomicBoolean(false);
-
-            clientsAndSeqs.forEach(clientAndSeq -> {
-                Client client = clientAndSeq.value();
-                long incomingSequenceNumber = clientAndSeq.seq();
-                WithSeq<Long> clientLatestWithTs = clientToTimeAndSeq.get(client);
-
-                if (clientLatestWithTs == null) {
-                    clientToTimeAndSeq.put(client, WithSeq.of(nextTimestamp, incomingSequenceNumber));
-                    clientsByLatestTimestamp.put(nextTimestamp, clientAndSeq);
-                    updated.set(true);
-                } else if (incomingSequenceNumber > clientLatestWithTs.seq()) {
-                    clientToTimeAndSeq.put(client, WithSeq.of(nextTimestamp, incomingSequenceNumber));
-                    clientsByLatestTimestamp.put(nextTimestamp, clientAndSeq);
-                    clientsByLatestTimestamp.remove(
-                            clientLatestWithTs.value(),
-                            WithSeq.of(client, clientLatestWithTs.seq()));
-                    updated.set(true);
-                }
-            });
+        Set<Client> advancedClients = advancedClientsBuilder.build();
+        if (advancedClients.isEmpty()) {
+            return;
+        }
 
-            if (!updated.get()) {
+        // The new sequence numbers are already visible to readers before the version recording them is linked, so a
+        // digest may include them early. That is fine; it just means a later digest may repeat them.
+        while (true) {
+            Version tail = findTail();
+            Version version = new Version(
+                    TimestampedAcceptorCacheKey.of(AcceptorCacheKey.newCacheKey(), tail.timestamp() + 1),
+                    advancedClients);
+            // register before linking, so that nobody can observe a cache key that we cannot resolve
+            cacheKeyToVersion.put(version.cacheKey(), version);
+            if (tail.casNext(version)) {
+                latestVersion.compareAndSet(tail, version);
                 return;
             }
-
-            AcceptorCacheKey nextCacheKey = AcceptorCacheKey.newCacheKey();
-            TimestampedAcceptorCacheKey newTimestampedCacheKey =
-                    TimestampedAcceptorCacheKey.of(nextCacheKey, nextTimestamp);
-            cacheKeyToTimestamp.put(nextCacheKey, newTimestampedCacheKey);
-            latestTimestampedAcceptorCacheKey = newTimestampedCacheKey;
-        } finally {
-            lock.writeLock().unlock();
+            cacheKeyToVersion.invalidate(version.cacheKey());
         }
     }
 
     @Override
     public AcceptorCacheDigest getAllUpdates() {
-        lock.readLock().lock();
-        try {
-            Map<Client, Long> clientsToLatest = KeyedStream.stream(clientToTimeAndSeq)
-                    .map(WithSeq::seq)
-                    .collectToMap();
-            return ImmutableAcceptorCacheDigest.builder()
-                    .newCacheKey(latestTimestampedAcceptorCacheKey.cacheKey())
-                    .cacheTimestamp(latestTimestampedAcceptorCacheKey.timestamp())
-                    .updates(clientsToLatest)
-                    .build();
-        } finally {
-            lock.readLock().unlock();
-        }
+        // the latest version must be read before the sequence numbers, so that it never claims updates we miss
+        Version latest = findTail();
+        return ImmutableAcceptorCacheDigest.builder()
+                .newCacheKey(latest.cacheKey())
+                .cacheTimestamp(latest.timestamp())
+                .updates(ImmutableMap.copyOf(clientToLatestSeq))
+                .build();
     }
 
     @Override
     public Optional<AcceptorCacheDigest> updatesSinceCacheKey(@Nonnull AcceptorCacheKey cacheKey)
             throws InvalidAcceptorCacheKeyException {
-        lock.readLock().lock();
-        try {
-            if (cacheKey.equals(latestTimestampedAcceptorCacheKey.cacheKey())) {
-                return Optional.empty();
+        Version version = cacheKeyToVersion.getIfPresent(cacheKey);
+        if (version == null) {
+            throw new InvalidAcceptorCacheKeyException(cacheKey);
+        }
+
+        Version next = version.next;
+        if (next == null) {
+            return Optional.empty();
+        }
+
+        // Versions may be linked in a different order from the one in which their sequence numbers were set, so we
+        // always report the latest sequence number of each client rather than the one its version was created with.
+        Map<Client, Long> diff = new HashMap<>();
+        do {
+            version = next;
+            version.clients.forEach(client -> diff.computeIfAbsent(client, clientToLatestSeq::get));
+            next = version.next;
+        } while (next != null);
+
+        return Optional.of(ImmutableAcceptorCacheDigest.builder()
+                .newCacheKey(version.cacheKey())
+                .cacheTimestamp(version.timestamp())
+                .updates(diff)
+                .build());
+    }
+
+    private boolean advanceSequenceNumber(Client client, long seq) {
+        Long current = clientToLatestSeq.get(client);
+        while (true) {
+            if (current == null) {
+                current = clientToLatestSeq.putIfAbsent(client, seq);
+                if (current == null) {
+                    return true;
+                }
+            } else if (seq <= current) {
+                return false;
+            } else if (clientToLatestSeq.replace(client, current, seq)) {
+                return true;
+            } else {
+                current = clientToLatestSeq.get(client);
             }
+        }
+    }
 
-            long cacheKeyTimestamp = Optional.ofNullable(cacheKeyToTimestamp.getIfPresent(cacheKey))
-                    .map(TimestampedAcceptorCacheKey::timestamp)
-                    .orElseThrow(() -> new InvalidAcceptorCacheKeyException(cacheKey));
-
-            Map<Client, Long> diff = clientsByLatestTimestamp.asMap().tailMap(cacheKeyTimestamp, false).values()
-                    .stream()
-                    .flatMap(Collection::stream)
-                    .collect(Collectors.toMap(WithSeq::value, WithSeq::seq));
-
-            return Optional.of(ImmutableAcceptorCacheDigest.builder()
-                    .newCacheKey(latestTimestampedAcceptorCacheKey.cacheKey())
-                    .cacheTimestamp(latestTimestampedAcceptorCacheKey.timestamp())
-                    .updates(diff)
-                    .build());
-        } finally {
-            lock.readLock().unlock();
+    private Version findTail() {
+        Version tail = latestVersion.get();
+        Version next = tail.next;
+        while (next != null) {
+            // help a writer that linked its version but has not yet moved latestVersion forward
+            latestVersion.compareAndSet(tail, next);
+            tail = next;
+            next = tail.next;
         }
+        return tail;
     }
 
+    private static final class Version {
+        private static final AtomicReferenceFieldUpdater<Version, Version> NEXT_UPDATER =
+                AtomicReferenceFieldUpdater.newUpdater(Version.class, Version.class, "next");
+
+        private final TimestampedAcceptorCacheKey timestampedCacheKey;
+        private final Set<Client> clients;
+        private volatile Version next;
+
+        private Version(TimestampedAcceptorCacheKey timestampedCacheKey, Set<Client> clients) {
+            this.timestampedCacheKey = timestampedCacheKey;
+            this.clients = clients;
+        }
+
+        AcceptorCacheKey cacheKey() {
+            return timestampedCacheKey.cacheKey();
+        }
+
+        long timestamp() {
+            return timestampedCacheKey.timestamp();
+        }
+
+        boolean casNext(Version version) {
+            return NEXT_UPDATER.compareAndSet(this, null, version);
+        }
+    }
 }
@@ -32,6 +32,7 @@ import com.palantir.paxos.PaxosAcceptor;
 import com.palantir.paxos.PaxosPromise;
 import com.palantir.paxos.PaxosProposal;
 import com.palantir.paxos.PaxosProposalId;
+import com.palantir.paxos.SqlitePaxosStateLogWriteBatch;
 
 public class LocalBatchPaxosAcceptor implements BatchPaxosAcceptor {
 
@@ -46,14 +47,15 @@ public class LocalBatchPaxosAcceptor implements BatchPaxosAcceptor {
     @Override
     public SetMultimap<Client, WithSeq<PaxosPromise>> prepare(
             SetMultimap<Client, WithSeq<PaxosProposalId>> promiseWithSeqRequestsByClient) {
-        SetMultimap<Client, WithSeq<PaxosPromise>> results = KeyedStream.stream(
-                promiseWithSeqRequestsByClient)
-                .map((client, paxosProposalIdWithSeq) -> {
-                    PaxosPromise promise = paxosComponents.acceptor(client)
-                            .prepare(paxosProposalIdWithSeq.seq(), paxosProposalIdWithSeq.value());
-                    return paxosProposalIdWithSeq.withNewValue(promise);
-                })
-                .collectToSetMultimap();
+        SetMultimap<Client, WithSeq<PaxosPromise>> results = SqlitePaxosStateLogWriteBatch.run(
+                paxosComponents.sqliteDataSource(),
+                () -> KeyedStream.stream(promiseWithSeqRequestsByClient)
+                        .map((client, paxosProposalIdWithSeq) -> {
+                            PaxosPromise promise = paxosComponents.acceptor(client)
+                                    .prepare(paxosProposalIdWithSeq.seq(), paxosProposalIdWithSeq.value());
+                            return paxosProposalIdWithSeq.withNewValue(promise);
+                        })
+                        .collectToSetMultimap());
         primeCache(promiseWithSeqRequestsByClient.keySet());
         return results;
     }
@@ -61,14 +63,16 @@ public class LocalBatchPaxosAcceptor implements BatchPaxosAcceptor {
     @Override
     public SetMultimap<Client, WithSeq<BooleanPaxosResponse>> accept(
             SetMultimap<Client, PaxosProposal> proposalRequestsByClient) {
-        SetMultimap<Client, WithSeq<BooleanPaxosResponse>> results = KeyedStream.stream(proposalRequestsByClient)
-                .map((client, paxosProposal) -> {
-                    long seq = paxosProposal.getValue().getRound();
-                    BooleanPaxosResponse ack = paxosComponents.acceptor(client)
-                            .accept(seq, paxosProposal);
-                    return WithSeq.of(ack, seq);
-                })
-                .collectToSetMultimap();
+        SetMultimap<Client, WithSeq<BooleanPaxosResponse>> results = SqlitePaxosStateLogWriteBatch.run(
+                paxosComponents.sqliteDataSource(),
+                () -> KeyedStream.stream(proposalRequestsByClient)
+                        .map((client, paxosProposal) -> {
+                            long seq = paxosProposal.getValue().getRound();
+                            BooleanPaxosResponse ack = paxosComponents.acceptor(client)
+                                    .accept(seq, paxosProposal);
+                            return WithSeq.of(ack, seq);
+                        })
+                        .collectToSetMultimap());
         primeCache(proposalRequestsByClient.keySet());
         return results;
     }
@@ -25,6 +25,7 @@ import com.google.common.collect.SetMultimap;
 import com.palantir.common.streams.KeyedStream;
 import com.palantir.paxos.Client;
 import com.palantir.paxos.PaxosValue;
+import com.palantir.paxos.SqlitePaxosStateLogWriteBatch;
 
 public class LocalBatchPaxosLearner implements BatchPaxosLearner {
 
@@ -36,8 +37,8 @@ public class LocalBatchPaxosLearner implements BatchPaxosLearner {
 
     @Override
     public void learn(SetMultimap<Client, PaxosValue> paxosValuesByClient) {
-        paxosValuesByClient.forEach(
-                (client, paxosValue) -> paxosComponents.learner(client).learn(paxosValue.getRound(), paxosValue));
+        SqlitePaxosStateLogWriteBatch.run(paxosComponents.sqliteDataSource(), () -> paxosValuesByClient.forEach(
+                (client, paxosValue) -> paxosComponents.learner(client).learn(paxosValue.getRound(), paxosValue)));
     }
 
     @Override
@@ -183,6 +183,10 @@ public class LocalPaxosComponents {
         return metrics.asMetricsManager().registerOrGetCounter(forClass, AtlasDbMetricNames.LEGACY_WRITE);
     }
 
+    DataSource sqliteDataSource() {
+        return sqliteDataSource;
+    }
+
     @VisibleForTesting
     PaxosStorageParameters getLearnerParameters(Client client) {
         Path legacyDir = paxosUseCase.logDirectoryRelativeToDataDirectory(baseLogDirectory).resolve(client.value());
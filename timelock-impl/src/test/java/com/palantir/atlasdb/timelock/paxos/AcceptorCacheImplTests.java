@@ -20,9 +20,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.entry;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
@@ -155,6 +164,50 @@ public class AcceptorCacheImplTests {
                 .contains(diffAfterSecondUpdate);
     }
 
+    @Test
+    public void followerSeesLatestSequenceNumbersUnderConcurrentUpdates() throws Exception {
+        AcceptorCache cache = cache(ImmutableMap.of());
+        int numClients = 20;
+        int numWriters = 4;
+        int updatesPerWriter = 1_000;
+        AtomicLong sequenceNumbers = new AtomicLong();
+
+        AcceptorCacheDigest initialDigest = cache.getAllUpdates();
+        Map<Client, Long> followerView = new HashMap<>(initialDigest.updates());
+        AcceptorCacheKey followerCacheKey = initialDigest.newCacheKey();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numWriters);
+        try {
+            List<Future<?>> writers = IntStream.range(0, numWriters)
+                    .mapToObj(unused -> executor.submit(() -> {
+                        for (int i = 0; i < updatesPerWriter; i++) {
+                            Client client = Client.of("client" + ThreadLocalRandom.current().nextInt(numClients));
+                            cache.updateSequenceNumbers(
+                                    ImmutableSet.of(WithSeq.of(client, sequenceNumbers.incrementAndGet())));
+                        }
+                    }))
+                    .collect(Collectors.toList());
+
+            while (!writers.stream().allMatch(Future::isDone)) {
+                Optional<AcceptorCacheDigest> digest = cache.updatesSinceCacheKey(followerCacheKey);
+                if (digest.isPresent()) {
+                    digest.get().updates().forEach((client, seq) -> followerView.merge(client, seq, Math::max));
+                    followerCacheKey = digest.get().newCacheKey();
+                }
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        cache.updatesSinceCacheKey(followerCacheKey)
+                .ifPresent(digest -> digest.updates()
+                        .forEach((client, seq) -> followerView.merge(client, seq, Math::max)));
+        assertThat(followerView).isEqualTo(cache.getAllUpdates().updates());
+    }
+
     private static AcceptorCache cache(Map<Client, Long> latestSequencesForClients) {
         AcceptorCacheImpl acceptorCache = new AcceptorCacheImpl();
 
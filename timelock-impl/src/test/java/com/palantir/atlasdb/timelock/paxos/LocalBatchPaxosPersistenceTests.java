@@ -0,0 +1,415 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.paxos;
+
+import static java.util.stream.Collectors.toList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.spy;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.invocation.Invocation;
+
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.io.Closer;
+import com.google.common.util.concurrent.Uninterruptibles;
+import com.palantir.atlasdb.util.MetricsManagers;
+import com.palantir.common.concurrent.PTExecutors;
+import com.palantir.common.streams.KeyedStream;
+import com.palantir.paxos.Client;
+import com.palantir.paxos.PaxosAcceptor;
+import com.palantir.paxos.PaxosPromise;
+import com.palantir.paxos.PaxosProposal;
+import com.palantir.paxos.PaxosProposalId;
+import com.palantir.paxos.PaxosProposerImpl;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.paxos.SqliteConnections;
+
+/**
+ * Tests the batch acceptor and learner against SQLite backed logs, counting the write transactions each batch makes.
+ */
+public class LocalBatchPaxosPersistenceTests {
+    private static final Client CLIENT_1 = Client.of("client1");
+    private static final Client CLIENT_2 = Client.of("client2");
+    private static final Client CLIENT_3 = Client.of("client3");
+    private static final String PROPOSER = "proposer";
+    private static final PaxosProposalId LOWEST_ID = new PaxosProposalId(0, PROPOSER);
+    private static final PaxosProposalId HIGHEST_ID = new PaxosProposalId(Long.MAX_VALUE, PROPOSER);
+    private static final PaxosProposalId PROPOSAL_ID_1 = new PaxosProposalId(1, PROPOSER);
+    private static final PaxosProposalId PROPOSAL_ID_2 = new PaxosProposalId(2, PROPOSER);
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ExecutorService executor = PTExecutors.newCachedThreadPool();
+    private final Closer closer = Closer.create();
+
+    private Path legacyDirectory;
+    private Path sqliteDirectory;
+    private WriteTrackingSqlite sqlite;
+    private LocalPaxosComponents components;
+    private LocalBatchPaxosAcceptor acceptor;
+    private LocalBatchPaxosLearner learner;
+
+    @Before
+    public void setUp() throws IOException {
+        legacyDirectory = temporaryFolder.newFolder("legacy").toPath();
+        sqliteDirectory = temporaryFolder.newFolder("sqlite").toPath();
+        sqlite = new WriteTrackingSqlite(sqliteDirectory);
+        components = createComponents(legacyDirectory, sqlite.dataSource);
+        acceptor = new LocalBatchPaxosAcceptor(components, new AcceptorCacheImpl());
+        learner = new LocalBatchPaxosLearner(components);
+        createLogs(components, CLIENT_1, CLIENT_2, CLIENT_3);
+        sqlite.reset();
+    }
+
+    @After
+    public void tearDown() throws IOException, InterruptedException {
+        closer.close();
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void acceptorPersistsEachBatchInOneTransaction() {
+        acceptor.prepare(ImmutableSetMultimap.<Client, WithSeq<PaxosProposalId>>builder()
+                .put(CLIENT_1, WithSeq.of(PROPOSAL_ID_1, 1))
+                .putAll(CLIENT_2, WithSeq.of(PROPOSAL_ID_1, 1), WithSeq.of(PROPOSAL_ID_1, 2))
+                .put(CLIENT_3, WithSeq.of(PROPOSAL_ID_1, 1))
+                .build());
+        assertThat(sqlite.transactions).hasValue(1);
+
+        acceptor.accept(ImmutableSetMultimap.<Client, PaxosProposal>builder()
+                .put(CLIENT_1, proposal(PROPOSAL_ID_1, 1))
+                .putAll(CLIENT_2, proposal(PROPOSAL_ID_1, 1), proposal(PROPOSAL_ID_1, 2))
+                .put(CLIENT_3, proposal(PROPOSAL_ID_1, 1))
+                .build());
+        assertThat(sqlite.transactions).hasValue(2);
+        assertThat(sqlite.unbatchedWrites).hasValue(0);
+
+        LocalPaxosComponents reopened = reopen();
+        assertThat(reopened.acceptor(CLIENT_1).prepare(1, HIGHEST_ID).getLastAcceptedId()).isEqualTo(PROPOSAL_ID_1);
+        assertThat(reopened.acceptor(CLIENT_2).prepare(2, HIGHEST_ID).getLastAcceptedId()).isEqualTo(PROPOSAL_ID_1);
+        assertThat(reopened.acceptor(CLIENT_3).prepare(1, HIGHEST_ID).getLastAcceptedId()).isEqualTo(PROPOSAL_ID_1);
+    }
+
+    @Test
+    public void learnerPersistsEachBatchInOneTransaction() {
+        learner.learn(ImmutableSetMultimap.<Client, PaxosValue>builder()
+                .put(CLIENT_1, value(1))
+                .putAll(CLIENT_2, value(1), value(2))
+                .put(CLIENT_3, value(1))
+                .build());
+        assertThat(sqlite.transactions).hasValue(1);
+        assertThat(sqlite.unbatchedWrites).hasValue(0);
+
+        LocalPaxosComponents reopened = reopen();
+        assertThat(reopened.learner(CLIENT_1).getLearnedValue(1)).contains(value(1));
+        assertThat(reopened.learner(CLIENT_2).getLearnedValue(2)).contains(value(2));
+        assertThat(reopened.learner(CLIENT_3).getLearnedValue(1)).contains(value(1));
+    }
+
+    @Test
+    public void concurrentBatchesOnTheSameRoundLeaveTheNewestStatePersisted() throws Exception {
+        long seq = 1;
+        AtomicLong proposalNumbers = new AtomicLong();
+        List<Future<?>> futures = IntStream.range(0, 8)
+                .mapToObj(unused -> executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        PaxosProposalId id = new PaxosProposalId(proposalNumbers.incrementAndGet(), PROPOSER);
+                        acceptor.prepare(ImmutableSetMultimap.of(CLIENT_1, WithSeq.of(id, seq)));
+                        acceptor.accept(ImmutableSetMultimap.of(CLIENT_1, proposal(id, seq)));
+                    }
+                }))
+                .collect(toList());
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        PaxosAcceptor inMemory = components.acceptor(CLIENT_1);
+        PaxosAcceptor persisted = reopen().acceptor(CLIENT_1);
+        PaxosProposalId newestId = new PaxosProposalId(proposalNumbers.get(), PROPOSER);
+        assertThat(inMemory.prepare(seq, LOWEST_ID).getPromisedId()).isEqualTo(newestId);
+        assertThat(persisted.prepare(seq, LOWEST_ID).getPromisedId()).isEqualTo(newestId);
+        assertThat(persisted.prepare(seq, HIGHEST_ID).getLastAcceptedId())
+                .isEqualTo(inMemory.prepare(seq, HIGHEST_ID).getLastAcceptedId());
+    }
+
+    @Test
+    public void acceptorRestoresPreviousStateIfBatchCannotBePersisted() {
+        acceptor.prepare(ImmutableSetMultimap.of(CLIENT_1, WithSeq.of(PROPOSAL_ID_1, 1)));
+
+        sqlite.failWrites.set(true);
+        assertThatThrownBy(() -> acceptor.prepare(ImmutableSetMultimap.<Client, WithSeq<PaxosProposalId>>builder()
+                .put(CLIENT_1, WithSeq.of(PROPOSAL_ID_2, 1))
+                .put(CLIENT_2, WithSeq.of(PROPOSAL_ID_2, 1))
+                .build()))
+                .hasRootCauseInstanceOf(SQLException.class);
+        assertThatThrownBy(() -> acceptor.accept(ImmutableSetMultimap.of(CLIENT_3, proposal(PROPOSAL_ID_2, 1))))
+                .hasRootCauseInstanceOf(SQLException.class);
+        sqlite.failWrites.set(false);
+
+        assertThat(components.acceptor(CLIENT_1).prepare(1, LOWEST_ID).getPromisedId()).isEqualTo(PROPOSAL_ID_1);
+        PaxosPromise client2Promise = components.acceptor(CLIENT_2).prepare(1, PROPOSAL_ID_1);
+        assertThat(client2Promise.isSuccessful()).isTrue();
+        assertThat(components.acceptor(CLIENT_3).prepare(1, HIGHEST_ID).getLastAcceptedId()).isNull();
+    }
+
+    @Test
+    public void learnerForgetsValuesIfBatchCannotBePersisted() {
+        sqlite.failWrites.set(true);
+        assertThatThrownBy(() -> learner.learn(ImmutableSetMultimap.of(CLIENT_1, value(1), CLIENT_2, value(1))))
+                .hasRootCauseInstanceOf(SQLException.class);
+        sqlite.failWrites.set(false);
+
+        assertThat(components.learner(CLIENT_1).getLearnedValue(1)).isEmpty();
+        assertThat(components.learner(CLIENT_2).getGreatestLearnedValue()).isEmpty();
+    }
+
+    @Test
+    public void timestampBoundsOfManyNamespacesShareRoundTripsAndTransactions() throws Exception {
+        int numNodes = 3;
+        int quorumSize = 2;
+        List<Client> namespaces = IntStream.range(0, 20)
+                .mapToObj(i -> Client.of("namespace" + i))
+                .collect(toList());
+
+        List<WriteTrackingSqlite> sqliteByNode = IntStream.range(0, numNodes)
+                .mapToObj(node -> new WriteTrackingSqlite(newFolder("node" + node + "sqlite")))
+                .collect(toList());
+        List<LocalPaxosComponents> componentsByNode = IntStream.range(0, numNodes)
+                .mapToObj(node -> createComponents(newFolder("node" + node + "legacy"),
+                        sqliteByNode.get(node).dataSource))
+                .collect(toList());
+        componentsByNode.forEach(nodeComponents -> createLogs(nodeComponents, namespaces.toArray(new Client[0])));
+        sqliteByNode.forEach(WriteTrackingSqlite::reset);
+
+        List<BatchPaxosAcceptor> acceptors = componentsByNode.stream()
+                .map(nodeComponents -> spy(new LocalBatchPaxosAcceptor(nodeComponents, new AcceptorCacheImpl())))
+                .collect(toList());
+        List<BatchPaxosLearner> learners = componentsByNode.stream()
+                .map(nodeComponents -> spy(new LocalBatchPaxosLearner(nodeComponents)))
+                .collect(toList());
+        delayFirstPrepare(acceptors.get(0));
+
+        AutobatchingPaxosAcceptorNetworkClientFactory acceptorFactory =
+                AutobatchingPaxosAcceptorNetworkClientFactory.create(
+                        acceptors,
+                        KeyedStream.of(acceptors.stream()).map($ -> executor).collectToMap(),
+                        quorumSize);
+        AutobatchingPaxosLearnerNetworkClientFactory learnerFactory = AutobatchingPaxosLearnerNetworkClientFactory
+                .create(LocalAndRemotes.of(learners.get(0), learners.subList(1, numNodes)), executor, quorumSize);
+        closer.register(acceptorFactory);
+        closer.register(learnerFactory);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = namespaces.stream()
+                .map(namespace -> executor.submit(() -> {
+                    PaxosTimestampBoundStore store = new PaxosTimestampBoundStore(
+                            PaxosProposerImpl.newProposer(
+                                    acceptorFactory.paxosAcceptorForClient(namespace),
+                                    learnerFactory.paxosLearnerForClient(namespace),
+                                    UUID.randomUUID()),
+                            componentsByNode.get(0).learner(namespace),
+                            acceptorFactory.paxosAcceptorForClient(namespace),
+                            learnerFactory.paxosLearnerForClient(namespace),
+                            1000L);
+                    Uninterruptibles.awaitUninterruptibly(start);
+                    store.storeUpperLimit(100_000L);
+                    assertThat(store.getUpperLimit()).isGreaterThanOrEqualTo(100_000L);
+                }))
+                .collect(toList());
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        List<Integer> namespacesPerPrepare = batchRequestSizes(acceptors.get(0), "prepare");
+        assertThat(namespacesPerPrepare.size()).isLessThan(namespaces.size());
+        assertThat(namespacesPerPrepare).anySatisfy(size -> assertThat(size).isGreaterThan(1));
+        for (int node = 0; node < numNodes; node++) {
+            int batchedWriteRequests = batchRequestSizes(acceptors.get(node), "prepare").size()
+                    + batchRequestSizes(acceptors.get(node), "accept").size()
+                    + batchRequestSizes(learners.get(node), "learn").size();
+            assertThat(sqliteByNode.get(node).transactions.get()).isLessThanOrEqualTo(batchedWriteRequests);
+            assertThat(sqliteByNode.get(node).unbatchedWrites).hasValue(0);
+        }
+    }
+
+    private LocalPaxosComponents reopen() {
+        return createComponents(legacyDirectory, SqliteConnections.getPooledDataSource(sqliteDirectory));
+    }
+
+    private Path newFolder(String name) {
+        try {
+            return temporaryFolder.newFolder(name).toPath();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static LocalPaxosComponents createComponents(Path legacyDirectory, DataSource dataSource) {
+        return LocalPaxosComponents.createWithBlockingMigration(
+                TimelockPaxosMetrics.of(PaxosUseCase.TIMESTAMP, MetricsManagers.createForTests()),
+                PaxosUseCase.TIMESTAMP,
+                legacyDirectory,
+                dataSource,
+                UUID.randomUUID(),
+                true);
+    }
+
+    /**
+     * Creating the logs of a namespace writes its migration state, which is not part of any batch.
+     */
+    private static void createLogs(LocalPaxosComponents paxosComponents, Client... clients) {
+        for (Client client : clients) {
+            paxosComponents.acceptor(client);
+            paxosComponents.learner(client);
+        }
+    }
+
+    private static void delayFirstPrepare(BatchPaxosAcceptor batchAcceptor) {
+        AtomicBoolean first = new AtomicBoolean(true);
+        doAnswer(invocation -> {
+            if (first.getAndSet(false)) {
+                Uninterruptibles.sleepUninterruptibly(500, TimeUnit.MILLISECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(batchAcceptor).prepare(any());
+    }
+
+    private static List<Integer> batchRequestSizes(Object spiedResource, String methodName) {
+        return mockingDetails(spiedResource).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals(methodName))
+                .map(Invocation::getArguments)
+                .map(arguments -> ((SetMultimap<?, ?>) arguments[0]).keySet().size())
+                .collect(toList());
+    }
+
+    private static PaxosValue value(long seq) {
+        return new PaxosValue(PROPOSER, seq, new byte[] { 1 });
+    }
+
+    private static PaxosProposal proposal(PaxosProposalId id, long seq) {
+        return new PaxosProposal(id, value(seq));
+    }
+
+    /**
+     * A SQLite data source counting write transactions, which can be made to fail writes. A batch written in one
+     * transaction commits once, whereas a write outside of a transaction is committed on its own.
+     */
+    private static final class WriteTrackingSqlite {
+        private final AtomicInteger transactions = new AtomicInteger();
+        private final AtomicInteger unbatchedWrites = new AtomicInteger();
+        private final AtomicBoolean failWrites = new AtomicBoolean();
+        private final DataSource dataSource;
+
+        private WriteTrackingSqlite(Path path) {
+            DataSource delegate = SqliteConnections.getPooledDataSource(path);
+            this.dataSource = forwardingProxy(DataSource.class, delegate, (proxy, method, args) -> {
+                Object result = invoke(delegate, method, args);
+                if (method.getName().equals("getConnection")) {
+                    Connection connection = (Connection) result;
+                    return forwardingProxy(Connection.class, connection,
+                            (connectionProxy, connectionMethod, connectionArgs) -> {
+                                recordWrite(connection, connectionMethod, connectionArgs);
+                                return invoke(connection, connectionMethod, connectionArgs);
+                            });
+                }
+                return result;
+            });
+        }
+
+        private void reset() {
+            transactions.set(0);
+            unbatchedWrites.set(0);
+        }
+
+        private void recordWrite(Connection connection, Method method, Object[] args) throws SQLException {
+            if (method.getName().equals("commit")) {
+                transactions.incrementAndGet();
+            } else if (method.getName().equals("prepareStatement") && ((String) args[0]).startsWith("INSERT")) {
+                if (failWrites.get()) {
+                    throw new SQLException("Injected write failure");
+                }
+                if (connection.getAutoCommit()) {
+                    transactions.incrementAndGet();
+                    unbatchedWrites.incrementAndGet();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T forwardingProxy(Class<T> iface, T delegate, InvocationHandler handler) {
+            return (T) Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[] { iface },
+                    (proxy, method, args) -> {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return handleObjectMethod(proxy, method, args);
+                        }
+                        return handler.invoke(proxy, method, args);
+                    });
+        }
+
+        private static Object handleObjectMethod(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "WriteTrackingSqlite proxy";
+            }
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
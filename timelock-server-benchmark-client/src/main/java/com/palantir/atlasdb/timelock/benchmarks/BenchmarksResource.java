@@ -28,6 +28,7 @@ import com.palantir.atlasdb.timelock.benchmarks.benchmarks.LockAndUnlockContende
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.LockAndUnlockUncontendedBenchmark;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.RangeScanDynamicColumnsBenchmark;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.RangeScanRowsBenchmark;
+import com.palantir.atlasdb.timelock.benchmarks.benchmarks.SqlitePaxosStateLogBenchmark;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TimestampBenchmark;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TransactionReadRowsBenchmark;
 import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TransactionWriteBenchmarkContended;
@@ -36,6 +37,7 @@ import com.palantir.atlasdb.timelock.benchmarks.benchmarks.TransactionWriteRowsB
 import com.palantir.atlasdb.timelock.benchmarks.schema.BenchmarksSchema;
 import com.palantir.atlasdb.transaction.api.TransactionManager;
 import com.palantir.conjure.java.api.config.service.UserAgent;
+import com.palantir.paxos.SqliteConnections;
 import com.palantir.tritium.metrics.registry.SharedTaggedMetricRegistries;
 
 public class BenchmarksResource implements BenchmarksService {
@@ -119,4 +121,10 @@ public class BenchmarksResource implements BenchmarksService {
         return RangeScanDynamicColumnsBenchmark.execute(txnManager, numClients, numRequestsPerClient, dataSize,
                 numRows);
     }
+
+    @Override
+    public Map<String, Object> sqlitePaxosStateLog(int numClients, int numRequestsPerClient, int numNamespaces,
+            SqliteConnections.SynchronousLevel synchronousLevel) {
+        return SqlitePaxosStateLogBenchmark.execute(numClients, numRequestsPerClient, numNamespaces, synchronousLevel);
+    }
 }
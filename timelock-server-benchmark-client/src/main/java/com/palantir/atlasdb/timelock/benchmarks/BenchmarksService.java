@@ -24,6 +24,8 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
+import com.palantir.paxos.SqliteConnections;
+
 @Path("/perf")
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
@@ -113,4 +115,12 @@ public interface BenchmarksService {
             @QueryParam("dataSize") int dataSize,
             @QueryParam("numRows") int numRows);
 
+    @GET
+    @Path("/sqlite-paxos-state-log")
+    Map<String, Object> sqlitePaxosStateLog(
+            @QueryParam("numClients") int numClients,
+            @QueryParam("numRequestsPerClient") int numRequestsPerClient,
+            @QueryParam("numNamespaces") int numNamespaces,
+            @QueryParam("synchronousLevel") SqliteConnections.SynchronousLevel synchronousLevel);
+
 }
@@ -0,0 +1,111 @@
+/*
+ * (c) Copyright 2020 Palantir Technologies Inc. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.palantir.atlasdb.timelock.benchmarks.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.FileUtils;
+
+import com.google.common.collect.ImmutableMap;
+import com.palantir.logsafe.Preconditions;
+import com.palantir.paxos.Client;
+import com.palantir.paxos.ImmutableNamespaceAndUseCase;
+import com.palantir.paxos.PaxosStateLog;
+import com.palantir.paxos.PaxosValue;
+import com.palantir.paxos.SqliteConnections;
+import com.palantir.paxos.SqlitePaxosStateLog;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Writes rounds to SQLite Paxos state logs spread across a number of namespaces, reading the greatest entry of the log
+ * after each write and periodically truncating it, as an acceptor would. Runs against a local database in a temporary
+ * directory, rather than against the TimeLock server.
+ */
+public final class SqlitePaxosStateLogBenchmark extends AbstractBenchmark {
+    private static final String USE_CASE = "benchmark";
+    private static final int ROUNDS_RETAINED_PER_NAMESPACE = 500;
+    private static final byte[] DATA = new byte[Long.BYTES];
+
+    private final int numNamespaces;
+    private final SqliteConnections.SynchronousLevel synchronousLevel;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path directory;
+    private HikariDataSource dataSource;
+    private List<PaxosStateLog<PaxosValue>> logs;
+
+    public static Map<String, Object> execute(int numClients, int requestsPerClient, int numNamespaces,
+            SqliteConnections.SynchronousLevel synchronousLevel) {
+        return new SqlitePaxosStateLogBenchmark(numClients, requestsPerClient, numNamespaces, synchronousLevel)
+                .execute();
+    }
+
+    private SqlitePaxosStateLogBenchmark(int numClients, int requestsPerClient, int numNamespaces,
+            SqliteConnections.SynchronousLevel synchronousLevel) {
+        super(numClients, requestsPerClient);
+        Preconditions.checkArgument(numNamespaces > 0, "Need at least one namespace");
+        this.numNamespaces = numNamespaces;
+        this.synchronousLevel = synchronousLevel;
+    }
+
+    @Override
+    protected void setup() {
+        try {
+            directory = Files.createTempDirectory("sqlite-paxos-benchmark");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        dataSource = SqliteConnections.getPooledDataSource(directory, synchronousLevel);
+        logs = IntStream.range(0, numNamespaces)
+                .mapToObj(index -> ImmutableNamespaceAndUseCase.of(Client.of("client" + index), USE_CASE))
+                .map(namespaceAndUseCase -> SqlitePaxosStateLog.<PaxosValue>create(namespaceAndUseCase, dataSource))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected void performOneCall() {
+        long seq = sequence.getAndIncrement();
+        PaxosStateLog<PaxosValue> log = logs.get((int) (seq % numNamespaces));
+        log.writeRound(seq, new PaxosValue("leader", seq, DATA));
+        Preconditions.checkState(log.getGreatestLogEntry() >= seq);
+
+        long roundsWrittenToLog = seq / numNamespaces;
+        if (roundsWrittenToLog > ROUNDS_RETAINED_PER_NAMESPACE
+                && roundsWrittenToLog % ROUNDS_RETAINED_PER_NAMESPACE == 0) {
+            log.truncate(seq - (long) ROUNDS_RETAINED_PER_NAMESPACE * numNamespaces);
+        }
+    }
+
+    @Override
+    protected void cleanup() {
+        dataSource.close();
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Override
+    protected Map<String, Object> getExtraParameters() {
+        return ImmutableMap.of(
+                "numNamespaces", numNamespaces,
+                "synchronousLevel", synchronousLevel);
+    }
+}
@@ -17,6 +17,8 @@ package com.palantir.atlasdb.timelock.benchmarks.runner;
 
 import org.junit.Test;
 
+import com.palantir.paxos.SqliteConnections;
+
 /**
  * Note that there is no warmup time included in any of these tests, so if the server has just been started you'll want
  * to execute many requests until the results stabilize (give the JIT compiler time to optimize).
@@ -83,5 +85,10 @@ public class BenchmarksRunner extends BenchmarkRunnerBase {
         runAndPrintResults(() -> client.rangeScanDynamicColumns(1, 20, 200, 1_000));
     }
 
+    @Test
+    public void sqlitePaxosStateLog() {
+        runAndPrintResults(() -> client.sqlitePaxosStateLog(16, 1000, 8, SqliteConnections.SynchronousLevel.EXTRA));
+    }
+
 }
 